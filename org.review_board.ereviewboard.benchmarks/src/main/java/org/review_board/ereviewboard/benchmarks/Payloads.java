@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Reads the JSON payloads used by the benchmarks from the fixtures of the functional tests
+ *
+ * <p>
+ * Payloads of a given size are generated with the <tt>FixtureGenerator</tt> instead.
+ * </p>
+ * 
+ */
+public final class Payloads {
+
+    private Payloads() {
+
+    }
+
+    public static String read(String resourceName) throws IOException {
+
+        String fullResourceName = "/jsondata/" + resourceName;
+
+        InputStream in = Payloads.class.getResourceAsStream(fullResourceName);
+        if (in == null)
+            throw new IOException("No resource : " + fullResourceName);
+
+        try {
+            return IOUtils.toString(in, "UTF-8");
+        } finally {
+            in.close();
+        }
+    }
+}
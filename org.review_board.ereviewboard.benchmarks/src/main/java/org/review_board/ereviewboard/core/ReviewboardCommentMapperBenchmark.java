@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ReviewboardCommentMapper#buildText()} for comments whose parts have <tt>partLength</tt>
+ * characters
+ * 
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewboardCommentMapperBenchmark {
+
+    @Param({ "0", "80", "4000" })
+    public int partLength;
+
+    private ReviewboardCommentMapper mapper;
+
+    @Setup
+    public void setUp() {
+
+        StringBuilder part = new StringBuilder(partLength);
+        for (int i = 0; i < partLength; i++)
+            part.append(i % 60 == 59 ? '\n' : (char) ('a' + i % 26));
+
+        mapper = new ReviewboardCommentMapper();
+        mapper.setHeading("Review by admin, ship it!");
+        mapper.setTop(part.toString());
+        mapper.setBody(part.toString());
+        mapper.setBottom("   ");
+    }
+
+    @Benchmark
+    public String buildText() {
+
+        return mapper.buildText().toString();
+    }
+}
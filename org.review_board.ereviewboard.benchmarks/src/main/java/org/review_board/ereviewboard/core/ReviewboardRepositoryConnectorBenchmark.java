@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.TaskRepositoryLocationFactory;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.review_board.ereviewboard.core.client.FixtureGenerator;
+import org.review_board.ereviewboard.core.client.FixtureGenerator.Resource;
+import org.review_board.ereviewboard.core.client.RestfulReviewboardReader;
+import org.review_board.ereviewboard.core.exception.ReviewboardException;
+import org.review_board.ereviewboard.core.model.ReviewRequest;
+
+/**
+ * Measures the mapping of review requests to task data, as done when synchronizing queries
+ * 
+ * <p>
+ * The client manager keeps everything in memory and is never asked to contact the server.
+ * </p>
+ * 
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewboardRepositoryConnectorBenchmark {
+
+    private static final int REVIEW_REQUESTS = 100;
+
+    @Param({ "true", "false" })
+    public boolean partial;
+
+    private ReviewboardClientManager clientManager;
+    private ReviewboardRepositoryConnector connector;
+    private TaskRepository repository;
+    private List<ReviewRequest> reviewRequests;
+
+    @Setup
+    public void setUp() throws ReviewboardException {
+
+        clientManager = new ReviewboardClientManager(null);
+        clientManager.setTaskRepositoryLocationFactory(new TaskRepositoryLocationFactory());
+        connector = new ReviewboardRepositoryConnector(clientManager);
+        repository = new TaskRepository(ReviewboardCorePlugin.REPOSITORY_KIND, "http://reviews.example.com");
+
+        reviewRequests = new RestfulReviewboardReader().readReviewRequests(
+                new FixtureGenerator(1).page(Resource.REVIEW_REQUESTS, REVIEW_REQUESTS)).getResults();
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        clientManager.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REVIEW_REQUESTS)
+    public void getTaskDataForReviewRequest(Blackhole blackhole) {
+
+        for (ReviewRequest reviewRequest : reviewRequests) {
+            TaskData taskData = connector.getTaskDataForReviewRequest(repository, reviewRequest, partial);
+            blackhole.consume(taskData);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.review_board.ereviewboard.core.exception.ReviewboardException;
+
+/**
+ * Measures the overhead of {@link PagedLoader#doLoad()} against a loader which returns pages prepared
+ * in advance
+ * 
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PagedLoaderBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int totalResults;
+
+    @Param({ "25", "200" })
+    public int pageSize;
+
+    private List<Integer> results;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+
+        results = new ArrayList<Integer>(totalResults);
+        for (int i = 0; i < totalResults; i++)
+            results.add(Integer.valueOf(i));
+
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        executor.shutdownNow();
+    }
+
+    private PagedLoader<Integer> newLoader() {
+
+        return new PagedLoader<Integer>(pageSize, new NullProgressMonitor(), "") {
+            @Override
+            protected PagedResult<Integer> doLoadInternal(int start, int maxResults, IProgressMonitor monitor)
+                    throws ReviewboardException {
+
+                int end = Math.min(totalResults, start + maxResults);
+
+                return PagedResult.create(results.subList(Math.min(start, end), end), totalResults);
+            }
+        };
+    }
+
+    @Benchmark
+    public List<Integer> doLoadSequentially() throws ReviewboardException {
+
+        return newLoader().doLoad();
+    }
+
+    @Benchmark
+    public List<Integer> doLoadConcurrently() throws ReviewboardException {
+
+        PagedLoader<Integer> loader = newLoader();
+        loader.setExecutor(executor);
+        return loader.doLoad();
+    }
+}
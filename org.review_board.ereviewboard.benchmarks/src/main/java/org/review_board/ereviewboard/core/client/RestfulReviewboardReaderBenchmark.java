@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.review_board.ereviewboard.benchmarks.Payloads;
+import org.review_board.ereviewboard.core.client.FixtureGenerator.Resource;
+import org.review_board.ereviewboard.core.exception.ReviewboardException;
+import org.review_board.ereviewboard.core.model.Diff;
+import org.review_board.ereviewboard.core.model.DiffComment;
+import org.review_board.ereviewboard.core.model.Repository;
+import org.review_board.ereviewboard.core.model.Review;
+import org.review_board.ereviewboard.core.model.ReviewGroup;
+import org.review_board.ereviewboard.core.model.ReviewReply;
+import org.review_board.ereviewboard.core.model.ReviewRequest;
+import org.review_board.ereviewboard.core.model.Screenshot;
+import org.review_board.ereviewboard.core.model.ScreenshotComment;
+import org.review_board.ereviewboard.core.model.ServerInfo;
+import org.review_board.ereviewboard.core.model.User;
+import org.review_board.ereviewboard.core.util.IntHashSet;
+
+/**
+ * Measures the <tt>read*</tt> methods of the {@link RestfulReviewboardReader}
+ * 
+ * <p>
+ * List payloads of <tt>size</tt> items are generated with the {@link FixtureGenerator}, the other payloads
+ * are read as found in the test fixtures. Larger pages are measured with <tt>-p size=100000</tt>.
+ * </p>
+ * 
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RestfulReviewboardReaderBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ListPayloads {
+
+        @Param({ "10", "100", "1000", "10000" })
+        public int size;
+
+        String users;
+        String groups;
+        String repositories;
+        String reviewRequests;
+        String reviews;
+        String reviewReplies;
+        String diffs;
+        String screenshots;
+        String diffComments;
+        String screenshotComments;
+
+        @Setup
+        public void setUp() {
+
+            FixtureGenerator generator = new FixtureGenerator(1);
+
+            users = generator.page(Resource.USERS, size);
+            groups = generator.page(Resource.GROUPS, size);
+            repositories = generator.page(Resource.REPOSITORIES, size);
+            reviewRequests = generator.page(Resource.REVIEW_REQUESTS, size);
+            reviews = generator.page(Resource.REVIEWS, size);
+            reviewReplies = generator.page(Resource.REPLIES, size);
+            diffs = generator.page(Resource.DIFFS, size);
+            screenshots = generator.page(Resource.SCREENSHOTS, size);
+            diffComments = generator.page(Resource.DIFF_COMMENTS, size);
+            screenshotComments = generator.page(Resource.SCREENSHOT_COMMENTS, size);
+        }
+    }
+
+    /**
+     * Review requests which are expensive to read : non-ASCII text, descriptions of 100 000 characters or
+     * 1 000 target people
+     */
+    @State(Scope.Benchmark)
+    public static class PathologicalPayloads {
+
+        @Param({ "unicode", "hugeDescriptions", "manyTargetPeople" })
+        public String shape;
+
+        String reviewRequests;
+
+        @Setup
+        public void setUp() {
+
+            FixtureGenerator generator = new FixtureGenerator(1);
+            if ("unicode".equals(shape))
+                generator.setUnicode(true);
+            else if ("hugeDescriptions".equals(shape))
+                generator.setDescriptionLength(100000);
+            else if ("manyTargetPeople".equals(shape))
+                generator.setTargetPeopleCount(1000);
+            else
+                throw new IllegalArgumentException("Unknown shape " + shape);
+
+            reviewRequests = generator.page(Resource.REVIEW_REQUESTS, 25);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SinglePayloads {
+
+        String serverInfo;
+        String user;
+        String reviewRequest;
+        String count;
+
+        @Setup
+        public void setUp() throws IOException {
+
+            serverInfo = Payloads.read("server_info_with_time_zone.json");
+            user = Payloads.read("user.json");
+            reviewRequest = Payloads.read("review_request.json");
+            count = Payloads.read("count.json");
+        }
+    }
+
+    private final RestfulReviewboardReader reader = new RestfulReviewboardReader();
+
+    @Benchmark
+    public PagedResult<User> readUsers(ListPayloads payloads) throws ReviewboardException {
+
+        return reader.readUsers(payloads.users);
+    }
+
+    @Benchmark
+    public PagedResult<User> readUsersStreamed(ListPayloads payloads) throws ReviewboardException {
+
+        return reader.readUsers(new StringReader(payloads.users));
+    }
+
+    @Benchmark
+    public PagedResult<ReviewGroup> readGroups(ListPayloads payloads) throws ReviewboardException {
+
+        return reader.readGroups(payloads.groups);
+    }
+
+    @Benchmark
+    public PagedResult<Repository> readRepositories(ListPayloads payloads) throws ReviewboardException {
+
+        return reader.readRepositories(payloads.repositories);
+    }
+
+    @Benchmark
+    public PagedResult<ReviewRequest> readReviewRequests(ListPayloads payloads) throws ReviewboardException {
+
+        return reader.readReviewRequests(payloads.reviewRequests);
+    }
+
+    @Benchmark
+    public PagedResult<ReviewRequest> readReviewRequestsStreamed(ListPayloads payloads)
+            throws ReviewboardException {
+
+        return reader.readReviewRequests(new StringReader(payloads.reviewRequests));
+    }
+
+    @Benchmark
+    public PagedResult<ReviewRequest> readPathologicalReviewRequests(PathologicalPayloads payloads)
+            throws ReviewboardException {
+
+        return reader.readReviewRequests(payloads.reviewRequests);
+    }
+
+    @Benchmark
+    public PagedResult<ReviewRequest> readPathologicalReviewRequestsStreamed(PathologicalPayloads payloads)
+            throws ReviewboardException {
+
+        return reader.readReviewRequests(new StringReader(payloads.reviewRequests));
+    }
+
+    @Benchmark
+    public IntHashSet readReviewRequestIds(ListPayloads payloads) throws ReviewboardException {
+
+        IntHashSet ids = new IntHashSet();
+        reader.readReviewRequestIds(new StringReader(payloads.reviewRequests), ids);
+        return ids;
+    }
+
+    @Benchmark
+    public PagedResult<Review> readReviews(ListPayloads payloads) throws ReviewboardException {
+
+        return reader.readReviews(payloads.reviews);
+    }
+
+    @Benchmark
+    public PagedResult<Review> readReviewsStreamed(ListPayloads payloads) throws ReviewboardException {
+
+        return reader.readReviews(new StringReader(payloads.reviews));
+    }
+
+    @Benchmark
+    public PagedResult<ReviewReply> readReviewReplies(ListPayloads payloads) throws ReviewboardException {
+
+        return reader.readReviewReplies(payloads.reviewReplies);
+    }
+
+    @Benchmark
+    public List<Diff> readDiffs(ListPayloads payloads) throws ReviewboardException {
+
+        return reader.readDiffs(payloads.diffs);
+    }
+
+    @Benchmark
+    public List<Screenshot> readScreenshots(ListPayloads payloads) throws ReviewboardException {
+
+        return reader.readScreenshots(payloads.screenshots);
+    }
+
+    @Benchmark
+    public PagedResult<DiffComment> readDiffComments(ListPayloads payloads) throws ReviewboardException {
+
+        return reader.readDiffComments(payloads.diffComments);
+    }
+
+    @Benchmark
+    public PagedResult<ScreenshotComment> readScreenshotComments(ListPayloads payloads)
+            throws ReviewboardException {
+
+        return reader.readScreenshotComments(payloads.screenshotComments);
+    }
+
+    @Benchmark
+    public ServerInfo readServerInfo(SinglePayloads payloads) throws ReviewboardException {
+
+        return reader.readServerInfo(payloads.serverInfo);
+    }
+
+    @Benchmark
+    public User readUser(SinglePayloads payloads) throws ReviewboardException {
+
+        return reader.readUser(new StringReader(payloads.user));
+    }
+
+    @Benchmark
+    public ReviewRequest readReviewRequest(SinglePayloads payloads) throws ReviewboardException {
+
+        return reader.readReviewRequest(payloads.reviewRequest);
+    }
+
+    @Benchmark
+    public ReviewRequest readReviewRequestStreamed(SinglePayloads payloads) throws ReviewboardException {
+
+        return reader.readReviewRequest(new StringReader(payloads.reviewRequest));
+    }
+
+    @Benchmark
+    public int readCount(SinglePayloads payloads) throws ReviewboardException {
+
+        return reader.readCount(payloads.count);
+    }
+}
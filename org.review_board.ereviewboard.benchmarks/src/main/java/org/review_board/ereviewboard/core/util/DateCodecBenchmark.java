@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.util;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link DateCodec} with the <tt>SimpleDateFormat</tt> based parsing it replaced, both a
+ * format per thread and a format per call
+ * 
+ * <p>
+ * The parsed values cycle through <tt>distinctValues</tt> dates, so that both cache hits and misses are
+ * measured.
+ * </p>
+ * 
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateCodecBenchmark {
+
+    private static final String PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    @Param({ "1", "100000" })
+    public int distinctValues;
+
+    private String[] values;
+    private Date[] dates;
+    private int next;
+
+    private final DateFormat threadFormat = new SimpleDateFormat(PATTERN);
+
+    @Setup
+    public void setUp() {
+
+        values = new String[distinctValues];
+        dates = new Date[distinctValues];
+        for (int i = 0; i < distinctValues; i++) {
+            dates[i] = new Date(1300000000000L + i * 7919000L);
+            values[i] = threadFormat.format(dates[i]);
+        }
+    }
+
+    private int nextIndex() {
+
+        int index = next;
+        next = index + 1 == distinctValues ? 0 : index + 1;
+        return index;
+    }
+
+    @Benchmark
+    public Date parse() throws ParseException {
+
+        return DateCodec.parse(values[nextIndex()]);
+    }
+
+    @Benchmark
+    public Date parseWithSimpleDateFormatPerThread() throws ParseException {
+
+        return threadFormat.parse(values[nextIndex()]);
+    }
+
+    @Benchmark
+    public Date parseWithSimpleDateFormatPerCall() throws ParseException {
+
+        return new SimpleDateFormat(PATTERN).parse(values[nextIndex()]);
+    }
+
+    @Benchmark
+    public String format() {
+
+        return DateCodec.format(dates[nextIndex()]);
+    }
+
+    @Benchmark
+    public String formatWithSimpleDateFormatPerThread() {
+
+        return threadFormat.format(dates[nextIndex()]);
+    }
+}
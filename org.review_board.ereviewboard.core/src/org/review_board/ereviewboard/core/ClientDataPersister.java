@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.review_board.ereviewboard.core.client.ClientDataCodec;
+import org.review_board.ereviewboard.core.client.ReviewboardClientData;
+
+/**
+ * Writes the client data of the repositories in the background
+ *
+ * <p>
+ * Writes are debounced : the data is written once no further change was scheduled for
+ * {@link #DEFAULT_DELAY_MILLIS}, so that a burst of changes results in a single write. Each file
+ * is written to a temporary file first and then renamed, so that a crash never leaves a partially
+ * written file behind. {@link #shutdown()} writes whatever is still pending.
+ * </p>
+ */
+class ClientDataPersister {
+
+    static final long DEFAULT_DELAY_MILLIS = 5 * 1000;
+
+    private final long delayMillis;
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final Map<File, ReviewboardClientData> pending = new LinkedHashMap<File, ReviewboardClientData>();
+    private long lastScheduled;
+    private boolean writeScheduled;
+
+    private final Object writeLock = new Object();
+
+    public ClientDataPersister() {
+
+        this(DEFAULT_DELAY_MILLIS);
+    }
+
+    public ClientDataPersister(long delayMillis) {
+
+        this.delayMillis = delayMillis;
+
+        executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+
+                Thread thread = new Thread(runnable, "Review Board client data writer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Schedules the <tt>data</tt> to be written to the <tt>file</tt>, replacing an earlier pending
+     * write to the same file
+     */
+    public synchronized void schedule(File file, ReviewboardClientData data) {
+
+        pending.put(file, data);
+        lastScheduled = System.currentTimeMillis();
+
+        if (!writeScheduled)
+            scheduleWrite(delayMillis);
+    }
+
+    /**
+     * Drops the pending write to the <tt>file</tt>, if any
+     *
+     * <p>
+     * Waits for a write in progress to complete, so that the <tt>file</tt> can safely be deleted
+     * once this method returns.
+     * </p>
+     */
+    public void cancel(File file) {
+
+        synchronized (writeLock) {
+            synchronized (this) {
+                pending.remove(file);
+            }
+        }
+    }
+
+    /**
+     * Writes all the pending data on the calling thread
+     *
+     * @return true if all the pending data was written
+     */
+    public boolean flush() {
+
+        boolean written = true;
+
+        // writes of the same file from the background thread and a flush must not interleave, and
+        // taking the pending data under the lock ensures that a cancelled write is never started
+        synchronized (writeLock) {
+            List<Map.Entry<File, ReviewboardClientData>> toWrite;
+            synchronized (this) {
+                toWrite = new ArrayList<Map.Entry<File, ReviewboardClientData>>(pending.entrySet());
+                pending.clear();
+            }
+
+            for (Map.Entry<File, ReviewboardClientData> entry : toWrite) {
+                try {
+                    write(entry.getValue(), entry.getKey());
+                } catch (Throwable e) {
+                    written = false;
+                    StatusHandler.log(new Status(IStatus.WARNING, ReviewboardCorePlugin.PLUGIN_ID,
+                            "The Reviewboard respository data cache " + entry.getKey() + " could not be written", e));
+                }
+            }
+        }
+
+        return written;
+    }
+
+    /**
+     * Writes the pending data and stops the background thread
+     */
+    public void shutdown() {
+
+        executor.shutdownNow();
+        flush();
+    }
+
+    private void scheduleWrite(long delay) {
+
+        try {
+            executor.schedule(new Runnable() {
+                public void run() {
+                    writeIfQuiet();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+            writeScheduled = true;
+        } catch (RejectedExecutionException e) {
+            // shutting down, the pending data is written by shutdown()
+        }
+    }
+
+    private void writeIfQuiet() {
+
+        synchronized (this) {
+            writeScheduled = false;
+
+            long quietMillis = System.currentTimeMillis() - lastScheduled;
+            if (quietMillis < delayMillis) {
+                scheduleWrite(delayMillis - quietMillis);
+                return;
+            }
+        }
+
+        flush();
+    }
+
+    /**
+     * Writes the <tt>data</tt> to a temporary file which then replaces the <tt>file</tt>
+     */
+    static void write(ReviewboardClientData data, File file) throws IOException {
+
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs())
+            throw new IOException("Unable to create directory " + directory);
+
+        File temporaryFile = new File(directory, file.getName() + ".tmp");
+        ClientDataCodec.write(data, temporaryFile);
+
+        if (temporaryFile.renameTo(file))
+            return;
+
+        // renaming over an existing file fails on Windows, so remove the old file first
+        file.delete();
+        if (!temporaryFile.renameTo(file)) {
+            temporaryFile.delete();
+            throw new IOException("Unable to replace " + file);
+        }
+    }
+}
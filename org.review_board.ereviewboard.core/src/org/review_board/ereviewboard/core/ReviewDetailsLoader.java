@@ -0,0 +1,391 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.commons.net.Policy;
+import org.review_board.ereviewboard.core.client.CommentCounts;
+import org.review_board.ereviewboard.core.client.RequestScheduler;
+import org.review_board.ereviewboard.core.client.ReviewboardClient;
+import org.review_board.ereviewboard.core.exception.ReviewboardException;
+import org.review_board.ereviewboard.core.model.Review;
+import org.review_board.ereviewboard.core.model.ReviewReply;
+
+/**
+ * Loads the comment counts and replies of the reviews of a review request
+ * 
+ * <p>
+ * The requests for each review and reply are independent of each other, so they are run
+ * concurrently on the client's {@link RequestScheduler}, which also caps the number of requests in
+ * flight. The results are returned in the order of the reviews and replies, and the progress
+ * monitor is only touched from the calling thread.
+ * </p>
+ * 
+ * <p>
+ * The comment counts of published reviews and replies are kept in the client's
+ * {@link CommentCounts} and not requested again.
+ * </p>
+ * 
+ */
+public class ReviewDetailsLoader {
+
+    private final ReviewboardClient client;
+    private final int reviewRequestId;
+
+    private CompletionService<Step> completionService;
+    private final List<Future<Step>> futures = new ArrayList<Future<Step>>();
+    private int pendingSteps;
+    private IProgressMonitor monitor;
+    private CommentCounts commentCounts;
+
+    public ReviewDetailsLoader(ReviewboardClient client, int reviewRequestId) {
+
+        this.client = client;
+        this.reviewRequestId = reviewRequestId;
+    }
+
+    /**
+     * Advances the monitor by three ticks for each review: one for counting the diff comments, one
+     * for reading the replies and one for counting the comments of the replies
+     */
+    public List<ReviewDetails> load(List<Review> reviews, IProgressMonitor monitor) throws ReviewboardException {
+
+        return load(reviews, Collections.<ReviewDetails> emptyList(), monitor);
+    }
+
+    /**
+     * Loads the details of the <tt>reviews</tt>, reusing the <tt>previous</tt> details of the same
+     * reviews where possible
+     * 
+     * <p>
+     * For a review which was already published only the replies following the leading published
+     * replies are requested, since replies are listed in the order they are published and
+     * published replies do not change.
+     * </p>
+     */
+    public List<ReviewDetails> load(List<Review> reviews, List<ReviewDetails> previous, IProgressMonitor monitor)
+            throws ReviewboardException {
+
+        Map<Integer, ReviewDetails> previousById = new HashMap<Integer, ReviewDetails>();
+        for (ReviewDetails previousDetails : previous)
+            if (previousDetails.getReview().isPublicReview())
+                previousById.put(Integer.valueOf(previousDetails.getReview().getId()), previousDetails);
+
+        this.monitor = monitor;
+        this.commentCounts = client.getClientData().getCommentCounts();
+        this.completionService = new ExecutorCompletionService<Step>(client.getRequestScheduler());
+
+        monitor.beginTask("Reading reviews", reviews.size() * 3);
+
+        try {
+            List<ReviewDetails> details = new ArrayList<ReviewDetails>(reviews.size());
+
+            for (Review review : reviews) {
+                ReviewDetails reviewDetails = new ReviewDetails(review);
+                details.add(reviewDetails);
+
+                Integer diffComments = review.isPublicReview() ? commentCounts.getDiffComments(reviewRequestId,
+                        review.getId()) : null;
+
+                if (diffComments != null) {
+                    reviewDetails.diffComments = diffComments.intValue();
+                    Policy.advance(monitor, 1);
+                } else {
+                    submit(new CountDiffComments(reviewDetails));
+                }
+
+                ReviewDetails previousDetails = review.isPublicReview() ? previousById.get(Integer.valueOf(review
+                        .getId())) : null;
+                if (previousDetails != null)
+                    for (ReplyDetails previousReply : previousDetails.getReplies()) {
+                        if (!previousReply.getReply().isPublicReply())
+                            break;
+                        reviewDetails.replies.add(previousReply);
+                    }
+
+                submit(new LoadReplies(reviewDetails));
+            }
+
+            while (pendingSteps > 0) {
+                Step step = RequestScheduler.getResult(completionService.take());
+                pendingSteps--;
+                step.complete();
+            }
+
+            return details;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReviewboardException("Interrupted while reading reviews", e);
+        } finally {
+            for (Future<Step> future : futures)
+                future.cancel(false);
+            monitor.done();
+        }
+    }
+
+    private void submit(Step step) {
+
+        futures.add(completionService.submit(step));
+        pendingSteps++;
+    }
+
+    /**
+     * A request which is executed by the scheduler and whose result is then applied on the calling
+     * thread
+     */
+    private abstract static class Step implements Callable<Step> {
+
+        public Step call() throws ReviewboardException {
+
+            // the monitor is not thread-safe, cancellation is checked when completing the steps
+            execute(new NullProgressMonitor());
+
+            return this;
+        }
+
+        protected abstract void execute(IProgressMonitor monitor) throws ReviewboardException;
+
+        protected abstract void complete();
+    }
+
+    private class CountDiffComments extends Step {
+
+        private final ReviewDetails details;
+        private int count;
+
+        public CountDiffComments(ReviewDetails details) {
+
+            this.details = details;
+        }
+
+        @Override
+        protected void execute(IProgressMonitor monitor) throws ReviewboardException {
+
+            count = client.countDiffComments(reviewRequestId, details.getReview().getId(), monitor);
+        }
+
+        @Override
+        protected void complete() {
+
+            details.diffComments = count;
+            if (details.getReview().isPublicReview())
+                commentCounts.putDiffComments(reviewRequestId, details.getReview().getId(), count);
+
+            Policy.advance(monitor, 1);
+        }
+    }
+
+    private class LoadReplies extends Step {
+
+        private final ReviewDetails details;
+        private final int start;
+        private List<ReviewReply> replies;
+
+        /**
+         * Loads the replies which are not yet part of the <tt>details</tt>
+         */
+        public LoadReplies(ReviewDetails details) {
+
+            this.details = details;
+            this.start = details.replies.size();
+        }
+
+        @Override
+        protected void execute(IProgressMonitor monitor) throws ReviewboardException {
+
+            replies = client.getReviewReplies(reviewRequestId, details.getReview().getId(), start, monitor);
+        }
+
+        @Override
+        protected void complete() {
+
+            Policy.advance(monitor, 1);
+
+            if (replies.isEmpty()) {
+                Policy.advance(monitor, 1);
+                return;
+            }
+
+            IProgressMonitor counterMonitor = Policy.subMonitorFor(monitor, 1);
+            counterMonitor.beginTask("Reading review replies", replies.size() * 2);
+
+            CounterProgress progress = new CounterProgress(counterMonitor, replies.size() * 2);
+
+            int reviewId = details.getReview().getId();
+
+            for (ReviewReply reply : replies) {
+                ReplyDetails replyDetails = new ReplyDetails(reply);
+                details.replies.add(replyDetails);
+
+                Integer diffComments = null;
+                Integer screenshotComments = null;
+                if (reply.isPublicReply()) {
+                    diffComments = commentCounts.getReplyDiffComments(reviewRequestId, reviewId, reply.getId());
+                    screenshotComments = commentCounts.getReplyScreenshotComments(reviewRequestId, reviewId, reply.getId());
+                }
+
+                if (diffComments != null) {
+                    replyDetails.diffComments = diffComments.intValue();
+                    progress.worked();
+                } else {
+                    submit(new CountReplyComments(reviewId, replyDetails, false, progress));
+                }
+
+                if (screenshotComments != null) {
+                    replyDetails.screenshotComments = screenshotComments.intValue();
+                    progress.worked();
+                } else {
+                    submit(new CountReplyComments(reviewId, replyDetails, true, progress));
+                }
+            }
+        }
+    }
+
+    private class CountReplyComments extends Step {
+
+        private final int reviewId;
+        private final ReplyDetails details;
+        private final boolean screenshotComments;
+        private final CounterProgress progress;
+        private int count;
+
+        public CountReplyComments(int reviewId, ReplyDetails details, boolean screenshotComments,
+                CounterProgress progress) {
+
+            this.reviewId = reviewId;
+            this.details = details;
+            this.screenshotComments = screenshotComments;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void execute(IProgressMonitor monitor) throws ReviewboardException {
+
+            int replyId = details.getReply().getId();
+
+            if (screenshotComments)
+                count = client.countScreenshotCommentsForReply(reviewRequestId, reviewId, replyId, monitor);
+            else
+                count = client.countDiffCommentsForReply(reviewRequestId, reviewId, replyId, monitor);
+        }
+
+        @Override
+        protected void complete() {
+
+            int replyId = details.getReply().getId();
+
+            if (screenshotComments)
+                details.screenshotComments = count;
+            else
+                details.diffComments = count;
+
+            if (details.getReply().isPublicReply()) {
+                if (screenshotComments)
+                    commentCounts.putReplyScreenshotComments(reviewRequestId, reviewId, replyId, count);
+                else
+                    commentCounts.putReplyDiffComments(reviewRequestId, reviewId, replyId, count);
+            }
+
+            progress.worked();
+        }
+    }
+
+    /**
+     * Tracks the progress of counting the comments of the replies to a single review
+     */
+    private static class CounterProgress {
+
+        private final IProgressMonitor monitor;
+        private int remaining;
+
+        public CounterProgress(IProgressMonitor monitor, int remaining) {
+
+            this.monitor = monitor;
+            this.remaining = remaining;
+        }
+
+        public void worked() {
+
+            Policy.advance(monitor, 1);
+
+            if (--remaining == 0)
+                monitor.done();
+        }
+    }
+
+    public static class ReviewDetails {
+
+        private final Review review;
+        private int diffComments;
+        final List<ReplyDetails> replies = new ArrayList<ReplyDetails>();
+
+        ReviewDetails(Review review) {
+
+            this.review = review;
+        }
+
+        public Review getReview() {
+
+            return review;
+        }
+
+        public int getDiffComments() {
+
+            return diffComments;
+        }
+
+        /**
+         * @return the replies, in the order returned by the server
+         */
+        public List<ReplyDetails> getReplies() {
+
+            return replies;
+        }
+    }
+
+    public static class ReplyDetails {
+
+        private final ReviewReply reply;
+        private int diffComments;
+        private int screenshotComments;
+
+        ReplyDetails(ReviewReply reply) {
+
+            this.reply = reply;
+        }
+
+        public ReviewReply getReply() {
+
+            return reply;
+        }
+
+        public int getDiffComments() {
+
+            return diffComments;
+        }
+
+        public int getScreenshotComments() {
+
+            return screenshotComments;
+        }
+    }
+}
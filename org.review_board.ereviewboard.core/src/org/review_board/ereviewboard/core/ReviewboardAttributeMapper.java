@@ -1,8 +1,6 @@
 package org.review_board.ereviewboard.core;
 
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -14,6 +12,7 @@ import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
 import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
 import org.review_board.ereviewboard.core.client.ReviewboardClientData;
 import org.review_board.ereviewboard.core.model.User;
+import org.review_board.ereviewboard.core.util.DateCodec;
 
 /**
  * @author Robert Munteanu
@@ -89,23 +88,13 @@ public class ReviewboardAttributeMapper extends TaskAttributeMapper {
         taskAttributeToMantisAttributes.put(TaskAttribute.USER_REPORTER, Attribute.SUBMITTER);
     }
 
-    public static DateFormat newDateFormat() {
-
-        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-    }
-    
-    public static DateFormat newIso86011DateFormat() {
-        
-        return new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss"); 
-    }
-    
     public static Date parseDateValue(String value) {
         
         if (value == null)
             return null;
 
         try {
-            return newDateFormat().parse(value);
+            return DateCodec.parse(value);
         } catch (ParseException e) {
             try {
                 return new Date(Long.valueOf(value));
@@ -144,17 +133,7 @@ public class ReviewboardAttributeMapper extends TaskAttributeMapper {
 
     Date getDateValueFromString(String attributeValue) {
         
-        Date parsedDateValue = parseDateValue(attributeValue);
-        
-        TimeZone siteTimeZone = reviewboardClientData.getTimeZone();
-        
-        if ( parsedDateValue == null || siteTimeZone == null || targetTimeZone.hasSameRules(siteTimeZone))
-            return parsedDateValue;
-
-        long localOffset = this.targetTimeZone.getOffset(parsedDateValue.getTime());
-        long siteOffset = siteTimeZone.getOffset(parsedDateValue.getTime());
-        
-        return new Date(parsedDateValue.getTime() + ( localOffset - siteOffset ));
+        return DateCodec.shift(parseDateValue(attributeValue), reviewboardClientData.getTimeZone(), targetTimeZone);
     }
 
 
@@ -165,7 +144,8 @@ public class ReviewboardAttributeMapper extends TaskAttributeMapper {
         
         if ( taskAttribute.getId().equals(Attribute.SUBMITTER.toString()) ) {
             User user = reviewboardClientData.getUser(taskAttribute.getValue());
-            person.setName(user.getFullName());
+            if ( user != null )
+                person.setName(user.getFullName());
         }
         
         return person;
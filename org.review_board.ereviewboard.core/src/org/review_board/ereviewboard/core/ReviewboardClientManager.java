@@ -39,10 +39,11 @@ package org.review_board.ereviewboard.core;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -54,9 +55,12 @@ import org.eclipse.mylyn.commons.net.AbstractWebLocation;
 import org.eclipse.mylyn.tasks.core.IRepositoryListener;
 import org.eclipse.mylyn.tasks.core.TaskRepository;
 import org.eclipse.mylyn.tasks.core.TaskRepositoryLocationFactory;
+import org.review_board.ereviewboard.core.client.ClientDataCodec;
+import org.review_board.ereviewboard.core.client.ClientDataListener;
 import org.review_board.ereviewboard.core.client.RestfulReviewboardClient;
 import org.review_board.ereviewboard.core.client.ReviewboardClient;
 import org.review_board.ereviewboard.core.client.ReviewboardClientData;
+import org.review_board.ereviewboard.core.util.IOUtil;
 
 /**
  * @author Markus Knittig
@@ -70,11 +74,33 @@ public class ReviewboardClientManager implements IRepositoryListener {
 
     private TaskRepositoryLocationFactory taskRepositoryLocationFactory;
 
+    /**
+     * The cache of all repositories written by earlier versions using serialization; read once
+     * to migrate its data
+     */
     private File cacheFile;
 
+    /**
+     * The directory holding the client data of each repository, in the
+     * {@link ClientDataCodec binary format}
+     */
+    private File clientDataDirectory;
+
+    private ClientDataPersister persister;
+
+    private final ClientDataListener clientDataListener = new ClientDataListener() {
+        public void clientDataChanged(ReviewboardClientData clientData) {
+            scheduleWrite(clientData);
+        }
+    };
+
     public ReviewboardClientManager(File cacheFile) {
         this.cacheFile = cacheFile;
-        readCache();
+        if (cacheFile != null) {
+            clientDataDirectory = new File(cacheFile.getParentFile(), "clientData");
+            persister = new ClientDataPersister();
+        }
+        migrateCache();
     }
 
     public synchronized ReviewboardClient getClient(TaskRepository taskRepository) {
@@ -85,13 +111,20 @@ public class ReviewboardClientManager implements IRepositoryListener {
             AbstractWebLocation location =
                     taskRepositoryLocationFactory.createWebLocation(taskRepository);
 
+            // the data of each repository is only decoded when first needed
             ReviewboardClientData data = dataByUrl.get(repositoryUrl);
+            if (data == null) {
+                data = readClientData(repositoryUrl);
+            }
             if (data == null) {
                 data = new ReviewboardClientData();
-                dataByUrl.put(repositoryUrl, data);
             }
+            dataByUrl.put(repositoryUrl, data);
 
-            repository = new RestfulReviewboardClient(location, data, taskRepository);
+            RestfulReviewboardClient client = new RestfulReviewboardClient(location, data, taskRepository,
+                    getResponseCacheFile(repositoryUrl), getAttachmentCacheDirectory(repositoryUrl));
+            client.setClientDataListener(clientDataListener);
+            repository = client;
             clientByUrl.put(taskRepository.getRepositoryUrl(), repository);
         }
 
@@ -111,9 +144,29 @@ public class ReviewboardClientManager implements IRepositoryListener {
         repositorySettingsChanged(repository);
     }
 
-    public void repositoryRemoved(TaskRepository repository) {
-        clientByUrl.remove(repository.getRepositoryUrl());
+    public synchronized void repositoryRemoved(TaskRepository repository) {
+        ReviewboardClient client = clientByUrl.remove(repository.getRepositoryUrl());
         dataByUrl.remove(repository.getRepositoryUrl());
+
+        if (client != null) {
+            client.shutdown();
+        }
+
+        File responseCacheFile = getResponseCacheFile(repository.getRepositoryUrl());
+        if (responseCacheFile != null) {
+            responseCacheFile.delete();
+        }
+
+        File clientDataFile = getClientDataFile(repository.getRepositoryUrl());
+        if (clientDataFile != null) {
+            persister.cancel(clientDataFile);
+            clientDataFile.delete();
+        }
+
+        File attachmentCacheDirectory = getAttachmentCacheDirectory(repository.getRepositoryUrl());
+        if (attachmentCacheDirectory != null) {
+            delete(attachmentCacheDirectory);
+        }
     }
 
     public void repositorySettingsChanged(TaskRepository repository) {
@@ -127,12 +180,175 @@ public class ReviewboardClientManager implements IRepositoryListener {
         }
     }
 
-    public void repositoryUrlChanged(TaskRepository repository, String oldUrl) {
-        clientByUrl.put(repository.getRepositoryUrl(), clientByUrl.remove(oldUrl));
-        dataByUrl.put(repository.getRepositoryUrl(), dataByUrl.remove(oldUrl));
+    public synchronized void repositoryUrlChanged(TaskRepository repository, String oldUrl) {
+        // the client writes its caches under the old URL, so a new one is created when next needed
+        ReviewboardClient client = clientByUrl.remove(oldUrl);
+        if (client != null) {
+            client.shutdown();
+        }
+
+        moveCache(getResponseCacheFile(oldUrl), getResponseCacheFile(repository.getRepositoryUrl()));
+        moveCache(getAttachmentCacheDirectory(oldUrl), getAttachmentCacheDirectory(repository.getRepositoryUrl()));
+
+        ReviewboardClientData data = dataByUrl.remove(oldUrl);
+        if (data == null) {
+            data = readClientData(oldUrl);
+        }
+        if (data != null) {
+            dataByUrl.put(repository.getRepositoryUrl(), data);
+        }
+
+        File oldClientDataFile = getClientDataFile(oldUrl);
+        if (oldClientDataFile != null) {
+            persister.cancel(oldClientDataFile);
+            oldClientDataFile.delete();
+        }
+
+        clientDataChanged(repository);
+    }
+
+    /**
+     * Schedules the client data of the repository to be written in the background
+     */
+    public synchronized void clientDataChanged(TaskRepository repository) {
+        ReviewboardClientData data = dataByUrl.get(repository.getRepositoryUrl());
+
+        if (data != null && persister != null) {
+            persister.schedule(getClientDataFile(repository.getRepositoryUrl()), data);
+        }
+    }
+
+    /**
+     * Schedules the <tt>clientData</tt> to be written under the current URL of its repository
+     */
+    private synchronized void scheduleWrite(ReviewboardClientData clientData) {
+        if (persister == null) {
+            return;
+        }
+
+        for (Entry<String, ReviewboardClientData> entry : dataByUrl.entrySet()) {
+            if (entry.getValue() == clientData) {
+                persister.schedule(getClientDataFile(entry.getKey()), clientData);
+            }
+        }
     }
 
-    private void readCache() {
+    /**
+     * Shuts down all the clients created by this manager and writes the pending client data
+     */
+    synchronized void shutdown() {
+        for (ReviewboardClient client : clientByUrl.values()) {
+            client.shutdown();
+        }
+        clientByUrl.clear();
+
+        if (persister != null) {
+            persister.shutdown();
+        }
+    }
+
+    /**
+     * @return the file holding the cached HTTP responses for the repository, or <code>null</code>
+     *         if responses are not persisted
+     */
+    private File getResponseCacheFile(String repositoryUrl) {
+        if (cacheFile == null) {
+            return null;
+        }
+
+        File responseCacheDirectory = new File(cacheFile.getParentFile(), "responseCache");
+        return new File(responseCacheDirectory, toFileName(repositoryUrl));
+    }
+
+    /**
+     * @return the directory holding the cached diffs and screenshots for the repository, or
+     *         <code>null</code> if they are not cached
+     */
+    private File getAttachmentCacheDirectory(String repositoryUrl) {
+        if (cacheFile == null) {
+            return null;
+        }
+
+        File attachmentCacheDirectory = new File(cacheFile.getParentFile(), "attachmentCache");
+        return new File(attachmentCacheDirectory, toFileName(repositoryUrl));
+    }
+
+    /**
+     * Moves a cache file or directory to the location for the new URL of its repository, deleting
+     * it if it can not be moved
+     */
+    private static void moveCache(File from, File to) {
+        if (from == null || !from.exists()) {
+            return;
+        }
+
+        delete(to);
+        if (!from.renameTo(to)) {
+            delete(from);
+        }
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * @return the file holding the client data for the repository, or <code>null</code> if the
+     *         client data is not persisted
+     */
+    private File getClientDataFile(String repositoryUrl) {
+        if (clientDataDirectory == null) {
+            return null;
+        }
+
+        return new File(clientDataDirectory, toFileName(repositoryUrl));
+    }
+
+    private static String toFileName(String repositoryUrl) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            StringBuilder fileName = new StringBuilder();
+            for (byte b : digest.digest(repositoryUrl.getBytes("UTF-8"))) {
+                fileName.append(Character.forDigit((b >> 4) & 0xf, 16));
+                fileName.append(Character.forDigit(b & 0xf, 16));
+            }
+            return fileName.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return the persisted client data for the repository, or <code>null</code> if there is none
+     *         or it could not be read
+     */
+    private ReviewboardClientData readClientData(String repositoryUrl) {
+        File clientDataFile = getClientDataFile(repositoryUrl);
+        if (clientDataFile == null || !clientDataFile.exists()) {
+            return null;
+        }
+
+        try {
+            return ClientDataCodec.read(clientDataFile);
+        } catch (IOException e) {
+            StatusHandler.log(new Status(IStatus.WARNING, ReviewboardCorePlugin.PLUGIN_ID,
+                    "The Reviewboard respository data cache for " + repositoryUrl + " could not be read", e));
+            return null;
+        }
+    }
+
+    /**
+     * Converts the serialized cache written by earlier versions to one file per repository
+     */
+    private void migrateCache() {
         if (cacheFile == null || !cacheFile.exists()) {
             return;
         }
@@ -148,43 +364,16 @@ public class ReviewboardClientManager implements IRepositoryListener {
             StatusHandler.log(new Status(IStatus.WARNING, ReviewboardCorePlugin.PLUGIN_ID,
                     "The Reviewboard respository data cache could not be read", e));
         } finally {
-            if (in != null) {
-                try {
-                    in.close();
-                } catch (IOException e1) {
-                    // ignore
-                }
-            }
+            IOUtil.closeSilently(in);
         }
-    }
 
-    void writeCache() {
-        if (cacheFile == null) {
-            return;
+        for (Entry<String, ReviewboardClientData> entry : dataByUrl.entrySet()) {
+            persister.schedule(getClientDataFile(entry.getKey()), entry.getValue());
         }
 
-        ObjectOutputStream out = null;
-        try {
-            out = new ObjectOutputStream(new FileOutputStream(cacheFile));
-
-            out.writeInt(dataByUrl.size());
-            for (Entry<String, ReviewboardClientData> entry : dataByUrl.entrySet()) {
-                out.writeObject(entry.getKey());
-                out.writeObject(entry.getValue());
-            }
-
-            out.flush();
-        } catch (Throwable e) {
-            StatusHandler.log(new Status(IStatus.WARNING, ReviewboardCorePlugin.PLUGIN_ID,
-                    "The Reviewboard respository data cache could not be written", e));
-        } finally {
-            if (out != null) {
-                try {
-                    out.close();
-                } catch (IOException e1) {
-                    // ignore
-                }
-            }
+        // the old cache is only read once, even if it was unusable
+        if (persister.flush()) {
+            cacheFile.delete();
         }
     }
 
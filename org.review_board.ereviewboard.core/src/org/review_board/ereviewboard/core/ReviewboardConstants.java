@@ -49,4 +49,36 @@ public final class ReviewboardConstants {
 
     public static final String REVIEW_REQUEST_URL = "/r/";
 
+    /**
+     * Repository property which enables downloading the complete user list when the repository
+     * data is refreshed; by default users are retrieved one by one when needed
+     */
+    public static final String PROPERTY_ENUMERATE_USERS = "enumerateUsers";
+
+    /**
+     * Repository properties holding the number of minutes after which the cached users, groups,
+     * repositories and server information are refreshed in the background; zero disables the
+     * refresh
+     */
+    public static final String PROPERTY_USERS_TTL = "usersTtlMinutes";
+
+    public static final String PROPERTY_GROUPS_TTL = "groupsTtlMinutes";
+
+    public static final String PROPERTY_REPOSITORIES_TTL = "repositoriesTtlMinutes";
+
+    public static final String PROPERTY_SERVER_INFO_TTL = "serverInfoTtlMinutes";
+
+    /**
+     * Repository property holding the size limit, in megabytes, of the cached diffs and
+     * screenshots
+     */
+    public static final String PROPERTY_ATTACHMENT_CACHE_SIZE = "attachmentCacheSizeMegabytes";
+
+    /**
+     * Repository property holding the severity, one of <tt>info</tt>, <tt>warning</tt> or
+     * <tt>error</tt>, at which the request statistics are written to the Eclipse log; they are not
+     * logged unless specified
+     */
+    public static final String PROPERTY_STATISTICS_LOG_LEVEL = "statisticsLogLevel";
+
 }
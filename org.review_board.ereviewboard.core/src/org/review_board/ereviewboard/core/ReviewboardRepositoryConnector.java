@@ -39,13 +39,21 @@ package org.review_board.ereviewboard.core;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -53,6 +61,8 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.mylyn.commons.net.Policy;
 import org.eclipse.mylyn.tasks.core.AbstractRepositoryConnector;
@@ -73,7 +83,12 @@ import org.eclipse.mylyn.tasks.core.data.TaskData;
 import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
 import org.eclipse.mylyn.tasks.core.data.TaskMapper;
 import org.eclipse.mylyn.tasks.core.sync.ISynchronizationSession;
+import org.review_board.ereviewboard.core.ReviewDetailsLoader.ReplyDetails;
+import org.review_board.ereviewboard.core.ReviewDetailsLoader.ReviewDetails;
 import org.review_board.ereviewboard.core.ReviewboardAttributeMapper.Attribute;
+import org.review_board.ereviewboard.core.client.PageConsumer;
+import org.review_board.ereviewboard.core.client.RequestScheduler;
+import org.review_board.ereviewboard.core.client.RequestStatistics;
 import org.review_board.ereviewboard.core.client.ReviewboardAttachmentHandler;
 import org.review_board.ereviewboard.core.client.ReviewboardClient;
 import org.review_board.ereviewboard.core.exception.ReviewboardException;
@@ -84,6 +99,8 @@ import org.review_board.ereviewboard.core.model.ReviewRequest;
 import org.review_board.ereviewboard.core.model.ReviewRequestStatus;
 import org.review_board.ereviewboard.core.model.Screenshot;
 import org.review_board.ereviewboard.core.model.ScreenshotComment;
+import org.review_board.ereviewboard.core.model.User;
+import org.review_board.ereviewboard.core.util.IntHashSet;
 import org.review_board.ereviewboard.core.util.ReviewboardUtil;
 
 /**
@@ -103,6 +120,8 @@ public class ReviewboardRepositoryConnector extends AbstractRepositoryConnector
     private ReviewboardClientManager clientManager;
 
     private TaskRepositoryLocationFactory taskRepositoryLocationFactory;
+    
+    private final TaskSnapshots taskSnapshots = new TaskSnapshots();
 
     public ReviewboardRepositoryConnector() {
         super();
@@ -112,6 +131,11 @@ public class ReviewboardRepositoryConnector extends AbstractRepositoryConnector
         }
     }
 
+    /** Visible for testing only */
+    ReviewboardRepositoryConnector(ReviewboardClientManager clientManager) {
+        this.clientManager = clientManager;
+    }
+
     @Override
     public boolean canCreateNewTask(TaskRepository repository) {
         return repository.getConnectorKind().equals(getConnectorKind());
@@ -154,169 +178,298 @@ public class ReviewboardRepositoryConnector extends AbstractRepositoryConnector
             IProgressMonitor monitor) throws CoreException {
         try {
             
-            long start = System.currentTimeMillis();
-
             ReviewboardClient client = getClientManager().getClient(taskRepository);
             
-            monitor.beginTask("Getting task data", 4 + REVIEW_DIFF_TICKS + SCREENSHOT_COMMENT_TICKS);
-
-            try {
-                
-                int reviewRequestId = Integer.parseInt(taskId);
-                
-                ReviewRequest reviewRequest = client.getReviewRequest(reviewRequestId, monitor);
+            return getTaskData(taskRepository, client, taskId, new HashMap<String, IRepositoryPerson>(), monitor);
+            
+        } catch (ReviewboardException e) {
+            Status status = new Status(IStatus.ERROR, ReviewboardCorePlugin.PLUGIN_ID, "Failed getting task data for task with id " + taskId , e);
+            ReviewboardCorePlugin.getDefault().getLog().log(status);
+            throw new CoreException(status);
+        }
+    }
+    
+    /**
+     * Retrieves the task data for multiple tasks, loading each one on a thread of the client's
+     * {@link ReviewboardClient#getRequestScheduler() request scheduler}
+     * 
+     * <p>
+     * The task data is passed to the <tt>collector</tt> from the calling thread, as soon as it is
+     * available. All the tasks share the client's HTTP connections and the persons created for the
+     * task data. A task which fails to load does not prevent the others from being retrieved, and
+     * the failures are reported together once all tasks are done.
+     * </p>
+     */
+    void getMultiTaskData(TaskRepository taskRepository, Set<String> taskIds, TaskDataCollector collector,
+            IProgressMonitor monitor) throws CoreException {
+        
+        final ReviewboardClient client = getClientManager().getClient(taskRepository);
+        final TaskRepository repository = taskRepository;
+        final Map<String, IRepositoryPerson> people = new ConcurrentHashMap<String, IRepositoryPerson>();
+        
+        CompletionService<TaskData> completionService = new ExecutorCompletionService<TaskData>(client.getRequestScheduler());
+        Map<Future<TaskData>, String> taskIdsByFuture = new HashMap<Future<TaskData>, String>();
+        MultiStatus failures = new MultiStatus(ReviewboardCorePlugin.PLUGIN_ID, IStatus.OK, "Failed getting task data", null);
+        
+        monitor.beginTask("Getting task data", taskIds.size());
+        
+        try {
+            for ( final String taskId : taskIds ) {
                 
-                Policy.advance(monitor, 1);
+                Future<TaskData> future = completionService.submit(new Callable<TaskData>() {
+                    public TaskData call() throws ReviewboardException {
+                        return getTaskData(repository, client, taskId, people, new NullProgressMonitor());
+                    }
+                });
                 
-                TaskData taskData = getTaskDataForReviewRequest(taskRepository, reviewRequest, false);
+                taskIdsByFuture.put(future, taskId);
+            }
+            
+            for ( int i = 0 ; i < taskIds.size() ; i++ ) {
                 
-                List<Diff> diffs = client.loadDiffs(reviewRequestId, monitor);
+                Future<TaskData> future = completionService.take();
+                String taskId = taskIdsByFuture.get(future);
                 
-                Policy.advance(monitor, 1);
+                TaskData taskData = null;
+                try {
+                    taskData = RequestScheduler.getResult(future);
+                } catch (ReviewboardException e) {
+                    failures.add(logTaskDataFailure(taskId, e));
+                } catch (RuntimeException e) {
+                    // an unexpected failure of one task must not prevent collecting the others
+                    failures.add(logTaskDataFailure(taskId, e));
+                }
                 
-                List<Screenshot> screenshots = client.loadScreenshots(Integer.parseInt(taskData.getTaskId()), monitor);
+                if ( taskData != null )
+                    collector.accept(taskData);
                 
                 Policy.advance(monitor, 1);
-                
-                createTaskDataComments(client, taskData, diffs, screenshots, monitor);
-                
-                createTaskDataAttachments(client, taskData, taskRepository, diffs, screenshots, monitor);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoreException(new Status(IStatus.CANCEL, ReviewboardCorePlugin.PLUGIN_ID, "Interrupted while getting task data", e));
+        } finally {
+            for ( Future<TaskData> future : taskIdsByFuture.keySet() )
+                future.cancel(false);
+            
+            monitor.done();
+        }
+        
+        if ( !failures.isOK() )
+            throw new CoreException(failures);
+    }
+    
+    private IStatus logTaskDataFailure(String taskId, Exception e) {
+        
+        Status status = new Status(IStatus.ERROR, ReviewboardCorePlugin.PLUGIN_ID, "Failed getting task data for task with id " + taskId , e);
+        ReviewboardCorePlugin.getDefault().getLog().log(status);
+        return status;
+    }
+    
+    private TaskData getTaskData(TaskRepository taskRepository, ReviewboardClient client, String taskId,
+            Map<String, IRepositoryPerson> people, IProgressMonitor monitor) throws ReviewboardException {
+        
+        long start = System.currentTimeMillis();
+        
+        monitor.beginTask("Getting task data", 4 + REVIEW_DIFF_TICKS + SCREENSHOT_COMMENT_TICKS);
 
-                return taskData;
-            } finally {
-                
-                double elapsed = ( System.currentTimeMillis() - start) / 1000.0;
+        try {
+            
+            int reviewRequestId = Integer.parseInt(taskId);
+            
+            ReviewRequest reviewRequest = client.getReviewRequest(reviewRequestId, monitor);
+            
+            Policy.advance(monitor, 1);
+            
+            TaskData taskData = getTaskDataForReviewRequest(taskRepository, reviewRequest, false);
+            
+            TaskSnapshot snapshot = loadSnapshot(client, reviewRequest, taskSnapshots.get(taskRepository.getRepositoryUrl(), taskId), monitor);
+            
+            client.getUserDirectory().resolve(getUsernames(reviewRequest, snapshot));
+            
+            createTaskDataComments(taskData, snapshot, people);
+            
+            createTaskDataAttachments(client, taskData, taskRepository, snapshot.getDiffs(), snapshot.getScreenshots(), people, monitor);
+            
+            taskSnapshots.put(taskRepository.getRepositoryUrl(), taskId, snapshot);
+            
+            // the comment counts and users resolved for the task are kept between sessions
+            getClientManager().clientDataChanged(taskRepository);
+
+            return taskData;
+        } finally {
+            
+            client.getStatistics().recordPhase(RequestStatistics.PHASE_GET_TASK_DATA, "review request " + taskId, System.currentTimeMillis() - start);
+            
+            monitor.done();
+        }
+    }
+    
+    /**
+     * Loads the data of the review request besides the review request itself, reusing the
+     * <tt>previous</tt> snapshot where possible
+     * 
+     * <p>
+     * When the review request was not updated since the previous snapshot was taken, the snapshot
+     * is reused as is. Otherwise only the reviews and replies published after the ones from the
+     * previous snapshot are retrieved, since published reviews and replies are appended to the
+     * existing ones and never change afterwards.
+     * </p>
+     * 
+     * <p>Advances monitor by three + {@value #REVIEW_DIFF_TICKS} + {@value #SCREENSHOT_COMMENT_TICKS}</p>
+     * 
+     * @param previous the previous snapshot, possibly <code>null</code>
+     */
+    private TaskSnapshot loadSnapshot(ReviewboardClient client, ReviewRequest reviewRequest, TaskSnapshot previous,
+            IProgressMonitor monitor) throws ReviewboardException {
+        
+        if ( previous != null && previous.isUpToDate(reviewRequest) ) {
+            Policy.advance(monitor, 3 + REVIEW_DIFF_TICKS + SCREENSHOT_COMMENT_TICKS);
+            return previous;
+        }
+        
+        int reviewRequestId = reviewRequest.getId();
+        
+        List<Diff> diffs = client.loadDiffs(reviewRequestId, monitor);
+        
+        Policy.advance(monitor, 1);
+        
+        List<Screenshot> screenshots = client.loadScreenshots(reviewRequestId, monitor);
+        
+        Policy.advance(monitor, 1);
+        
+        List<Review> reviews = new ArrayList<Review>();
+        List<ReviewDetails> previousReviews = Collections.emptyList();
+        
+        if ( previous != null ) {
+            previousReviews = previous.getReviews();
+            for ( ReviewDetails details : previousReviews.subList(0, previous.getPublishedReviewCount()) )
+                reviews.add(details.getReview());
+        }
+        
+        reviews.addAll(client.getReviews(reviewRequestId, reviews.size(), monitor));
+        
+        Policy.advance(monitor, 1);
+        
+        IProgressMonitor reviewDiffMonitor = Policy.subMonitorFor(monitor, REVIEW_DIFF_TICKS);
+        List<ReviewDetails> reviewDetails = new ReviewDetailsLoader(client, reviewRequestId).load(reviews, previousReviews, reviewDiffMonitor);
+        
+        // screenshot comments are ordered by their creation time rather than by the time they were
+        // published, so they are always retrieved in full
+        Map<Integer, List<ScreenshotComment>> screenshotComments = new HashMap<Integer, List<ScreenshotComment>>();
+        
+        IProgressMonitor screenshotCommentMonitor = Policy.subMonitorFor(monitor, SCREENSHOT_COMMENT_TICKS);
+        screenshotCommentMonitor.beginTask("Retrieving screeshot comments", screenshots.size());
+        
+        try {
+            
+            for ( Screenshot screenshot : screenshots ) {
                 
-                System.out.println("Review request with id  " + taskId + " synchronized in " + NumberFormat.getNumberInstance().format(elapsed) + " seconds.");
+                screenshotComments.put(screenshot.getId(), client.getScreenshotComments(reviewRequestId, screenshot.getId(), screenshotCommentMonitor));
                 
-                monitor.done();
+                Policy.advance(screenshotCommentMonitor, 1);
             }
-
             
-        } catch (ReviewboardException e) {
-            Status status = new Status(IStatus.ERROR, ReviewboardCorePlugin.PLUGIN_ID, "Failed getting task data for task with id " + taskId , e);
-            ReviewboardCorePlugin.getDefault().getLog().log(status);
-            throw new CoreException(status);
+        } finally {
+            screenshotCommentMonitor.done();
         }
+        
+        return new TaskSnapshot(reviewRequest.getLastUpdated(), diffs, screenshots, reviewDetails, screenshotComments);
     }
     
     /**
-     * Advances monitor by one + {@value #REVIEW_DIFF_TICKS} + {@value #SCREENSHOT_COMMENT_TICKS}
-     * @param screenshots 
-     * 
+     * @return the usernames of the authors of the review request and of its comments
      */
-    private void createTaskDataComments(ReviewboardClient client, TaskData taskData, List<Diff> diffs, List<Screenshot> screenshots, IProgressMonitor monitor)
-            throws  ReviewboardException {
+    private Set<String> getUsernames(ReviewRequest reviewRequest, TaskSnapshot snapshot) {
+        
+        Set<String> usernames = new HashSet<String>();
+        
+        usernames.add(reviewRequest.getSubmitter());
+        
+        for ( ReviewDetails details : snapshot.getReviews() ) {
+            usernames.add(details.getReview().getUser());
+            for ( ReplyDetails replyDetails : details.getReplies() )
+                usernames.add(replyDetails.getReply().getUser());
+        }
+        
+        for ( List<ScreenshotComment> screenshotComments : snapshot.getScreenshotComments().values() )
+            for ( ScreenshotComment screenshotComment : screenshotComments )
+                usernames.add(screenshotComment.getUsername());
+        
+        return usernames;
+    }
+    
+    private void createTaskDataComments(TaskData taskData, TaskSnapshot snapshot, Map<String, IRepositoryPerson> people) {
 
         SortedMap<Date, ReviewboardCommentMapper> sortedComments = new TreeMap<Date, ReviewboardCommentMapper>();
 
-        for (Diff diff : diffs ) {
+        for (Diff diff : snapshot.getDiffs() ) {
 
             ReviewboardCommentMapper comment = new ReviewboardCommentMapper();
-            comment.setAuthor(newPerson(taskData.getAttributeMapper().getTaskRepository(), taskData.getRoot().getAttribute(Attribute.SUBMITTER.toString()).getValue()));
+            comment.setAuthor(newPerson(taskData.getAttributeMapper().getTaskRepository(), taskData.getRoot().getAttribute(Attribute.SUBMITTER.toString()).getValue(), people));
             comment.setHeading(Diff.DIFF_REVISION_PREFIX + diff.getRevision());
 
             sortedComments.put(diff.getTimestamp(), comment);
         }
         
-        int reviewRequestId = Integer.parseInt(taskData.getTaskId());
-        List<Review> reviews = client.getReviews(reviewRequestId, monitor);
-
-        Policy.advance(monitor, 1);
-
         int shipItCount = 0;
         
-        IProgressMonitor reviewDiffMonitor = Policy.subMonitorFor(monitor, REVIEW_DIFF_TICKS);
-        reviewDiffMonitor.beginTask("Reading reviews", reviews.size() * 3); // 1 for counting comments, 1 for reading the replies, 1 for counting comments for replies
-        
-        try {
-            for (Review review : reviews) {
+        for (ReviewDetails details : snapshot.getReviews()) {
 
-                int reviewId = review.getId();
-                int totalResults = client.countDiffComments(reviewRequestId, reviewId, monitor);
-                
-                Policy.advance(reviewDiffMonitor, 1);
-
-                boolean shipit = review.getShipIt();
-                
-                if (shipit)
-                    shipItCount++;
+            Review review = details.getReview();
+            int reviewId = review.getId();
+            int totalResults = details.getDiffComments();
+            
+            boolean shipit = review.getShipIt();
+            
+            if (shipit)
+                shipItCount++;
 
-                ReviewboardCommentMapper comment = new ReviewboardCommentMapper();
-                comment.setAuthor(newPerson(taskData.getAttributeMapper().getTaskRepository(), review.getUser()));
-                comment.setHeading(review.getShipIt() ? "Ship it!" : null);
-                comment.setTop(review.getBodyTop());
-                comment.setBody(totalResults != 0 ? totalResults + " inline comments" : null);
-                comment.setBottom(review.getBodyBottom());
+            ReviewboardCommentMapper comment = new ReviewboardCommentMapper();
+            comment.setAuthor(newPerson(taskData.getAttributeMapper().getTaskRepository(), review.getUser(), people));
+            comment.setHeading(review.getShipIt() ? "Ship it!" : null);
+            comment.setTop(review.getBodyTop());
+            comment.setBody(totalResults != 0 ? totalResults + " inline comments" : null);
+            comment.setBottom(review.getBodyBottom());
 
-                sortedComments.put(review.getTimestamp(), comment);
+            sortedComments.put(review.getTimestamp(), comment);
+            
+            for ( ReplyDetails replyDetails : details.getReplies() ) {
                 
-                List<ReviewReply> replies = client.getReviewReplies(reviewRequestId, reviewId, reviewDiffMonitor);
-
-                Policy.advance(reviewDiffMonitor, 1);
+                ReviewReply reviewReply = replyDetails.getReply();
                 
-                IProgressMonitor counterMonitor = Policy.subMonitorFor(reviewDiffMonitor, 1);
-                counterMonitor.beginTask("Reading review replies", replies.size() * 2);
-
-                try {
-                    for ( ReviewReply reviewReply : replies ) {
-                        
-                        ReviewboardCommentMapper replyComment = new ReviewboardCommentMapper();
-                        replyComment.setAuthor(newPerson(taskData.getAttributeMapper().getTaskRepository(), reviewReply.getUser()));
-                        replyComment.setHeading("In reply to review #" + reviewId + ": ");
-                        replyComment.setTop(reviewReply.getBodyTop());
-                        
-                        int diffComments = client.countDiffCommentsForReply(reviewRequestId, reviewId, reviewReply.getId(), reviewDiffMonitor);
-                        Policy.advance(counterMonitor, 1);
-                        
-                        int screenshotComments = client.countScreenshotCommentsForReply(reviewRequestId, reviewId, reviewReply.getId(), reviewDiffMonitor);
-                        Policy.advance(counterMonitor, 1);
-                        
-                        StringBuilder body = new StringBuilder();
-                        if ( diffComments != 0 ) 
-                            body.append(diffComments + " inline comments. ");
-                        if ( screenshotComments != 0 )
-                            body.append(screenshotComments + " screenshot comments.");
-                        
-                        replyComment.setBody(body.toString());
-                        replyComment.setBottom(reviewReply.getBodyBottom());
-                        
-                        sortedComments.put(reviewReply.getTimestamp(), replyComment);
-                    }
-                } finally {
-                    counterMonitor.done();
-                }
-
+                ReviewboardCommentMapper replyComment = new ReviewboardCommentMapper();
+                replyComment.setAuthor(newPerson(taskData.getAttributeMapper().getTaskRepository(), reviewReply.getUser(), people));
+                replyComment.setHeading("In reply to review #" + reviewId + ": ");
+                replyComment.setTop(reviewReply.getBodyTop());
+                
+                int diffComments = replyDetails.getDiffComments();
+                int screenshotComments = replyDetails.getScreenshotComments();
+                
+                StringBuilder body = new StringBuilder();
+                if ( diffComments != 0 ) 
+                    body.append(diffComments + " inline comments. ");
+                if ( screenshotComments != 0 )
+                    body.append(screenshotComments + " screenshot comments.");
+                
+                replyComment.setBody(body.toString());
+                replyComment.setBottom(reviewReply.getBodyBottom());
+                
+                sortedComments.put(reviewReply.getTimestamp(), replyComment);
             }
-        } finally {
-            reviewDiffMonitor.done();
         }
         
-        IProgressMonitor screenshotCommentMonitor = Policy.subMonitorFor(monitor, SCREENSHOT_COMMENT_TICKS);
-        screenshotCommentMonitor.beginTask("Retrieving screeshot comments", screenshots.size());
-        
-        try {
+        for ( Screenshot screenshot : snapshot.getScreenshots() ) {
             
-            for ( Screenshot screenshot : screenshots ) {
+            for ( ScreenshotComment screenshotComment : snapshot.getScreenshotComments().get(screenshot.getId()) ) {
                 
-                List<ScreenshotComment> screenshotComments = client.getScreenshotComments(reviewRequestId, screenshot.getId(), screenshotCommentMonitor);
-                
-                Policy.advance(screenshotCommentMonitor, 1);
-                
-                for ( ScreenshotComment screenshotComment : screenshotComments ) {
-                    
-                    ReviewboardCommentMapper screenshotCommentMapper = new ReviewboardCommentMapper();
-                    screenshotCommentMapper.setAuthor(newPerson(taskData.getAttributeMapper().getTaskRepository(), screenshotComment.getUsername()));
-                    screenshotCommentMapper.setHeading("Comment on screenshot '" + screenshot.getCaption() + "': ");
-                    screenshotCommentMapper.setBody(screenshotComment.getText());
-                    
-                    sortedComments.put(screenshotComment.getTimestamp(), screenshotCommentMapper);
-                }
+                ReviewboardCommentMapper screenshotCommentMapper = new ReviewboardCommentMapper();
+                screenshotCommentMapper.setAuthor(newPerson(taskData.getAttributeMapper().getTaskRepository(), screenshotComment.getUsername(), people));
+                screenshotCommentMapper.setHeading("Comment on screenshot '" + screenshot.getCaption() + "': ");
+                screenshotCommentMapper.setBody(screenshotComment.getText());
                 
+                sortedComments.put(screenshotComment.getTimestamp(), screenshotCommentMapper);
             }
-            
-        } finally {
-            screenshotCommentMonitor.done();
         }
         
         TaskAttribute shipItAttribute = taskData.getRoot().createAttribute(Attribute.SHIP_IT.toString());
@@ -330,10 +483,20 @@ public class ReviewboardRepositoryConnector extends AbstractRepositoryConnector
             entry.getValue().applyTo(taskData, commentIndex++, entry.getKey());
     }
 
-    private IRepositoryPerson newPerson(TaskRepository repository, String username) {
+    /**
+     * @param people the persons already created, keyed by username
+     */
+    private IRepositoryPerson newPerson(TaskRepository repository, String username, Map<String, IRepositoryPerson> people) {
+        
+        IRepositoryPerson person = people.get(username);
+        if ( person != null )
+            return person;
         
-        IRepositoryPerson person = repository.createPerson(username);
-        person.setName(getClientManager().getClient(repository).getClientData().getUser(username).getFullName());
+        person = repository.createPerson(username);
+        User user = getClientManager().getClient(repository).getUserDirectory().getUser(username);
+        if ( user != null )
+            person.setName(user.getFullName());
+        people.put(username, person);
         return person;
     }
     
@@ -341,7 +504,7 @@ public class ReviewboardRepositoryConnector extends AbstractRepositoryConnector
      * Advances monitor by one
      * @param client 
      */
-    private void createTaskDataAttachments(ReviewboardClient client, TaskData taskData, TaskRepository taskRepository, List<Diff> diffs, List<Screenshot> screenshots, IProgressMonitor monitor) throws ReviewboardException {
+    private void createTaskDataAttachments(ReviewboardClient client, TaskData taskData, TaskRepository taskRepository, List<Diff> diffs, List<Screenshot> screenshots, Map<String, IRepositoryPerson> people, IProgressMonitor monitor) throws ReviewboardException {
         
         if ( diffs.isEmpty() && screenshots.isEmpty() )
             return;
@@ -353,7 +516,7 @@ public class ReviewboardRepositoryConnector extends AbstractRepositoryConnector
             TaskAttachmentMapper mapper = TaskAttachmentMapper.createFrom(attribute);
             mapper.setFileName(diff.getName());
             mapper.setDescription(diff.getName());
-            mapper.setAuthor(newPerson(taskRepository, taskData.getRoot().getAttribute(ReviewboardAttributeMapper.Attribute.SUBMITTER.toString()).getValue()));
+            mapper.setAuthor(newPerson(taskRepository, taskData.getRoot().getAttribute(ReviewboardAttributeMapper.Attribute.SUBMITTER.toString()).getValue(), people));
             mapper.setCreationDate(diff.getTimestamp());
             mapper.setAttachmentId(Integer.toString(diff.getId()));
             mapper.setPatch(Boolean.TRUE);
@@ -440,15 +603,20 @@ public class ReviewboardRepositoryConnector extends AbstractRepositoryConnector
             
             ReviewboardClient client = getClientManager().getClient(repository);
             
-            List<Integer> changedReviewIds = client.getReviewsIdsChangedSince(lastSyncTimestamp, monitor);
-            
-            if ( changedReviewIds.isEmpty() )
-                return;
-            
-            for ( ITask task : event.getTasks() )
-                if ( changedReviewIds.contains(Integer.valueOf(task.getTaskId())) )
-                    event.markStale(task);
+            long start = System.currentTimeMillis();
             
+            try {
+                IntHashSet changedReviewIds = client.getReviewsIdsChangedSince(lastSyncTimestamp, monitor);
+                
+                if ( changedReviewIds.isEmpty() )
+                    return;
+                
+                for ( ITask task : event.getTasks() )
+                    if ( changedReviewIds.contains(Integer.parseInt(task.getTaskId())) )
+                        event.markStale(task);
+            } finally {
+                client.getStatistics().recordPhase(RequestStatistics.PHASE_PRE_SYNCHRONIZATION, event.getTasks().size() + " tasks", System.currentTimeMillis() - start);
+            }
             
         } catch (ReviewboardException e) {
             Status status = new Status(IStatus.ERROR, ReviewboardCorePlugin.PLUGIN_ID, "Failed retrieving changed review ids", e);
@@ -458,31 +626,45 @@ public class ReviewboardRepositoryConnector extends AbstractRepositoryConnector
     }
 
     @Override
-    public IStatus performQuery(TaskRepository repository, IRepositoryQuery query,
-            TaskDataCollector collector, ISynchronizationSession session, IProgressMonitor monitor) {
+    public IStatus performQuery(final TaskRepository repository, IRepositoryQuery query,
+            final TaskDataCollector collector, ISynchronizationSession session, final IProgressMonitor monitor) {
         ReviewboardClient client = getClientManager().getClient(repository);
+        
+        long start = System.currentTimeMillis();
 
         try {
             client.updateRepositoryData(false, monitor);
-                
-            List<ReviewRequest> reviewRequests = client.getReviewRequests(query.getUrl(), Integer.parseInt(query.getAttribute("maxResults")), monitor);
             
-            for (ReviewRequest reviewRequest : reviewRequests) {
-                TaskData taskData = getTaskDataForReviewRequest(repository, reviewRequest, true);
-                collector.accept(taskData);
-            }
+            // hand over each page as soon as it arrives, rather than waiting for the complete result
+            client.getReviewRequests(query.getUrl(), Integer.parseInt(query.getAttribute("maxResults")), new PageConsumer<ReviewRequest>() {
+                public boolean accept(List<ReviewRequest> page) {
+                    for (ReviewRequest reviewRequest : page) {
+                        TaskData taskData = getTaskDataForReviewRequest(repository, reviewRequest, true);
+                        collector.accept(taskData);
+                    }
+                    
+                    return !monitor.isCanceled();
+                }
+            }, monitor);
+            
+            // a partial result would make Mylyn remove the tasks which were not collected from the query
+            if ( monitor.isCanceled() )
+                return Status.CANCEL_STATUS;
         } catch ( ReviewboardException e) {
             // Mylyn does not log the error cause, just decorates the query in the task list
             Status status = new Status(IStatus.ERROR, ReviewboardCorePlugin.PLUGIN_ID, "Failed performing query : " + e.getMessage(), e);
             ReviewboardCorePlugin.getDefault().getLog().log(status);
 
             return status;
+        } finally {
+            client.getStatistics().recordPhase(RequestStatistics.PHASE_PERFORM_QUERY, "query " + query.getUrl(), System.currentTimeMillis() - start);
         }
 
         return Status.OK_STATUS;
     }
     
-    private TaskData getTaskDataForReviewRequest(TaskRepository taskRepository,
+    /** Visible for testing only */
+    TaskData getTaskDataForReviewRequest(TaskRepository taskRepository,
             ReviewRequest reviewRequest, boolean partial) {
 
         String id = String.valueOf(reviewRequest.getId());
@@ -590,7 +772,7 @@ public class ReviewboardRepositoryConnector extends AbstractRepositoryConnector
 
     public void stop() {
         if (clientManager != null) {
-            clientManager.writeCache();
+            clientManager.shutdown();
         }
     }
 
@@ -616,6 +798,17 @@ public class ReviewboardRepositoryConnector extends AbstractRepositoryConnector
                 return false;
             }
 
+            @Override
+            public boolean canGetMultiTaskData(TaskRepository taskRepository) {
+                return true;
+            }
+
+            @Override
+            public void getMultiTaskData(TaskRepository repository, Set<String> taskIds,
+                    TaskDataCollector collector, IProgressMonitor monitor) throws CoreException {
+                ReviewboardRepositoryConnector.this.getMultiTaskData(repository, taskIds, collector, monitor);
+            }
+
               @Override
             public RepositoryResponse postTaskData(TaskRepository repository, TaskData taskData,
                     Set<TaskAttribute> oldAttributes, IProgressMonitor monitor)
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.review_board.ereviewboard.core.ReviewDetailsLoader.ReplyDetails;
+import org.review_board.ereviewboard.core.ReviewDetailsLoader.ReviewDetails;
+import org.review_board.ereviewboard.core.model.Diff;
+import org.review_board.ereviewboard.core.model.ReviewRequest;
+import org.review_board.ereviewboard.core.model.Screenshot;
+import org.review_board.ereviewboard.core.model.ScreenshotComment;
+
+/**
+ * The data retrieved for a review request during a synchronization, besides the review request
+ * itself
+ * 
+ */
+public class TaskSnapshot {
+
+    private final Date lastUpdated;
+    private final List<Diff> diffs;
+    private final List<Screenshot> screenshots;
+    private final List<ReviewDetails> reviews;
+    private final Map<Integer, List<ScreenshotComment>> screenshotComments;
+
+    /**
+     * @param screenshotComments the comments of each screenshot, keyed by screenshot id
+     */
+    public TaskSnapshot(Date lastUpdated, List<Diff> diffs, List<Screenshot> screenshots,
+            List<ReviewDetails> reviews, Map<Integer, List<ScreenshotComment>> screenshotComments) {
+
+        this.lastUpdated = lastUpdated;
+        this.diffs = diffs;
+        this.screenshots = screenshots;
+        this.reviews = reviews;
+        this.screenshotComments = screenshotComments;
+    }
+
+    /**
+     * Returns true if the snapshot can be used instead of retrieving the data again
+     * 
+     * <p>
+     * Publishing a review, a reply or a new revision of the review request updates its
+     * <tt>last_updated</tt> timestamp, so an unchanged timestamp means that the published data is
+     * unchanged. Drafts can change without affecting it, so snapshots which contain drafts are never
+     * up to date.
+     * </p>
+     */
+    public boolean isUpToDate(ReviewRequest reviewRequest) {
+
+        if (lastUpdated == null || !lastUpdated.equals(reviewRequest.getLastUpdated()))
+            return false;
+
+        for (ReviewDetails review : reviews) {
+            if (!review.getReview().isPublicReview())
+                return false;
+            for (ReplyDetails reply : review.getReplies())
+                if (!reply.getReply().isPublicReply())
+                    return false;
+        }
+
+        return true;
+    }
+
+    public Date getLastUpdated() {
+
+        return lastUpdated;
+    }
+
+    public List<Diff> getDiffs() {
+
+        return diffs;
+    }
+
+    public List<Screenshot> getScreenshots() {
+
+        return screenshots;
+    }
+
+    public List<ReviewDetails> getReviews() {
+
+        return reviews;
+    }
+
+    public Map<Integer, List<ScreenshotComment>> getScreenshotComments() {
+
+        return screenshotComments;
+    }
+
+    /**
+     * @return the number of leading reviews which are published, and therefore will be listed in
+     *         the same position by the server
+     */
+    public int getPublishedReviewCount() {
+
+        int count = 0;
+        for (ReviewDetails review : reviews) {
+            if (!review.getReview().isPublicReview())
+                break;
+            count++;
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Keeps the {@link TaskSnapshot snapshots} of the most recently synchronized review requests
+ * 
+ */
+public class TaskSnapshots {
+
+    static final int MAX_SNAPSHOTS = 100;
+
+    private final LinkedHashMap<String, TaskSnapshot> snapshots = new LinkedHashMap<String, TaskSnapshot>(16, 0.75f, true);
+
+    public synchronized TaskSnapshot get(String repositoryUrl, String taskId) {
+
+        return snapshots.get(key(repositoryUrl, taskId));
+    }
+
+    public synchronized void put(String repositoryUrl, String taskId, TaskSnapshot snapshot) {
+
+        snapshots.put(key(repositoryUrl, taskId), snapshot);
+
+        for (Iterator<String> iterator = snapshots.keySet().iterator(); snapshots.size() > MAX_SNAPSHOTS
+                && iterator.hasNext();) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    public synchronized void remove(String repositoryUrl, String taskId) {
+
+        snapshots.remove(key(repositoryUrl, taskId));
+    }
+
+    private String key(String repositoryUrl, String taskId) {
+
+        return repositoryUrl + '#' + taskId;
+    }
+}
@@ -0,0 +1,495 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.review_board.ereviewboard.core.util.IOUtil;
+
+/**
+ * Bounded, on-disk cache of attachment contents which never change, such as the raw diff of a
+ * diff revision or a screenshot
+ *
+ * <p>
+ * The contents are stored by their SHA-1 digest in the <tt>blobs</tt> directory, and each key
+ * refers to a content through a file named after the digest of the key in the <tt>refs</tt>
+ * directory. The digest of a content is checked whenever it is read, so that corrupted files are
+ * discarded and downloaded again.
+ * </p>
+ *
+ * <p>
+ * The least recently used contents are evicted once their total size exceeds the configured
+ * limit. The last modification time of the files records their use, so that the order is kept
+ * across sessions. Contents which are still being read are skipped, and evicted by the first
+ * eviction after their streams are closed.
+ * </p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public class AttachmentCache {
+
+    static final long DEFAULT_MAX_BYTES = 64 * 1024 * 1024;
+
+    private static final long SPOOL_CHUNK_BYTES = 256 * 1024;
+
+    public static String diffKey(int reviewRequestId, int diffRevision) {
+
+        return "diff " + reviewRequestId + ' ' + diffRevision;
+    }
+
+    public static String screenshotKey(String url) {
+
+        return "screenshot " + url;
+    }
+
+    private final File refsDirectory;
+    private final File blobsDirectory;
+    private long maxBytes;
+
+    /**
+     * The size of the stored contents keyed by digest, least recently used first; <code>null</code>
+     * until the directory is first read
+     */
+    private LinkedHashMap<String, Long> blobSizes;
+    private long totalBytes;
+
+    /**
+     * The number of streams opened over each content, keyed by digest
+     */
+    private final Map<String, Integer> openCounts = new HashMap<String, Integer>();
+
+    public AttachmentCache(File directory) {
+
+        this(directory, DEFAULT_MAX_BYTES);
+    }
+
+    public AttachmentCache(File directory, long maxBytes) {
+
+        refsDirectory = new File(directory, "refs");
+        blobsDirectory = new File(directory, "blobs");
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Sets the size limit, evicting contents if it is now exceeded
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+
+        this.maxBytes = maxBytes;
+
+        if (blobSizes != null)
+            evict(null);
+    }
+
+    /**
+     * @return a stream over the cached content for the <tt>key</tt>, or <code>null</code> if it is
+     *         not cached or was found to be corrupted
+     */
+    public InputStream open(String key) throws IOException {
+
+        File ref = new File(refsDirectory, digest(key.getBytes("UTF-8")));
+        String contentDigest;
+        File blob;
+
+        synchronized (this) {
+            if (!ref.isFile())
+                return null;
+
+            contentDigest = new String(readFile(ref), "US-ASCII");
+            if (!isDigest(contentDigest)) {
+                ref.delete();
+                return null;
+            }
+
+            blob = new File(blobsDirectory, contentDigest);
+            if (!blob.isFile()) {
+                ref.delete();
+                return null;
+            }
+
+            touch(contentDigest, blob);
+            pin(contentDigest);
+        }
+
+        // the content is checked without holding the lock, so that large contents do not block
+        // other readers and writers
+        FileInputStream in;
+        try {
+            in = new BlobInputStream(blob, contentDigest);
+        } catch (FileNotFoundException e) {
+            unpin(contentDigest);
+            return null;
+        }
+
+        boolean verified = false;
+        try {
+            verified = digest(in.getChannel()).equals(contentDigest);
+            if (verified)
+                in.getChannel().position(0);
+        } finally {
+            if (!verified)
+                IOUtil.closeSilently(in);
+        }
+
+        if (!verified) {
+            discard(ref, blob);
+            return null;
+        }
+
+        return in;
+    }
+
+    /**
+     * Copies the <tt>content</tt> to a file and stores it under the <tt>key</tt>
+     * 
+     * <p>The content is copied before the cache is locked, so slow downloads do not block other
+     * readers. Content larger than the size limit is not stored, and its file is deleted when the
+     * returned stream is closed.</p>
+     * 
+     * @return a stream over the copied content
+     */
+    public InputStream spool(String key, InputStream content) throws IOException {
+
+        synchronized (this) {
+            // removes the files left behind by interrupted writes, so it must happen before spooling
+            loadBlobSizes();
+        }
+
+        if (!blobsDirectory.isDirectory() && !blobsDirectory.mkdirs())
+            throw new IOException("Unable to create directory " + blobsDirectory);
+
+        final File spooled = File.createTempFile("spool", ".tmp", blobsDirectory);
+
+        String contentDigest;
+        long length;
+        try {
+            MessageDigest digest = newDigest();
+            ReadableByteChannel source = Channels.newChannel(new DigestInputStream(content, digest));
+            FileOutputStream out = new FileOutputStream(spooled);
+            try {
+                FileChannel target = out.getChannel();
+                for (long count; (count = target.transferFrom(source, target.position(), SPOOL_CHUNK_BYTES)) > 0;)
+                    target.position(target.position() + count);
+                length = target.size();
+            } finally {
+                IOUtil.closeSilently(out);
+            }
+            contentDigest = toHex(digest.digest());
+        } catch (IOException e) {
+            spooled.delete();
+            throw e;
+        }
+
+        synchronized (this) {
+            if (length > maxBytes) {
+                return new FileInputStream(spooled) {
+                    @Override
+                    public void close() throws IOException {
+                        super.close();
+                        spooled.delete();
+                    }
+                };
+            }
+
+            File blob = new File(blobsDirectory, contentDigest);
+
+            if (blobSizes.containsKey(contentDigest) && blob.isFile()) {
+                spooled.delete();
+                touch(contentDigest, blob);
+            } else {
+                if (!spooled.renameTo(blob)) {
+                    blob.delete();
+                    if (!spooled.renameTo(blob)) {
+                        spooled.delete();
+                        throw new IOException("Unable to replace " + blob);
+                    }
+                }
+                totalBytes -= remove(contentDigest);
+                blobSizes.put(contentDigest, Long.valueOf(length));
+                totalBytes += length;
+            }
+
+            writeFile(new File(refsDirectory, digest(key.getBytes("UTF-8"))), contentDigest.getBytes("US-ASCII"));
+
+            evict(contentDigest);
+
+            pin(contentDigest);
+            try {
+                return new BlobInputStream(blob, contentDigest);
+            } catch (FileNotFoundException e) {
+                unpin(contentDigest);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * @return the total size of the cached contents
+     */
+    public synchronized long getTotalBytes() {
+
+        loadBlobSizes();
+
+        return totalBytes;
+    }
+
+    private void touch(String contentDigest, File blob) {
+
+        loadBlobSizes();
+
+        blobSizes.get(contentDigest);
+        blob.setLastModified(System.currentTimeMillis());
+    }
+
+    /**
+     * Removes the least recently used contents until the size limit is met, keeping the
+     * <tt>retained</tt> content
+     */
+    private void evict(String retained) {
+
+        loadBlobSizes();
+
+        for (Iterator<Map.Entry<String, Long>> iterator = blobSizes.entrySet().iterator(); iterator.hasNext()
+                && totalBytes > maxBytes;) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getKey().equals(retained) || openCounts.containsKey(entry.getKey()))
+                continue;
+
+            // the refs to the content are removed when they are next read ; a file which can not be
+            // deleted yet is kept accounted for, and deleting it is retried on the next eviction
+            File blob = new File(blobsDirectory, entry.getKey());
+            if (!blob.delete() && blob.exists())
+                continue;
+
+            totalBytes -= entry.getValue().longValue();
+            iterator.remove();
+        }
+    }
+
+    private synchronized void discard(File ref, File blob) {
+
+        ref.delete();
+        removeBlob(blob);
+    }
+
+    private void removeBlob(File blob) {
+
+        if (!blob.delete() && blob.exists())
+            return;
+
+        if (blobSizes != null)
+            totalBytes -= remove(blob.getName());
+    }
+
+    private void pin(String contentDigest) {
+
+        Integer count = openCounts.get(contentDigest);
+        openCounts.put(contentDigest, Integer.valueOf(count != null ? count.intValue() + 1 : 1));
+    }
+
+    private synchronized void unpin(String contentDigest) {
+
+        Integer count = openCounts.get(contentDigest);
+        if (count == null)
+            return;
+
+        if (count.intValue() > 1)
+            openCounts.put(contentDigest, Integer.valueOf(count.intValue() - 1));
+        else
+            openCounts.remove(contentDigest);
+    }
+
+    private long remove(String contentDigest) {
+
+        Long size = blobSizes != null ? blobSizes.remove(contentDigest) : null;
+
+        return size != null ? size.longValue() : 0;
+    }
+
+    private void loadBlobSizes() {
+
+        if (blobSizes != null)
+            return;
+
+        blobSizes = new LinkedHashMap<String, Long>(16, 0.75f, true);
+        totalBytes = 0;
+
+        File[] blobs = blobsDirectory.listFiles();
+        if (blobs == null)
+            return;
+
+        Arrays.sort(blobs, new Comparator<File>() {
+            public int compare(File first, File second) {
+                long firstModified = first.lastModified();
+                long secondModified = second.lastModified();
+                return firstModified < secondModified ? -1 : (firstModified == secondModified ? 0 : 1);
+            }
+        });
+
+        for (File blob : blobs) {
+            // left behind by an interrupted write
+            if (blob.getName().endsWith(".tmp")) {
+                blob.delete();
+                continue;
+            }
+
+            blobSizes.put(blob.getName(), Long.valueOf(blob.length()));
+            totalBytes += blob.length();
+        }
+    }
+
+    /**
+     * Stream over a stored content, which is not evicted until the stream is closed
+     */
+    private class BlobInputStream extends FileInputStream {
+
+        private final String contentDigest;
+        private boolean closed;
+
+        public BlobInputStream(File blob, String contentDigest) throws FileNotFoundException {
+
+            super(blob);
+            this.contentDigest = contentDigest;
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            boolean wasClosed;
+            synchronized (this) {
+                wasClosed = closed;
+                closed = true;
+            }
+
+            try {
+                super.close();
+            } finally {
+                if (!wasClosed)
+                    unpin(contentDigest);
+            }
+        }
+    }
+
+    private static byte[] readFile(File file) throws IOException {
+
+        InputStream in = new FileInputStream(file);
+        try {
+            byte[] content = new byte[(int) file.length()];
+            int read = 0;
+            while (read < content.length) {
+                int count = in.read(content, read, content.length - read);
+                if (count == -1)
+                    throw new IOException("Unexpected end of " + file);
+                read += count;
+            }
+            return content;
+        } finally {
+            IOUtil.closeSilently(in);
+        }
+    }
+
+    /**
+     * Writes the <tt>content</tt> to a temporary file which then replaces the <tt>file</tt>
+     */
+    private static void writeFile(File file, byte[] content) throws IOException {
+
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs())
+            throw new IOException("Unable to create directory " + directory);
+
+        File temporaryFile = new File(directory, file.getName() + ".tmp");
+        OutputStream out = new FileOutputStream(temporaryFile);
+        try {
+            out.write(content);
+        } finally {
+            IOUtil.closeSilently(out);
+        }
+
+        if (temporaryFile.renameTo(file))
+            return;
+
+        // renaming over an existing file fails on Windows
+        file.delete();
+        if (!temporaryFile.renameTo(file)) {
+            temporaryFile.delete();
+            throw new IOException("Unable to replace " + file);
+        }
+    }
+
+    private static boolean isDigest(String value) {
+
+        if (value.length() != 40)
+            return false;
+
+        for (int i = 0; i < value.length(); i++)
+            if (Character.digit(value.charAt(i), 16) == -1)
+                return false;
+
+        return true;
+    }
+
+    private static String digest(byte[] content) {
+
+        return toHex(newDigest().digest(content));
+    }
+
+    private static String digest(FileChannel channel) throws IOException {
+
+        MessageDigest digest = newDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            digest.update(buffer.array(), 0, buffer.limit());
+            buffer.clear();
+        }
+
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16));
+            hex.append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+}
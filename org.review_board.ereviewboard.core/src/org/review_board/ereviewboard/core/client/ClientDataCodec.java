@@ -0,0 +1,456 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.review_board.ereviewboard.core.model.Repository;
+import org.review_board.ereviewboard.core.model.ReviewGroup;
+import org.review_board.ereviewboard.core.model.User;
+import org.review_board.ereviewboard.core.util.IOUtil;
+
+/**
+ * Reads and writes {@link ReviewboardClientData} in a compact, versioned binary format
+ *
+ * <p>
+ * The format starts with a magic number and a format version, followed by a table of all the
+ * strings, which are then referred to by index. Numbers are written as variable length integers.
+ * The data is split in tagged sections which carry their length, so that readers skip the sections
+ * they do not know about and newer versions can add sections without breaking older readers.
+ * </p>
+ *
+ * <pre>
+ * file     := MAGIC version strings section* END
+ * strings  := count (length utf8-bytes)*
+ * section  := tag length payload
+ * </pre>
+ *
+ * <p>
+ * String references are the index in the table plus one, with zero standing for <code>null</code>.
+ * </p>
+ */
+public final class ClientDataCodec {
+
+    static final int MAGIC = 0x52424344; // "RBCD"
+    static final int VERSION = 1;
+
+    private static final int END = 0;
+    private static final int USERS = 1;
+    private static final int GROUPS = 2;
+    private static final int REPOSITORIES = 3;
+    private static final int TIME_ZONE = 4;
+    private static final int LAST_UPDATE = 5;
+    private static final int PAGE_SIZES = 6;
+    private static final int COMMENT_COUNTS = 7;
+    private static final int REFRESH_TIMES = 8;
+
+    private static final String UTF_8 = "UTF-8";
+
+    public static void write(ReviewboardClientData data, File file) throws IOException {
+
+        OutputStream out = new FileOutputStream(file);
+        try {
+            write(data, out);
+        } finally {
+            IOUtil.closeSilently(out);
+        }
+    }
+
+    public static void write(ReviewboardClientData data, OutputStream out) throws IOException {
+
+        Encoder strings = new Encoder();
+        Map<String, Integer> stringIndexes = new HashMap<String, Integer>();
+        Encoder sections = new Encoder();
+
+        // take a consistent view of the data
+        synchronized (data) {
+
+            Encoder users = new Encoder();
+            Collection<User> allUsers = data.getUsers();
+            users.writeVarint(allUsers.size());
+            for (User user : allUsers) {
+                users.writeVarint(zigzag(user.getId()));
+                users.writeString(user.getUsername(), strings, stringIndexes);
+                users.writeString(user.getFirstName(), strings, stringIndexes);
+                users.writeString(user.getLastName(), strings, stringIndexes);
+                users.writeString(user.getEmail(), strings, stringIndexes);
+                users.writeString(user.getUrl(), strings, stringIndexes);
+            }
+            sections.writeSection(USERS, users);
+
+            Encoder groups = new Encoder();
+            groups.writeVarint(data.getGroups().size());
+            for (ReviewGroup group : data.getGroups()) {
+                groups.writeVarint(zigzag(group.getId()));
+                groups.writeString(group.getName(), strings, stringIndexes);
+                groups.writeString(group.getDisplayName(), strings, stringIndexes);
+                groups.writeString(group.getUrl(), strings, stringIndexes);
+                groups.writeString(group.getMailingList(), strings, stringIndexes);
+            }
+            sections.writeSection(GROUPS, groups);
+
+            Encoder repositories = new Encoder();
+            repositories.writeVarint(data.getRepositories().size());
+            for (Repository repository : data.getRepositories()) {
+                repositories.writeVarint(zigzag(repository.getId()));
+                repositories.writeString(repository.getName(), strings, stringIndexes);
+                repositories.writeString(repository.getTool(), strings, stringIndexes);
+                repositories.writeString(repository.getPath(), strings, stringIndexes);
+            }
+            sections.writeSection(REPOSITORIES, repositories);
+
+            if (data.getTimeZone() != null) {
+                Encoder timeZone = new Encoder();
+                timeZone.writeString(data.getTimeZone().getID(), strings, stringIndexes);
+                sections.writeSection(TIME_ZONE, timeZone);
+            }
+
+            Encoder lastUpdate = new Encoder();
+            lastUpdate.writeVarlong(data.lastupdate);
+            sections.writeSection(LAST_UPDATE, lastUpdate);
+
+            Encoder pageSizes = new Encoder();
+            Map<String, Integer> allPageSizes = data.getPageSizes();
+            pageSizes.writeVarint(allPageSizes.size());
+            for (Map.Entry<String, Integer> entry : allPageSizes.entrySet()) {
+                pageSizes.writeString(entry.getKey(), strings, stringIndexes);
+                pageSizes.writeVarint(entry.getValue().intValue());
+            }
+            sections.writeSection(PAGE_SIZES, pageSizes);
+
+            // the keys are nearly all distinct, so they are written inline rather than in the string table
+            Encoder commentCounts = new Encoder();
+            Map<String, Integer> allCommentCounts = data.getCommentCounts().getEntries();
+            commentCounts.writeVarint(allCommentCounts.size());
+            for (Map.Entry<String, Integer> entry : allCommentCounts.entrySet()) {
+                commentCounts.writeBytes(entry.getKey().getBytes(UTF_8));
+                commentCounts.writeVarint(entry.getValue().intValue());
+            }
+            sections.writeSection(COMMENT_COUNTS, commentCounts);
+
+            Encoder refreshTimes = new Encoder();
+            Map<String, Long> allRefreshTimes = data.getRefreshTimes();
+            refreshTimes.writeVarint(allRefreshTimes.size());
+            for (Map.Entry<String, Long> entry : allRefreshTimes.entrySet()) {
+                refreshTimes.writeString(entry.getKey(), strings, stringIndexes);
+                refreshTimes.writeVarlong(entry.getValue().longValue());
+            }
+            sections.writeSection(REFRESH_TIMES, refreshTimes);
+        }
+
+        sections.writeVarint(END);
+
+        Encoder header = new Encoder();
+        header.writeInt(MAGIC);
+        header.writeVarint(VERSION);
+        header.writeVarint(stringIndexes.size());
+
+        header.writeTo(out);
+        strings.writeTo(out);
+        sections.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * Reads the data from the <tt>file</tt>
+     *
+     * <p>
+     * The file is read into a heap buffer rather than mapped in memory, since a mapping is only
+     * released on garbage collection and on Windows it prevents the file from being replaced or
+     * deleted.
+     * </p>
+     */
+    public static ReviewboardClientData read(File file) throws IOException {
+
+        FileInputStream in = new FileInputStream(file);
+        try {
+            FileChannel channel = in.getChannel();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IOException("The client data file is too large : " + size + " bytes");
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining())
+                if (channel.read(buffer) < 0)
+                    throw new IOException("The client data is truncated");
+            buffer.flip();
+
+            return read(buffer);
+        } finally {
+            IOUtil.closeSilently(in);
+        }
+    }
+
+    public static ReviewboardClientData read(ByteBuffer buffer) throws IOException {
+
+        try {
+            Decoder in = new Decoder(buffer);
+
+            if (buffer.remaining() < 4 || buffer.getInt() != MAGIC)
+                throw new IOException("Not a client data file");
+
+            int version = in.readVarint();
+            if (version > VERSION)
+                throw new IOException("Unsupported client data format version " + version);
+
+            int stringCount = in.readVarint();
+            if (stringCount < 0 || stringCount > buffer.remaining())
+                throw new IOException("Invalid string count " + stringCount);
+
+            String[] strings = new String[stringCount];
+            for (int i = 0; i < strings.length; i++)
+                strings[i] = in.readUtf8();
+            in.strings = strings;
+
+            ReviewboardClientData data = new ReviewboardClientData();
+
+            for (int tag = in.readVarint(); tag != END; tag = in.readVarint()) {
+
+                int length = in.readVarint();
+                int end = buffer.position() + length;
+
+                switch (tag) {
+                    case USERS:
+                        List<User> users = new ArrayList<User>();
+                        for (int count = in.readVarint(); count > 0; count--) {
+                            User user = new User();
+                            user.setId(unzigzag(in.readVarint()));
+                            user.setUsername(in.readString());
+                            user.setFirstName(in.readString());
+                            user.setLastName(in.readString());
+                            user.setEmail(in.readString());
+                            user.setUrl(in.readString());
+                            users.add(user);
+                        }
+                        data.setUsers(users);
+                        break;
+
+                    case GROUPS:
+                        List<ReviewGroup> groups = new ArrayList<ReviewGroup>();
+                        for (int count = in.readVarint(); count > 0; count--) {
+                            ReviewGroup group = new ReviewGroup();
+                            group.setId(unzigzag(in.readVarint()));
+                            group.setName(in.readString());
+                            group.setDisplayName(in.readString());
+                            group.setUrl(in.readString());
+                            group.setMailingList(in.readString());
+                            groups.add(group);
+                        }
+                        data.setGroups(groups);
+                        break;
+
+                    case REPOSITORIES:
+                        List<Repository> repositories = new ArrayList<Repository>();
+                        for (int count = in.readVarint(); count > 0; count--) {
+                            Repository repository = new Repository();
+                            repository.setId(unzigzag(in.readVarint()));
+                            repository.setName(in.readString());
+                            repository.setTool(in.readString());
+                            repository.setPath(in.readString());
+                            repositories.add(repository);
+                        }
+                        data.setRepositories(repositories);
+                        break;
+
+                    case TIME_ZONE:
+                        data.setTimeZone(TimeZone.getTimeZone(in.readString()));
+                        break;
+
+                    case LAST_UPDATE:
+                        data.lastupdate = in.readVarlong();
+                        break;
+
+                    case PAGE_SIZES:
+                        for (int count = in.readVarint(); count > 0; count--)
+                            data.setPageSize(in.readString(), in.readVarint());
+                        break;
+
+                    case COMMENT_COUNTS:
+                        CommentCounts commentCounts = data.getCommentCounts();
+                        for (int count = in.readVarint(); count > 0; count--)
+                            commentCounts.put(in.readUtf8(), in.readVarint());
+                        break;
+
+                    case REFRESH_TIMES:
+                        for (int count = in.readVarint(); count > 0; count--)
+                            data.setRefreshTime(in.readString(), in.readVarlong());
+                        break;
+
+                    default:
+                        // written by a newer version
+                        break;
+                }
+
+                if (buffer.position() > end)
+                    throw new IOException("Section " + tag + " is longer than declared");
+
+                buffer.position(end);
+            }
+
+            return data;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("The client data is truncated");
+        } catch (IllegalArgumentException e) {
+            throw new IOException("The client data is corrupt : " + e.getMessage());
+        }
+    }
+
+    private static int zigzag(int value) {
+
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static class Encoder extends ByteArrayOutputStream {
+
+        public void writeInt(int value) {
+
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        public void writeVarint(int value) {
+
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        public void writeVarlong(long value) {
+
+            while ((value & ~0x7FL) != 0) {
+                write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        public void writeBytes(byte[] bytes) {
+
+            writeVarint(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        /**
+         * Writes a reference to the <tt>value</tt>, adding it to the string table if needed
+         */
+        public void writeString(String value, Encoder strings, Map<String, Integer> stringIndexes)
+                throws UnsupportedEncodingException {
+
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+
+            Integer index = stringIndexes.get(value);
+            if (index == null) {
+                index = Integer.valueOf(stringIndexes.size());
+                stringIndexes.put(value, index);
+                strings.writeBytes(value.getBytes(UTF_8));
+            }
+
+            writeVarint(index.intValue() + 1);
+        }
+
+        public void writeSection(int tag, Encoder section) {
+
+            writeVarint(tag);
+            writeVarint(section.size());
+            write(section.buf, 0, section.size());
+        }
+    }
+
+    private static class Decoder {
+
+        private final ByteBuffer buffer;
+        private String[] strings;
+
+        public Decoder(ByteBuffer buffer) {
+
+            this.buffer = buffer;
+        }
+
+        public int readVarint() throws IOException {
+
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = buffer.get();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0)
+                    return value;
+            }
+
+            throw new IOException("Malformed variable length integer");
+        }
+
+        public long readVarlong() throws IOException {
+
+            long value = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0)
+                    return value;
+            }
+
+            throw new IOException("Malformed variable length integer");
+        }
+
+        public String readUtf8() throws IOException {
+
+            int length = readVarint();
+            if (length < 0 || length > buffer.remaining())
+                throw new IOException("Invalid string length " + length);
+
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, UTF_8);
+        }
+
+        public String readString() throws IOException {
+
+            int reference = readVarint();
+            if (reference == 0)
+                return null;
+            if (reference < 0 || reference > strings.length)
+                throw new IOException("Invalid string reference " + reference);
+
+            return strings[reference - 1];
+        }
+    }
+
+    private ClientDataCodec() {
+
+    }
+}
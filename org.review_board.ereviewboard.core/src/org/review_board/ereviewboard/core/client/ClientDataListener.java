@@ -0,0 +1,22 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+/**
+ * Notified when a client has refreshed its {@link ReviewboardClientData}
+ */
+public interface ClientDataListener {
+
+    /**
+     * Invoked on the thread which refreshed the data, so implementations must return quickly
+     */
+    void clientDataChanged(ReviewboardClientData clientData);
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the comment counts of published reviews and replies
+ * 
+ * <p>
+ * Once a review or reply is published its comments can no longer change, so the counts never need
+ * to be retrieved again. Only the most recently used {@value #MAX_ENTRIES} counts are kept.
+ * </p>
+ * 
+ */
+public class CommentCounts implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int MAX_ENTRIES = 50000;
+
+    private final LinkedHashMap<String, Integer> counts = new LinkedHashMap<String, Integer>(16, 0.75f, true);
+
+    /**
+     * @return the number of diff comments of the review, or <code>null</code> if not known
+     */
+    public Integer getDiffComments(int reviewRequestId, int reviewId) {
+
+        return get(key(reviewRequestId, reviewId, -1, 'd'));
+    }
+
+    public void putDiffComments(int reviewRequestId, int reviewId, int count) {
+
+        put(key(reviewRequestId, reviewId, -1, 'd'), count);
+    }
+
+    /**
+     * @return the number of diff comments of the reply, or <code>null</code> if not known
+     */
+    public Integer getReplyDiffComments(int reviewRequestId, int reviewId, int replyId) {
+
+        return get(key(reviewRequestId, reviewId, replyId, 'd'));
+    }
+
+    public void putReplyDiffComments(int reviewRequestId, int reviewId, int replyId, int count) {
+
+        put(key(reviewRequestId, reviewId, replyId, 'd'), count);
+    }
+
+    /**
+     * @return the number of screenshot comments of the reply, or <code>null</code> if not known
+     */
+    public Integer getReplyScreenshotComments(int reviewRequestId, int reviewId, int replyId) {
+
+        return get(key(reviewRequestId, reviewId, replyId, 's'));
+    }
+
+    public void putReplyScreenshotComments(int reviewRequestId, int reviewId, int replyId, int count) {
+
+        put(key(reviewRequestId, reviewId, replyId, 's'), count);
+    }
+
+    public synchronized int size() {
+
+        return counts.size();
+    }
+
+    /**
+     * @return a copy of the counts keyed by their internal key, least recently used first
+     */
+    synchronized Map<String, Integer> getEntries() {
+
+        return new LinkedHashMap<String, Integer>(counts);
+    }
+
+    private String key(int reviewRequestId, int reviewId, int replyId, char kind) {
+
+        return new StringBuilder().append(reviewRequestId).append('/').append(reviewId).append('/')
+                .append(replyId).append(kind).toString();
+    }
+
+    private synchronized Integer get(String key) {
+
+        return counts.get(key);
+    }
+
+    synchronized void put(String key, int count) {
+
+        counts.put(key, Integer.valueOf(count));
+
+        for (Iterator<String> iterator = counts.keySet().iterator(); counts.size() > MAX_ENTRIES
+                && iterator.hasNext();) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+
+        out.defaultWriteObject();
+    }
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * The requests made to a single endpoint template, such as <tt>/api/review-requests/{id}/</tt>
+ *
+ * <p>
+ * The latency is measured until the response headers are received, so that it does not depend on
+ * how fast the caller consumes the response body. The size of the bodies is tracked separately,
+ * through the {@link #getTransferStatistics() transfer statistics}.
+ * </p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public class EndpointStatistics {
+
+    /**
+     * The status code recorded for requests which did not receive a response
+     */
+    public static final int NO_RESPONSE = 0;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final TransferStatistics transferStatistics = new TransferStatistics();
+    private final SortedMap<Integer, Integer> statusCodes = new TreeMap<Integer, Integer>();
+    private long retries;
+
+    /**
+     * @param statusCode the status code of the response, or {@link #NO_RESPONSE}
+     */
+    public void recordRequest(int statusCode, long millis) {
+
+        latency.record(millis);
+
+        synchronized (statusCodes) {
+            Integer count = statusCodes.get(statusCode);
+            statusCodes.put(statusCode, count == null ? 1 : count.intValue() + 1);
+        }
+    }
+
+    public synchronized void recordRetry() {
+
+        retries++;
+    }
+
+    public long getRequests() {
+        return latency.getCount();
+    }
+
+    public synchronized long getRetries() {
+        return retries;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public TransferStatistics getTransferStatistics() {
+        return transferStatistics;
+    }
+
+    /**
+     * @return the number of responses received for each status code
+     */
+    public SortedMap<Integer, Integer> getStatusCodes() {
+
+        synchronized (statusCodes) {
+            return new TreeMap<Integer, Integer>(statusCodes);
+        }
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder codes = new StringBuilder();
+        for (Map.Entry<Integer, Integer> entry : getStatusCodes().entrySet()) {
+            if (codes.length() > 0)
+                codes.append(", ");
+            codes.append(entry.getKey()).append('=').append(entry.getValue());
+        }
+
+        return "requests=" + getRequests() + ", retries=" + getRetries() + ", status codes={" + codes
+                + "}, bytes=" + transferStatistics.getWireBytes() + ", latency [" + latency + "]";
+    }
+}
@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.review_board.ereviewboard.core.util.IOUtil;
+
+/**
+ * Bounded, in-memory cache of API responses which carry validators
+ * 
+ * <p>
+ * Responses are stored together with their <tt>ETag</tt> and <tt>Last-Modified</tt> values,
+ * keyed by the request URL and <tt>Accept</tt> header. The validators are sent back with the next
+ * request for the same resource and, if the server answers with <tt>304 Not Modified</tt>, the
+ * stored body is used instead of downloading it again.
+ * </p>
+ * 
+ * <p>
+ * The least recently used responses are evicted once the total size of the stored bodies exceeds
+ * the configured limit. The contents can be saved to and loaded from a file.
+ * </p>
+ * 
+ * <p>This class is thread-safe.</p>
+ * 
+ */
+public class HttpResponseCache {
+
+    static final int DEFAULT_MAX_TOTAL_CHARS = 4 * 1024 * 1024;
+
+    static final int DEFAULT_MAX_ENTRY_CHARS = 512 * 1024;
+
+    private static final int FORMAT_VERSION = 1;
+
+    public static String key(String url, String accept) {
+
+        return accept + ' ' + url;
+    }
+
+    private final int maxTotalChars;
+    private final int maxEntryChars;
+    private final LinkedHashMap<String, CachedResponse> responses = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true);
+    private int totalChars;
+
+    public HttpResponseCache() {
+        this(DEFAULT_MAX_TOTAL_CHARS, DEFAULT_MAX_ENTRY_CHARS);
+    }
+
+    public HttpResponseCache(int maxTotalChars, int maxEntryChars) {
+        this.maxTotalChars = maxTotalChars;
+        this.maxEntryChars = maxEntryChars;
+    }
+
+    /**
+     * @return the cached response for the <tt>key</tt>, or <code>null</code>
+     */
+    public synchronized CachedResponse get(String key) {
+
+        return responses.get(key);
+    }
+
+    /**
+     * Stores the response, provided that it has at least one validator and it is not larger than
+     * the maximum entry size
+     * 
+     * @return true if the response was stored
+     */
+    public synchronized boolean put(String key, CachedResponse response) {
+
+        if (!response.hasValidators() || response.getBody().length() > maxEntryChars) {
+            remove(key);
+            return false;
+        }
+
+        CachedResponse previous = responses.put(key, response);
+        if (previous != null)
+            totalChars -= previous.getBody().length();
+        totalChars += response.getBody().length();
+
+        evictIfNeeded();
+
+        return true;
+    }
+
+    public synchronized void remove(String key) {
+
+        CachedResponse previous = responses.remove(key);
+        if (previous != null)
+            totalChars -= previous.getBody().length();
+    }
+
+    /**
+     * @return the maximum size of a single response which can be stored, in characters
+     */
+    public int getMaxEntryChars() {
+
+        return maxEntryChars;
+    }
+
+    public synchronized int size() {
+
+        return responses.size();
+    }
+
+    synchronized int getTotalChars() {
+
+        return totalChars;
+    }
+
+    private void evictIfNeeded() {
+
+        for (Iterator<CachedResponse> iterator = responses.values().iterator(); totalChars > maxTotalChars
+                && iterator.hasNext();) {
+            totalChars -= iterator.next().getBody().length();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Replaces the contents of this cache with the ones saved in the <tt>file</tt>. Does nothing
+     * if the file does not exist.
+     */
+    public void load(File file) throws IOException {
+
+        if (!file.exists())
+            return;
+
+        LinkedHashMap<String, CachedResponse> loaded = new LinkedHashMap<String, CachedResponse>();
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION)
+                throw new IOException("Unsupported response cache format version " + version);
+
+            for (int count = in.readInt(); count > 0; count--) {
+                String key = in.readUTF();
+                String etag = readNullableString(in);
+                String lastModified = readNullableString(in);
+                String body = readString(in);
+                loaded.put(key, new CachedResponse(body, etag, lastModified));
+            }
+        } finally {
+            IOUtil.closeSilently(in);
+        }
+
+        synchronized (this) {
+            responses.clear();
+            totalChars = 0;
+            for (Map.Entry<String, CachedResponse> entry : loaded.entrySet())
+                put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Saves the contents of this cache to the <tt>file</tt>, from the least recently used entry
+     * to the most recently used one
+     */
+    public void save(File file) throws IOException {
+
+        List<Map.Entry<String, CachedResponse>> toSave;
+        synchronized (this) {
+            toSave = new ArrayList<Map.Entry<String, CachedResponse>>(responses.entrySet());
+        }
+
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs())
+            throw new IOException("Unable to create directory " + parent);
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(toSave.size());
+            for (Map.Entry<String, CachedResponse> entry : toSave) {
+                out.writeUTF(entry.getKey());
+                writeNullableString(out, entry.getValue().getETag());
+                writeNullableString(out, entry.getValue().getLastModified());
+                writeString(out, entry.getValue().getBody());
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+
+        out.writeBoolean(value != null);
+        if (value != null)
+            out.writeUTF(value);
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+
+        byte[] bytes = value.getBytes("UTF-8");
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, "UTF-8");
+    }
+
+    /**
+     * A response body together with its validators
+     */
+    public static class CachedResponse {
+
+        private final String body;
+        private final String etag;
+        private final String lastModified;
+
+        public CachedResponse(String body, String etag, String lastModified) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public String getETag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+    }
+}
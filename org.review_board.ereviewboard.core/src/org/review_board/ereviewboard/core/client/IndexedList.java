@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.review_board.ereviewboard.core.model.Repository;
+import org.review_board.ereviewboard.core.model.ReviewGroup;
+import org.review_board.ereviewboard.core.model.User;
+
+/**
+ * An immutable list of items indexed by name and by id
+ *
+ * <p>
+ * When several items share a name or an id, the lookup returns the first one.
+ * </p>
+ */
+final class IndexedList<T> {
+
+    private final List<T> items;
+    private final Map<String, T> byName;
+    private final Map<Integer, T> byId;
+
+    private IndexedList(List<T> items, Map<String, T> byName, Map<Integer, T> byId) {
+
+        this.items = Collections.unmodifiableList(items);
+        this.byName = byName;
+        this.byId = byId;
+    }
+
+    /**
+     * Indexes the <tt>users</tt>, keeping only the last user for each username
+     */
+    public static IndexedList<User> ofUsers(Collection<User> users) {
+
+        Map<String, User> usersByName = new LinkedHashMap<String, User>();
+        for (User user : users)
+            usersByName.put(user.getUsername(), user);
+
+        List<User> items = new ArrayList<User>(usersByName.values());
+        Map<Integer, User> byId = new HashMap<Integer, User>();
+        for (User user : items)
+            putIfAbsent(byId, Integer.valueOf(user.getId()), user);
+
+        return new IndexedList<User>(items, new HashMap<String, User>(usersByName), byId);
+    }
+
+    public static IndexedList<ReviewGroup> ofGroups(Collection<ReviewGroup> groups) {
+
+        List<ReviewGroup> items = new ArrayList<ReviewGroup>(groups);
+        Map<String, ReviewGroup> byName = new HashMap<String, ReviewGroup>();
+        Map<Integer, ReviewGroup> byId = new HashMap<Integer, ReviewGroup>();
+        for (ReviewGroup group : items) {
+            putIfAbsent(byName, group.getName(), group);
+            putIfAbsent(byId, Integer.valueOf(group.getId()), group);
+        }
+
+        return new IndexedList<ReviewGroup>(items, byName, byId);
+    }
+
+    public static IndexedList<Repository> ofRepositories(Collection<Repository> repositories) {
+
+        List<Repository> items = new ArrayList<Repository>(repositories);
+        Map<String, Repository> byName = new HashMap<String, Repository>();
+        Map<Integer, Repository> byId = new HashMap<Integer, Repository>();
+        for (Repository repository : items) {
+            putIfAbsent(byName, repository.getName(), repository);
+            putIfAbsent(byId, Integer.valueOf(repository.getId()), repository);
+        }
+
+        return new IndexedList<Repository>(items, byName, byId);
+    }
+
+    private static <K, V> void putIfAbsent(Map<K, V> map, K key, V value) {
+
+        if (!map.containsKey(key))
+            map.put(key, value);
+    }
+
+    /**
+     * @return the items, in their original order; the list can not be modified
+     */
+    public List<T> getItems() {
+
+        return items;
+    }
+
+    public T get(String name) {
+
+        return byName.get(name);
+    }
+
+    public T get(int id) {
+
+        return byId.get(Integer.valueOf(id));
+    }
+}
@@ -0,0 +1,455 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Pull parser which reads JSON tokens one at a time from a character stream
+ *
+ * <p>
+ * Unlike the <tt>org.json</tt> classes, the document is never fully loaded in memory, which allows
+ * building model objects straight from the HTTP response stream.
+ * </p>
+ *
+ * <p>
+ * Scalar values are returned with the same leniency as <tt>org.json</tt>: {@link #nextString()}
+ * accepts numbers, booleans and <tt>null</tt> and returns their textual representation, while
+ * {@link #nextInt()} and {@link #nextBoolean()} accept quoted values.
+ * </p>
+ */
+public class JsonStreamReader {
+
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    private static final int SNIPPET_LENGTH = 200;
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private long charactersBeforeBuffer;
+
+    private final StringBuilder snippet = new StringBuilder();
+
+    private int[] scopes = new int[32];
+    private int scopeCount;
+
+    private Token peeked;
+    private String peekedValue;
+
+    public JsonStreamReader(Reader in) {
+        this.in = in;
+        scopes[scopeCount++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * @return the type of the next token, without consuming it
+     */
+    public Token peek() throws IOException {
+
+        if (peeked != null)
+            return peeked;
+
+        int scope = scopes[scopeCount - 1];
+        int c;
+
+        switch (scope) {
+            case EMPTY_DOCUMENT:
+                scopes[scopeCount - 1] = NONEMPTY_DOCUMENT;
+                return readValue();
+
+            case NONEMPTY_DOCUMENT:
+                if (nextNonWhitespace() != -1)
+                    throw syntaxError("Expected end of document");
+                return setPeeked(Token.END_DOCUMENT, null);
+
+            case EMPTY_ARRAY:
+                scopes[scopeCount - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                if (c == ']')
+                    return setPeeked(Token.END_ARRAY, null);
+                if (c == -1)
+                    throw syntaxError("Unterminated array");
+                position--;
+                return readValue();
+
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']')
+                    return setPeeked(Token.END_ARRAY, null);
+                if (c != ',')
+                    throw syntaxError("Expected ',' or ']'");
+                return readValue();
+
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = nextNonWhitespace();
+                if (c == '}')
+                    return setPeeked(Token.END_OBJECT, null);
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c != ',')
+                        throw syntaxError("Expected ',' or '}'");
+                    c = nextNonWhitespace();
+                }
+                if (c != '"')
+                    throw syntaxError("Expected a name");
+                scopes[scopeCount - 1] = DANGLING_NAME;
+                return setPeeked(Token.NAME, readString());
+
+            case DANGLING_NAME:
+                if (nextNonWhitespace() != ':')
+                    throw syntaxError("Expected ':'");
+                scopes[scopeCount - 1] = NONEMPTY_OBJECT;
+                return readValue();
+
+            default:
+                throw new IllegalStateException("Unknown scope " + scope);
+        }
+    }
+
+    public boolean hasNext() throws IOException {
+
+        Token token = peek();
+
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    public void beginObject() throws IOException {
+
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+
+        expect(Token.END_OBJECT);
+        scopeCount--;
+    }
+
+    public void beginArray() throws IOException {
+
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+
+        expect(Token.END_ARRAY);
+        scopeCount--;
+    }
+
+    public String nextName() throws IOException {
+
+        if (peek() != Token.NAME)
+            throw syntaxError("Expected a name but was " + peeked);
+
+        return consume();
+    }
+
+    /**
+     * @return the next scalar value as a string; <tt>null</tt> values are returned as the
+     *         <tt>"null"</tt> string
+     */
+    public String nextString() throws IOException {
+
+        Token token = peek();
+        if (token != Token.STRING && token != Token.NUMBER && token != Token.BOOLEAN && token != Token.NULL)
+            throw syntaxError("Expected a string but was " + token);
+
+        return consume();
+    }
+
+    public int nextInt() throws IOException {
+
+        Token token = peek();
+        if (token != Token.NUMBER && token != Token.STRING)
+            throw syntaxError("Expected a number but was " + token);
+
+        String value = consume();
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            try {
+                return (int) Double.parseDouble(value);
+            } catch (NumberFormatException e2) {
+                throw syntaxError("Expected a number but was '" + value + "'");
+            }
+        }
+    }
+
+    public boolean nextBoolean() throws IOException {
+
+        Token token = peek();
+        if (token != Token.BOOLEAN && token != Token.STRING)
+            throw syntaxError("Expected a boolean but was " + token);
+
+        String value = consume();
+        if ("true".equalsIgnoreCase(value))
+            return true;
+        if ("false".equalsIgnoreCase(value))
+            return false;
+
+        throw syntaxError("Expected a boolean but was '" + value + "'");
+    }
+
+    /**
+     * Skips the next value, including all its nested values
+     */
+    public void skipValue() throws IOException {
+
+        int depth = 0;
+        do {
+            Token token = peek();
+            if (token == Token.BEGIN_OBJECT) {
+                beginObject();
+                depth++;
+            } else if (token == Token.BEGIN_ARRAY) {
+                beginArray();
+                depth++;
+            } else if (token == Token.END_OBJECT) {
+                endObject();
+                depth--;
+            } else if (token == Token.END_ARRAY) {
+                endArray();
+                depth--;
+            } else if (token == Token.END_DOCUMENT) {
+                throw syntaxError("Unexpected end of document");
+            } else {
+                consume();
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * @return the number of characters read so far from the underlying reader
+     */
+    public long getCharactersRead() {
+
+        return charactersBeforeBuffer + limit;
+    }
+
+    /**
+     * @return the first characters of the document, useful for error reporting
+     */
+    public String getSnippet() {
+
+        return snippet.toString();
+    }
+
+    private void expect(Token expected) throws IOException {
+
+        Token token = peek();
+        if (token != expected)
+            throw syntaxError("Expected " + expected + " but was " + token);
+
+        consume();
+    }
+
+    private String consume() {
+
+        String value = peekedValue;
+        peeked = null;
+        peekedValue = null;
+        return value;
+    }
+
+    private Token setPeeked(Token token, String value) {
+
+        peeked = token;
+        peekedValue = value;
+        return token;
+    }
+
+    private void push(int scope) {
+
+        if (scopeCount == scopes.length) {
+            int[] newScopes = new int[scopes.length * 2];
+            System.arraycopy(scopes, 0, newScopes, 0, scopeCount);
+            scopes = newScopes;
+        }
+        scopes[scopeCount++] = scope;
+    }
+
+    private Token readValue() throws IOException {
+
+        int c = nextNonWhitespace();
+
+        switch (c) {
+            case -1:
+                throw syntaxError("Unexpected end of document");
+            case '{':
+                return setPeeked(Token.BEGIN_OBJECT, null);
+            case '[':
+                return setPeeked(Token.BEGIN_ARRAY, null);
+            case '"':
+                return setPeeked(Token.STRING, readString());
+            case 't':
+                readLiteral("rue");
+                return setPeeked(Token.BOOLEAN, "true");
+            case 'f':
+                readLiteral("alse");
+                return setPeeked(Token.BOOLEAN, "false");
+            case 'n':
+                readLiteral("ull");
+                return setPeeked(Token.NULL, "null");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    position--;
+                    return setPeeked(Token.NUMBER, readNumber());
+                }
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private void readLiteral(String remainder) throws IOException {
+
+        for (int i = 0; i < remainder.length(); i++)
+            if (read() != remainder.charAt(i))
+                throw syntaxError("Invalid literal");
+    }
+
+    private String readNumber() throws IOException {
+
+        StringBuilder number = new StringBuilder();
+        while (true) {
+            if (position == limit && !fill())
+                break;
+            char c = buffer[position];
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+                number.append(c);
+                position++;
+            } else {
+                break;
+            }
+        }
+        return number.toString();
+    }
+
+    /**
+     * Reads a string whose opening quote has already been consumed
+     */
+    private String readString() throws IOException {
+
+        StringBuilder value = null;
+
+        while (true) {
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position++];
+                if (c == '"') {
+                    if (value == null)
+                        return new String(buffer, start, position - start - 1);
+                    value.append(buffer, start, position - start - 1);
+                    return value.toString();
+                } else if (c == '\\') {
+                    if (value == null)
+                        value = new StringBuilder();
+                    value.append(buffer, start, position - start - 1);
+                    value.append(readEscapeCharacter());
+                    start = position;
+                }
+            }
+
+            if (value == null)
+                value = new StringBuilder();
+            value.append(buffer, start, position - start);
+
+            if (!fill())
+                throw syntaxError("Unterminated string");
+        }
+    }
+
+    private char readEscapeCharacter() throws IOException {
+
+        int escaped = read();
+        switch (escaped) {
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit == -1)
+                        throw syntaxError("Invalid unicode escape");
+                    value = (value << 4) + digit;
+                }
+                return (char) value;
+            case -1:
+                throw syntaxError("Unterminated escape sequence");
+            default:
+                return (char) escaped;
+        }
+    }
+
+    private int nextNonWhitespace() throws IOException {
+
+        while (true) {
+            int c = read();
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t')
+                return c;
+        }
+    }
+
+    private int read() throws IOException {
+
+        if (position == limit && !fill())
+            return -1;
+
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+
+        charactersBeforeBuffer += limit;
+        position = 0;
+        limit = 0;
+
+        int read;
+        while ((read = in.read(buffer, 0, buffer.length)) == 0) {
+            // keep reading until data is available or the stream ends
+        }
+
+        if (read == -1)
+            return false;
+
+        limit = read;
+
+        if (snippet.length() < SNIPPET_LENGTH)
+            snippet.append(buffer, 0, Math.min(limit, SNIPPET_LENGTH - snippet.length()));
+
+        return true;
+    }
+
+    private IOException syntaxError(String message) {
+
+        return new IOException(message + " at character " + (charactersBeforeBuffer + position));
+    }
+}
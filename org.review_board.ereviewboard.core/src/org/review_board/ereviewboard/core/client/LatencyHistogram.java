@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+/**
+ * Counts durations in buckets of increasing width
+ *
+ * <p>
+ * The buckets are bounded by {@link #BUCKET_BOUNDS}, in milliseconds, with a last bucket for
+ * the durations longer than the highest bound.
+ * </p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public class LatencyHistogram {
+
+    /**
+     * The inclusive upper bounds of the buckets, in milliseconds
+     */
+    public static final long[] BUCKET_BOUNDS = { 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000 };
+
+    private final long[] bucketCounts = new long[BUCKET_BOUNDS.length + 1];
+    private long count;
+    private long totalMillis;
+    private long maxMillis;
+
+    public synchronized void record(long millis) {
+
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS.length && millis > BUCKET_BOUNDS[bucket])
+            bucket++;
+
+        bucketCounts[bucket]++;
+        count++;
+        totalMillis += millis;
+        maxMillis = Math.max(maxMillis, millis);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public synchronized long getMaxMillis() {
+        return maxMillis;
+    }
+
+    public synchronized long getAverageMillis() {
+        return count == 0 ? 0 : totalMillis / count;
+    }
+
+    /**
+     * @return the number of durations in each bucket, the last one holding the durations longer than
+     *         the highest bound
+     */
+    public synchronized long[] getBucketCounts() {
+
+        long[] copy = new long[bucketCounts.length];
+        System.arraycopy(bucketCounts, 0, copy, 0, bucketCounts.length);
+        return copy;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the upper bound of the bucket holding the percentile, or the longest duration if it is
+     *         in the last bucket
+     */
+    public synchronized long getPercentileMillis(double percentile) {
+
+        if (count == 0)
+            return 0;
+
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_BOUNDS.length; bucket++) {
+            seen += bucketCounts[bucket];
+            if (seen >= rank && seen > 0)
+                return Math.min(BUCKET_BOUNDS[bucket], maxMillis);
+        }
+
+        return maxMillis;
+    }
+
+    @Override
+    public synchronized String toString() {
+
+        return "count=" + count + ", average=" + getAverageMillis() + " ms, p50<=" + getPercentileMillis(50)
+                + " ms, p90<=" + getPercentileMillis(90) + " ms, p99<=" + getPercentileMillis(99) + " ms, max="
+                + maxMillis + " ms";
+    }
+}
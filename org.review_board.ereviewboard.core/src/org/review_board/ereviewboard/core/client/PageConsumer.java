@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.util.List;
+
+import org.review_board.ereviewboard.core.exception.ReviewboardException;
+
+/**
+ * Receives the results of a {@link PagedLoader} one page at a time, in order
+ * 
+ * 
+ * @param <T>
+ */
+public interface PageConsumer<T> {
+
+    /**
+     * @param page the results of the next page, never empty unless it is the only page
+     * @return true to continue loading, false to stop and cancel the pages still in flight
+     */
+    boolean accept(List<T> page) throws ReviewboardException;
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+/**
+ * Chooses the page size used when loading each kind of resource
+ * 
+ * <p>
+ * Page sizes start at {@link #DEFAULT_PAGE_SIZE} and are adjusted after each load. They are doubled
+ * while several pages are needed and each of them returns quickly, as the round trips then
+ * dominate the loading time. They are halved when pages are slow or large. The sizes are kept in
+ * the {@link ReviewboardClientData} so that they are remembered across sessions.
+ * </p>
+ * 
+ */
+public class PageSizePolicy {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+
+    static final int MIN_PAGE_SIZE = 25;
+
+    /**
+     * The largest <tt>max-results</tt> value accepted by Review Board
+     */
+    static final int MAX_PAGE_SIZE = 200;
+
+    static final long FAST_PAGE_MILLIS = 1000;
+
+    static final long SLOW_PAGE_MILLIS = 4000;
+
+    /**
+     * Pages larger than this are split, matching the largest response which can be cached
+     */
+    static final long MAX_PAGE_CHARS = HttpResponseCache.DEFAULT_MAX_ENTRY_CHARS;
+
+    private final ReviewboardClientData clientData;
+
+    public PageSizePolicy(ReviewboardClientData clientData) {
+
+        this.clientData = clientData;
+    }
+
+    public int getPageSize(String resource) {
+
+        Integer pageSize = clientData.getPageSize(resource);
+
+        return pageSize != null ? pageSize.intValue() : DEFAULT_PAGE_SIZE;
+    }
+
+    /**
+     * Adjusts the page size for the <tt>resource</tt> based on the pages loaded with
+     * <tt>pageSize</tt>
+     */
+    public void update(String resource, int pageSize, PageStatistics statistics) {
+
+        if (statistics.getPages() == 0)
+            return;
+
+        long averageMillis = statistics.getAverageMillis();
+        long averageResponseSize = statistics.getAverageResponseSize();
+
+        int newPageSize = pageSize;
+
+        if (averageMillis > SLOW_PAGE_MILLIS || averageResponseSize > MAX_PAGE_CHARS)
+            newPageSize = Math.max(MIN_PAGE_SIZE, pageSize / 2);
+        else if (statistics.getPages() > 1 && statistics.getFullPages() > 0 && averageMillis < FAST_PAGE_MILLIS
+                && averageResponseSize < MAX_PAGE_CHARS / 2)
+            newPageSize = Math.min(MAX_PAGE_SIZE, pageSize * 2);
+
+        if (newPageSize != getPageSize(resource))
+            clientData.setPageSize(resource, newPageSize);
+    }
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+/**
+ * Aggregated timings and sizes of the pages retrieved by a {@link PagedLoader}
+ * 
+ */
+public class PageStatistics {
+
+    private int pages;
+    private int fullPages;
+    private long totalMillis;
+    private int sizedPages;
+    private long totalResponseSize;
+
+    /**
+     * @param responseSize the response size in characters, or -1 if unknown
+     */
+    public synchronized void record(int requested, int received, long millis, long responseSize) {
+
+        pages++;
+        if (received >= requested)
+            fullPages++;
+        totalMillis += millis;
+        if (responseSize >= 0) {
+            sizedPages++;
+            totalResponseSize += responseSize;
+        }
+    }
+
+    public synchronized int getPages() {
+        return pages;
+    }
+
+    /**
+     * @return the number of pages which contained all the results that were requested
+     */
+    public synchronized int getFullPages() {
+        return fullPages;
+    }
+
+    public synchronized long getAverageMillis() {
+        return pages == 0 ? 0 : totalMillis / pages;
+    }
+
+    /**
+     * @return the average response size in characters, or -1 if unknown
+     */
+    public synchronized long getAverageResponseSize() {
+        return sizedPages == 0 ? -1 : totalResponseSize / sizedPages;
+    }
+}
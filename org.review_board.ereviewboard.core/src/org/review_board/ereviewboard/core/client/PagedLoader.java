@@ -11,7 +11,14 @@
 package org.review_board.ereviewboard.core.client;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -31,67 +38,216 @@ public abstract class PagedLoader<T> {
     private final int increment;
     private final IProgressMonitor monitor;
     private final String progressMessage;
-    private List<T> results = null;
+    private boolean used;
+    private int delivered;
     private int limit;
+    private int start;
+    private Executor executor;
+    
+    private final PageSizePolicy pageSizePolicy;
+    private final String resource;
+    private final PageStatistics statistics = new PageStatistics();
     
     public PagedLoader(int increment, IProgressMonitor monitor, String progressMessage) {
         this.increment = increment;
         this.monitor = monitor;
         this.progressMessage = progressMessage;
+        this.pageSizePolicy = null;
+        this.resource = null;
+    }
+    
+    /**
+     * Creates a loader which takes its page size from the <tt>pageSizePolicy</tt> and reports back
+     * how the pages performed once loading is complete
+     */
+    public PagedLoader(PageSizePolicy pageSizePolicy, String resource, IProgressMonitor monitor, String progressMessage) {
+        this.increment = pageSizePolicy.getPageSize(resource);
+        this.monitor = monitor;
+        this.progressMessage = progressMessage;
+        this.pageSizePolicy = pageSizePolicy;
+        this.resource = resource;
     }
 
     protected abstract PagedResult<T> doLoadInternal(int start, int maxResults, IProgressMonitor monitor) throws ReviewboardException;
 
     public List<T> doLoad() throws ReviewboardException {
         
-        if ( results != null )
+        final List<T> results = new ArrayList<T>();
+        
+        doLoad(new PageConsumer<T>() {
+            public boolean accept(List<T> page) {
+                results.addAll(page);
+                return true;
+            }
+        });
+        
+        return results;
+    }
+    
+    /**
+     * Loads the results and passes them to the <tt>consumer</tt> page by page, in order, as soon
+     * as each page is available
+     * 
+     * <p>
+     * The consumer is always invoked from the calling thread. Loading stops as soon as the consumer
+     * returns false.
+     * </p>
+     */
+    public void doLoad(PageConsumer<T> consumer) throws ReviewboardException {
+        
+        if ( used )
             throw new IllegalStateException("Cannot reuse a " + PagedLoader.class.getSimpleName());
         
-        int currentPage = 0;
-        int actualLimit = 0;
-        int stillToLoad = 0;
+        used = true;
         
-        while ( true ) {
-
-
-            int adjustedIncrement = increment;
-
-            // for the last call we typically don't need all the results
-            if ( stillToLoad > 0 && stillToLoad < increment )
-                adjustedIncrement = stillToLoad;
-
-            // we perform the monitor work ourselves, so pass a NPM downstream            
-            PagedResult<T> pagedUsers = doLoadInternal(currentPage * increment, adjustedIncrement, new NullProgressMonitor());
-            if ( results == null ) {
-                results = new ArrayList<T>(pagedUsers.getTotalResults());
-                monitor.beginTask(progressMessage, pagedUsers.getTotalResults());
-                if ( limit == 0 )
-                    actualLimit = pagedUsers.getTotalResults();
+        PagedResult<T> firstPage = loadPage(start, increment);
+        
+        int totalResults = Math.max(0, firstPage.getTotalResults() - start);
+        int actualLimit = limit == 0 ? totalResults : Math.min(limit, totalResults);
+        
+        monitor.beginTask(progressMessage, totalResults);
+        
+        try {
+            Policy.advance(monitor, firstPage.getResults().size());
+            
+            if ( deliver(consumer, firstPage.getResults(), actualLimit) ) {
+                
+                // the first page is always loaded, even when the total is below the increment
+                int pageCount = Math.max(1, (actualLimit + increment - 1) / increment);
+                
+                if ( executor == null || pageCount <= 2 )
+                    loadSequentially(consumer, pageCount, actualLimit);
                 else
-                    actualLimit = Math.min(limit, pagedUsers.getTotalResults());
+                    loadConcurrently(consumer, pageCount, actualLimit);
             }
             
+            if ( pageSizePolicy != null )
+                pageSizePolicy.update(resource, increment, statistics);
+        } finally {
+            monitor.done();
+        }
+    }
+    
+    private PagedResult<T> loadPage(int start, int maxResults) throws ReviewboardException {
+        
+        long startTime = System.currentTimeMillis();
+        
+        // we perform the monitor work ourselves, so pass a NPM downstream
+        PagedResult<T> page = doLoadInternal(start, maxResults, new NullProgressMonitor());
+        
+        statistics.record(maxResults, page.getResults().size(), System.currentTimeMillis() - startTime, page.getResponseSize());
+        
+        return page;
+    }
+    
+    /**
+     * Passes the page to the consumer, trimming the results over the limit
+     * 
+     * @return true if loading should continue
+     */
+    private boolean deliver(PageConsumer<T> consumer, List<T> page, int actualLimit) throws ReviewboardException {
+        
+        if ( delivered + page.size() > actualLimit )
+            page = page.subList(0, Math.max(0, actualLimit - delivered));
+        
+        delivered += page.size();
+        
+        return consumer.accept(page) && delivered < actualLimit;
+    }
+    
+    private void loadSequentially(PageConsumer<T> consumer, int pageCount, int actualLimit) throws ReviewboardException {
+        
+        for ( int i = 1 ; i < pageCount ; i++ ) {
             
+            PagedResult<T> page = loadPage(start + i * increment, getMaxResults(i, actualLimit));
             
-            Policy.advance(monitor, pagedUsers.getResults().size());
-            results.addAll(pagedUsers.getResults());
-            
-            currentPage++;
-            
-            stillToLoad = actualLimit - results.size();
+            Policy.advance(monitor, page.getResults().size());
             
-            if ( stillToLoad == 0 )
-                break;
+            if ( !deliver(consumer, page.getResults(), actualLimit) )
+                return;
+        }
+    }
+
+    /**
+     * Loads all pages but the first one using the {@link #setExecutor(Executor) executor}
+     * 
+     * <p>
+     * Pages which complete ahead of their predecessors are held back so that the consumer receives
+     * them in order, and the monitor is advanced from the calling thread. If a page fails to load or
+     * the consumer stops the loading, the pages which have not yet been started are cancelled.
+     * </p>
+     */
+    private void loadConcurrently(PageConsumer<T> consumer, int pageCount, int actualLimit) throws ReviewboardException {
+        
+        CompletionService<PagedResult<T>> completionService = new ExecutorCompletionService<PagedResult<T>>(executor);
+        Map<Future<PagedResult<T>>, Integer> pageIndexes = new HashMap<Future<PagedResult<T>>, Integer>();
+        Map<Integer, List<T>> pendingPages = new HashMap<Integer, List<T>>();
+        int nextPage = 1;
+        
+        try {
+            for ( int i = 1 ; i < pageCount ; i++ ) {
+                
+                final int pageStart = start + i * increment;
+                final int maxResults = getMaxResults(i, actualLimit);
+                
+                Future<PagedResult<T>> future = completionService.submit(new Callable<PagedResult<T>>() {
+                    public PagedResult<T> call() throws ReviewboardException {
+                        return loadPage(pageStart, maxResults);
+                    }
+                });
+                
+                pageIndexes.put(future, Integer.valueOf(i));
+            }
             
-            if ( stillToLoad < 0 ) {
-                results.subList(results.size() + stillToLoad, results.size()).clear();
-                break;
+            for ( int i = 1 ; i < pageCount ; i++ ) {
+                
+                Future<PagedResult<T>> future = completionService.take();
+                PagedResult<T> page = RequestScheduler.getResult(future);
+                
+                Policy.advance(monitor, page.getResults().size());
+                pendingPages.put(pageIndexes.get(future), page.getResults());
+                
+                for ( List<T> next ; ( next = pendingPages.remove(Integer.valueOf(nextPage)) ) != null ; nextPage++ )
+                    if ( !deliver(consumer, next, actualLimit) )
+                        return;
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReviewboardException("Interrupted while loading pages", e);
+        } finally {
+            for ( Future<PagedResult<T>> future : pageIndexes.keySet() )
+                future.cancel(false);
         }
+    }
+    
+    /**
+     * @return the number of results to request for the page, as for the last page we typically
+     *         don't need all the results
+     */
+    private int getMaxResults(int pageIndex, int actualLimit) {
         
-        monitor.done();
+        return Math.min(increment, actualLimit - pageIndex * increment);
+    }
+
+    /**
+     * Sets the executor used to load the pages following the first one, which gives the total
+     * number of results. When no executor is set the pages are loaded sequentially.
+     */
+    public void setExecutor(Executor executor) {
         
-        return results;
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the offset of the first result to load; the results before it are skipped. The limit
+     * applies to the results after the offset.
+     */
+    public void setStart(int start) {
+        
+        if ( start < 0 )
+            throw new IllegalArgumentException("start must be >= 0");
+        
+        this.start = start;
     }
 
     public void setLimit(int limit) {
@@ -19,15 +19,25 @@ public class PagedResult<T> {
 
     public static <T> PagedResult<T> create(List<T> result, int totalResults) {
 
-        return new PagedResult<T>(result, totalResults);
+        return new PagedResult<T>(result, totalResults, -1);
+    }
+
+    /**
+     * @param responseSize the size of the response the result was read from, in characters
+     */
+    public static <T> PagedResult<T> create(List<T> result, int totalResults, long responseSize) {
+
+        return new PagedResult<T>(result, totalResults, responseSize);
     }
 
     private final List<T> result;
     private final int totalResults;
+    private final long responseSize;
 
-    private PagedResult(List<T> result, int totalResults) {
+    private PagedResult(List<T> result, int totalResults, long responseSize) {
         this.result = result;
         this.totalResults = totalResults;
+        this.responseSize = responseSize;
     }
 
     public int getTotalResults() {
@@ -37,4 +47,11 @@ public class PagedResult<T> {
     public List<T> getResults() {
         return result;
     }
+
+    /**
+     * @return the size of the response in characters, or -1 if unknown
+     */
+    public long getResponseSize() {
+        return responseSize;
+    }
 }
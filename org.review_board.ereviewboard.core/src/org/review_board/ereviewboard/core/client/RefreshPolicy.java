@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.review_board.ereviewboard.core.ReviewboardConstants;
+
+/**
+ * Decides when each kind of cached repository data is refreshed
+ *
+ * <p>
+ * Each resource has a time to live, read from a repository property in minutes. Once it has
+ * passed, the cached data is still used but refreshed in the background. A time to live of zero
+ * disables the refresh of the resource, leaving it to explicit refreshes.
+ * </p>
+ */
+public class RefreshPolicy {
+
+    private static final long MINUTE_MILLIS = 60 * 1000;
+
+    public enum Resource {
+
+        USERS(ReviewboardConstants.PROPERTY_USERS_TTL, 24 * 60),
+
+        GROUPS(ReviewboardConstants.PROPERTY_GROUPS_TTL, 60),
+
+        REPOSITORIES(ReviewboardConstants.PROPERTY_REPOSITORIES_TTL, 60),
+
+        SERVER_INFO(ReviewboardConstants.PROPERTY_SERVER_INFO_TTL, 24 * 60);
+
+        private final String ttlProperty;
+        private final int defaultTtlMinutes;
+
+        private Resource(String ttlProperty, int defaultTtlMinutes) {
+
+            this.ttlProperty = ttlProperty;
+            this.defaultTtlMinutes = defaultTtlMinutes;
+        }
+
+        public String getTtlProperty() {
+
+            return ttlProperty;
+        }
+
+        public int getDefaultTtlMinutes() {
+
+            return defaultTtlMinutes;
+        }
+    }
+
+    private volatile Map<Resource, Long> ttlMillis = readTtlMillis(null);
+
+    /**
+     * Reads the times to live from the properties of the <tt>repository</tt>
+     */
+    public void refreshRepositorySettings(TaskRepository repository) {
+
+        ttlMillis = readTtlMillis(repository);
+    }
+
+    public long getTtlMillis(Resource resource) {
+
+        return ttlMillis.get(resource).longValue();
+    }
+
+    /**
+     * @return the resources of the <tt>clientData</tt> which are older than their time to live
+     */
+    public Set<Resource> getExpiredResources(ReviewboardClientData clientData, long now) {
+
+        Set<Resource> expired = EnumSet.noneOf(Resource.class);
+
+        for (Resource resource : Resource.values()) {
+            long ttl = getTtlMillis(resource);
+            if (ttl > 0 && now - clientData.getRefreshTime(resource.name()) >= ttl)
+                expired.add(resource);
+        }
+
+        return expired;
+    }
+
+    private static Map<Resource, Long> readTtlMillis(TaskRepository repository) {
+
+        Map<Resource, Long> ttlMillis = new EnumMap<Resource, Long>(Resource.class);
+
+        for (Resource resource : Resource.values()) {
+            int ttlMinutes = resource.getDefaultTtlMinutes();
+
+            String property = repository != null ? repository.getProperty(resource.getTtlProperty()) : null;
+            if (property != null && property.trim().length() > 0) {
+                try {
+                    ttlMinutes = Math.max(0, Integer.parseInt(property.trim()));
+                } catch (NumberFormatException e) {
+                    // keep the default
+                }
+            }
+
+            ttlMillis.put(resource, Long.valueOf(ttlMinutes * MINUTE_MILLIS));
+        }
+
+        return ttlMillis;
+    }
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.review_board.ereviewboard.core.exception.ReviewboardException;
+
+/**
+ * Runs requests against a single Review Board repository on a bounded number of threads
+ * 
+ * <p>
+ * Tasks submitted from one of the scheduler's own threads are run inline, so that a task may fan
+ * out work of its own and wait for it without exhausting the pool. Tasks submitted after
+ * {@link #shutdown()} are run inline as well.
+ * </p>
+ * 
+ */
+public class RequestScheduler implements Executor {
+
+    /**
+     * The number of concurrent requests, kept below the number of pooled HTTP connections so that
+     * requests made outside the scheduler do not have to wait for a connection
+     */
+    static final int DEFAULT_MAX_THREADS = 4;
+
+    private final ThreadPoolExecutor executor;
+
+    public RequestScheduler(String name) {
+        this(name, DEFAULT_MAX_THREADS);
+    }
+
+    public RequestScheduler(final String name, int maxThreads) {
+
+        executor = new ThreadPoolExecutor(maxThreads, maxThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+
+                    private final AtomicInteger threadCount = new AtomicInteger();
+
+                    public Thread newThread(Runnable runnable) {
+
+                        Thread thread = new WorkerThread(RequestScheduler.this, runnable,
+                                "Review Board requests for " + name + " #" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+    }
+
+    public void execute(Runnable command) {
+
+        if (isWorkerThread()) {
+            command.run();
+            return;
+        }
+
+        try {
+            executor.execute(command);
+        } catch (RejectedExecutionException e) {
+            command.run();
+        }
+    }
+
+    /**
+     * @return true if the current thread belongs to this scheduler
+     */
+    public boolean isWorkerThread() {
+
+        Thread currentThread = Thread.currentThread();
+
+        return currentThread instanceof WorkerThread && ((WorkerThread) currentThread).scheduler == this;
+    }
+
+    /**
+     * Waits for the <tt>future</tt> and returns its result, rethrowing the failure of the task
+     * unwrapped
+     */
+    public static <V> V getResult(Future<V> future) throws ReviewboardException, InterruptedException {
+
+        try {
+            return future.get();
+        } catch (CancellationException e) {
+            throw new ReviewboardException("The request was cancelled", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ReviewboardException)
+                throw (ReviewboardException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new ReviewboardException(cause.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stops the threads of this scheduler, cancelling the tasks which have not started yet
+     */
+    public void shutdown() {
+
+        for (Runnable pending : executor.shutdownNow())
+            if (pending instanceof Future<?>)
+                ((Future<?>) pending).cancel(false);
+    }
+
+    private static class WorkerThread extends Thread {
+
+        private final RequestScheduler scheduler;
+
+        public WorkerThread(RequestScheduler scheduler, Runnable runnable, String name) {
+
+            super(runnable, name);
+            this.scheduler = scheduler;
+        }
+    }
+}
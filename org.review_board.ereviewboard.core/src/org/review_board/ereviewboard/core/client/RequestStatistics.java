@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.review_board.ereviewboard.core.ReviewboardCorePlugin;
+
+/**
+ * Collects the requests made to a single repository, grouped by endpoint template, and the time
+ * taken by the connector operations
+ *
+ * <p>
+ * When a {@link #setLogSeverity(int) log severity} is set, each operation is written to the
+ * Eclipse log as it completes, and the complete report when the client is shut down.
+ * </p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public class RequestStatistics {
+
+    public static final String PHASE_GET_TASK_DATA = "getTaskData";
+    public static final String PHASE_PERFORM_QUERY = "performQuery";
+    public static final String PHASE_PRE_SYNCHRONIZATION = "preSynchronization";
+    public static final String PHASE_UPDATE_REPOSITORY_DATA = "updateRepositoryData";
+
+    /**
+     * The severity which disables logging
+     */
+    public static final int NOT_LOGGED = -1;
+
+    private final String repositoryUrl;
+    private final ConcurrentMap<String, EndpointStatistics> endpoints = new ConcurrentHashMap<String, EndpointStatistics>();
+    private final ConcurrentMap<String, LatencyHistogram> phases = new ConcurrentHashMap<String, LatencyHistogram>();
+    private final TransferStatistics transferStatistics = new TransferStatistics();
+    private volatile int logSeverity = NOT_LOGGED;
+
+    public RequestStatistics(String repositoryUrl) {
+
+        this.repositoryUrl = repositoryUrl;
+    }
+
+    /**
+     * Replaces the variable parts of the <tt>path</tt> with placeholders, so that the number of
+     * endpoints stays bounded
+     * 
+     * <p>
+     * Numbers and other values which are not resource names, such as hashes, become <tt>{id}</tt>,
+     * user and group names <tt>{username}</tt> and <tt>{groupname}</tt>, file names <tt>{file}</tt>.
+     * Everything below <tt>media</tt> is an uploaded file, so it becomes <tt>media/{file}/</tt>.
+     * </p>
+     * 
+     * @param path the path of a request, without the query string
+     * @return the path with the variable segments replaced by placeholders
+     */
+    public static String endpointOf(String path) {
+
+        String[] segments = path.split("/");
+
+        StringBuilder endpoint = new StringBuilder("/");
+        String previous = null;
+        for (String segment : segments) {
+            if (segment.length() == 0)
+                continue;
+
+            if ("media".equals(segment)) {
+                endpoint.append("media/{file}/");
+                break;
+            }
+
+            if ("users".equals(previous))
+                endpoint.append("{username}");
+            else if ("groups".equals(previous))
+                endpoint.append("{groupname}");
+            else if (segment.indexOf('.') != -1)
+                endpoint.append("{file}");
+            else if (!isResourceName(segment))
+                endpoint.append("{id}");
+            else
+                endpoint.append(segment);
+            endpoint.append('/');
+
+            previous = segment;
+        }
+
+        return endpoint.toString();
+    }
+
+    /**
+     * @return true if the <tt>segment</tt> only contains lower case letters, dashes and underscores,
+     *         like the names of the web API resources
+     */
+    private static boolean isResourceName(String segment) {
+
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if ((c < 'a' || c > 'z') && c != '-' && c != '_')
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the statistics of the <tt>endpoint</tt>, created when first requested
+     */
+    public EndpointStatistics getEndpoint(String endpoint) {
+
+        EndpointStatistics statistics = endpoints.get(endpoint);
+        if (statistics == null) {
+            EndpointStatistics created = new EndpointStatistics();
+            statistics = endpoints.putIfAbsent(endpoint, created);
+            if (statistics == null)
+                statistics = created;
+        }
+
+        return statistics;
+    }
+
+    /**
+     * @return the statistics of the endpoints which were requested, ordered by endpoint
+     */
+    public SortedMap<String, EndpointStatistics> getEndpoints() {
+
+        return new TreeMap<String, EndpointStatistics>(endpoints);
+    }
+
+    /**
+     * @return the amount of data transferred for all the endpoints
+     */
+    public TransferStatistics getTransferStatistics() {
+
+        return transferStatistics;
+    }
+
+    /**
+     * Records the duration of a connector operation and logs it
+     *
+     * @param subject what the operation applied to, e.g. the task id, or <code>null</code>
+     */
+    public void recordPhase(String phase, String subject, long millis) {
+
+        LatencyHistogram histogram = phases.get(phase);
+        if (histogram == null) {
+            LatencyHistogram created = new LatencyHistogram();
+            histogram = phases.putIfAbsent(phase, created);
+            if (histogram == null)
+                histogram = created;
+        }
+
+        histogram.record(millis);
+
+        if (isLogged())
+            log(phase + (subject != null ? " for " + subject : "") + " completed in " + millis + " ms");
+    }
+
+    /**
+     * @return the durations of the connector operations, ordered by operation name
+     */
+    public SortedMap<String, LatencyHistogram> getPhases() {
+
+        return new TreeMap<String, LatencyHistogram>(phases);
+    }
+
+    /**
+     * @param logSeverity the severity of the statuses written to the Eclipse log, or
+     *            {@link #NOT_LOGGED}
+     */
+    public void setLogSeverity(int logSeverity) {
+
+        this.logSeverity = logSeverity;
+    }
+
+    public int getLogSeverity() {
+
+        return logSeverity;
+    }
+
+    /**
+     * @param value one of <tt>info</tt>, <tt>warning</tt> or <tt>error</tt>, case insensitive
+     * @return the matching severity, or {@link #NOT_LOGGED} for any other value
+     */
+    public static int parseLogSeverity(String value) {
+
+        if (value == null)
+            return NOT_LOGGED;
+
+        value = value.trim();
+        if ("info".equalsIgnoreCase(value))
+            return IStatus.INFO;
+        if ("warning".equalsIgnoreCase(value))
+            return IStatus.WARNING;
+        if ("error".equalsIgnoreCase(value))
+            return IStatus.ERROR;
+
+        return NOT_LOGGED;
+    }
+
+    public boolean isLogged() {
+
+        return logSeverity != NOT_LOGGED;
+    }
+
+    /**
+     * Writes the {@link #toString() report} to the Eclipse log, if logging is enabled and requests
+     * were made
+     */
+    public void logReport() {
+
+        if (isLogged() && !(endpoints.isEmpty() && phases.isEmpty()))
+            log(toString());
+    }
+
+    private void log(String message) {
+
+        StatusHandler.log(new Status(logSeverity, ReviewboardCorePlugin.PLUGIN_ID, "[" + repositoryUrl + "] "
+                + message));
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder report = new StringBuilder();
+        report.append("Request statistics for ").append(repositoryUrl).append(" : ").append(transferStatistics);
+
+        for (Map.Entry<String, LatencyHistogram> entry : getPhases().entrySet())
+            report.append("\n    ").append(entry.getKey()).append(" : ").append(entry.getValue());
+
+        for (Map.Entry<String, EndpointStatistics> entry : getEndpoints().entrySet())
+            report.append("\n    ").append(entry.getKey()).append(" : ").append(entry.getValue());
+
+        return report.toString();
+    }
+}
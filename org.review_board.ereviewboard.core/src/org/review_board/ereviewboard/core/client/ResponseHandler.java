@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import org.review_board.ereviewboard.core.exception.ReviewboardException;
+
+/**
+ * Converts a response body into an object while it is being read from the connection
+ * 
+ * 
+ * @param <T>
+ */
+public interface ResponseHandler<T> {
+
+    /**
+     * @param reader the response body; it is closed by the caller
+     */
+    T handle(Reader reader) throws IOException, ReviewboardException;
+}
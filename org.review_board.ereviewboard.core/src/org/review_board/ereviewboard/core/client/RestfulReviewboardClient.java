@@ -37,22 +37,38 @@
  *******************************************************************************/
 package org.review_board.ereviewboard.core.client;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
+import org.apache.commons.io.IOUtils;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.commons.net.AbstractWebLocation;
 import org.eclipse.mylyn.commons.net.Policy;
 import org.eclipse.mylyn.tasks.core.TaskRepository;
-import org.review_board.ereviewboard.core.ReviewboardAttributeMapper;
+import org.review_board.ereviewboard.core.ReviewboardConstants;
 import org.review_board.ereviewboard.core.ReviewboardCorePlugin;
+import org.review_board.ereviewboard.core.client.RefreshPolicy.Resource;
+import org.review_board.ereviewboard.core.client.ReviewboardClientData.Snapshot;
 import org.review_board.ereviewboard.core.exception.ReviewboardException;
 import org.review_board.ereviewboard.core.model.Diff;
 import org.review_board.ereviewboard.core.model.DiffComment;
@@ -66,6 +82,9 @@ import org.review_board.ereviewboard.core.model.Screenshot;
 import org.review_board.ereviewboard.core.model.ScreenshotComment;
 import org.review_board.ereviewboard.core.model.ServerInfo;
 import org.review_board.ereviewboard.core.model.User;
+import org.review_board.ereviewboard.core.util.DateCodec;
+import org.review_board.ereviewboard.core.util.IOUtil;
+import org.review_board.ereviewboard.core.util.IntHashSet;
 
 /**
  * RESTful implementation of {@link ReviewboardClient}.
@@ -74,22 +93,119 @@ import org.review_board.ereviewboard.core.model.User;
  */
 public class RestfulReviewboardClient implements ReviewboardClient {
     
-    private static final int PAGED_RESULT_INCREMENT = 50;
-
+    /**
+     * The number of review request ids to retrieve per request, which is the highest page size
+     * allowed by the server
+     */
+    private static final int ID_PAGE_SIZE = 200;
+    
     private final RestfulReviewboardReader reviewboardReader;
 
     private ReviewboardClientData clientData;
 
     private ReviewboardHttpClient httpClient;
 
+    private final RequestScheduler requestScheduler;
+
+    private final PageSizePolicy pageSizePolicy;
+
+    private final UserDirectory userDirectory;
+    
+    private boolean enumerateUsers;
+    
+    private volatile ClientDataListener clientDataListener;
+    
+    private final RefreshPolicy refreshPolicy = new RefreshPolicy();
+    
+    private final Job refreshJob;
+    
+    private final AttachmentCache attachmentCache;
+
+    private final ResponseHandler<PagedResult<User>> usersHandler = new ResponseHandler<PagedResult<User>>() {
+        public PagedResult<User> handle(Reader reader) throws ReviewboardException {
+            return reviewboardReader.readUsers(reader);
+        }
+    };
+
+    private final ResponseHandler<PagedResult<ReviewRequest>> reviewRequestsHandler = new ResponseHandler<PagedResult<ReviewRequest>>() {
+        public PagedResult<ReviewRequest> handle(Reader reader) throws ReviewboardException {
+            return reviewboardReader.readReviewRequests(reader);
+        }
+    };
+
+    private final ResponseHandler<User> userHandler = new ResponseHandler<User>() {
+        public User handle(Reader reader) throws ReviewboardException {
+            return reviewboardReader.readUser(reader);
+        }
+    };
+
+    private final ResponseHandler<ReviewRequest> reviewRequestHandler = new ResponseHandler<ReviewRequest>() {
+        public ReviewRequest handle(Reader reader) throws ReviewboardException {
+            return reviewboardReader.readReviewRequest(reader);
+        }
+    };
+
+    private final ResponseHandler<PagedResult<Review>> reviewsHandler = new ResponseHandler<PagedResult<Review>>() {
+        public PagedResult<Review> handle(Reader reader) throws ReviewboardException {
+            return reviewboardReader.readReviews(reader);
+        }
+    };
+
     public RestfulReviewboardClient(AbstractWebLocation location, ReviewboardClientData clientData,
             TaskRepository repository) {
+        this(location, clientData, repository, null);
+    }
+
+    /**
+     * @param responseCacheFile the file where HTTP responses are cached between sessions, or
+     *            <code>null</code> to keep them in memory only
+     */
+    public RestfulReviewboardClient(AbstractWebLocation location, ReviewboardClientData clientData,
+            TaskRepository repository, File responseCacheFile) {
+        this(location, clientData, repository, responseCacheFile, null);
+    }
+
+    /**
+     * @param responseCacheFile the file where HTTP responses are cached between sessions, or
+     *            <code>null</code> to keep them in memory only
+     * @param attachmentCacheDirectory the directory where diffs and screenshots are cached, or
+     *            <code>null</code> to always download them
+     */
+    public RestfulReviewboardClient(AbstractWebLocation location, ReviewboardClientData clientData,
+            TaskRepository repository, File responseCacheFile, File attachmentCacheDirectory) {
         this.clientData = clientData;
+        
+        attachmentCache = attachmentCacheDirectory != null ? new AttachmentCache(attachmentCacheDirectory) : null;
 
         reviewboardReader = new RestfulReviewboardReader();
 
+        requestScheduler = new RequestScheduler(location.getUrl());
+        pageSizePolicy = new PageSizePolicy(clientData);
         httpClient = new ReviewboardHttpClient(location, repository.getCharacterEncoding(),
-                Boolean.valueOf(repository.getProperty("selfSignedSSL")));
+                Boolean.valueOf(repository.getProperty("selfSignedSSL")), responseCacheFile);
+        userDirectory = new UserDirectory(clientData, requestScheduler) {
+            @Override
+            protected User loadUser(String username) throws ReviewboardException {
+                return RestfulReviewboardClient.this.getUser(username, new NullProgressMonitor());
+            }
+        };
+        refreshJob = new Job("Refreshing Review Board repository data") {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                Set<Resource> expired = getExpiredResources();
+                if ( expired.isEmpty() )
+                    return Status.OK_STATUS;
+                
+                try {
+                    refreshRepositoryData(expired, monitor);
+                } catch (ReviewboardException e) {
+                    // already logged, the cached data is kept until the next attempt
+                }
+                
+                return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+            }
+        };
+        refreshJob.setSystem(true);
 
         refreshRepositorySettings(repository);
     }
@@ -98,13 +214,54 @@ public class RestfulReviewboardClient implements ReviewboardClient {
         return clientData;
     }
 
+    /**
+     * @param clientDataListener notified after the repository data is refreshed, possibly
+     *            <code>null</code>
+     */
+    public void setClientDataListener(ClientDataListener clientDataListener) {
+        this.clientDataListener = clientDataListener;
+    }
+
     public void refreshRepositorySettings(TaskRepository repository) {
-        // Nothing to do yet
+        
+        enumerateUsers = Boolean.valueOf(repository.getProperty(ReviewboardConstants.PROPERTY_ENUMERATE_USERS)).booleanValue();
+        userDirectory.setUsersEnumerated(enumerateUsers && hasRepositoryData());
+        refreshPolicy.refreshRepositorySettings(repository);
+        
+        if ( attachmentCache != null )
+            attachmentCache.setMaxBytes(getAttachmentCacheSize(repository));
+        
+        httpClient.getStatistics().setLogSeverity(RequestStatistics.parseLogSeverity(
+                repository.getProperty(ReviewboardConstants.PROPERTY_STATISTICS_LOG_LEVEL)));
+    }
+    
+    private static long getAttachmentCacheSize(TaskRepository repository) {
+        
+        String property = repository.getProperty(ReviewboardConstants.PROPERTY_ATTACHMENT_CACHE_SIZE);
+        if ( property != null && property.trim().length() > 0 ) {
+            try {
+                return Math.max(0, Long.parseLong(property.trim())) * 1024 * 1024;
+            } catch ( NumberFormatException e ) {
+                // keep the default
+            }
+        }
+        
+        return AttachmentCache.DEFAULT_MAX_BYTES;
+    }
+    
+    public UserDirectory getUserDirectory() {
+        
+        return userDirectory;
     }
 
-    public List<Review> getReviews(final int reviewRequestId, IProgressMonitor monitor) throws ReviewboardException {
+    public List<Review> getReviews(int reviewRequestId, IProgressMonitor monitor) throws ReviewboardException {
         
-        PagedLoader<Review> loader = new PagedLoader<Review>(PAGED_RESULT_INCREMENT, monitor, "Retrieving reviews") {
+        return getReviews(reviewRequestId, 0, monitor);
+    }
+    
+    public List<Review> getReviews(final int reviewRequestId, int start, IProgressMonitor monitor) throws ReviewboardException {
+        
+        PagedLoader<Review> loader = new PagedLoader<Review>(pageSizePolicy, "reviews", monitor, "Retrieving reviews") {
             @Override
             protected PagedResult<Review> doLoadInternal(int start, int maxResults, IProgressMonitor monitor)
                     throws ReviewboardException {
@@ -113,16 +270,24 @@ public class RestfulReviewboardClient implements ReviewboardClient {
                 query.append("/api/review-requests/").append(reviewRequestId).append("/reviews/");
                 query.append("?start=").append(start).append("&max-results=").append(maxResults);
                
-                return reviewboardReader.readReviews(httpClient.executeGet(query.toString(), monitor));
+                return httpClient.executeGet(query.toString(), reviewsHandler, monitor);
             }
         };
         
+        loader.setStart(start);
+        loader.setExecutor(requestScheduler);
+        
         return loader.doLoad();
     }
     
-    public List<ReviewReply> getReviewReplies(final int reviewRequestId, final int reviewId, IProgressMonitor monitor) throws ReviewboardException {
+    public List<ReviewReply> getReviewReplies(int reviewRequestId, int reviewId, IProgressMonitor monitor) throws ReviewboardException {
+ 
+        return getReviewReplies(reviewRequestId, reviewId, 0, monitor);
+    }
+    
+    public List<ReviewReply> getReviewReplies(final int reviewRequestId, final int reviewId, int start, IProgressMonitor monitor) throws ReviewboardException {
  
-        PagedLoader<ReviewReply> loader = new PagedLoader<ReviewReply>(PAGED_RESULT_INCREMENT, monitor, "Retrieving review replies") {
+        PagedLoader<ReviewReply> loader = new PagedLoader<ReviewReply>(pageSizePolicy, "replies", monitor, "Retrieving review replies") {
             
             @Override
             protected PagedResult<ReviewReply> doLoadInternal(int start, int maxResults,
@@ -137,6 +302,9 @@ public class RestfulReviewboardClient implements ReviewboardClient {
             }
         };
         
+        loader.setStart(start);
+        loader.setExecutor(requestScheduler);
+        
         return loader.doLoad();
     }
     
@@ -156,7 +324,7 @@ public class RestfulReviewboardClient implements ReviewboardClient {
 
     public List<DiffComment> readDiffComments(final int reviewRequestId, final int reviewId, IProgressMonitor monitor) throws ReviewboardException {
         
-        PagedLoader<DiffComment> loader = new PagedLoader<DiffComment>(PAGED_RESULT_INCREMENT, monitor, "Retrieving reviews") {
+        PagedLoader<DiffComment> loader = new PagedLoader<DiffComment>(pageSizePolicy, "diff_comments", monitor, "Retrieving reviews") {
             @Override
             protected PagedResult<DiffComment> doLoadInternal(int start, int maxResults, IProgressMonitor monitor)
                     throws ReviewboardException {
@@ -170,6 +338,8 @@ public class RestfulReviewboardClient implements ReviewboardClient {
             }
         };
         
+        loader.setExecutor(requestScheduler);
+        
         return loader.doLoad();
         
        
@@ -182,7 +352,7 @@ public class RestfulReviewboardClient implements ReviewboardClient {
 
     private List<Repository> getRepositories(IProgressMonitor monitor) throws ReviewboardException {
         
-        PagedLoader<Repository> loader = new PagedLoader<Repository>(PAGED_RESULT_INCREMENT, monitor, "Retrieving repositories") {
+        PagedLoader<Repository> loader = new PagedLoader<Repository>(pageSizePolicy, "repositories", monitor, "Retrieving repositories") {
             
             @Override
             protected PagedResult<Repository> doLoadInternal(int start, int maxResults, IProgressMonitor monitor) throws ReviewboardException {
@@ -196,12 +366,23 @@ public class RestfulReviewboardClient implements ReviewboardClient {
             }
         };
         
+        loader.setExecutor(requestScheduler);
+        
         return loader.doLoad();
     }
 
+    private User getUser(String username, IProgressMonitor monitor) throws ReviewboardException {
+        
+        try {
+            return httpClient.executeGet("/api/users/" + URLEncoder.encode(username, "UTF-8") + "/", userHandler, monitor);
+        } catch (UnsupportedEncodingException e) {
+            throw new ReviewboardException("Failed encoding the query url", e);
+        }
+    }
+
     private List<User> getUsers(IProgressMonitor monitor) throws ReviewboardException {
     
-        PagedLoader<User> loader = new PagedLoader<User>(PAGED_RESULT_INCREMENT, monitor, "Retrieving users") {
+        PagedLoader<User> loader = new PagedLoader<User>(pageSizePolicy, "users", monitor, "Retrieving users") {
 
             @Override
             protected PagedResult<User> doLoadInternal(int start, int maxResults, IProgressMonitor monitor) throws ReviewboardException {
@@ -210,17 +391,19 @@ public class RestfulReviewboardClient implements ReviewboardClient {
                 
                 query.append("/api/users?start=").append(start).append("&max-results="+maxResults);
                 
-                return reviewboardReader.readUsers(httpClient.executeGet(query.toString(), monitor));
+                return httpClient.executeGet(query.toString(), usersHandler, monitor);
             }
             
         };
         
+        loader.setExecutor(requestScheduler);
+        
         return loader.doLoad();
     }
     
     private List<ReviewGroup> getReviewGroups(IProgressMonitor monitor) throws ReviewboardException {
         
-        PagedLoader<ReviewGroup> loader = new PagedLoader<ReviewGroup>(PAGED_RESULT_INCREMENT, monitor, "Retrieving review groups") {
+        PagedLoader<ReviewGroup> loader = new PagedLoader<ReviewGroup>(pageSizePolicy, "groups", monitor, "Retrieving review groups") {
             
             @Override
             protected PagedResult<ReviewGroup> doLoadInternal(int start, int maxResults, IProgressMonitor monitor) throws ReviewboardException {
@@ -234,6 +417,8 @@ public class RestfulReviewboardClient implements ReviewboardClient {
             }
         };
         
+        loader.setExecutor(requestScheduler);
+        
         return loader.doLoad();
     }
     
@@ -248,10 +433,20 @@ public class RestfulReviewboardClient implements ReviewboardClient {
         }
     }
 
-    public List<ReviewRequest> getReviewRequests(final String query, int queryMaxResults, IProgressMonitor monitor) throws ReviewboardException {
+    public List<ReviewRequest> getReviewRequests(String query, int queryMaxResults, IProgressMonitor monitor) throws ReviewboardException {
+
+        return newReviewRequestsLoader(query, queryMaxResults, monitor).doLoad();
+    }
+
+    public void getReviewRequests(String query, int queryMaxResults, PageConsumer<ReviewRequest> consumer,
+            IProgressMonitor monitor) throws ReviewboardException {
 
+        newReviewRequestsLoader(query, queryMaxResults, monitor).doLoad(consumer);
+    }
+
+    private PagedLoader<ReviewRequest> newReviewRequestsLoader(final String query, int queryMaxResults, IProgressMonitor monitor) {
         
-        PagedLoader<ReviewRequest> loader = new PagedLoader<ReviewRequest>(PAGED_RESULT_INCREMENT, monitor, "Loading review requests") {
+        PagedLoader<ReviewRequest> loader = new PagedLoader<ReviewRequest>(pageSizePolicy, "review_requests", monitor, "Loading review requests") {
             
             @Override
             protected PagedResult<ReviewRequest> doLoadInternal(int start, int maxResults,
@@ -264,12 +459,13 @@ public class RestfulReviewboardClient implements ReviewboardClient {
                 stringBuilder.append(query.replaceFirst("&max-results=[\\d]+", ""));
                 stringBuilder.append("&start=").append(start).append("&max-results=").append(maxResults);
                 
-                return reviewboardReader.readReviewRequests(httpClient.executeGet(stringBuilder.toString(), monitor));
+                return httpClient.executeGet(stringBuilder.toString(), reviewRequestsHandler, monitor);
             }
         };
         loader.setLimit(queryMaxResults);
+        loader.setExecutor(requestScheduler);
         
-        return loader.doLoad();
+        return loader;
     }
     
     public List<Diff> loadDiffs(int reviewRequestId, IProgressMonitor monitor) throws ReviewboardException {
@@ -284,7 +480,7 @@ public class RestfulReviewboardClient implements ReviewboardClient {
     
     public List<ScreenshotComment> getScreenshotComments(final int reviewRequestId, final int screenshotId, final IProgressMonitor screenshotCommentMonitor) throws ReviewboardException {
         
-        PagedLoader<ScreenshotComment> loader = new PagedLoader<ScreenshotComment>(PAGED_RESULT_INCREMENT, screenshotCommentMonitor, "Retrieving screenshot comments") {
+        PagedLoader<ScreenshotComment> loader = new PagedLoader<ScreenshotComment>(pageSizePolicy, "screenshot_comments", screenshotCommentMonitor, "Retrieving screenshot comments") {
             
             @Override
             protected PagedResult<ScreenshotComment> doLoadInternal(int start, int maxResults, IProgressMonitor monitor) throws ReviewboardException {
@@ -294,56 +490,264 @@ public class RestfulReviewboardClient implements ReviewboardClient {
                 query.append("/screenshots/").append(screenshotId).append("/screenshot-comments");
                 query.append("/?start=").append(start).append("&max-results=" + maxResults);
                 
-                return reviewboardReader.readScreenshotComments(httpClient.executeGet(query.toString(), screenshotCommentMonitor));
+                return reviewboardReader.readScreenshotComments(httpClient.executeGet(query.toString(), monitor));
             }
         };
         
+        loader.setExecutor(requestScheduler);
+        
         return loader.doLoad();
     }
     
-    private List<Integer> getReviewRequestIds(String query, IProgressMonitor monitor)
-            throws ReviewboardException {
-        return reviewboardReader.readReviewRequestIds(
-                httpClient.executeGet("/api/review-requests/" + query, monitor));
-    }
-
     public boolean hasRepositoryData() {
         return (clientData.lastupdate != 0);
     }
 
     public void updateRepositoryData(boolean force, IProgressMonitor monitor) throws ReviewboardException {
         
-        if (hasRepositoryData() && !force)
+        if ( force || !hasRepositoryData() ) {
+            refreshRepositoryData(EnumSet.allOf(Resource.class), monitor);
             return;
+        }
+        
+        // callers keep using the cached data while the expired resources are refreshed
+        Set<Resource> expired = getExpiredResources();
+        if ( !expired.isEmpty() && refreshJob.getState() == Job.NONE )
+            refreshJob.schedule();
+    }
+    
+    private Set<Resource> getExpiredResources() {
+        
+        Set<Resource> expired = refreshPolicy.getExpiredResources(clientData, System.currentTimeMillis());
+        
+        // without the complete list, users are retrieved by the user directory when needed
+        if ( !enumerateUsers )
+            expired.remove(Resource.USERS);
+        
+        return expired;
+    }
+    
+    private void refreshRepositoryData(Set<Resource> resources, IProgressMonitor monitor) throws ReviewboardException {
         
-        monitor.beginTask("Refreshing repository data", 100);
+        long start = System.currentTimeMillis();
+        
+        // the resources are loaded concurrently, each reporting to its own sub monitor
+        final IProgressMonitor sharedMonitor = new SynchronizedProgressMonitor(monitor);
+        
+        sharedMonitor.beginTask("Refreshing repository data", 100);
 
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        
         try {
             
             // users usually outnumber groups and repositories
             // try to get good progress reporting by approximating the ratios
             // repositories with small data sets will not need very accurate progress reporting anyway
-            clientData.setUsers(getUsers(Policy.subMonitorFor(monitor, 90)));
+            Future<List<ReviewGroup>> groups = null;
+            if ( resources.contains(Resource.GROUPS) ) {
+                groups = submit(futures, new Callable<List<ReviewGroup>>() {
+                    public List<ReviewGroup> call() throws ReviewboardException {
+                        return getReviewGroups(Policy.subMonitorFor(sharedMonitor, 5));
+                    }
+                });
+            } else {
+                Policy.advance(sharedMonitor, 5);
+            }
             
-            clientData.setGroups(getReviewGroups(Policy.subMonitorFor(monitor, 5)));
-
-            clientData.setRepositories(getRepositories(Policy.subMonitorFor(monitor, 4)));
+            Future<List<Repository>> repositories = null;
+            if ( resources.contains(Resource.REPOSITORIES) ) {
+                repositories = submit(futures, new Callable<List<Repository>>() {
+                    public List<Repository> call() throws ReviewboardException {
+                        return getRepositories(Policy.subMonitorFor(sharedMonitor, 4));
+                    }
+                });
+            } else {
+                Policy.advance(sharedMonitor, 4);
+            }
             
-            clientData.setTimeZone(getTimeZone(Policy.subMonitorFor(monitor, 1)));
-
-            clientData.lastupdate = new Date().getTime();
+            Future<TimeZone> timeZone = null;
+            if ( resources.contains(Resource.SERVER_INFO) ) {
+                timeZone = submit(futures, new Callable<TimeZone>() {
+                    public TimeZone call() throws ReviewboardException {
+                        return getTimeZone(Policy.subMonitorFor(sharedMonitor, 1));
+                    }
+                });
+            } else {
+                Policy.advance(sharedMonitor, 1);
+            }
+            
+            // the users are loaded from this thread, so that their pages can still be loaded concurrently
+            // without the complete list, users are retrieved by the user directory when needed
+            boolean loadUsers = enumerateUsers && resources.contains(Resource.USERS);
+            List<User> users = null;
+            List<ReviewboardException> failures = new ArrayList<ReviewboardException>();
+            
+            if ( loadUsers ) {
+                try {
+                    users = getUsers(Policy.subMonitorFor(sharedMonitor, 90));
+                } catch (ReviewboardException e) {
+                    logRefreshFailure("users", e);
+                    failures.add(e);
+                }
+            } else {
+                Policy.advance(sharedMonitor, 90);
+            }
+            
+            List<ReviewGroup> newGroups = groups != null ? getRefreshedValue(groups, "review groups", failures) : null;
+            List<Repository> newRepositories = repositories != null ? getRefreshedValue(repositories, "repositories", failures) : null;
+            
+            // the time zone is null for servers which do not report it
+            int failureCount = failures.size();
+            TimeZone newTimeZone = timeZone != null ? getRefreshedValue(timeZone, "server information", failures) : null;
+            boolean timeZoneRefreshed = timeZone != null && failures.size() == failureCount;
+            
+            // nothing could be refreshed, most likely the server is not reachable
+            if ( !failures.isEmpty() && failures.size() == futures.size() + ( loadUsers ? 1 : 0 ) )
+                throw failures.get(0);
+            
+            long now = new Date().getTime();
+            
+            // publish all the refreshed data in a single snapshot, keeping the previous data of the resources which failed
+            synchronized (clientData) {
+                Snapshot snapshot = clientData.getSnapshot();
+                if ( users != null ) {
+                    snapshot = snapshot.withUsers(users);
+                    clientData.setRefreshTime(Resource.USERS.name(), now);
+                }
+                if ( newGroups != null ) {
+                    snapshot = snapshot.withGroups(newGroups);
+                    clientData.setRefreshTime(Resource.GROUPS.name(), now);
+                }
+                if ( newRepositories != null ) {
+                    snapshot = snapshot.withRepositories(newRepositories);
+                    clientData.setRefreshTime(Resource.REPOSITORIES.name(), now);
+                }
+                if ( timeZoneRefreshed ) {
+                    snapshot = snapshot.withTimeZone(newTimeZone);
+                    clientData.setRefreshTime(Resource.SERVER_INFO.name(), now);
+                }
+                clientData.setSnapshot(snapshot);
+                
+                // resources which failed are retried by the next refresh
+                if ( failures.isEmpty() && resources.containsAll(EnumSet.allOf(Resource.class)) )
+                    clientData.lastupdate = now;
+            }
+            
+            ClientDataListener listener = clientDataListener;
+            if ( listener != null )
+                listener.clientDataChanged(clientData);
+            
+            if ( users != null )
+                userDirectory.setUsersEnumerated(true);
+            else if ( !enumerateUsers )
+                userDirectory.setUsersEnumerated(false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReviewboardException("Interrupted while refreshing the repository data", e);
         } finally  {
-            monitor.done();
+            for ( Future<?> future : futures )
+                future.cancel(false);
+            
+            httpClient.getStatistics().recordPhase(RequestStatistics.PHASE_UPDATE_REPOSITORY_DATA, resources.toString(),
+                    System.currentTimeMillis() - start);
+            
+            sharedMonitor.done();
         }
     }
+    
+    private <T> Future<T> submit(List<Future<?>> futures, Callable<T> task) {
+        
+        FutureTask<T> future = new FutureTask<T>(task);
+        futures.add(future);
+        requestScheduler.execute(future);
+        return future;
+    }
+    
+    /**
+     * @return the refreshed value, or <code>null</code> if refreshing it failed
+     */
+    private <T> T getRefreshedValue(Future<T> future, String resource, List<ReviewboardException> failures)
+            throws InterruptedException {
+        
+        try {
+            return RequestScheduler.getResult(future);
+        } catch (ReviewboardException e) {
+            logRefreshFailure(resource, e);
+            failures.add(e);
+            return null;
+        }
+    }
+    
+    private void logRefreshFailure(String resource, ReviewboardException e) {
+        
+        StatusHandler.log(new Status(IStatus.WARNING, ReviewboardCorePlugin.PLUGIN_ID, "Failed refreshing the "
+                + resource + ", keeping the previous data : " + e.getMessage(), e));
+    }
 
     public byte[] getRawDiff(int reviewRequestId, int diffRevision, IProgressMonitor monitor) throws ReviewboardException {
         
-        return httpClient.executeGetForBytes("/api/review-requests/" + reviewRequestId + "/diffs/" + diffRevision +"/","text/x-patch", monitor);
+        return toByteArray(getRawDiffStream(reviewRequestId, diffRevision, monitor));
+    }
+    
+    public InputStream getRawDiffStream(int reviewRequestId, int diffRevision, IProgressMonitor monitor) throws ReviewboardException {
+        
+        // diff revisions never change once published
+        return getAttachmentStream(AttachmentCache.diffKey(reviewRequestId, diffRevision),
+                "/api/review-requests/" + reviewRequestId + "/diffs/" + diffRevision +"/","text/x-patch", monitor);
     }
     
     public byte[] getScreenshot(String url, IProgressMonitor monitor) throws ReviewboardException {
-        return httpClient.executeGetForBytes("/" + url, "image/*", monitor);
+        
+        return toByteArray(getScreenshotStream(url, monitor));
+    }
+    
+    public InputStream getScreenshotStream(String url, IProgressMonitor monitor) throws ReviewboardException {
+        
+        return getAttachmentStream(AttachmentCache.screenshotKey(url), "/" + url, "image/*", monitor);
+    }
+    
+    /**
+     * @return the cached content, or the downloaded content copied into the cache as it arrives
+     */
+    private InputStream getAttachmentStream(String cacheKey, String url, String accept, IProgressMonitor monitor)
+            throws ReviewboardException {
+        
+        if ( attachmentCache == null )
+            return httpClient.executeGetForStream(url, accept, monitor);
+        
+        try {
+            InputStream cached = attachmentCache.open(cacheKey);
+            if ( cached != null )
+                return cached;
+        } catch (IOException e) {
+            logAttachmentCacheFailure(e);
+        }
+        
+        InputStream response = httpClient.executeGetForStream(url, accept, monitor);
+        try {
+            return attachmentCache.spool(cacheKey, response);
+        } catch (IOException e) {
+            throw new ReviewboardException("Failed retrieving " + url + " : " + e.getMessage(), e);
+        } finally {
+            IOUtil.closeSilently(response);
+        }
+    }
+    
+    private static byte[] toByteArray(InputStream stream) throws ReviewboardException {
+        
+        try {
+            return IOUtils.toByteArray(stream);
+        } catch (IOException e) {
+            throw new ReviewboardException(e.getMessage(), e);
+        } finally {
+            IOUtil.closeSilently(stream);
+        }
+    }
+    
+    private void logAttachmentCacheFailure(IOException e) {
+        
+        StatusHandler.log(new Status(IStatus.WARNING, ReviewboardCorePlugin.PLUGIN_ID,
+                "The attachment cache could not be used : " + e.getMessage(), e));
     }
 
     public IStatus validate(String username, String password, IProgressMonitor monitor) {
@@ -376,24 +780,50 @@ public class RestfulReviewboardClient implements ReviewboardClient {
         }
     }
     
-    public List<Integer> getReviewsIdsChangedSince(Date timestamp, IProgressMonitor monitor) throws ReviewboardException {
+    public IntHashSet getReviewsIdsChangedSince(Date timestamp, IProgressMonitor monitor) throws ReviewboardException {
+        
+        if ( timestamp == null )
+            throw new IllegalArgumentException("Timestamp may not be null");
         
+        String baseQuery;
         try {
-            if ( timestamp == null )
-                throw new IllegalArgumentException("Timestamp may not be null");
-            
-            String query = "?status=all&max-results=10000&last-updated-from=" + URLEncoder.encode( ReviewboardAttributeMapper.newIso86011DateFormat().format(timestamp), "UTF-8");
-            return getReviewRequestIds( query, monitor);
-            
+            // servers which do not support only-fields and only-links ignore them and send the full objects
+            baseQuery = "/api/review-requests/?status=all&only-fields=id,last_updated&only-links=&last-updated-from="
+                    + URLEncoder.encode(DateCodec.formatIso(timestamp), "UTF-8");
         } catch (UnsupportedEncodingException e) {
             throw new ReviewboardException("Failed encoding the query url", e);
         }
         
+        final IntHashSet ids = new IntHashSet();
+        ResponseHandler<Integer> idsHandler = new ResponseHandler<Integer>() {
+            public Integer handle(Reader reader) throws ReviewboardException {
+                return Integer.valueOf(reviewboardReader.readReviewRequestIds(reader, ids));
+            }
+        };
+        
+        monitor.beginTask("Retrieving changed review requests", IProgressMonitor.UNKNOWN);
+        
+        try {
+            int totalResults;
+            int start = 0;
+            
+            do {
+                String query = baseQuery + "&start=" + start + "&max-results=" + ID_PAGE_SIZE;
+                totalResults = httpClient.executeGet(query, idsHandler, monitor).intValue();
+                start += ID_PAGE_SIZE;
+                
+                Policy.advance(monitor, 1);
+            } while ( start < totalResults );
+            
+            return ids;
+        } finally {
+            monitor.done();
+        }
     }
 
     public ReviewRequest getReviewRequest(int reviewRequestId, IProgressMonitor monitor) throws ReviewboardException {
 
-        return reviewboardReader.readReviewRequest(httpClient.executeGet("/api/review-requests/" + reviewRequestId + "/", monitor));
+        return httpClient.executeGet("/api/review-requests/" + reviewRequestId + "/", reviewRequestHandler, monitor);
     }
 
     public void updateStatus(int reviewRequestId, ReviewRequestStatus status, IProgressMonitor monitor) throws ReviewboardException {
@@ -408,4 +838,23 @@ public class RestfulReviewboardClient implements ReviewboardClient {
         
         reviewboardReader.ensureSuccess(result);
     }
+
+    public RequestScheduler getRequestScheduler() {
+
+        return requestScheduler;
+    }
+
+    public RequestStatistics getStatistics() {
+
+        return httpClient.getStatistics();
+    }
+
+    public void shutdown() {
+
+        refreshJob.cancel();
+
+        requestScheduler.shutdown();
+
+        httpClient.shutdown();
+    }
 }
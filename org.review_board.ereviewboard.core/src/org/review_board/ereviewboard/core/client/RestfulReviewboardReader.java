@@ -37,6 +37,8 @@
  *******************************************************************************/
 package org.review_board.ereviewboard.core.client;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -45,6 +47,7 @@ import java.util.TimeZone;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.review_board.ereviewboard.core.client.JsonStreamReader.Token;
 import org.review_board.ereviewboard.core.exception.ReviewboardException;
 import org.review_board.ereviewboard.core.model.Comment;
 import org.review_board.ereviewboard.core.model.Diff;
@@ -59,6 +62,7 @@ import org.review_board.ereviewboard.core.model.Screenshot;
 import org.review_board.ereviewboard.core.model.ScreenshotComment;
 import org.review_board.ereviewboard.core.model.ServerInfo;
 import org.review_board.ereviewboard.core.model.User;
+import org.review_board.ereviewboard.core.util.IntHashSet;
 import org.review_board.ereviewboard.core.util.ReviewboardUtil;
 
 /**
@@ -106,11 +110,140 @@ public class RestfulReviewboardReader {
 
         } catch (JSONException e) {
             
-            String invalidSnippet = '\n' + source.substring(0, Math.min(200, source.length())) + "...";
+            throw newInvalidJsonException(e, source);
+        }
+        
+    }
+    
+    private ReviewboardException newInvalidJsonException(Exception cause, String source) {
+        
+        String invalidSnippet = '\n' + source.substring(0, Math.min(200, source.length())) + "...";
+        
+        return new ReviewboardException("The server has responded with an invalid JSon object : " + cause.getMessage() + invalidSnippet, cause);
+    }
+    
+    /**
+     * Reads the standard response envelope from the <tt>source</tt>, delegating the parsing of the
+     * objects found under <tt>resultName</tt> to the <tt>objectReader</tt>
+     * 
+     * <p>
+     * The result can either be a single object or an array of objects. All other fields are
+     * skipped, regardless of their position in the response.
+     * </p>
+     * 
+     * @param paged whether the response is expected to contain the <tt>total_results</tt> field
+     */
+    private <T> PagedResult<T> readStreamedResult(Reader source, String resultName, boolean paged,
+            JsonObjectReader<T> objectReader) throws ReviewboardException {
+        
+        JsonStreamReader reader = new JsonStreamReader(source);
+        
+        try {
+            List<T> results = new ArrayList<T>();
+            String stat = null;
+            String errorMessage = null;
+            int totalResults = -1;
             
-            throw new ReviewboardException("The server has responded with an invalid JSon object : " + e.getMessage() + invalidSnippet, e);
+            reader.beginObject();
+            while ( reader.hasNext() ) {
+                
+                String name = reader.nextName();
+                
+                if ( "stat".equals(name) ) {
+                    stat = reader.nextString();
+                } else if ( "err".equals(name) ) {
+                    errorMessage = readErrorMessage(reader);
+                } else if ( "total_results".equals(name) ) {
+                    totalResults = reader.nextInt();
+                } else if ( resultName.equals(name) && reader.peek() == Token.BEGIN_ARRAY ) {
+                    reader.beginArray();
+                    while ( reader.hasNext() )
+                        results.add(objectReader.read(reader));
+                    reader.endArray();
+                } else if ( resultName.equals(name) ) {
+                    results.add(objectReader.read(reader));
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            
+            if ( "fail".equals(stat) )
+                throw new ReviewboardException(errorMessage);
+            
+            if ( stat == null )
+                throw new IOException("Missing stat field");
+            
+            if ( paged && totalResults == -1 )
+                throw new IOException("Missing total_results field");
+            
+            return PagedResult.create(results, paged ? totalResults : results.size(),
+                    reader.getCharactersRead());
+        } catch (IOException e) {
+            if ( reader.getCharactersRead() == 0 )
+                throw new ReviewboardException("The response is empty.");
+            
+            throw newInvalidJsonException(e, reader.getSnippet());
+        }
+    }
+    
+    private String readErrorMessage(JsonStreamReader reader) throws IOException {
+        
+        String message = null;
+        
+        reader.beginObject();
+        while ( reader.hasNext() ) {
+            if ( "msg".equals(reader.nextName()) )
+                message = reader.nextString();
+            else
+                reader.skipValue();
+        }
+        reader.endObject();
+        
+        return message;
+    }
+    
+    /**
+     * Reads the <tt>title</tt> of a link object, e.g. <tt>{ "href" : "...", "title" : "admin" }</tt>
+     */
+    private String readLinkTitle(JsonStreamReader reader) throws IOException {
+        
+        String title = null;
+        
+        reader.beginObject();
+        while ( reader.hasNext() ) {
+            if ( "title".equals(reader.nextName()) )
+                title = reader.nextString();
+            else
+                reader.skipValue();
         }
+        reader.endObject();
         
+        return title;
+    }
+    
+    private List<String> readLinkTitles(JsonStreamReader reader) throws IOException {
+        
+        List<String> titles = new ArrayList<String>();
+        
+        reader.beginArray();
+        while ( reader.hasNext() )
+            titles.add(readLinkTitle(reader));
+        reader.endArray();
+        
+        return titles;
+    }
+    
+    private List<String> readStrings(JsonStreamReader reader) throws IOException {
+        
+        List<String> strings = new ArrayList<String>();
+        
+        reader.beginArray();
+        while ( reader.hasNext() )
+            strings.add(reader.nextString());
+        reader.endArray();
+        
+        return strings;
     }
     
     public PagedResult<User> readUsers(String source) throws ReviewboardException {
@@ -138,12 +271,64 @@ public class RestfulReviewboardReader {
                 users.add(user);
             }
             
-            return PagedResult.create(users, totalResults);
+            return PagedResult.create(users, totalResults, source.length());
         } catch (JSONException e) {
             throw new ReviewboardException(e.getMessage(), e);
         }
     }
 
+    public PagedResult<User> readUsers(Reader source) throws ReviewboardException {
+        
+        return readStreamedResult(source, "users", true, new JsonObjectReader<User>() {
+            public User read(JsonStreamReader reader) throws IOException {
+                return readUser(reader);
+            }
+        });
+    }
+    
+    public User readUser(Reader source) throws ReviewboardException {
+        
+        List<User> users = readStreamedResult(source, "user", false, new JsonObjectReader<User>() {
+            public User read(JsonStreamReader reader) throws IOException {
+                return readUser(reader);
+            }
+        }).getResults();
+        
+        if ( users.isEmpty() )
+            throw new ReviewboardException("The response does not contain a user.");
+        
+        return users.get(0);
+    }
+    
+    private User readUser(JsonStreamReader reader) throws IOException {
+        
+        User user = new User();
+        
+        reader.beginObject();
+        while ( reader.hasNext() ) {
+            
+            String name = reader.nextName();
+            
+            if ( "id".equals(name) )
+                user.setId(reader.nextInt());
+            else if ( "url".equals(name) )
+                user.setUrl(reader.nextString());
+            else if ( "username".equals(name) )
+                user.setUsername(reader.nextString());
+            else if ( "email".equals(name) )
+                user.setEmail(reader.nextString());
+            else if ( "first_name".equals(name) )
+                user.setFirstName(reader.nextString());
+            else if ( "last_name".equals(name) )
+                user.setLastName(reader.nextString());
+            else
+                reader.skipValue();
+        }
+        reader.endObject();
+        
+        return user;
+    }
+
     public PagedResult<ReviewGroup> readGroups(String source) throws ReviewboardException {
         try {
             JSONObject rootObject = checkedGetJSonRootObject(source);
@@ -165,7 +350,7 @@ public class RestfulReviewboardReader {
                 groups.add(group);
             }
             
-            return PagedResult.create( groups, totalResults );
+            return PagedResult.create( groups, totalResults, source.length() );
         } catch (JSONException e) {
             throw new ReviewboardException(e.getMessage(), e);
         }
@@ -183,12 +368,83 @@ public class RestfulReviewboardReader {
             for ( int i = 0 ; i < jsonReviewRequests.length() ; i++ )
                 reviewRequests.add(readReviewRequest(jsonReviewRequests.getJSONObject(i)));
             
-            return PagedResult.create(reviewRequests, totalResult);
+            return PagedResult.create(reviewRequests, totalResult, source.length());
         } catch (Exception e) {
             throw new ReviewboardException(e.getMessage(), e);
         }
     }
 
+    public PagedResult<ReviewRequest> readReviewRequests(Reader source) throws ReviewboardException {
+        
+        return readStreamedResult(source, "review_requests", true, newReviewRequestReader());
+    }
+    
+    private JsonObjectReader<ReviewRequest> newReviewRequestReader() {
+        
+        return new JsonObjectReader<ReviewRequest>() {
+            public ReviewRequest read(JsonStreamReader reader) throws IOException {
+                return readReviewRequest(reader);
+            }
+        };
+    }
+
+    private ReviewRequest readReviewRequest(JsonStreamReader reader) throws IOException {
+        
+        ReviewRequest reviewRequest = new ReviewRequest();
+        
+        reader.beginObject();
+        while ( reader.hasNext() ) {
+            
+            String name = reader.nextName();
+            
+            if ( "id".equals(name) ) {
+                reviewRequest.setId(reader.nextInt());
+            } else if ( "links".equals(name) ) {
+                reader.beginObject();
+                while ( reader.hasNext() ) {
+                    String link = reader.nextName();
+                    if ( "submitter".equals(link) )
+                        reviewRequest.setSubmitter(readLinkTitle(reader));
+                    else if ( "repository".equals(link) )
+                        reviewRequest.setRepository(readLinkTitle(reader));
+                    else
+                        reader.skipValue();
+                }
+                reader.endObject();
+            } else if ( "status".equals(name) ) {
+                reviewRequest.setStatus(ReviewRequestStatus.parseStatus(reader.nextString()));
+            } else if ( "summary".equals(name) ) {
+                reviewRequest.setSummary(reader.nextString());
+            } else if ( "testing_done".equals(name) ) {
+                reviewRequest.setTestingDone(reader.nextString());
+            } else if ( "description".equals(name) ) {
+                reviewRequest.setDescription(reader.nextString());
+            } else if ( "public".equals(name) ) {
+                reviewRequest.setPublic(reader.nextBoolean());
+            } else if ( "last_updated".equals(name) ) {
+                reviewRequest.setLastUpdated(ReviewboardUtil.marshallDate(reader.nextString()));
+            } else if ( "time_added".equals(name) ) {
+                reviewRequest.setTimeAdded(ReviewboardUtil.marshallDate(reader.nextString()));
+            } else if ( "branch".equals(name) ) {
+                reviewRequest.setBranch(reader.nextString());
+            } else if ( "changenum".equals(name) ) {
+                String changeNumString = reader.nextString();
+                reviewRequest.setChangeNumber(changeNumString.equals("null") ? null : Integer.valueOf(changeNumString));
+            } else if ( "bugs_closed".equals(name) ) {
+                reviewRequest.setBugsClosed(readStrings(reader));
+            } else if ( "target_people".equals(name) ) {
+                reviewRequest.setTargetPeople(readLinkTitles(reader));
+            } else if ( "target_groups".equals(name) ) {
+                reviewRequest.setTargetGroups(readLinkTitles(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        
+        return reviewRequest;
+    }
+
     private ReviewRequest readReviewRequest(JSONObject jsonReviewRequest) throws JSONException {
         
         ReviewRequest reviewRequest = new ReviewRequest();
@@ -236,21 +492,30 @@ public class RestfulReviewboardReader {
         return reviewRequest;
     }
     
-    public List<Integer> readReviewRequestIds(String source) throws ReviewboardException {
+    /**
+     * Adds the ids of the review requests from the <tt>source</tt> to the <tt>ids</tt>
+     * 
+     * <p>
+     * Only the <tt>id</tt> field of each review request is read, all the other fields are skipped.
+     * </p>
+     * 
+     * @return the total number of review requests matching the query
+     */
+    public int readReviewRequestIds(Reader source, final IntHashSet ids) throws ReviewboardException {
         
-        try {
-            JSONObject jsonReviewRequests = checkedGetJSonRootObject(source);
-            JSONArray reviewRequests = jsonReviewRequests.getJSONArray("review_requests");
-            
-            List<Integer> ids = new ArrayList<Integer>(reviewRequests.length());
-            
-            for ( int i = 0 ; i < reviewRequests.length(); i++ )
-                ids.add(reviewRequests.getJSONObject(i).getInt("id"));
-            
-            return ids;
-        } catch (Exception e) {
-            throw new ReviewboardException(e.getMessage(), e);
-        }
+        return readStreamedResult(source, "review_requests", true, new JsonObjectReader<Void>() {
+            public Void read(JsonStreamReader reader) throws IOException {
+                reader.beginObject();
+                while ( reader.hasNext() ) {
+                    if ( "id".equals(reader.nextName()) )
+                        ids.add(reader.nextInt());
+                    else
+                        reader.skipValue();
+                }
+                reader.endObject();
+                return null;
+            }
+        }).getTotalResults();
     }
     
     public PagedResult<Repository> readRepositories(String source) throws ReviewboardException {
@@ -277,7 +542,7 @@ public class RestfulReviewboardReader {
                 repositories.add(repository);
             }
             
-            return PagedResult.create(repositories, totalResults);
+            return PagedResult.create(repositories, totalResults, source.length());
         } catch (JSONException e) {
             throw new ReviewboardException(e.getMessage(), e);
         }
@@ -295,6 +560,16 @@ public class RestfulReviewboardReader {
         }
     }
 
+    public ReviewRequest readReviewRequest(Reader source) throws ReviewboardException {
+        
+        PagedResult<ReviewRequest> result = readStreamedResult(source, "review_request", false, newReviewRequestReader());
+        
+        if ( result.getResults().isEmpty() )
+            throw new ReviewboardException("The response does not contain a review request.");
+        
+        return result.getResults().get(0);
+    }
+
     public PagedResult<Review> readReviews(String source) throws ReviewboardException {
         
         try {
@@ -319,12 +594,60 @@ public class RestfulReviewboardReader {
                 reviews.add(review);
             }
             
-            return PagedResult.create(reviews, totalResults);
+            return PagedResult.create(reviews, totalResults, source.length());
         } catch (JSONException e) {
             throw new ReviewboardException(e.getMessage(), e);
         }
     }
     
+    public PagedResult<Review> readReviews(Reader source) throws ReviewboardException {
+        
+        return readStreamedResult(source, "reviews", true, new JsonObjectReader<Review>() {
+            public Review read(JsonStreamReader reader) throws IOException {
+                return readReview(reader);
+            }
+        });
+    }
+    
+    private Review readReview(JsonStreamReader reader) throws IOException {
+        
+        Review review = new Review();
+        
+        reader.beginObject();
+        while ( reader.hasNext() ) {
+            
+            String name = reader.nextName();
+            
+            if ( "id".equals(name) ) {
+                review.setId(reader.nextInt());
+            } else if ( "body_top".equals(name) ) {
+                review.setBodyTop(reader.nextString());
+            } else if ( "body_bottom".equals(name) ) {
+                review.setBodyBottom(reader.nextString());
+            } else if ( "links".equals(name) ) {
+                reader.beginObject();
+                while ( reader.hasNext() ) {
+                    if ( "user".equals(reader.nextName()) )
+                        review.setUser(readLinkTitle(reader));
+                    else
+                        reader.skipValue();
+                }
+                reader.endObject();
+            } else if ( "public".equals(name) ) {
+                review.setPublicReview(reader.nextBoolean());
+            } else if ( "ship_it".equals(name) ) {
+                review.setShipIt(reader.nextBoolean());
+            } else if ( "timestamp".equals(name) ) {
+                review.setTimestamp(ReviewboardUtil.marshallDate(reader.nextString()));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        
+        return review;
+    }
+    
     public PagedResult<ReviewReply> readReviewReplies(String source) throws ReviewboardException {
         
         
@@ -351,7 +674,7 @@ public class RestfulReviewboardReader {
                 replies.add(reply);
             }
             
-            return PagedResult.create(replies, totalResults);
+            return PagedResult.create(replies, totalResults, source.length());
         } catch (JSONException e) {
             throw new ReviewboardException(e.getMessage(), e);
         }
@@ -423,7 +746,7 @@ public class RestfulReviewboardReader {
                 diffComments.add(comment);
             }
             
-            return PagedResult.create(diffComments, totalResults);
+            return PagedResult.create(diffComments, totalResults, source.length());
             
         } catch (JSONException e) {
             throw new ReviewboardException(e.getMessage(), e);
@@ -456,7 +779,7 @@ public class RestfulReviewboardReader {
                 diffComments.add(comment);
             }
             
-            return PagedResult.create( diffComments, totalResults);
+            return PagedResult.create( diffComments, totalResults, source.length());
             
         } catch (JSONException e) {
             throw new ReviewboardException(e.getMessage(), e);
@@ -478,4 +801,12 @@ public class RestfulReviewboardReader {
         
         checkedGetJSonRootObject(source);
     }
+
+    /**
+     * Reads a single object from a {@link JsonStreamReader}
+     */
+    private interface JsonObjectReader<T> {
+        
+        T read(JsonStreamReader reader) throws IOException;
+    }
 }
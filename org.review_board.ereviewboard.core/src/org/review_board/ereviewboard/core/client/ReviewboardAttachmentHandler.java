@@ -10,7 +10,6 @@
  *******************************************************************************/
 package org.review_board.ereviewboard.core.client;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 
 import org.eclipse.core.runtime.CoreException;
@@ -69,18 +68,14 @@ public class ReviewboardAttachmentHandler extends AbstractTaskAttachmentHandler
                 int reviewId = Integer.parseInt(task.getTaskId());
                 int revisionId = Integer.parseInt(revision.getValue());
     
-                byte[] rawDiff = client.getRawDiff(reviewId, revisionId, monitor);
-                
-                return new ByteArrayInputStream(rawDiff);
+                return client.getRawDiffStream(reviewId, revisionId, monitor);
             } else {
                 
                 String url = TaskAttachmentMapper.createFrom(attachmentAttribute).getUrl();
                 
                 url = url.substring(repository.getUrl().length() + 1);
                 
-                byte[] screenshot = client.getScreenshot(url, monitor);
-                
-                return new ByteArrayInputStream(screenshot);
+                return client.getScreenshotStream(url, monitor);
             }
         } catch (ReviewboardException e) {
             throw new CoreException(new Status(IStatus.ERROR, ReviewboardCorePlugin.PLUGIN_ID, "Failed retrieving diff", e));
@@ -37,6 +37,7 @@
  *******************************************************************************/
 package org.review_board.ereviewboard.core.client;
 
+import java.io.InputStream;
 import java.util.Date;
 import java.util.List;
 
@@ -52,6 +53,7 @@ import org.review_board.ereviewboard.core.model.ReviewRequest;
 import org.review_board.ereviewboard.core.model.ReviewRequestStatus;
 import org.review_board.ereviewboard.core.model.Screenshot;
 import org.review_board.ereviewboard.core.model.ScreenshotComment;
+import org.review_board.ereviewboard.core.util.IntHashSet;
 
 /**
  * Interface for Review Board operations.
@@ -63,28 +65,63 @@ public interface ReviewboardClient {
     ReviewboardClientData getClientData();
 
     void refreshRepositorySettings(TaskRepository repository);
+    
+    /**
+     * @return the directory which resolves users by username
+     */
+    UserDirectory getUserDirectory();
 
     List<ReviewRequest> getReviewRequests(String query, int maxResults, IProgressMonitor monitor) throws ReviewboardException;
 
+    /**
+     * Loads the review requests matching the <tt>query</tt>, passing them to the <tt>consumer</tt>
+     * page by page as they are retrieved
+     */
+    void getReviewRequests(String query, int maxResults, PageConsumer<ReviewRequest> consumer,
+            IProgressMonitor monitor) throws ReviewboardException;
+
     void updateRepositoryData(boolean force, IProgressMonitor monitor) throws ReviewboardException;
 
     boolean hasRepositoryData();
 
     IStatus validate(String username, String password, IProgressMonitor monitor);
 
-    List<Integer> getReviewsIdsChangedSince(Date timestamp, IProgressMonitor monitor) throws ReviewboardException;
+    /**
+     * Returns the ids of all the review requests which were updated at or after the <tt>timestamp</tt>
+     */
+    IntHashSet getReviewsIdsChangedSince(Date timestamp, IProgressMonitor monitor) throws ReviewboardException;
     
     byte[] getRawDiff(int reviewRequestId, int diffRevision, IProgressMonitor monitor) throws ReviewboardException;
 
+    /**
+     * Returns the raw diff without loading it in memory; the caller must close the stream
+     */
+    InputStream getRawDiffStream(int reviewRequestId, int diffRevision, IProgressMonitor monitor) throws ReviewboardException;
+
     byte[] getScreenshot(String url, IProgressMonitor monitor) throws ReviewboardException;
 
+    /**
+     * Returns the screenshot without loading it in memory; the caller must close the stream
+     */
+    InputStream getScreenshotStream(String url, IProgressMonitor monitor) throws ReviewboardException;
+
     ReviewRequest getReviewRequest(int reviewRequestId, IProgressMonitor monitor) throws ReviewboardException;
 
     List<Diff> loadDiffs(int reviewRequestId, IProgressMonitor monitor) throws ReviewboardException;
 
     List<Review> getReviews(int reviewRequestId, IProgressMonitor monitor) throws ReviewboardException;
 
+    /**
+     * @param start the number of reviews to skip, as listed by the server
+     */
+    List<Review> getReviews(int reviewRequestId, int start, IProgressMonitor monitor) throws ReviewboardException;
+
     List<ReviewReply> getReviewReplies(final int reviewRequestId, final int reviewId, IProgressMonitor monitor) throws ReviewboardException;
+
+    /**
+     * @param start the number of replies to skip, as listed by the server
+     */
+    List<ReviewReply> getReviewReplies(int reviewRequestId, int reviewId, int start, IProgressMonitor monitor) throws ReviewboardException;
     
     int countDiffCommentsForReply(int reviewRequestId, int reviewId, int reviewReplyId, IProgressMonitor reviewDiffMonitor) throws ReviewboardException;
     
@@ -105,4 +142,20 @@ public interface ReviewboardClient {
      * @param status the status to update to, except {@linkplain ReviewRequestStatus#ALL ALL} and {@linkplain ReviewRequestStatus#NONE NONE}
      */
     void updateStatus(int reviewRequestId, ReviewRequestStatus status, IProgressMonitor monitor) throws ReviewboardException;
+
+    /**
+     * @return the scheduler which limits the number of concurrent requests made to this repository
+     */
+    RequestScheduler getRequestScheduler();
+
+    /**
+     * @return the statistics about the requests made to this repository and the connector
+     *         operations which made them
+     */
+    RequestStatistics getStatistics();
+
+    /**
+     * Releases the network resources held by this client. The client must not be used afterwards.
+     */
+    void shutdown();
 }
@@ -37,6 +37,10 @@
  *******************************************************************************/
 package org.review_board.ereviewboard.core.client;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -52,71 +56,334 @@ import org.review_board.ereviewboard.core.model.User;
 
 /**
  * Container for persistent Review Board client data.
+ * 
+ * <p>Users, groups, repositories and the time zone are kept in a single immutable {@link Snapshot},
+ * with the lists indexed by name and id. Updates replace the snapshot as a whole, so it is read
+ * without locking and the returned lists can not be modified. Readers which need several kinds of
+ * data to be consistent with each other should take them from the same {@link #getSnapshot()
+ * snapshot}.</p>
+ * 
+ * <p>All updates are synchronized on the instance, so that holding its lock allows updating
+ * several kinds of data in a single step.</p>
  *
  * @author Markus Knittig
  */
 public class ReviewboardClientData implements Serializable {
     
-    private Map<String, User> usersByUsername = new HashMap<String, User>();
+    // matches the computed value of the earlier versions, so that their caches can still be read
+    private static final long serialVersionUID = -8240588525697945875L;
     
-    private List<ReviewGroup> groups = new ArrayList<ReviewGroup>();
-    private List<Repository> repositories = new ArrayList<Repository>();
+    // the fields written by the earlier versions
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("usersByUsername", Map.class),
+        new ObjectStreamField("groups", List.class),
+        new ObjectStreamField("repositories", List.class),
+        new ObjectStreamField("timeZone", TimeZone.class),
+        new ObjectStreamField("lastupdate", Long.TYPE),
+        new ObjectStreamField("pageSizes", Map.class),
+        new ObjectStreamField("commentCounts", CommentCounts.class),
+        new ObjectStreamField("refreshTimes", Map.class)
+    };
     
-    private TimeZone timeZone;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
 
-    long lastupdate = 0;
+    volatile long lastupdate = 0;
+    
+    /**
+     * The page sizes chosen by the {@link PageSizePolicy}, keyed by resource; <code>null</code>
+     * when read from an older cache
+     */
+    private Map<String, Integer> pageSizes = new HashMap<String, Integer>();
+    
+    /**
+     * <code>null</code> when read from an older cache
+     */
+    private CommentCounts commentCounts = new CommentCounts();
+    
+    /**
+     * The time each resource was last refreshed, keyed by resource; <code>null</code> when read
+     * from an older cache
+     */
+    private Map<String, Long> refreshTimes = new HashMap<String, Long>();
+
+    /**
+     * @return the current users, groups, repositories and time zone
+     */
+    public Snapshot getSnapshot() {
+        
+        return snapshot;
+    }
+    
+    /**
+     * Replaces the users, groups, repositories and time zone in a single step
+     */
+    public synchronized void setSnapshot(Snapshot snapshot) {
+        
+        this.snapshot = snapshot;
+    }
 
     public Collection<User> getUsers() {
         
-        return Collections.unmodifiableCollection(usersByUsername.values());
+        return snapshot.getUsers();
     }
     
     public User getUser(String username) {
      
-        return usersByUsername.get(username);
+        return snapshot.getUser(username);
+    }
+    
+    public User getUser(int id) {
+        
+        return snapshot.getUser(id);
     }
 
-    public void setUsers(List<User> users) {
+    public synchronized void setUsers(List<User> users) {
         
-        usersByUsername.clear();
+        snapshot = snapshot.withUsers(users);
+    }
+    
+    /**
+     * Adds or replaces a single user, e.g. one retrieved by the {@link UserDirectory}
+     */
+    public void addUser(User user) {
         
-        for ( User user : users )
-            usersByUsername.put(user.getUsername(), user);
+        addUsers(Collections.singletonList(user));
+    }
+    
+    /**
+     * Adds or replaces several users at once, which indexes the users only once
+     */
+    public synchronized void addUsers(Collection<User> users) {
+        
+        if ( users.isEmpty() )
+            return;
+        
+        List<User> newUsers = new ArrayList<User>(snapshot.getUsers().size() + users.size());
+        newUsers.addAll(snapshot.getUsers());
+        newUsers.addAll(users);
+        
+        snapshot = snapshot.withUsers(newUsers);
     }
 
     public List<ReviewGroup> getGroups() {
-        return groups;
+        return snapshot.getGroups();
     }
 
-    public void setGroups(List<ReviewGroup> groups) {
-        this.groups = groups;
+    public synchronized void setGroups(List<ReviewGroup> groups) {
+        snapshot = snapshot.withGroups(groups);
     }
 
-    public List<Repository> getRepositories() {
-        return repositories;
+    public ReviewGroup getGroup(String groupname) {
+        return snapshot.getGroup(groupname);
+    }
+    
+    public ReviewGroup getGroup(int id) {
+        return snapshot.getGroup(id);
     }
 
-    public void setRepositories(List<Repository> repositories) {
-        this.repositories = repositories;
+    public List<Repository> getRepositories() {
+        return snapshot.getRepositories();
     }
 
-    public ReviewGroup getGroup(String groupname) {
-        return getItem(groups, new ReviewGroup(groupname));
+    public synchronized void setRepositories(List<Repository> repositories) {
+        snapshot = snapshot.withRepositories(repositories);
+    }
+    
+    public Repository getRepository(String name) {
+        return snapshot.getRepository(name);
     }
     
-    public void setTimeZone(TimeZone timeZone) {
-        this.timeZone = timeZone;
+    public Repository getRepository(int id) {
+        return snapshot.getRepository(id);
+    }
+    
+    public synchronized void setTimeZone(TimeZone timeZone) {
+        snapshot = snapshot.withTimeZone(timeZone);
     }
     
     public TimeZone getTimeZone() {
-        return timeZone;
+        return snapshot.getTimeZone();
     }
 
-    private <T> T getItem(List<T> list, T search) {
-        int index = list.indexOf(search);
-        if (index > -1) {
-            return list.get(index);
+    public synchronized Integer getPageSize(String resource) {
+        
+        return pageSizes != null ? pageSizes.get(resource) : null;
+    }
+    
+    public synchronized void setPageSize(String resource, int pageSize) {
+        
+        if ( pageSizes == null )
+            pageSizes = new HashMap<String, Integer>();
+        
+        pageSizes.put(resource, Integer.valueOf(pageSize));
+    }
+
+    /**
+     * @return a copy of the page sizes, keyed by resource
+     */
+    synchronized Map<String, Integer> getPageSizes() {
+        
+        return pageSizes != null ? new HashMap<String, Integer>(pageSizes) : new HashMap<String, Integer>();
+    }
+
+    /**
+     * @return the time the <tt>resource</tt> was last refreshed, falling back to the time of the
+     *         last complete refresh
+     */
+    public synchronized long getRefreshTime(String resource) {
+        
+        Long refreshTime = refreshTimes != null ? refreshTimes.get(resource) : null;
+        
+        return refreshTime != null ? refreshTime.longValue() : lastupdate;
+    }
+    
+    public synchronized void setRefreshTime(String resource, long refreshTime) {
+        
+        if ( refreshTimes == null )
+            refreshTimes = new HashMap<String, Long>();
+        
+        refreshTimes.put(resource, Long.valueOf(refreshTime));
+    }
+
+    /**
+     * @return a copy of the refresh times, keyed by resource
+     */
+    synchronized Map<String, Long> getRefreshTimes() {
+        
+        return refreshTimes != null ? new HashMap<String, Long>(refreshTimes) : new HashMap<String, Long>();
+    }
+
+    public synchronized CommentCounts getCommentCounts() {
+        
+        if ( commentCounts == null )
+            commentCounts = new CommentCounts();
+        
+        return commentCounts;
+    }
+
+    private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+        
+        // page sizes may be updated while the cache is written
+        ObjectOutputStream.PutField fields = out.putFields();
+        
+        Snapshot current = snapshot;
+        
+        Map<String, User> usersByUsername = new HashMap<String, User>();
+        for ( User user : current.getUsers() )
+            usersByUsername.put(user.getUsername(), user);
+        
+        fields.put("usersByUsername", usersByUsername);
+        fields.put("groups", new ArrayList<ReviewGroup>(current.getGroups()));
+        fields.put("repositories", new ArrayList<Repository>(current.getRepositories()));
+        fields.put("timeZone", current.getTimeZone());
+        fields.put("lastupdate", lastupdate);
+        fields.put("pageSizes", pageSizes);
+        fields.put("commentCounts", commentCounts);
+        fields.put("refreshTimes", refreshTimes);
+        
+        out.writeFields();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        
+        ObjectInputStream.GetField fields = in.readFields();
+        
+        Map<String, User> usersByUsername = (Map<String, User>) fields.get("usersByUsername", null);
+        List<ReviewGroup> groupList = (List<ReviewGroup>) fields.get("groups", null);
+        List<Repository> repositoryList = (List<Repository>) fields.get("repositories", null);
+        
+        snapshot = new Snapshot(
+                IndexedList.ofUsers(usersByUsername != null ? usersByUsername.values() : new ArrayList<User>()),
+                IndexedList.ofGroups(groupList != null ? groupList : new ArrayList<ReviewGroup>()),
+                IndexedList.ofRepositories(repositoryList != null ? repositoryList : new ArrayList<Repository>()),
+                (TimeZone) fields.get("timeZone", null));
+        lastupdate = fields.get("lastupdate", 0L);
+        pageSizes = (Map<String, Integer>) fields.get("pageSizes", null);
+        commentCounts = (CommentCounts) fields.get("commentCounts", null);
+        refreshTimes = (Map<String, Long>) fields.get("refreshTimes", null);
+    }
+    
+    /**
+     * An immutable view of the users, groups, repositories and time zone of a repository
+     * 
+     * <p>The <tt>with</tt> methods return a copy with one kind of data replaced, which can then be
+     * published through {@link ReviewboardClientData#setSnapshot(Snapshot)}.</p>
+     */
+    public static final class Snapshot {
+        
+        static final Snapshot EMPTY = new Snapshot(IndexedList.ofUsers(new ArrayList<User>()),
+                IndexedList.ofGroups(new ArrayList<ReviewGroup>()), IndexedList.ofRepositories(new ArrayList<Repository>()),
+                null);
+        
+        private final IndexedList<User> users;
+        private final IndexedList<ReviewGroup> groups;
+        private final IndexedList<Repository> repositories;
+        private final TimeZone timeZone;
+        
+        Snapshot(IndexedList<User> users, IndexedList<ReviewGroup> groups, IndexedList<Repository> repositories,
+                TimeZone timeZone) {
+            
+            this.users = users;
+            this.groups = groups;
+            this.repositories = repositories;
+            this.timeZone = timeZone;
+        }
+        
+        public List<User> getUsers() {
+            return users.getItems();
+        }
+        
+        public User getUser(String username) {
+            return users.get(username);
+        }
+        
+        public User getUser(int id) {
+            return users.get(id);
+        }
+        
+        public List<ReviewGroup> getGroups() {
+            return groups.getItems();
+        }
+        
+        public ReviewGroup getGroup(String groupname) {
+            return groups.get(groupname);
+        }
+        
+        public ReviewGroup getGroup(int id) {
+            return groups.get(id);
+        }
+        
+        public List<Repository> getRepositories() {
+            return repositories.getItems();
+        }
+        
+        public Repository getRepository(String name) {
+            return repositories.get(name);
+        }
+        
+        public Repository getRepository(int id) {
+            return repositories.get(id);
+        }
+        
+        public TimeZone getTimeZone() {
+            return timeZone;
+        }
+        
+        public Snapshot withUsers(Collection<User> users) {
+            return new Snapshot(IndexedList.ofUsers(users), groups, repositories, timeZone);
+        }
+        
+        public Snapshot withGroups(Collection<ReviewGroup> groups) {
+            return new Snapshot(users, IndexedList.ofGroups(groups), repositories, timeZone);
+        }
+        
+        public Snapshot withRepositories(Collection<Repository> repositories) {
+            return new Snapshot(users, groups, IndexedList.ofRepositories(repositories), timeZone);
+        }
+        
+        public Snapshot withTimeZone(TimeZone timeZone) {
+            return new Snapshot(users, groups, repositories, timeZone);
         }
-        return null;
     }
 }
@@ -37,20 +37,38 @@
  *******************************************************************************/
 package org.review_board.ereviewboard.core.client;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.FilterReader;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 import org.apache.commons.httpclient.Cookie;
 import org.apache.commons.httpclient.Credentials;
+import org.apache.commons.httpclient.DefaultHttpMethodRetryHandler;
+import org.apache.commons.httpclient.Header;
+import org.apache.commons.httpclient.HeaderElement;
 import org.apache.commons.httpclient.HostConfiguration;
 import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.HttpConnectionManager;
+import org.apache.commons.httpclient.HttpMethod;
 import org.apache.commons.httpclient.HttpMethodBase;
+import org.apache.commons.httpclient.HttpMethodRetryHandler;
 import org.apache.commons.httpclient.HttpStatus;
+import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
 import org.apache.commons.httpclient.NameValuePair;
 import org.apache.commons.httpclient.UsernamePasswordCredentials;
 import org.apache.commons.httpclient.auth.AuthenticationException;
@@ -63,15 +81,24 @@ import org.apache.commons.httpclient.methods.RequestEntity;
 import org.apache.commons.httpclient.methods.StringRequestEntity;
 import org.apache.commons.httpclient.methods.multipart.MultipartRequestEntity;
 import org.apache.commons.httpclient.methods.multipart.Part;
+import org.apache.commons.httpclient.params.HttpConnectionManagerParams;
+import org.apache.commons.httpclient.params.HttpMethodParams;
 import org.apache.commons.httpclient.protocol.Protocol;
+import org.apache.commons.httpclient.util.IdleConnectionTimeoutThread;
 import org.apache.commons.httpclient.util.URIUtil;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.commons.net.AbstractWebLocation;
 import org.eclipse.mylyn.commons.net.AuthenticationCredentials;
 import org.eclipse.mylyn.commons.net.AuthenticationType;
 import org.eclipse.mylyn.commons.net.Policy;
 import org.eclipse.mylyn.commons.net.WebUtil;
+import org.review_board.ereviewboard.core.ReviewboardCorePlugin;
+import org.review_board.ereviewboard.core.client.HttpResponseCache.CachedResponse;
 import org.review_board.ereviewboard.core.exception.ReviewboardException;
 import org.review_board.ereviewboard.core.util.IOUtil;
 
@@ -83,29 +110,152 @@ import org.review_board.ereviewboard.core.util.IOUtil;
  */
 public class ReviewboardHttpClient {
 
+    /**
+     * The maximum number of connections kept open to the Review Board host
+     */
+    static final int MAX_CONNECTIONS_PER_HOST = 8;
+
+    /**
+     * The maximum number of connections overall, leaving some room for a proxy host
+     */
+    static final int MAX_TOTAL_CONNECTIONS = 10;
+
+    /**
+     * Pooled connections idle for longer than this are closed
+     */
+    private static final long IDLE_CONNECTION_TIMEOUT_MILLIS = 30 * 1000;
+
+    private static final long IDLE_CONNECTION_CHECK_INTERVAL_MILLIS = 10 * 1000;
+
+    private static final String ACCEPTED_ENCODINGS = "gzip, deflate";
+
     private final AbstractWebLocation location;
 
+    private final MultiThreadedHttpConnectionManager connectionManager;
+
+    private final IdleConnectionTimeoutThread idleConnectionEvictor;
+
     private final HttpClient httpClient;
 
-    private String sessionCookie;
+    private final RequestStatistics statistics;
+
+    private final HttpResponseCache responseCache = new HttpResponseCache();
+
+    private final File responseCacheFile;
+
+    private volatile String sessionCookie;
 
     public ReviewboardHttpClient(AbstractWebLocation location, String characterEncoding,
             boolean selfSignedSSL) {
+        this(location, characterEncoding, selfSignedSSL, null);
+    }
+
+    /**
+     * @param responseCacheFile the file where the response cache is persisted between sessions,
+     *            or <code>null</code> to keep it in memory only
+     */
+    public ReviewboardHttpClient(AbstractWebLocation location, String characterEncoding,
+            boolean selfSignedSSL, File responseCacheFile) {
         this.location = location;
-        this.httpClient = createAndInitHttpClient(characterEncoding, selfSignedSSL);
+        this.statistics = new RequestStatistics(location.getUrl());
+        this.responseCacheFile = responseCacheFile;
+        loadResponseCache();
+        this.connectionManager = createConnectionManager();
+        this.idleConnectionEvictor = createIdleConnectionEvictor(connectionManager);
+        this.httpClient = createAndInitHttpClient(connectionManager, characterEncoding, selfSignedSSL);
     }
 
-    private HttpClient createAndInitHttpClient(String characterEncoding, boolean selfSignedSSL) {
+    private MultiThreadedHttpConnectionManager createConnectionManager() {
+
+        MultiThreadedHttpConnectionManager connectionManager = new MultiThreadedHttpConnectionManager();
+
+        HttpConnectionManagerParams params = connectionManager.getParams();
+        params.setDefaultMaxConnectionsPerHost(MAX_CONNECTIONS_PER_HOST);
+        params.setMaxTotalConnections(MAX_TOTAL_CONNECTIONS);
+        // pooled connections may have been closed by the server while idle
+        params.setStaleCheckingEnabled(true);
+
+        return connectionManager;
+    }
+
+    private IdleConnectionTimeoutThread createIdleConnectionEvictor(HttpConnectionManager connectionManager) {
+
+        IdleConnectionTimeoutThread evictor = new IdleConnectionTimeoutThread();
+        evictor.setName("eReviewBoard idle connection evictor for " + location.getUrl());
+        evictor.setConnectionTimeout(IDLE_CONNECTION_TIMEOUT_MILLIS);
+        evictor.setTimeoutInterval(IDLE_CONNECTION_CHECK_INTERVAL_MILLIS);
+        evictor.addConnectionManager(connectionManager);
+        evictor.start();
+
+        return evictor;
+    }
+
+    private HttpClient createAndInitHttpClient(HttpConnectionManager connectionManager,
+            String characterEncoding, boolean selfSignedSSL) {
         if (selfSignedSSL) {
             Protocol.registerProtocol("https",
                     new Protocol("https", new EasySSLProtocolSocketFactory(), 443));
         }
-        HttpClient httpClient = new HttpClient();
+        HttpClient httpClient = new HttpClient(connectionManager);
         WebUtil.configureHttpClient(httpClient, "eReviewBoard");
         httpClient.getParams().setContentCharset(characterEncoding);
         return httpClient;
     }
 
+    private void loadResponseCache() {
+
+        if (responseCacheFile == null)
+            return;
+
+        try {
+            responseCache.load(responseCacheFile);
+        } catch (IOException e) {
+            StatusHandler.log(new Status(IStatus.WARNING, ReviewboardCorePlugin.PLUGIN_ID,
+                    "The Reviewboard response cache could not be read", e));
+        }
+    }
+
+    private void saveResponseCache() {
+
+        if (responseCacheFile == null)
+            return;
+
+        try {
+            responseCache.save(responseCacheFile);
+        } catch (IOException e) {
+            StatusHandler.log(new Status(IStatus.WARNING, ReviewboardCorePlugin.PLUGIN_ID,
+                    "The Reviewboard response cache could not be written", e));
+        }
+    }
+
+    /**
+     * Closes all pooled connections, stops the idle connection evictor, persists the response
+     * cache and logs the request statistics. The client must not be used afterwards.
+     */
+    public void shutdown() {
+
+        idleConnectionEvictor.shutdown();
+        connectionManager.shutdown();
+        saveResponseCache();
+        statistics.logReport();
+    }
+
+    /**
+     * @return the statistics about the response bodies read by this client
+     */
+    public TransferStatistics getTransferStatistics() {
+
+        return statistics.getTransferStatistics();
+    }
+
+    /**
+     * @return the statistics about the requests made by this client, per endpoint
+     */
+    public RequestStatistics getStatistics() {
+
+        return statistics;
+    }
+
     public boolean apiEntryPointExist(IProgressMonitor monitor) {
 
         GetMethod getMethod = new GetMethod(location.getUrl() + "/api/");
@@ -165,7 +315,7 @@ public class ReviewboardHttpClient {
         }
     }
 
-    private void ensureIsLoggedIn(IProgressMonitor monitor) throws ReviewboardException {
+    private synchronized void ensureIsLoggedIn(IProgressMonitor monitor) throws ReviewboardException {
         
         if ( sessionCookie != null )
             return;
@@ -182,10 +332,96 @@ public class ReviewboardHttpClient {
     }
 
     public String executeGet(String url, IProgressMonitor monitor) throws ReviewboardException {
+
+        return executeMethod(newJsonGetRequest(url), HttpResponseCache.key(url, "application/json"), monitor);
+    }
+
+    /**
+     * Executes a GET request and passes the response body to the <tt>handler</tt> as it is read
+     * from the connection, without first loading it fully in memory
+     * 
+     * <p>
+     * Responses which can be revalidated are still stored in the response cache, as long as they
+     * are not larger than the cache allows for a single entry.
+     * </p>
+     */
+    public <T> T executeGet(String url, ResponseHandler<T> handler, IProgressMonitor monitor)
+            throws ReviewboardException {
+
+        monitor = Policy.monitorFor(monitor);
+
+        ensureIsLoggedIn(monitor);
+
+        GetMethod request = newJsonGetRequest(url);
+        String cacheKey = HttpResponseCache.key(url, "application/json");
+        CachedResponse cachedResponse = addValidators(request, cacheKey);
+
+        Reader reader = null;
+        try {
+            monitor.beginTask("Executing request", IProgressMonitor.UNKNOWN);
+
+            int statusCode = executeRequest(request, monitor);
+
+            if ( statusCode == HttpStatus.SC_NOT_MODIFIED && cachedResponse != null )
+                return handler.handle(new StringReader(cachedResponse.getBody()));
+
+            if ( statusCode == HttpStatus.SC_NOT_FOUND )
+                throw new ReviewboardException("No resource found at location " + request.getPath());
+
+            CountingInputStream wireStream = openResponseBody(request, monitor);
+            CountingInputStream contentStream = new CountingInputStream(decode(request, wireStream));
+            CapturingReader capturingReader = new CapturingReader(new InputStreamReader(contentStream,
+                    getResponseCharset(request)), responseCache.getMaxEntryChars());
+            reader = capturingReader;
+
+            T result = handler.handle(capturingReader);
+
+            capturingReader.drain();
+            recordTransfer(request, wireStream, contentStream);
+
+            if ( statusCode == HttpStatus.SC_OK ) {
+                if ( capturingReader.getCaptured() != null )
+                    responseCache.put(cacheKey, new CachedResponse(capturingReader.getCaptured(),
+                            getResponseHeaderValue(request, "ETag"), getResponseHeaderValue(request, "Last-Modified")));
+                else
+                    responseCache.remove(cacheKey);
+            }
+
+            return result;
+        } catch (IOException e) {
+            throw new ReviewboardException(e.getMessage(), e);
+        } finally {
+            IOUtil.closeSilently(reader);
+            request.releaseConnection();
+            monitor.done();
+        }
+    }
+
+    private GetMethod newJsonGetRequest(String url) {
+
         GetMethod getRequest = new GetMethod(stripSlash(location.getUrl()) + url);
         getRequest.getParams().setParameter("Accept", "application/json");
+        getRequest.addRequestHeader("Accept-Encoding", ACCEPTED_ENCODINGS);
 
-        return executeMethod(getRequest, monitor);
+        return getRequest;
+    }
+
+    /**
+     * Adds the conditional request headers based on the cached response, if any
+     * 
+     * @return the cached response, or <code>null</code>
+     */
+    private CachedResponse addValidators(HttpMethodBase request, String cacheKey) {
+
+        CachedResponse cachedResponse = cacheKey != null ? responseCache.get(cacheKey) : null;
+        if ( cachedResponse != null ) {
+            if ( cachedResponse.getETag() != null )
+                request.addRequestHeader("If-None-Match", cachedResponse.getETag());
+            if ( cachedResponse.getLastModified() != null )
+                request.addRequestHeader("If-Modified-Since", cachedResponse.getLastModified());
+        }
+
+        return cachedResponse;
     }
 
     public byte[] executeGetForBytes(String url, String acceptHeaderValue, IProgressMonitor monitor)
@@ -193,10 +429,57 @@ public class ReviewboardHttpClient {
 
         GetMethod getRequest = new GetMethod(stripSlash(location.getUrl()) + url);
         getRequest.addRequestHeader("Accept", acceptHeaderValue);
+        getRequest.addRequestHeader("Accept-Encoding", ACCEPTED_ENCODINGS);
 
         return executeMethodForBytes(getRequest, monitor);
     }
 
+    /**
+     * Executes a GET request and returns the response body as it is received, without buffering it
+     * 
+     * <p>The connection is released when the returned stream is closed, which callers must always
+     * do. Only successful responses are returned, so that error pages are never mistaken for the
+     * requested content.</p>
+     * 
+     * @throws ReviewboardException if the response status is not <tt>200 OK</tt>
+     */
+    public InputStream executeGetForStream(String url, String acceptHeaderValue, IProgressMonitor monitor)
+            throws ReviewboardException {
+
+        GetMethod request = new GetMethod(stripSlash(location.getUrl()) + url);
+        request.addRequestHeader("Accept", acceptHeaderValue);
+        request.addRequestHeader("Accept-Encoding", ACCEPTED_ENCODINGS);
+
+        monitor = Policy.monitorFor(monitor);
+
+        ensureIsLoggedIn(monitor);
+
+        InputStream response = null;
+        try {
+            int statusCode = executeRequest(request, monitor);
+
+            if ( statusCode == HttpStatus.SC_NOT_FOUND )
+                throw new ReviewboardException("No resource found at location " + request.getPath());
+            
+            // the session has most likely expired, log in again on the next request
+            if ( statusCode == HttpStatus.SC_UNAUTHORIZED )
+                sessionCookie = null;
+            
+            if ( statusCode != HttpStatus.SC_OK )
+                throw new ReviewboardException("Request for " + request.getPath() + " returned unacceptable status code "
+                        + statusCode);
+
+            CountingInputStream wireStream = openResponseBody(request, monitor);
+            response = new ResponseInputStream(request, wireStream, new CountingInputStream(decode(request, wireStream)));
+            return response;
+        } catch (IOException e) {
+            throw new ReviewboardException(e.getMessage(), e);
+        } finally {
+            if ( response == null )
+                request.releaseConnection();
+        }
+    }
+
     public String executePost(String url, IProgressMonitor monitor) throws ReviewboardException {
         return executePost(url, new HashMap<String, String>(), monitor);
     }
@@ -208,24 +491,39 @@ public class ReviewboardHttpClient {
         for (String key : parameters.keySet())
             postRequest.setParameter(key, parameters.get(key));
 
-        return executeMethod(postRequest, monitor);
+        return executeMethod(postRequest, null, monitor);
     }
 
-    private String executeMethod(HttpMethodBase request, IProgressMonitor monitor) throws ReviewboardException {
+    /**
+     * @param cacheKey the key for the {@link HttpResponseCache response cache}, or <code>null</code>
+     *            if the response should not be cached
+     */
+    private String executeMethod(HttpMethodBase request, String cacheKey, IProgressMonitor monitor) throws ReviewboardException {
         
         monitor = Policy.monitorFor(monitor);
         
         ensureIsLoggedIn(monitor);
         
+        CachedResponse cachedResponse = addValidators(request, cacheKey);
+        
         try {
             monitor.beginTask("Executing request", IProgressMonitor.UNKNOWN);
 
             int statusCode = executeRequest(request, monitor);
             
+            if ( statusCode == HttpStatus.SC_NOT_MODIFIED && cachedResponse != null )
+                return cachedResponse.getBody();
+            
             if ( statusCode == HttpStatus.SC_NOT_FOUND )
                 throw new ReviewboardException("No resource found at location " + request.getPath());
             
-            return getResponseBodyAsString(request, monitor);
+            String body = getResponseBodyAsString(request, monitor);
+            
+            if ( cacheKey != null && statusCode == HttpStatus.SC_OK )
+                responseCache.put(cacheKey, new CachedResponse(body, getResponseHeaderValue(request, "ETag"),
+                        getResponseHeaderValue(request, "Last-Modified")));
+            
+            return body;
         } finally {
             request.releaseConnection();
             monitor.done();
@@ -250,7 +548,7 @@ public class ReviewboardHttpClient {
             throw new ReviewboardException(e.getMessage(), e);
         }
         
-        return executeMethod(putMethod, monitor);
+        return executeMethod(putMethod, null, monitor);
     }
 
 
@@ -272,21 +570,49 @@ public class ReviewboardHttpClient {
     }
 
     private int executeRequest(HttpMethodBase request, IProgressMonitor monitor) {
+
+        EndpointStatistics endpoint = getEndpointStatistics(request);
+        request.getParams().setParameter(HttpMethodParams.RETRY_HANDLER,
+                new CountingRetryHandler(getRetryHandler(), endpoint));
+
         HostConfiguration hostConfiguration = WebUtil.createHostConfiguration(httpClient, location,
                 monitor);
+        int statusCode = EndpointStatistics.NO_RESPONSE;
+        long start = System.currentTimeMillis();
         try {
-            return WebUtil.execute(httpClient, hostConfiguration, request, monitor);
+            statusCode = WebUtil.execute(httpClient, hostConfiguration, request, monitor);
+            return statusCode;
         } catch (IOException e) {
             throw new RuntimeException(e);
+        } finally {
+            endpoint.recordRequest(statusCode, System.currentTimeMillis() - start);
         }
     }
 
+    private EndpointStatistics getEndpointStatistics(HttpMethodBase request) {
+
+        return statistics.getEndpoint(RequestStatistics.endpointOf(request.getPath()));
+    }
+
+    private HttpMethodRetryHandler getRetryHandler() {
+
+        Object retryHandler = httpClient.getParams().getParameter(HttpMethodParams.RETRY_HANDLER);
+        if (retryHandler instanceof HttpMethodRetryHandler)
+            return (HttpMethodRetryHandler) retryHandler;
+
+        return new DefaultHttpMethodRetryHandler();
+    }
+
     private String getResponseBodyAsString(HttpMethodBase request, IProgressMonitor monitor) {
 
         InputStream stream = null;
         try {
-            stream = WebUtil.getResponseBodyAsStream(request, monitor);
-            return IOUtils.toString(stream);
+            CountingInputStream wireStream = openResponseBody(request, monitor);
+            CountingInputStream contentStream = new CountingInputStream(decode(request, wireStream));
+            stream = contentStream;
+            String body = IOUtils.toString(contentStream);
+            recordTransfer(request, wireStream, contentStream);
+            return body;
         } catch (IOException e) {
             throw new RuntimeException(e);
         } finally {
@@ -298,8 +624,12 @@ public class ReviewboardHttpClient {
 
         InputStream stream = null;
         try {
-            stream = WebUtil.getResponseBodyAsStream(request, monitor);
-            return IOUtils.toByteArray(stream);
+            CountingInputStream wireStream = openResponseBody(request, monitor);
+            CountingInputStream contentStream = new CountingInputStream(decode(request, wireStream));
+            stream = contentStream;
+            byte[] body = IOUtils.toByteArray(contentStream);
+            recordTransfer(request, wireStream, contentStream);
+            return body;
         } catch (IOException e) {
             throw new RuntimeException(e);
         } finally {
@@ -307,4 +637,230 @@ public class ReviewboardHttpClient {
         }
     }
 
+    private CountingInputStream openResponseBody(HttpMethodBase request, IProgressMonitor monitor) throws IOException {
+
+        InputStream stream = WebUtil.getResponseBodyAsStream(request, monitor);
+        if (stream == null)
+            stream = new ByteArrayInputStream(new byte[0]);
+
+        return new CountingInputStream(stream);
+    }
+
+    /**
+     * Wraps the <tt>stream</tt> so that it is decompressed as it is read, according to the
+     * <tt>Content-Encoding</tt> of the response
+     */
+    private InputStream decode(HttpMethodBase request, InputStream stream) throws IOException {
+
+        String contentEncoding = getContentEncoding(request);
+
+        if (isGzip(contentEncoding))
+            return new GZIPInputStream(stream);
+
+        if (isDeflate(contentEncoding))
+            return new InflaterInputStream(stream);
+
+        return stream;
+    }
+
+    private boolean isGzip(String contentEncoding) {
+
+        return "gzip".equals(contentEncoding) || "x-gzip".equals(contentEncoding);
+    }
+
+    private boolean isDeflate(String contentEncoding) {
+
+        return "deflate".equals(contentEncoding);
+    }
+
+    private String getContentEncoding(HttpMethodBase request) {
+
+        String contentEncoding = getResponseHeaderValue(request, "Content-Encoding");
+        if (contentEncoding == null)
+            return null;
+
+        return contentEncoding.trim().toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * @return the charset declared by the response, falling back to UTF-8 which is the JSON default
+     */
+    private String getResponseCharset(HttpMethodBase request) {
+
+        Header contentType = request.getResponseHeader("Content-Type");
+        if (contentType != null) {
+            for (HeaderElement element : contentType.getElements()) {
+                NameValuePair charset = element.getParameterByName("charset");
+                if (charset != null && charset.getValue() != null && Charset.isSupported(charset.getValue()))
+                    return charset.getValue();
+            }
+        }
+
+        return "UTF-8";
+    }
+
+    private String getResponseHeaderValue(HttpMethodBase request, String name) {
+
+        Header header = request.getResponseHeader(name);
+
+        return header != null ? header.getValue() : null;
+    }
+
+    private void recordTransfer(HttpMethodBase request, CountingInputStream wireStream,
+            CountingInputStream contentStream) {
+
+        String contentEncoding = getContentEncoding(request);
+        boolean compressed = isGzip(contentEncoding) || isDeflate(contentEncoding);
+
+        statistics.getTransferStatistics().record(wireStream.getByteCount(), contentStream.getByteCount(),
+                compressed);
+        getEndpointStatistics(request).getTransferStatistics().record(wireStream.getByteCount(),
+                contentStream.getByteCount(), compressed);
+    }
+
+    /**
+     * Counts the retries decided by the configured retry handler
+     */
+    private static class CountingRetryHandler implements HttpMethodRetryHandler {
+
+        private final HttpMethodRetryHandler delegate;
+        private final EndpointStatistics endpoint;
+
+        public CountingRetryHandler(HttpMethodRetryHandler delegate, EndpointStatistics endpoint) {
+
+            this.delegate = delegate;
+            this.endpoint = endpoint;
+        }
+
+        public boolean retryMethod(HttpMethod method, IOException exception, int executionCount) {
+
+            boolean retry = delegate.retryMethod(method, exception, executionCount);
+            if (retry)
+                endpoint.recordRetry();
+            return retry;
+        }
+    }
+
+    /**
+     * The decoded body of a response, which releases the connection when closed
+     */
+    private class ResponseInputStream extends FilterInputStream {
+
+        private final HttpMethodBase request;
+        private final CountingInputStream wireStream;
+        private final CountingInputStream contentStream;
+        private boolean endReached;
+        private boolean closed;
+
+        public ResponseInputStream(HttpMethodBase request, CountingInputStream wireStream,
+                CountingInputStream contentStream) {
+
+            super(contentStream);
+            this.request = request;
+            this.wireStream = wireStream;
+            this.contentStream = contentStream;
+        }
+
+        @Override
+        public int read() throws IOException {
+
+            int read = super.read();
+            if (read == -1)
+                endReached = true;
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+
+            int read = super.read(b, off, len);
+            if (read == -1)
+                endReached = true;
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            if (closed)
+                return;
+            closed = true;
+
+            try {
+                // reading the rest of a large body only to reuse the connection is not worth it
+                if (!endReached)
+                    request.abort();
+                else
+                    recordTransfer(request, wireStream, contentStream);
+
+                super.close();
+            } finally {
+                request.releaseConnection();
+            }
+        }
+    }
+
+    /**
+     * Keeps a copy of the characters read, as long as they do not exceed <tt>maxChars</tt>
+     */
+    private static class CapturingReader extends FilterReader {
+
+        private final int maxChars;
+        private StringBuilder captured = new StringBuilder();
+
+        public CapturingReader(Reader in, int maxChars) {
+
+            super(in);
+            this.maxChars = maxChars;
+        }
+
+        @Override
+        public int read() throws IOException {
+
+            int c = super.read();
+            if (c != -1)
+                capture(new char[] { (char) c }, 0, 1);
+            return c;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+
+            int read = super.read(cbuf, off, len);
+            if (read > 0)
+                capture(cbuf, off, read);
+            return read;
+        }
+
+        private void capture(char[] cbuf, int off, int len) {
+
+            if (captured == null)
+                return;
+
+            if (captured.length() + len > maxChars)
+                captured = null;
+            else
+                captured.append(cbuf, off, len);
+        }
+
+        /**
+         * Reads the remainder of the stream, so that the complete body is captured
+         */
+        public void drain() throws IOException {
+
+            char[] buffer = new char[4096];
+            while (read(buffer, 0, buffer.length) != -1) {
+                // discard
+            }
+        }
+
+        /**
+         * @return the characters read, or <code>null</code> if they exceeded the maximum size
+         */
+        public String getCaptured() {
+
+            return captured != null ? captured.toString() : null;
+        }
+    }
+
 }
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * Wraps a progress monitor so that it can be shared by several threads, e.g. by sub monitors
+ * handed to concurrent requests
+ */
+public class SynchronizedProgressMonitor implements IProgressMonitor {
+
+    private final IProgressMonitor monitor;
+
+    public SynchronizedProgressMonitor(IProgressMonitor monitor) {
+
+        this.monitor = monitor;
+    }
+
+    public synchronized void beginTask(String name, int totalWork) {
+
+        monitor.beginTask(name, totalWork);
+    }
+
+    public synchronized void done() {
+
+        monitor.done();
+    }
+
+    public synchronized void internalWorked(double work) {
+
+        monitor.internalWorked(work);
+    }
+
+    public synchronized boolean isCanceled() {
+
+        return monitor.isCanceled();
+    }
+
+    public synchronized void setCanceled(boolean value) {
+
+        monitor.setCanceled(value);
+    }
+
+    public synchronized void setTaskName(String name) {
+
+        monitor.setTaskName(name);
+    }
+
+    public synchronized void subTask(String name) {
+
+        monitor.subTask(name);
+    }
+
+    public synchronized void worked(int work) {
+
+        monitor.worked(work);
+    }
+}
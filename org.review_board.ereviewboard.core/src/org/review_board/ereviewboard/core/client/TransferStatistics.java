@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the amount of data transferred for response bodies
+ * 
+ * <p>
+ * For each response the number of bytes read from the wire and the number of bytes after
+ * decompression are recorded, which allows checking how effective the response compression is.
+ * </p>
+ * 
+ * <p>This class is thread-safe.</p>
+ * 
+ */
+public class TransferStatistics {
+
+    private final AtomicLong responses = new AtomicLong();
+    private final AtomicLong compressedResponses = new AtomicLong();
+    private final AtomicLong wireBytes = new AtomicLong();
+    private final AtomicLong contentBytes = new AtomicLong();
+
+    /**
+     * @param wireBytes the number of bytes read from the connection
+     * @param contentBytes the number of bytes after decoding the response
+     * @param compressed true if the response was sent with a compressed content encoding
+     */
+    public void record(long wireBytes, long contentBytes, boolean compressed) {
+
+        responses.incrementAndGet();
+        if (compressed)
+            compressedResponses.incrementAndGet();
+        this.wireBytes.addAndGet(wireBytes);
+        this.contentBytes.addAndGet(contentBytes);
+    }
+
+    public long getResponses() {
+        return responses.get();
+    }
+
+    public long getCompressedResponses() {
+        return compressedResponses.get();
+    }
+
+    public long getWireBytes() {
+        return wireBytes.get();
+    }
+
+    public long getContentBytes() {
+        return contentBytes.get();
+    }
+
+    /**
+     * @return the number of bytes which were not transferred thanks to compression
+     */
+    public long getSavedBytes() {
+        return getContentBytes() - getWireBytes();
+    }
+
+    @Override
+    public String toString() {
+
+        return "TransferStatistics [responses=" + getResponses() + ", compressedResponses="
+                + getCompressedResponses() + ", wireBytes=" + getWireBytes() + ", contentBytes="
+                + getContentBytes() + "]";
+    }
+}
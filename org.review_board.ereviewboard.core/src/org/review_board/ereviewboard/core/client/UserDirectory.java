@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import org.review_board.ereviewboard.core.exception.ReviewboardException;
+import org.review_board.ereviewboard.core.model.User;
+
+/**
+ * Resolves users by username on demand, so that the complete user list does not need to be
+ * downloaded
+ *
+ * <p>
+ * Resolved users are remembered for {@link #DEFAULT_TTL_MILLIS} and added to the
+ * {@link ReviewboardClientData client data}, which makes them available for completion and keeps
+ * them between sessions. Concurrent lookups for the same username share a single request. When a
+ * lookup fails the user from the client data, if any, is used instead and the failure is
+ * remembered for {@link #DEFAULT_FAILURE_TTL_MILLIS}, so that unknown users do not cause a request
+ * for each of their comments while transient failures are soon retried.
+ * </p>
+ *
+ * <p>
+ * A caller waiting for a lookup which is still queued runs it itself, so that lookups shared by
+ * all the scheduler's threads cannot wait for a thread to become available.
+ * </p>
+ */
+public abstract class UserDirectory {
+
+    static final long DEFAULT_TTL_MILLIS = 60 * 60 * 1000;
+
+    static final long DEFAULT_FAILURE_TTL_MILLIS = 60 * 1000;
+
+    private final ReviewboardClientData clientData;
+    private final Executor executor;
+    private final long ttlMillis;
+    private final long failureTtlMillis;
+
+    private final ConcurrentMap<String, CachedUser> users = new ConcurrentHashMap<String, CachedUser>();
+    private final ConcurrentMap<String, FutureTask<User>> lookups = new ConcurrentHashMap<String, FutureTask<User>>();
+
+    private volatile boolean usersEnumerated;
+
+    public UserDirectory(ReviewboardClientData clientData, Executor executor) {
+
+        this(clientData, executor, DEFAULT_TTL_MILLIS);
+    }
+
+    public UserDirectory(ReviewboardClientData clientData, Executor executor, long ttlMillis) {
+
+        this(clientData, executor, ttlMillis, Math.min(ttlMillis, DEFAULT_FAILURE_TTL_MILLIS));
+    }
+
+    public UserDirectory(ReviewboardClientData clientData, Executor executor, long ttlMillis,
+            long failureTtlMillis) {
+
+        this.clientData = clientData;
+        this.executor = executor;
+        this.ttlMillis = ttlMillis;
+        this.failureTtlMillis = failureTtlMillis;
+    }
+
+    /**
+     * Retrieves a single user from the server
+     */
+    protected abstract User loadUser(String username) throws ReviewboardException;
+
+    /**
+     * Marks whether the client data holds the complete user list, in which case the users it holds
+     * are not looked up again
+     */
+    public void setUsersEnumerated(boolean usersEnumerated) {
+
+        this.usersEnumerated = usersEnumerated;
+    }
+
+    /**
+     * @return the user, or <code>null</code> if it is not known and could not be retrieved
+     */
+    public User getUser(String username) {
+
+        CachedUser known = getKnownUser(username);
+        if (known != null)
+            return known.user;
+
+        List<User> loaded = new ArrayList<User>(1);
+        User user = waitFor(username, startLookup(username), loaded);
+        clientData.addUsers(loaded);
+
+        return user;
+    }
+
+    /**
+     * Resolves all the <tt>usernames</tt> concurrently, so that subsequent calls to
+     * {@link #getUser(String)} for them return without waiting
+     *
+     * <p>The retrieved users are added to the client data in a single step.</p>
+     */
+    public void resolve(Collection<String> usernames) {
+
+        List<String> pendingUsernames = new ArrayList<String>();
+        List<FutureTask<User>> pendingLookups = new ArrayList<FutureTask<User>>();
+
+        for (String username : usernames) {
+            if (username == null || getKnownUser(username) != null || pendingUsernames.contains(username))
+                continue;
+            pendingUsernames.add(username);
+            pendingLookups.add(startLookup(username));
+        }
+
+        List<User> loaded = new ArrayList<User>(pendingLookups.size());
+        for (int i = 0; i < pendingLookups.size(); i++)
+            waitFor(pendingUsernames.get(i), pendingLookups.get(i), loaded);
+
+        clientData.addUsers(loaded);
+    }
+
+    /**
+     * @return the entry for the user if it does not need to be looked up, otherwise
+     *         <code>null</code>
+     */
+    private CachedUser getKnownUser(String username) {
+
+        CachedUser cached = users.get(username);
+        if (cached != null && System.currentTimeMillis() < cached.expiresAt)
+            return cached;
+
+        if (usersEnumerated) {
+            User user = clientData.getUser(username);
+            if (user != null)
+                return new CachedUser(user, Long.MAX_VALUE);
+        }
+
+        return null;
+    }
+
+    private FutureTask<User> startLookup(final String username) {
+
+        FutureTask<User> lookup = new FutureTask<User>(new Callable<User>() {
+            public User call() throws ReviewboardException {
+                return loadUser(username);
+            }
+        });
+
+        FutureTask<User> existing = lookups.putIfAbsent(username, lookup);
+        if (existing != null)
+            return existing;
+
+        executor.execute(lookup);
+
+        return lookup;
+    }
+
+    /**
+     * @param loaded receives the user if it was retrieved from the server
+     */
+    private User waitFor(String username, FutureTask<User> lookup, List<User> loaded) {
+
+        User user;
+        long ttl = ttlMillis;
+        try {
+            // a no-op unless the lookup is still queued
+            lookup.run();
+            user = RequestScheduler.getResult(lookup);
+            if (user != null)
+                loaded.add(user);
+        } catch (ReviewboardException e) {
+            user = clientData.getUser(username);
+            ttl = failureTtlMillis;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return clientData.getUser(username);
+        } finally {
+            lookups.remove(username, lookup);
+        }
+
+        users.put(username, new CachedUser(user, System.currentTimeMillis() + ttl));
+
+        return user;
+    }
+
+    private static class CachedUser {
+
+        private final User user;
+        private final long expiresAt;
+
+        public CachedUser(User user, long expiresAt) {
+
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.util;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Parses and formats the dates exchanged with the Review Board server
+ *
+ * <p>
+ * Dates use the <tt>yyyy-MM-dd HH:mm:ss</tt> layout or its ISO 8601 variant, <tt>yyyy-MM-dd'T'HH:mm:ss</tt>,
+ * and are interpreted in a given time zone, the default one unless specified. Both layouts are handled by a
+ * fixed-position parser and formatter which are thread-safe and do not allocate intermediate objects. Values
+ * which do not fit the layout, or which fall outside the years 1900 to 9999, are delegated to a
+ * {@link SimpleDateFormat} so that the results stay the same as before.
+ * </p>
+ *
+ * <p>
+ * Like {@link DateFormat#parse(String)}, parsing ignores any text following the seconds field.
+ * </p>
+ */
+public final class DateCodec {
+
+    private static final String PATTERN = "yyyy-MM-dd HH:mm:ss";
+    private static final String ISO_PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
+
+    private static final int LENGTH = 19;
+    private static final int MIN_YEAR = 1900;
+    private static final int MAX_YEAR = 9999;
+
+    private static final long MILLIS_PER_SECOND = 1000;
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * MILLIS_PER_SECOND;
+
+    /**
+     * Must be a power of two
+     */
+    private static final int CACHE_SIZE = 256;
+
+    /**
+     * Recently parsed values, indexed by the hash code of their text
+     *
+     * <p>
+     * The entries are immutable, so concurrent readers either see a complete entry or a stale one, which is
+     * harmless. The cache holds the local time, so that it stays valid whatever the time zone.
+     * </p>
+     */
+    private static final CachedValue[] cache = new CachedValue[CACHE_SIZE];
+
+    private DateCodec() {
+
+    }
+
+    public static Date parse(String value) throws ParseException {
+
+        return parse(value, TimeZone.getDefault());
+    }
+
+    public static Date parse(String value, TimeZone timeZone) throws ParseException {
+
+        if (value == null)
+            throw new ParseException("Unparseable date: null", 0);
+
+        int slot = value.hashCode() & (CACHE_SIZE - 1);
+        CachedValue cached = cache[slot];
+
+        long localMillis;
+        if (cached != null && cached.text.equals(value)) {
+            localMillis = cached.localMillis;
+        } else {
+            localMillis = parseLocalMillis(value);
+            if (localMillis == Long.MIN_VALUE)
+                return parseSlow(value, timeZone);
+            cache[slot] = new CachedValue(value, localMillis);
+        }
+
+        return new Date(toUtcMillis(localMillis, timeZone));
+    }
+
+    /**
+     * @return the milliseconds since the epoch of the local time, or {@link Long#MIN_VALUE} if the value must be
+     *         parsed by the slow path
+     */
+    private static long parseLocalMillis(String value) {
+
+        if (value.length() < LENGTH)
+            return Long.MIN_VALUE;
+
+        char separator = value.charAt(10);
+        if (value.charAt(4) != '-' || value.charAt(7) != '-' || (separator != ' ' && separator != 'T')
+                || value.charAt(13) != ':' || value.charAt(16) != ':')
+            return Long.MIN_VALUE;
+
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+        int hour = digits(value, 11, 2);
+        int minute = digits(value, 14, 2);
+        int second = digits(value, 17, 2);
+
+        if (year < MIN_YEAR || year > MAX_YEAR || month < 1 || month > 12 || day < 1
+                || day > daysInMonth(year, month) || hour < 0 || hour > 23 || minute < 0 || minute > 59
+                || second < 0 || second > 59)
+            return Long.MIN_VALUE;
+
+        return daysFromCivil(year, month, day) * MILLIS_PER_DAY
+                + ((hour * 60 + minute) * 60 + second) * MILLIS_PER_SECOND;
+    }
+
+    /**
+     * @return the value of the digits, or -1 if a character is not a digit
+     */
+    private static int digits(String value, int start, int count) {
+
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9)
+                return -1;
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private static int daysInMonth(int year, int month) {
+
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * @return the number of days since 1970-01-01 in the proleptic Gregorian calendar
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    /**
+     * Converts a local time to UTC the way {@link java.util.GregorianCalendar} does: a local time which is
+     * skipped by a daylight saving transition is read using the offset in effect before the transition
+     */
+    private static long toUtcMillis(long localMillis, TimeZone timeZone) {
+
+        int offset = timeZone.getOffset(localMillis - timeZone.getRawOffset());
+        long utcMillis = localMillis - offset;
+
+        int actualOffset = timeZone.getOffset(utcMillis);
+        if (actualOffset != offset)
+            utcMillis = localMillis - actualOffset;
+
+        return utcMillis;
+    }
+
+    private static Date parseSlow(String value, TimeZone timeZone) throws ParseException {
+
+        return newDateFormat(value.indexOf('T') == 10 ? ISO_PATTERN : PATTERN, timeZone).parse(value);
+    }
+
+    public static String format(Date date) {
+
+        return format(date, TimeZone.getDefault());
+    }
+
+    public static String format(Date date, TimeZone timeZone) {
+
+        return format(date.getTime(), timeZone, ' ', PATTERN);
+    }
+
+    public static String formatIso(Date date) {
+
+        return formatIso(date, TimeZone.getDefault());
+    }
+
+    public static String formatIso(Date date, TimeZone timeZone) {
+
+        return format(date.getTime(), timeZone, 'T', ISO_PATTERN);
+    }
+
+    private static String format(long millis, TimeZone timeZone, char separator, String pattern) {
+
+        long localMillis = millis + timeZone.getOffset(millis);
+        long days = floorDiv(localMillis, MILLIS_PER_DAY);
+        int secondOfDay = (int) ((localMillis - days * MILLIS_PER_DAY) / MILLIS_PER_SECOND);
+
+        // civil from days, see daysFromCivil
+        long z = days + 719468;
+        long era = floorDiv(z, 146097);
+        int dayOfEra = (int) (z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        if (year < MIN_YEAR || year > MAX_YEAR)
+            return newDateFormat(pattern, timeZone).format(new Date(millis));
+
+        char[] chars = new char[LENGTH];
+        write(chars, 0, (int) year, 4);
+        chars[4] = '-';
+        write(chars, 5, month, 2);
+        chars[7] = '-';
+        write(chars, 8, day, 2);
+        chars[10] = separator;
+        write(chars, 11, secondOfDay / 3600, 2);
+        chars[13] = ':';
+        write(chars, 14, secondOfDay / 60 % 60, 2);
+        chars[16] = ':';
+        write(chars, 17, secondOfDay % 60, 2);
+
+        return new String(chars);
+    }
+
+    private static void write(char[] chars, int start, int value, int count) {
+
+        for (int i = start + count - 1; i >= start; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static long floorDiv(long dividend, long divisor) {
+
+        long quotient = dividend / divisor;
+        if ((dividend % divisor != 0) && ((dividend < 0) != (divisor < 0)))
+            quotient--;
+        return quotient;
+    }
+
+    private static DateFormat newDateFormat(String pattern, TimeZone timeZone) {
+
+        DateFormat format = new SimpleDateFormat(pattern);
+        format.setTimeZone(timeZone);
+        return format;
+    }
+
+    /**
+     * Corrects a date which was parsed in <tt>localTimeZone</tt> although the server reported it in
+     * <tt>siteTimeZone</tt>
+     */
+    public static Date shift(Date date, TimeZone siteTimeZone, TimeZone localTimeZone) {
+
+        if (date == null || siteTimeZone == null || localTimeZone.hasSameRules(siteTimeZone))
+            return date;
+
+        long millis = date.getTime();
+
+        return new Date(millis + localTimeZone.getOffset(millis) - siteTimeZone.getOffset(millis));
+    }
+
+    private static final class CachedValue {
+
+        private final String text;
+        private final long localMillis;
+
+        private CachedValue(String text, long localMillis) {
+
+            this.text = text;
+            this.localMillis = localMillis;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.util;
+
+/**
+ * A set of <tt>int</tt> values which does not box its elements
+ *
+ * <p>
+ * The values are kept in an open addressing hash table with linear probing. The zero value marks
+ * free slots, so its presence is tracked separately.
+ * </p>
+ */
+public class IntHashSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] values;
+    private int size;
+    private boolean containsZero;
+
+    public IntHashSet() {
+
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize the number of values which can be added before the set is resized
+     */
+    public IntHashSet(int expectedSize) {
+
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2)
+            capacity <<= 1;
+
+        values = new int[capacity];
+    }
+
+    /**
+     * @return true if the value was not already in the set
+     */
+    public boolean add(int value) {
+
+        if (value == 0) {
+            if (containsZero)
+                return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+
+        int slot = findSlot(values, value);
+        if (values[slot] == value)
+            return false;
+
+        values[slot] = value;
+        size++;
+
+        // keep the load factor at or below 1/2
+        if (size * 2 > values.length)
+            resize(values.length * 2);
+
+        return true;
+    }
+
+    public boolean contains(int value) {
+
+        if (value == 0)
+            return containsZero;
+
+        return values[findSlot(values, value)] == value;
+    }
+
+    public int size() {
+
+        return size;
+    }
+
+    public boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    /**
+     * @return the values in the set, in no particular order
+     */
+    public int[] toArray() {
+
+        int[] array = new int[size];
+        int index = 0;
+
+        if (containsZero)
+            array[index++] = 0;
+
+        for (int value : values)
+            if (value != 0)
+                array[index++] = value;
+
+        return array;
+    }
+
+    private void resize(int capacity) {
+
+        int[] newValues = new int[capacity];
+
+        for (int value : values)
+            if (value != 0)
+                newValues[findSlot(newValues, value)] = value;
+
+        values = newValues;
+    }
+
+    /**
+     * @return the slot holding the <tt>value</tt>, or the free slot where it should be added
+     */
+    private static int findSlot(int[] table, int value) {
+
+        int mask = table.length - 1;
+        int slot = mix(value) & mask;
+
+        while (table[slot] != 0 && table[slot] != value)
+            slot = (slot + 1) & mask;
+
+        return slot;
+    }
+
+    /**
+     * Spreads the bits of sequential values, such as ids, across the table
+     */
+    private static int mix(int value) {
+
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -37,9 +37,7 @@
  *******************************************************************************/
 package org.review_board.ereviewboard.core.util;
 
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
@@ -53,8 +51,6 @@ import org.review_board.ereviewboard.core.ReviewboardConstants;
  */
 public final class ReviewboardUtil {
 
-    private static DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-
     private ReviewboardUtil() {
         super();
     }
@@ -63,7 +59,7 @@ public final class ReviewboardUtil {
         Date date = null;
 
         try {
-            date = dateFormat.parse(time);
+            date = DateCodec.parse(time);
         } catch (ParseException e) {
             throw new RuntimeException(e.getMessage(), e);
         }
@@ -72,7 +68,7 @@ public final class ReviewboardUtil {
     }
 
     public static String unmarshallDate(Date date) {
-        return dateFormat.format(date);
+        return DateCodec.format(date);
     }
 
     public static String getReviewRequestUrl(String repositoryUrl, String taskId) {
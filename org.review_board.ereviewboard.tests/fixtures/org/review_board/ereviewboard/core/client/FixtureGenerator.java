@@ -0,0 +1,630 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.review_board.ereviewboard.core.util.DateCodec;
+
+/**
+ * Generates the JSON responses of the Review Board web API, in the format of the files in
+ * <tt>testdata/jsondata</tt>, at any size
+ *
+ * <p>
+ * Each item is generated from the seed, its resource and its index only, so the same item is identical in
+ * every page and every run, and a page can be generated without generating the items before it. Pages are
+ * written directly to a {@link Writer}, so that pages of 100 000 items need not be built in memory.
+ * </p>
+ *
+ * <p>
+ * The items are realistic by default. Pathological items are enabled through the setters: huge descriptions,
+ * non-ASCII text with characters which must be escaped, and many target people.
+ * </p>
+ *
+ * <p>
+ * This class is shared with the benchmarks, so it must only depend on the core plug-in.
+ * </p>
+ */
+public class FixtureGenerator {
+
+    public enum Resource {
+
+        USERS("users"), GROUPS("groups"), REPOSITORIES("repositories"), REVIEW_REQUESTS("review_requests"),
+        REVIEWS("reviews"), REPLIES("replies"), DIFFS("diffs"), SCREENSHOTS("screenshots"),
+        DIFF_COMMENTS("diff_comments"), SCREENSHOT_COMMENTS("screenshot_comments");
+
+        private final String listKey;
+
+        private Resource(String listKey) {
+
+            this.listKey = listKey;
+        }
+
+        /**
+         * @return the name of the array holding the items in the response
+         */
+        public String getListKey() {
+
+            return listKey;
+        }
+    }
+
+    private static final String BASE_URL = "http://reviews.example.com";
+
+    private static final long START_TIME = 1293840000000L; // 2011-01-01 00:00:00 UTC
+    private static final long MINUTE = 60 * 1000L;
+
+    private static final String[] WORDS = { "fix", "add", "remove", "refactor", "update", "parser", "client",
+            "connector", "cache", "query", "review", "request", "diff", "comment", "repository", "timeout",
+            "handling", "support", "for", "the", "of", "in", "when", "null", "empty", "large", "page", "user" };
+
+    /**
+     * Includes accents, combining characters, non-Latin scripts, right-to-left text, characters outside the
+     * basic multilingual plane and the characters which JSON requires to be escaped
+     */
+    private static final String[] UNICODE_WORDS = { "naïve", "café", "Größe", "é", "日本語", "разработка",
+            "مرحبا", "😀", " ", "\"quoted\"", "back\\slash", "line\nbreak", "tab\there",
+            "</script>", "\u0001", " " };
+
+    private static final String[] FIRST_NAMES = { "John", "Jane", "Alex", "Maria", "Chen", "Priya" };
+    private static final String[] UNICODE_FIRST_NAMES = { "Jürgen", "Zoë", "Łukasz", "Сергей", "美咲", "Ödön" };
+    private static final String[] LAST_NAMES = { "Smith", "Doe", "Brown", "Garcia", "Wang", "Patel" };
+    private static final String[] UNICODE_LAST_NAMES = { "Müller", "Ñúñez", "Dvořák", "Иванов", "山田", "O'Brien" };
+
+    private static final String[] TOOLS = { "Subversion", "Git", "Mercurial", "Perforce" };
+    private static final String[] STATUSES = { "pending", "pending", "pending", "pending", "pending", "pending",
+            "pending", "submitted", "submitted", "discarded" };
+
+    private final long seed;
+
+    private int userCount = 100;
+    private int groupCount = 10;
+    private int repositoryCount = 5;
+    private int descriptionLength;
+    private int targetPeopleCount;
+    private boolean unicode;
+    private boolean asciiOnly = true;
+    private TimeZone timeZone = TimeZone.getDefault();
+
+    public FixtureGenerator(long seed) {
+
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the number of users which the other items refer to, 100 unless specified
+     */
+    public void setUserCount(int userCount) {
+
+        this.userCount = userCount;
+    }
+
+    public void setGroupCount(int groupCount) {
+
+        this.groupCount = groupCount;
+    }
+
+    public void setRepositoryCount(int repositoryCount) {
+
+        this.repositoryCount = repositoryCount;
+    }
+
+    /**
+     * Sets the length of the review request descriptions, or <code>0</code> for a few sentences
+     */
+    public void setDescriptionLength(int descriptionLength) {
+
+        this.descriptionLength = descriptionLength;
+    }
+
+    /**
+     * Sets the number of target people of each review request, or <code>0</code> for one to three
+     */
+    public void setTargetPeopleCount(int targetPeopleCount) {
+
+        this.targetPeopleCount = targetPeopleCount;
+    }
+
+    /**
+     * Mixes non-ASCII words and characters which must be escaped into the texts and the names
+     */
+    public void setUnicode(boolean unicode) {
+
+        this.unicode = unicode;
+    }
+
+    /**
+     * Sets whether non-ASCII characters are written as <tt>\\uXXXX</tt> escapes, like Review Board does, or
+     * as they are. Defaults to <code>true</code>.
+     */
+    public void setAsciiOnly(boolean asciiOnly) {
+
+        this.asciiOnly = asciiOnly;
+    }
+
+    /**
+     * Sets the time zone in which the dates are written, the default one unless specified
+     */
+    public void setTimeZone(TimeZone timeZone) {
+
+        this.timeZone = timeZone;
+    }
+
+    /**
+     * @return a page holding the first <tt>count</tt> items
+     */
+    public String page(Resource resource, int count) {
+
+        return page(resource, 0, count, count);
+    }
+
+    /**
+     * @return a page holding the items starting at index <tt>start</tt>, at most <tt>count</tt> of them,
+     *         out of <tt>totalResults</tt>
+     */
+    public String page(Resource resource, int start, int count, int totalResults) {
+
+        StringWriter out = new StringWriter();
+        try {
+            writePage(resource, start, count, totalResults, out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    public void writePage(Resource resource, int start, int count, int totalResults, Writer out)
+            throws IOException {
+
+        Json json = new Json(out);
+
+        json.beginObject();
+        json.name("links").beginObject().endObject();
+        json.name(resource.getListKey()).beginArray();
+        for (int index = start; index < Math.min(start + count, totalResults); index++)
+            writeItem(resource, index, json);
+        json.endArray();
+        json.name("total_results").value(totalResults);
+        json.name("stat").value("ok");
+        json.endObject();
+    }
+
+    /**
+     * @return the response for a single review request, identical to the item at <tt>index</tt> of a page
+     */
+    public String reviewRequest(int index) {
+
+        StringWriter out = new StringWriter();
+        try {
+            Json json = new Json(out);
+            json.beginObject();
+            json.name("review_request");
+            writeItem(Resource.REVIEW_REQUESTS, index, json);
+            json.name("stat").value("ok");
+            json.endObject();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * @return the response to a <tt>counts-only</tt> request
+     */
+    public String count(int count) {
+
+        return "{\"count\": " + count + ", \"stat\": \"ok\"}";
+    }
+
+    private void writeItem(Resource resource, int index, Json json) throws IOException {
+
+        Random random = new Random(mix(seed ^ mix(((long) resource.ordinal() << 32) | index)));
+        int id = index + 1;
+
+        json.beginObject();
+        json.name("id").value(id);
+
+        switch (resource) {
+            case USERS:
+                writeUser(random, id, json);
+                break;
+            case GROUPS:
+                writeGroup(random, id, json);
+                break;
+            case REPOSITORIES:
+                writeRepository(id, json);
+                break;
+            case REVIEW_REQUESTS:
+                writeReviewRequest(random, id, index, json);
+                break;
+            case REVIEWS:
+            case REPLIES:
+                writeReview(random, id, index, resource == Resource.REVIEWS, json);
+                break;
+            case DIFFS:
+                json.name("revision").value(id);
+                json.name("timestamp").value(date(START_TIME + index * MINUTE));
+                json.name("links").beginObject();
+                writeLink(json, "self", "/api/review-requests/1/diffs/" + id + "/", null);
+                json.endObject();
+                break;
+            case SCREENSHOTS:
+                json.name("caption").value(sentence(random, 1 + random.nextInt(4)));
+                json.name("path").value("uploaded/images/2011/01/01/screenshot" + id + ".png");
+                json.name("url").value("/media/uploaded/images/2011/01/01/screenshot" + id + ".png");
+                json.name("thumbnail_url").value("/media/uploaded/images/2011/01/01/screenshot" + id + "_400.png");
+                break;
+            case DIFF_COMMENTS:
+            case SCREENSHOT_COMMENTS:
+                writeComment(random, index, resource == Resource.DIFF_COMMENTS, json);
+                break;
+        }
+
+        json.endObject();
+    }
+
+    private void writeUser(Random random, int id, Json json) throws IOException {
+
+        String firstName = pick(random, unicode ? UNICODE_FIRST_NAMES : FIRST_NAMES);
+        String lastName = pick(random, unicode ? UNICODE_LAST_NAMES : LAST_NAMES);
+
+        json.name("username").value(username(id));
+        json.name("first_name").value(firstName);
+        json.name("last_name").value(lastName);
+        json.name("fullname").value(firstName + " " + lastName);
+        json.name("email").value(username(id) + "@example.com");
+        json.name("url").value("/users/" + username(id) + "/");
+        json.name("links").beginObject();
+        writeLink(json, "self", "/api/users/" + username(id) + "/", null);
+        json.endObject();
+    }
+
+    private void writeGroup(Random random, int id, Json json) throws IOException {
+
+        json.name("name").value("group" + id);
+        json.name("display_name").value(unicode ? "Group " + pick(random, UNICODE_WORDS) : "Group " + id);
+        json.name("mailing_list").value("group" + id + "@example.com");
+        json.name("url").value("/groups/group" + id + "/");
+        json.name("links").beginObject();
+        writeLink(json, "self", "/api/groups/group" + id + "/", null);
+        json.endObject();
+    }
+
+    private void writeRepository(int id, Json json) throws IOException {
+
+        json.name("name").value("repository" + id);
+        json.name("tool").value(TOOLS[id % TOOLS.length]);
+        json.name("path").value("/var/lib/repositories/repository" + id);
+        json.name("links").beginObject();
+        writeLink(json, "self", "/api/repositories/" + id + "/", null);
+        json.endObject();
+    }
+
+    private void writeReviewRequest(Random random, int id, int index, Json json) throws IOException {
+
+        // most recently updated first, like the server orders them
+        long lastUpdated = START_TIME - index * MINUTE - random.nextInt(60) * 1000L;
+        long timeAdded = lastUpdated - random.nextInt(30 * 24 * 60) * MINUTE;
+        String submitter = randomUser(random);
+        String path = "/api/review-requests/" + id + "/";
+
+        json.name("status").value(pick(random, STATUSES));
+        json.name("public").value(random.nextInt(20) != 0);
+        json.name("summary").value(sentence(random, 3 + random.nextInt(6)));
+        json.name("description").value(
+                descriptionLength > 0 ? text(random, descriptionLength) : paragraph(random, 1 + random.nextInt(5)));
+        json.name("testing_done").value(random.nextBoolean() ? paragraph(random, 1) : "");
+        json.name("branch").value(random.nextBoolean() ? "trunk" : "branch-" + random.nextInt(10));
+        json.name("changenum");
+        if (random.nextInt(4) == 0)
+            json.value(1000 + id);
+        else
+            json.nullValue();
+
+        json.name("bugs_closed").beginArray();
+        for (int i = random.nextInt(3); i > 0; i--)
+            json.value(String.valueOf(100 + random.nextInt(900)));
+        json.endArray();
+
+        json.name("target_people").beginArray();
+        int targetPeople = targetPeopleCount > 0 ? targetPeopleCount : 1 + random.nextInt(3);
+        int people = Math.max(userCount, targetPeople);
+        int firstPerson = random.nextInt(people);
+        for (int i = 0; i < targetPeople; i++) {
+            String username = username((firstPerson + i) % people + 1);
+            json.beginObject();
+            writeLinkFields(json, "/api/users/" + username + "/", username);
+            json.endObject();
+        }
+        json.endArray();
+
+        json.name("target_groups").beginArray();
+        for (int i = groupCount > 0 ? random.nextInt(3) : 0; i > 0; i--) {
+            String group = "group" + (1 + random.nextInt(groupCount));
+            json.beginObject();
+            writeLinkFields(json, "/api/groups/" + group + "/", group);
+            json.endObject();
+        }
+        json.endArray();
+
+        json.name("time_added").value(date(timeAdded));
+        json.name("last_updated").value(date(lastUpdated));
+
+        json.name("links").beginObject();
+        writeLink(json, "self", path, null);
+        writeLink(json, "submitter", "/api/users/" + submitter + "/", submitter);
+        if (repositoryCount > 0) {
+            int repository = 1 + random.nextInt(repositoryCount);
+            writeLink(json, "repository", "/api/repositories/" + repository + "/", "repository" + repository);
+        }
+        writeLink(json, "reviews", path + "reviews/", null);
+        writeLink(json, "diffs", path + "diffs/", null);
+        writeLink(json, "screenshots", path + "screenshots/", null);
+        json.endObject();
+    }
+
+    private void writeReview(Random random, int id, int index, boolean review, Json json) throws IOException {
+
+        json.name("body_top").value(paragraph(random, 1 + random.nextInt(3)));
+        json.name("body_bottom").value(random.nextBoolean() ? sentence(random, 5) : "");
+        json.name("public").value(true);
+        if (review)
+            json.name("ship_it").value(random.nextInt(3) == 0);
+        json.name("timestamp").value(date(START_TIME + index * MINUTE));
+        json.name("links").beginObject();
+        writeLink(json, "self", "/api/review-requests/1/reviews/" + id + "/", null);
+        String user = randomUser(random);
+        writeLink(json, "user", "/api/users/" + user + "/", user);
+        json.endObject();
+    }
+
+    private void writeComment(Random random, int index, boolean diffComment, Json json) throws IOException {
+
+        json.name("text").value(sentence(random, 3 + random.nextInt(20)));
+        json.name("timestamp").value(date(START_TIME + index * MINUTE));
+        if (diffComment) {
+            json.name("first_line").value(1 + random.nextInt(500));
+            json.name("num_lines").value(1 + random.nextInt(10));
+        } else {
+            json.name("x").value(random.nextInt(400));
+            json.name("y").value(random.nextInt(300));
+            json.name("w").value(1 + random.nextInt(100));
+            json.name("h").value(1 + random.nextInt(100));
+        }
+        json.name("links").beginObject();
+        String user = randomUser(random);
+        writeLink(json, "user", "/api/users/" + user + "/", user);
+        json.endObject();
+    }
+
+    private void writeLink(Json json, String name, String path, String title) throws IOException {
+
+        json.name(name).beginObject();
+        writeLinkFields(json, path, title);
+        json.endObject();
+    }
+
+    private void writeLinkFields(Json json, String path, String title) throws IOException {
+
+        json.name("href").value(BASE_URL + path);
+        json.name("method").value("GET");
+        if (title != null)
+            json.name("title").value(title);
+    }
+
+    private String date(long millis) {
+
+        return DateCodec.format(new Date(millis), timeZone);
+    }
+
+    private static String username(int id) {
+
+        return "user" + id;
+    }
+
+    private String randomUser(Random random) {
+
+        return username(1 + random.nextInt(Math.max(1, userCount)));
+    }
+
+    private static String pick(Random random, String[] values) {
+
+        return values[random.nextInt(values.length)];
+    }
+
+    private String word(Random random) {
+
+        if (unicode && random.nextInt(3) == 0)
+            return pick(random, UNICODE_WORDS);
+        return pick(random, WORDS);
+    }
+
+    private String sentence(Random random, int words) {
+
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            String word = word(random);
+            if (i == 0)
+                sentence.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+            else
+                sentence.append(' ').append(word);
+        }
+        return sentence.append('.').toString();
+    }
+
+    private String paragraph(Random random, int sentences) {
+
+        StringBuilder paragraph = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0)
+                paragraph.append(' ');
+            paragraph.append(sentence(random, 4 + random.nextInt(10)));
+        }
+        return paragraph.toString();
+    }
+
+    /**
+     * @return paragraphs of text with exactly <tt>length</tt> characters, not splitting surrogate pairs
+     */
+    private String text(Random random, int length) {
+
+        StringBuilder text = new StringBuilder(length + 200);
+        while (text.length() < length) {
+            if (text.length() > 0)
+                text.append(random.nextInt(5) == 0 ? "\n\n" : " ");
+            text.append(paragraph(random, 1));
+        }
+        text.setLength(length);
+        if (Character.isHighSurrogate(text.charAt(length - 1)))
+            text.setCharAt(length - 1, ' ');
+        return text.toString();
+    }
+
+    /**
+     * The finalizer of the SplitMix64 generator, which spreads close seeds apart
+     */
+    private static long mix(long value) {
+
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Writes JSON without building an intermediate tree, keeping track of where separators are needed
+     */
+    private final class Json {
+
+        private final Writer out;
+        private boolean needsSeparator;
+
+        private Json(Writer out) {
+
+            this.out = out;
+        }
+
+        public Json beginObject() throws IOException {
+
+            separate();
+            out.write('{');
+            needsSeparator = false;
+            return this;
+        }
+
+        public Json endObject() throws IOException {
+
+            out.write('}');
+            needsSeparator = true;
+            return this;
+        }
+
+        public Json beginArray() throws IOException {
+
+            separate();
+            out.write('[');
+            needsSeparator = false;
+            return this;
+        }
+
+        public Json endArray() throws IOException {
+
+            out.write(']');
+            needsSeparator = true;
+            return this;
+        }
+
+        public Json name(String name) throws IOException {
+
+            separate();
+            string(name);
+            out.write(": ");
+            needsSeparator = false;
+            return this;
+        }
+
+        public Json value(String value) throws IOException {
+
+            separate();
+            string(value);
+            needsSeparator = true;
+            return this;
+        }
+
+        public Json value(long value) throws IOException {
+
+            separate();
+            out.write(String.valueOf(value));
+            needsSeparator = true;
+            return this;
+        }
+
+        public Json value(boolean value) throws IOException {
+
+            separate();
+            out.write(value ? "true" : "false");
+            needsSeparator = true;
+            return this;
+        }
+
+        public Json nullValue() throws IOException {
+
+            separate();
+            out.write("null");
+            needsSeparator = true;
+            return this;
+        }
+
+        private void separate() throws IOException {
+
+            if (needsSeparator)
+                out.write(", ");
+        }
+
+        private void string(String value) throws IOException {
+
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"':
+                        out.write("\\\"");
+                        break;
+                    case '\\':
+                        out.write("\\\\");
+                        break;
+                    case '/':
+                        out.write("\\/");
+                        break;
+                    case '\n':
+                        out.write("\\n");
+                        break;
+                    case '\r':
+                        out.write("\\r");
+                        break;
+                    case '\t':
+                        out.write("\\t");
+                        break;
+                    default:
+                        if (c < 0x20 || (asciiOnly && c > 0x7e))
+                            out.write("\\u" + Integer.toHexString(c | 0x10000).substring(1));
+                        else
+                            out.write(c);
+                }
+            }
+            out.write('"');
+        }
+    }
+}
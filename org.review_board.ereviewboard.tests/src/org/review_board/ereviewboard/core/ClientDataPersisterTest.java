@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.review_board.ereviewboard.core.client.ClientDataCodec;
+import org.review_board.ereviewboard.core.client.ReviewboardClientData;
+import org.review_board.ereviewboard.core.model.User;
+
+public class ClientDataPersisterTest {
+
+    private File directory;
+    private File file;
+    private ClientDataPersister persister;
+
+    @Before
+    public void setUp() throws IOException {
+
+        directory = File.createTempFile("clientData", null);
+        directory.delete();
+        file = new File(directory, "repository");
+    }
+
+    @After
+    public void tearDown() {
+
+        if (persister != null)
+            persister.shutdown();
+
+        File[] files = directory.listFiles();
+        if (files != null)
+            for (File child : files)
+                child.delete();
+        directory.delete();
+    }
+
+    private static ReviewboardClientData newClientData(String... usernames) {
+
+        User[] users = new User[usernames.length];
+        for (int i = 0; i < usernames.length; i++)
+            users[i] = new User(usernames[i]);
+
+        ReviewboardClientData data = new ReviewboardClientData();
+        data.setUsers(Arrays.asList(users));
+        return data;
+    }
+
+    @Test
+    public void writeReplacesExistingFile() throws IOException {
+
+        ClientDataPersister.write(newClientData("admin"), file);
+        ClientDataPersister.write(newClientData("admin", "doc"), file);
+
+        assertThat(ClientDataCodec.read(file).getUsers().size(), is(2));
+        assertThat(directory.list().length, is(1));
+    }
+
+    @Test
+    public void flushWritesPendingData() throws IOException {
+
+        persister = new ClientDataPersister(60 * 1000);
+        persister.schedule(file, newClientData("admin"));
+
+        assertThat(file.exists(), is(false));
+        assertThat(persister.flush(), is(true));
+        assertThat(ClientDataCodec.read(file).getUser("admin").getUsername(), is("admin"));
+    }
+
+    @Test
+    public void shutdownWritesPendingData() throws IOException {
+
+        persister = new ClientDataPersister(60 * 1000);
+        persister.schedule(file, newClientData("admin"));
+        persister.shutdown();
+        persister = null;
+
+        assertThat(file.exists(), is(true));
+    }
+
+    @Test
+    public void cancelledDataIsNotWritten() {
+
+        persister = new ClientDataPersister(60 * 1000);
+        persister.schedule(file, newClientData("admin"));
+        persister.cancel(file);
+        persister.flush();
+
+        assertThat(file.exists(), is(false));
+    }
+
+    @Test
+    public void cancelWaitsForTheWriteInProgress() throws Exception {
+
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch resume = new CountDownLatch(1);
+        ReviewboardClientData data = new ReviewboardClientData() {
+            @Override
+            public Collection<User> getUsers() {
+                writing.countDown();
+                try {
+                    resume.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getUsers();
+            }
+        };
+
+        persister = new ClientDataPersister(60 * 1000);
+        persister.schedule(file, data);
+
+        Thread flush = new Thread() {
+            @Override
+            public void run() {
+                persister.flush();
+            }
+        };
+        flush.start();
+        assertThat(writing.await(10, TimeUnit.SECONDS), is(true));
+
+        Thread cancel = new Thread() {
+            @Override
+            public void run() {
+                persister.cancel(file);
+                file.delete();
+            }
+        };
+        cancel.start();
+        try {
+            cancel.join(100);
+            assertThat(cancel.isAlive(), is(true));
+        } finally {
+            resume.countDown();
+            cancel.join();
+            flush.join();
+        }
+
+        assertThat(file.exists(), is(false));
+    }
+
+    @Test
+    public void latestScheduledDataIsWritten() throws IOException {
+
+        persister = new ClientDataPersister(60 * 1000);
+        persister.schedule(file, newClientData("admin"));
+        persister.schedule(file, newClientData("admin", "doc"));
+        persister.flush();
+
+        assertThat(ClientDataCodec.read(file).getUsers().size(), is(2));
+    }
+
+    @Test
+    public void dataIsWrittenInTheBackground() throws InterruptedException {
+
+        persister = new ClientDataPersister(10);
+        persister.schedule(file, newClientData("admin"));
+
+        for (int i = 0; i < 200 && !file.exists(); i++)
+            Thread.sleep(10);
+
+        assertThat(file.exists(), is(true));
+    }
+}
@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.review_board.ereviewboard.core.ReviewDetailsLoader.ReplyDetails;
+import org.review_board.ereviewboard.core.ReviewDetailsLoader.ReviewDetails;
+import org.review_board.ereviewboard.core.client.RequestScheduler;
+import org.review_board.ereviewboard.core.client.ReviewboardClient;
+import org.review_board.ereviewboard.core.client.ReviewboardClientData;
+import org.review_board.ereviewboard.core.exception.ReviewboardException;
+import org.review_board.ereviewboard.core.model.Review;
+import org.review_board.ereviewboard.core.model.ReviewReply;
+
+public class ReviewDetailsLoaderTest {
+
+    private static final int FAILING_REVIEW_ID = 7;
+
+    private RequestScheduler scheduler;
+    private ReviewboardClientData clientData;
+    private final AtomicInteger countRequests = new AtomicInteger();
+    private final AtomicInteger offsetReplyRequests = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+
+        scheduler = new RequestScheduler("test");
+        clientData = new ReviewboardClientData();
+    }
+
+    @After
+    public void tearDown() {
+
+        scheduler.shutdown();
+    }
+
+    /**
+     * Creates a client where review <tt>n</tt> has <tt>n * 10</tt> diff comments and <tt>n % 3</tt>
+     * replies, and each reply has as many diff comments as its id and one more screenshot comment
+     */
+    private ReviewboardClient newClient(final boolean failing) {
+
+        final Random random = new Random(0);
+
+        InvocationHandler handler = new InvocationHandler() {
+
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+                String name = method.getName();
+
+                if (name.equals("getRequestScheduler"))
+                    return scheduler;
+
+                if (name.equals("getClientData"))
+                    return clientData;
+
+                if (name.startsWith("count"))
+                    countRequests.incrementAndGet();
+
+                synchronized (random) {
+                    Thread.sleep(random.nextInt(5));
+                }
+
+                if (name.equals("countDiffComments")) {
+                    int reviewId = ((Integer) args[1]).intValue();
+                    if (failing && reviewId == FAILING_REVIEW_ID)
+                        throw new ReviewboardException("Failed counting for " + reviewId);
+                    return Integer.valueOf(reviewId * 10);
+                }
+
+                if (name.equals("getReviewReplies")) {
+                    int reviewId = ((Integer) args[1]).intValue();
+                    int start = args.length == 4 ? ((Integer) args[2]).intValue() : 0;
+                    if (start > 0)
+                        offsetReplyRequests.incrementAndGet();
+                    List<ReviewReply> replies = new ArrayList<ReviewReply>();
+                    for (int i = start; i < reviewId % 3; i++) {
+                        ReviewReply reply = new ReviewReply();
+                        reply.setId(reviewId * 100 + i);
+                        reply.setPublicReply(i == 0);
+                        replies.add(reply);
+                    }
+                    return replies;
+                }
+
+                if (name.equals("countDiffCommentsForReply"))
+                    return args[2];
+
+                if (name.equals("countScreenshotCommentsForReply"))
+                    return Integer.valueOf(((Integer) args[2]).intValue() + 1);
+
+                throw new UnsupportedOperationException(name);
+            }
+        };
+
+        return (ReviewboardClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ReviewboardClient.class }, handler);
+    }
+
+    /**
+     * Creates reviews where all but the last one are published
+     */
+    private List<Review> newReviews(int count) {
+
+        List<Review> reviews = new ArrayList<Review>();
+        for (int i = 1; i <= count; i++) {
+            Review review = new Review();
+            review.setId(i);
+            review.setPublicReview(i < count);
+            reviews.add(review);
+        }
+        return reviews;
+    }
+
+    @Test
+    public void loadKeepsOrder() throws ReviewboardException {
+
+        List<ReviewDetails> details = new ReviewDetailsLoader(newClient(false), 1).load(newReviews(20),
+                new NullProgressMonitor());
+
+        assertThat(details.size(), is(20));
+
+        for (int i = 0; i < details.size(); i++) {
+
+            ReviewDetails reviewDetails = details.get(i);
+            int reviewId = i + 1;
+
+            assertThat(reviewDetails.getReview().getId(), is(reviewId));
+            assertThat(reviewDetails.getDiffComments(), is(reviewId * 10));
+            assertThat(reviewDetails.getReplies().size(), is(reviewId % 3));
+
+            for (int j = 0; j < reviewDetails.getReplies().size(); j++) {
+
+                ReplyDetails replyDetails = reviewDetails.getReplies().get(j);
+                int replyId = reviewId * 100 + j;
+
+                assertThat(replyDetails.getReply().getId(), is(replyId));
+                assertThat(replyDetails.getDiffComments(), is(replyId));
+                assertThat(replyDetails.getScreenshotComments(), is(replyId + 1));
+            }
+        }
+    }
+
+    @Test
+    public void loadWithoutReviews() throws ReviewboardException {
+
+        List<ReviewDetails> details = new ReviewDetailsLoader(newClient(false), 1).load(new ArrayList<Review>(),
+                new NullProgressMonitor());
+
+        assertThat(details.size(), is(0));
+    }
+
+    @Test
+    public void failureIsRethrown() {
+
+        try {
+            new ReviewDetailsLoader(newClient(true), 1).load(newReviews(20), new NullProgressMonitor());
+            fail("Expected a ReviewboardException");
+        } catch (ReviewboardException e) {
+            assertThat(e.getMessage(), is("Failed counting for " + FAILING_REVIEW_ID));
+        }
+    }
+
+    @Test
+    public void publishedCountsAreNotRequestedAgain() throws ReviewboardException {
+
+        ReviewboardClient client = newClient(false);
+
+        List<ReviewDetails> first = new ReviewDetailsLoader(client, 1).load(newReviews(5), new NullProgressMonitor());
+
+        // 5 reviews, 1 + 2 + 0 + 1 + 2 replies with 2 counts each
+        assertThat(countRequests.get(), is(5 + 2 * 6));
+
+        countRequests.set(0);
+
+        List<ReviewDetails> second = new ReviewDetailsLoader(client, 1).load(newReviews(5), new NullProgressMonitor());
+
+        // the last review is not published, and only the first reply of each review is
+        assertThat(countRequests.get(), is(1 + 2 * 2));
+
+        for (int i = 0; i < first.size(); i++) {
+            assertThat(second.get(i).getDiffComments(), is(first.get(i).getDiffComments()));
+            for (int j = 0; j < first.get(i).getReplies().size(); j++) {
+                ReplyDetails firstReply = first.get(i).getReplies().get(j);
+                ReplyDetails secondReply = second.get(i).getReplies().get(j);
+                assertThat(secondReply.getDiffComments(), is(firstReply.getDiffComments()));
+                assertThat(secondReply.getScreenshotComments(), is(firstReply.getScreenshotComments()));
+            }
+        }
+    }
+
+    @Test
+    public void unpublishedCountsAreNotRemembered() throws ReviewboardException {
+
+        new ReviewDetailsLoader(newClient(false), 1).load(newReviews(2), new NullProgressMonitor());
+
+        assertThat(clientData.getCommentCounts().getDiffComments(1, 1), is(10));
+        assertThat(clientData.getCommentCounts().getDiffComments(1, 2), is(nullValue()));
+        assertThat(clientData.getCommentCounts().getReplyDiffComments(1, 1, 100), is(100));
+    }
+
+    @Test
+    public void previousRepliesAreReused() throws ReviewboardException {
+
+        ReviewboardClient client = newClient(false);
+
+        List<ReviewDetails> first = new ReviewDetailsLoader(client, 1).load(newReviews(5), new NullProgressMonitor());
+
+        List<ReviewDetails> second = new ReviewDetailsLoader(client, 1).load(newReviews(5), first,
+                new NullProgressMonitor());
+
+        // reviews 1, 2 and 4 are published and have a published first reply
+        assertThat(offsetReplyRequests.get(), is(3));
+
+        for (int i = 0; i < first.size(); i++) {
+            assertThat(second.get(i).getReplies().size(), is(first.get(i).getReplies().size()));
+            for (int j = 0; j < first.get(i).getReplies().size(); j++)
+                assertThat(second.get(i).getReplies().get(j).getReply().getId(), is(first.get(i).getReplies().get(j)
+                        .getReply().getId()));
+        }
+
+        // the published first reply of published reviews is taken from the previous details
+        assertThat(second.get(0).getReplies().get(0), is(first.get(0).getReplies().get(0)));
+    }
+}
@@ -4,7 +4,9 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 
+import java.text.DateFormat;
 import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.TimeZone;
 
@@ -16,6 +18,11 @@ public class ReviewboardAttributeMapperTest {
 
     private ReviewboardAttributeMapper mapper;
 
+    private static DateFormat newDateFormat() {
+
+        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    }
+
     public void prepareMapper(TimeZone clientTimeZone) {
 
         TaskRepository repository = new TaskRepository(ReviewboardCorePlugin.REPOSITORY_KIND,
@@ -44,7 +51,7 @@ public class ReviewboardAttributeMapperTest {
         String dateString = "2010-08-28 02:26:18";
         String expectedDateString = "2010-08-28 10:26:18";
 
-        Date expectedDate = ReviewboardAttributeMapper.newDateFormat().parse(expectedDateString);
+        Date expectedDate = newDateFormat().parse(expectedDateString);
 
         assertThat(mapper.getDateValueFromString(dateString), is(expectedDate));
     }
@@ -57,7 +64,7 @@ public class ReviewboardAttributeMapperTest {
         String dateString = "2010-08-28 02:26:18";
         String expectedDateString = dateString;
 
-        Date expectedDate = ReviewboardAttributeMapper.newDateFormat().parse(expectedDateString);
+        Date expectedDate = newDateFormat().parse(expectedDateString);
 
         assertThat(mapper.getDateValueFromString(dateString), is(expectedDate));
     }
@@ -70,7 +77,7 @@ public class ReviewboardAttributeMapperTest {
         String dateString = "2010-08-28 02:26:18";
         String expectedDateString = dateString;
 
-        Date expectedDate = ReviewboardAttributeMapper.newDateFormat().parse(expectedDateString);
+        Date expectedDate = newDateFormat().parse(expectedDateString);
 
         assertThat(mapper.getDateValueFromString(dateString), is(expectedDate));
     }
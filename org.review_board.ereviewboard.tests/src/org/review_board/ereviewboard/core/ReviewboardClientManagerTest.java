@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+
+import org.eclipse.mylyn.commons.net.AbstractWebLocation;
+import org.eclipse.mylyn.commons.net.WebLocation;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.TaskRepositoryLocationFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.review_board.ereviewboard.core.client.ReviewboardClient;
+
+public class ReviewboardClientManagerTest {
+
+    private static final String OLD_URL = "http://reviews.example.com";
+    private static final String NEW_URL = "https://reviews.example.com";
+
+    private File directory;
+    private ReviewboardClientManager clientManager;
+
+    @Before
+    public void setUp() throws IOException {
+
+        directory = File.createTempFile("clientManager", null);
+        directory.delete();
+        directory.mkdirs();
+
+        clientManager = new ReviewboardClientManager(new File(directory, "repositoryClientDataCache"));
+        clientManager.setTaskRepositoryLocationFactory(new TaskRepositoryLocationFactory() {
+            @Override
+            public AbstractWebLocation createWebLocation(TaskRepository taskRepository) {
+                return new WebLocation(taskRepository.getRepositoryUrl(), "user", "password");
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+
+        clientManager.shutdown();
+        delete(directory);
+    }
+
+    private static void delete(File file) {
+
+        File[] children = file.listFiles();
+        if (children != null)
+            for (File child : children)
+                delete(child);
+        file.delete();
+    }
+
+    private File getCache(String kind, String repositoryUrl) throws Exception {
+
+        MessageDigest digest = MessageDigest.getInstance("MD5");
+        StringBuilder fileName = new StringBuilder();
+        for (byte b : digest.digest(repositoryUrl.getBytes("UTF-8"))) {
+            fileName.append(Character.forDigit((b >> 4) & 0xf, 16));
+            fileName.append(Character.forDigit(b & 0xf, 16));
+        }
+
+        return new File(new File(directory, kind), fileName.toString());
+    }
+
+    private static void touch(File file) throws IOException {
+
+        file.getParentFile().mkdirs();
+        new FileOutputStream(file).close();
+    }
+
+    @Test
+    public void cachesFollowTheRepositoryUrl() throws Exception {
+
+        TaskRepository oldRepository = new TaskRepository(ReviewboardCorePlugin.REPOSITORY_KIND, OLD_URL);
+        ReviewboardClient oldClient = clientManager.getClient(oldRepository);
+
+        touch(getCache("responseCache", OLD_URL));
+        touch(new File(getCache("attachmentCache", OLD_URL), "blob"));
+
+        TaskRepository newRepository = new TaskRepository(ReviewboardCorePlugin.REPOSITORY_KIND, NEW_URL);
+        clientManager.repositoryUrlChanged(newRepository, OLD_URL);
+
+        assertThat(getCache("responseCache", OLD_URL).exists(), is(false));
+        assertThat(getCache("attachmentCache", OLD_URL).exists(), is(false));
+        assertThat(getCache("responseCache", NEW_URL).exists(), is(true));
+        assertThat(new File(getCache("attachmentCache", NEW_URL), "blob").exists(), is(true));
+
+        ReviewboardClient newClient = clientManager.getClient(newRepository);
+        assertThat(newClient, not(sameInstance(oldClient)));
+        assertThat(newClient.getClientData(), sameInstance(oldClient.getClientData()));
+
+        clientManager.repositoryRemoved(newRepository);
+
+        assertThat(getCache("responseCache", NEW_URL).exists(), is(false));
+        assertThat(getCache("attachmentCache", NEW_URL).exists(), is(false));
+    }
+}
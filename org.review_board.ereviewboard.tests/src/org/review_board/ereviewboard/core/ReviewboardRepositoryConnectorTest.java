@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.commons.net.AbstractWebLocation;
+import org.eclipse.mylyn.commons.net.WebLocation;
+import org.eclipse.mylyn.internal.tasks.core.RepositoryQuery;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.TaskRepositoryLocationFactory;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.review_board.ereviewboard.core.client.MockDataSet;
+import org.review_board.ereviewboard.core.client.MockReviewboardServer;
+import org.review_board.ereviewboard.core.client.RestfulReviewboardClient;
+import org.review_board.ereviewboard.core.client.ReviewboardClient;
+import org.review_board.ereviewboard.core.client.ReviewboardClientData;
+import org.review_board.ereviewboard.core.exception.ReviewboardException;
+import org.review_board.ereviewboard.core.model.ReviewRequest;
+
+public class ReviewboardRepositoryConnectorTest {
+
+    private static final int REVIEW_REQUESTS = 120;
+
+    private MockReviewboardServer server;
+    private ReviewboardRepositoryConnector connector;
+    private TaskRepository repository;
+
+    @Before
+    public void setUp() throws IOException {
+
+        server = new MockReviewboardServer(MockDataSet.generate(3, REVIEW_REQUESTS));
+        server.start();
+
+        repository = new TaskRepository(ReviewboardCorePlugin.REPOSITORY_KIND, server.getUrl());
+
+        connector = new ReviewboardRepositoryConnector(new ReviewboardClientManager(null));
+        connector.setTaskRepositoryLocationFactory(new TaskRepositoryLocationFactory() {
+            @Override
+            public AbstractWebLocation createWebLocation(TaskRepository taskRepository) {
+                return new WebLocation(server.getUrl(), "user1", MockDataSet.PASSWORD);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+
+        connector.stop();
+        server.stop();
+    }
+
+    private RepositoryQuery newQuery() {
+
+        RepositoryQuery query = new RepositoryQuery(ReviewboardCorePlugin.REPOSITORY_KIND, "test");
+        query.setUrl("?status=all");
+        query.setAttribute("maxResults", String.valueOf(REVIEW_REQUESTS));
+        return query;
+    }
+
+    @Test
+    public void performQuery() {
+
+        final AtomicInteger collected = new AtomicInteger();
+        IStatus status = connector.performQuery(repository, newQuery(), new TaskDataCollector() {
+            @Override
+            public void accept(TaskData taskData) {
+                collected.incrementAndGet();
+            }
+        }, null, new NullProgressMonitor());
+
+        assertThat(status.getMessage(), status.isOK(), is(true));
+        assertThat(collected.get(), is(REVIEW_REQUESTS));
+    }
+
+    @Test
+    public void cancelledQueryIsNotReportedAsComplete() {
+
+        final NullProgressMonitor monitor = new NullProgressMonitor();
+        final AtomicInteger collected = new AtomicInteger();
+
+        IStatus status = connector.performQuery(repository, newQuery(), new TaskDataCollector() {
+            @Override
+            public void accept(TaskData taskData) {
+                collected.incrementAndGet();
+                monitor.setCanceled(true);
+            }
+        }, null, monitor);
+
+        assertThat(status.isOK(), is(false));
+        assertThat(status.getSeverity(), is(IStatus.CANCEL));
+        assertTrue("All review requests were collected", collected.get() < REVIEW_REQUESTS);
+    }
+
+    @Test
+    public void failedTaskDoesNotPreventCollectingTheOthers() {
+
+        final int failingId = 3;
+        final RestfulReviewboardClient client = new RestfulReviewboardClient(new WebLocation(server.getUrl(),
+                "user1", MockDataSet.PASSWORD), new ReviewboardClientData(), repository) {
+            @Override
+            public ReviewRequest getReviewRequest(int reviewRequestId, IProgressMonitor monitor)
+                    throws ReviewboardException {
+                if (reviewRequestId == failingId)
+                    throw new IllegalStateException("Unexpected failure for review request " + reviewRequestId);
+                return super.getReviewRequest(reviewRequestId, monitor);
+            }
+        };
+
+        ReviewboardRepositoryConnector connector = new ReviewboardRepositoryConnector(new ReviewboardClientManager(
+                null) {
+            @Override
+            public synchronized ReviewboardClient getClient(TaskRepository taskRepository) {
+                return client;
+            }
+        });
+
+        Set<String> taskIds = new HashSet<String>();
+        for (int i = 1; i <= 6; i++)
+            taskIds.add(String.valueOf(i));
+
+        final Set<String> collected = Collections.synchronizedSet(new HashSet<String>());
+        try {
+            connector.getMultiTaskData(repository, taskIds, new TaskDataCollector() {
+                @Override
+                public void accept(TaskData taskData) {
+                    collected.add(taskData.getTaskId());
+                }
+            }, new NullProgressMonitor());
+            fail("The failed task was not reported");
+        } catch (CoreException e) {
+            assertThat(e.getStatus().getChildren().length, is(1));
+            assertThat(e.getStatus().getChildren()[0].getException() instanceof IllegalStateException, is(true));
+        } finally {
+            client.shutdown();
+        }
+
+        taskIds.remove(String.valueOf(failingId));
+        assertThat(collected, is(taskIds));
+    }
+}
@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.commons.net.AbstractWebLocation;
+import org.eclipse.mylyn.commons.net.WebLocation;
+import org.eclipse.mylyn.internal.tasks.core.RepositoryQuery;
+import org.eclipse.mylyn.internal.tasks.core.TaskTask;
+import org.eclipse.mylyn.internal.tasks.core.sync.SynchronizationSession;
+import org.eclipse.mylyn.tasks.core.ITask;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.TaskRepositoryLocationFactory;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.review_board.ereviewboard.core.client.MockDataSet;
+import org.review_board.ereviewboard.core.client.MockReviewboardServer;
+import org.review_board.ereviewboard.core.model.ReviewRequestStatus;
+
+/**
+ * Runs the connector's synchronization operations end to end against a {@link MockReviewboardServer}
+ * and checks the number of requests they make
+ *
+ * <p>
+ * The tests only run when the <tt>ereviewboard.loadtest</tt> system property is set to <tt>true</tt>.
+ * The number of review requests and the latency of the server are set with the
+ * <tt>ereviewboard.loadtest.reviewRequests</tt> and <tt>ereviewboard.loadtest.latencyMillis</tt> system
+ * properties. The failure messages include the requests made by each endpoint and the time taken.
+ * </p>
+ */
+public class SynchronizationLoadTest {
+
+    private static final int REVIEW_REQUESTS = Integer.getInteger("ereviewboard.loadtest.reviewRequests", 200)
+            .intValue();
+    private static final long LATENCY_MILLIS = Long.getLong("ereviewboard.loadtest.latencyMillis", 0).longValue();
+
+    private static final int TASK_DATA_COUNT = Math.min(REVIEW_REQUESTS, 25);
+
+    // the smallest page size the client chooses
+    private static final int MIN_PAGE_SIZE = 25;
+
+    private MockDataSet dataSet;
+    private MockReviewboardServer server;
+    private ReviewboardRepositoryConnector connector;
+    private TaskRepository repository;
+
+    @Before
+    public void setUp() throws IOException {
+
+        assumeTrue(Boolean.getBoolean("ereviewboard.loadtest"));
+
+        dataSet = MockDataSet.generate(1, REVIEW_REQUESTS);
+        server = new MockReviewboardServer(dataSet);
+        server.setLatencyMillis(LATENCY_MILLIS);
+        server.start();
+
+        repository = new TaskRepository(ReviewboardCorePlugin.REPOSITORY_KIND, server.getUrl());
+
+        connector = new ReviewboardRepositoryConnector(new ReviewboardClientManager(null));
+        connector.setTaskRepositoryLocationFactory(new TaskRepositoryLocationFactory() {
+            @Override
+            public AbstractWebLocation createWebLocation(TaskRepository taskRepository) {
+                return new WebLocation(server.getUrl(), "user1", MockDataSet.PASSWORD);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+
+        if (server == null)
+            return;
+
+        connector.stop();
+        server.stop();
+    }
+
+    @Test
+    public void performQuery() {
+
+        long start = System.currentTimeMillis();
+        int collected = performQuery("?status=all");
+
+        String report = report("performQuery", start);
+
+        assertThat(collected, is(REVIEW_REQUESTS));
+
+        int maxPages = REVIEW_REQUESTS / MIN_PAGE_SIZE + 1;
+        assertTrue(report, server.getRequestCount("/api/review-requests/") <= maxPages);
+        // logging in, the server information, the groups and the repositories
+        assertTrue(report, server.getRequestCount() <= maxPages + 4);
+    }
+
+    private int performQuery(String url) {
+
+        RepositoryQuery query = new RepositoryQuery(ReviewboardCorePlugin.REPOSITORY_KIND, "loadTest");
+        query.setUrl(url);
+        query.setAttribute("maxResults", String.valueOf(REVIEW_REQUESTS * 2));
+
+        final AtomicInteger collected = new AtomicInteger();
+        IStatus status = connector.performQuery(repository, query, new TaskDataCollector() {
+            @Override
+            public void accept(TaskData taskData) {
+                collected.incrementAndGet();
+            }
+        }, null, new NullProgressMonitor());
+
+        assertThat(status.getMessage(), status.isOK(), is(true));
+
+        return collected.get();
+    }
+
+    @Test
+    public void getTaskData() throws CoreException {
+
+        long start = System.currentTimeMillis();
+        for (int i = 1; i <= TASK_DATA_COUNT; i++)
+            connector.getTaskData(repository, String.valueOf(i), new NullProgressMonitor());
+
+        String report = report("getTaskData, first pass", start);
+        assertThat(report, server.getRequestCount("/api/review-requests/{id}/"), is(TASK_DATA_COUNT));
+        server.resetStatistics();
+
+        start = System.currentTimeMillis();
+        for (int i = 1; i <= TASK_DATA_COUNT; i++)
+            connector.getTaskData(repository, String.valueOf(i), new NullProgressMonitor());
+
+        // the details of unchanged review requests are not requested again
+        report = report("getTaskData, unchanged", start);
+        assertThat(report, server.getRequestCount(), is(TASK_DATA_COUNT));
+        assertThat(report, server.getRequestCount("/api/review-requests/{id}/"), is(TASK_DATA_COUNT));
+    }
+
+    @Test
+    public void preSynchronization() throws CoreException {
+
+        Set<ITask> tasks = new HashSet<ITask>();
+        for (int i = 1; i <= REVIEW_REQUESTS; i++)
+            tasks.add(new TaskTask(ReviewboardCorePlugin.REPOSITORY_KIND, server.getUrl(), String.valueOf(i)));
+
+        // the server includes the review requests updated at the timestamp itself
+        repository.setSynchronizationTimeStamp(String.valueOf(dataSet.getTime().getTime() + 1000));
+
+        long start = System.currentTimeMillis();
+        SynchronizationSession session = preSynchronization(tasks);
+
+        String report = report("preSynchronization, unchanged", start);
+        assertThat(session.getStaleTasks().size(), is(0));
+        assertThat(report, server.getRequestCount("/api/review-requests/"), is(1));
+        server.resetStatistics();
+
+        dataSet.addReview(1);
+        dataSet.addReview(REVIEW_REQUESTS / 2);
+        dataSet.setStatus(REVIEW_REQUESTS, ReviewRequestStatus.SUBMITTED);
+
+        start = System.currentTimeMillis();
+        session = preSynchronization(tasks);
+
+        report = report("preSynchronization, three changed", start);
+        assertThat(report, server.getRequestCount(), is(1));
+
+        Set<String> staleIds = new HashSet<String>();
+        for (ITask task : session.getStaleTasks())
+            staleIds.add(task.getTaskId());
+
+        assertThat(staleIds.size(), is(3));
+        assertTrue(staleIds.contains("1"));
+        assertTrue(staleIds.contains(String.valueOf(REVIEW_REQUESTS / 2)));
+        assertTrue(staleIds.contains(String.valueOf(REVIEW_REQUESTS)));
+    }
+
+    private SynchronizationSession preSynchronization(Set<ITask> tasks) throws CoreException {
+
+        SynchronizationSession session = new SynchronizationSession();
+        session.setTaskRepository(repository);
+        session.setTasks(tasks);
+
+        connector.preSynchronization(session, new NullProgressMonitor());
+
+        return session;
+    }
+
+    @Test
+    public void failedQueryIsReported() {
+
+        server.setFailureRate(1);
+
+        RepositoryQuery query = new RepositoryQuery(ReviewboardCorePlugin.REPOSITORY_KIND, "loadTest");
+        query.setUrl("?status=all");
+        query.setAttribute("maxResults", String.valueOf(REVIEW_REQUESTS));
+
+        IStatus status = connector.performQuery(repository, query, new TaskDataCollector() {
+            @Override
+            public void accept(TaskData taskData) {
+            }
+        }, null, new NullProgressMonitor());
+
+        assertThat(status.getSeverity(), is(IStatus.ERROR));
+    }
+
+    /**
+     * @return a description of the requests made since the server statistics were last reset
+     */
+    private String report(String operation, long start) {
+
+        long elapsed = System.currentTimeMillis() - start;
+
+        StringBuilder report = new StringBuilder();
+        report.append(operation).append(" : ").append(server.getRequestCount()).append(" requests, ")
+                .append(server.getBytesSent()).append(" bytes, ").append(server.getConnectionCount())
+                .append(" connections in ").append(elapsed).append(" ms (").append(REVIEW_REQUESTS)
+                .append(" review requests, ").append(LATENCY_MILLIS).append(" ms latency)");
+
+        for (Map.Entry<String, Integer> entry : server.getRequestCounts().entrySet())
+            report.append("\n    ").append(entry.getKey()).append(" : ").append(entry.getValue());
+
+        // the client statistics are cumulative
+        report.append('\n').append(connector.getClientManager().getClient(repository).getStatistics());
+
+        return report.toString();
+    }
+}
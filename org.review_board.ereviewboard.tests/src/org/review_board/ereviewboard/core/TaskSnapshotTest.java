@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+import org.review_board.ereviewboard.core.ReviewDetailsLoader.ReplyDetails;
+import org.review_board.ereviewboard.core.ReviewDetailsLoader.ReviewDetails;
+import org.review_board.ereviewboard.core.model.Diff;
+import org.review_board.ereviewboard.core.model.Review;
+import org.review_board.ereviewboard.core.model.ReviewReply;
+import org.review_board.ereviewboard.core.model.ReviewRequest;
+import org.review_board.ereviewboard.core.model.Screenshot;
+import org.review_board.ereviewboard.core.model.ScreenshotComment;
+
+public class TaskSnapshotTest {
+
+    private static final Date LAST_UPDATED = new Date(1000);
+
+    private ReviewDetails newReviewDetails(boolean publicReview, boolean... publicReplies) {
+
+        Review review = new Review();
+        review.setPublicReview(publicReview);
+
+        ReviewDetails details = new ReviewDetails(review);
+        for (boolean publicReply : publicReplies) {
+            ReviewReply reply = new ReviewReply();
+            reply.setPublicReply(publicReply);
+            details.replies.add(new ReplyDetails(reply));
+        }
+
+        return details;
+    }
+
+    private TaskSnapshot newSnapshot(ReviewDetails... reviews) {
+
+        List<ReviewDetails> reviewList = new ArrayList<ReviewDetails>();
+        Collections.addAll(reviewList, reviews);
+
+        return new TaskSnapshot(LAST_UPDATED, new ArrayList<Diff>(), new ArrayList<Screenshot>(), reviewList,
+                new HashMap<Integer, List<ScreenshotComment>>());
+    }
+
+    private ReviewRequest newReviewRequest(Date lastUpdated) {
+
+        ReviewRequest reviewRequest = new ReviewRequest();
+        reviewRequest.setLastUpdated(lastUpdated);
+        return reviewRequest;
+    }
+
+    @Test
+    public void upToDateWhenNotUpdated() {
+
+        TaskSnapshot snapshot = newSnapshot(newReviewDetails(true, true), newReviewDetails(true));
+
+        assertThat(snapshot.isUpToDate(newReviewRequest(new Date(LAST_UPDATED.getTime()))), is(true));
+    }
+
+    @Test
+    public void notUpToDateWhenUpdated() {
+
+        TaskSnapshot snapshot = newSnapshot(newReviewDetails(true));
+
+        assertThat(snapshot.isUpToDate(newReviewRequest(new Date(2000))), is(false));
+    }
+
+    @Test
+    public void notUpToDateWithDrafts() {
+
+        assertThat(newSnapshot(newReviewDetails(false)).isUpToDate(newReviewRequest(LAST_UPDATED)), is(false));
+        assertThat(newSnapshot(newReviewDetails(true, true, false)).isUpToDate(newReviewRequest(LAST_UPDATED)),
+                is(false));
+    }
+
+    @Test
+    public void publishedReviewCountStopsAtFirstDraft() {
+
+        TaskSnapshot snapshot = newSnapshot(newReviewDetails(true), newReviewDetails(true), newReviewDetails(false),
+                newReviewDetails(true));
+
+        assertThat(snapshot.getPublishedReviewCount(), is(2));
+    }
+}
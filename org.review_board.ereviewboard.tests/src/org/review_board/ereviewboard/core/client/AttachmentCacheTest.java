@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AttachmentCacheTest {
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+
+        directory = File.createTempFile("attachmentCache", null);
+        directory.delete();
+    }
+
+    @After
+    public void tearDown() {
+
+        delete(directory);
+    }
+
+    private static void delete(File file) {
+
+        File[] children = file.listFiles();
+        if (children != null)
+            for (File child : children)
+                delete(child);
+        file.delete();
+    }
+
+    private static byte[] content(int length, int seed) {
+
+        byte[] content = new byte[length];
+        for (int i = 0; i < content.length; i++)
+            content[i] = (byte) (i * 31 + seed);
+        return content;
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+
+        try {
+            return IOUtils.toByteArray(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void put(AttachmentCache cache, String key, byte[] content) throws IOException {
+
+        readFully(cache.spool(key, new ByteArrayInputStream(content)));
+    }
+
+    private static byte[] get(AttachmentCache cache, String key) throws IOException {
+
+        InputStream in = cache.open(key);
+        return in != null ? readFully(in) : null;
+    }
+
+    @Test
+    public void missingKey() throws IOException {
+
+        assertThat(get(new AttachmentCache(directory), AttachmentCache.diffKey(1, 1)), nullValue());
+    }
+
+    @Test
+    public void contentIsKeptAcrossInstances() throws IOException {
+
+        byte[] diff = content(5000, 1);
+        put(new AttachmentCache(directory), AttachmentCache.diffKey(1, 2), diff);
+
+        AttachmentCache cache = new AttachmentCache(directory);
+
+        assertThat(get(cache, AttachmentCache.diffKey(1, 2)), is(diff));
+        assertThat(get(cache, AttachmentCache.diffKey(1, 3)), nullValue());
+        assertThat(cache.getTotalBytes(), is(5000L));
+    }
+
+    @Test
+    public void identicalContentIsStoredOnce() throws IOException {
+
+        AttachmentCache cache = new AttachmentCache(directory);
+        put(cache, AttachmentCache.screenshotKey("uploaded/images/a.png"), content(100, 1));
+        put(cache, AttachmentCache.screenshotKey("uploaded/images/b.png"), content(100, 1));
+
+        assertThat(cache.getTotalBytes(), is(100L));
+        assertThat(get(cache, AttachmentCache.screenshotKey("uploaded/images/b.png")), is(content(100, 1)));
+    }
+
+    @Test
+    public void leastRecentlyUsedContentIsEvicted() throws IOException {
+
+        AttachmentCache cache = new AttachmentCache(directory, 250);
+        put(cache, AttachmentCache.diffKey(1, 1), content(100, 1));
+        put(cache, AttachmentCache.diffKey(1, 2), content(100, 2));
+        get(cache, AttachmentCache.diffKey(1, 1));
+        put(cache, AttachmentCache.diffKey(1, 3), content(100, 3));
+
+        assertThat(get(cache, AttachmentCache.diffKey(1, 1)), is(content(100, 1)));
+        assertThat(get(cache, AttachmentCache.diffKey(1, 2)), nullValue());
+        assertThat(get(cache, AttachmentCache.diffKey(1, 3)), is(content(100, 3)));
+        assertThat(cache.getTotalBytes(), is(200L));
+    }
+
+    @Test
+    public void openContentIsEvictedOnceClosed() throws IOException {
+
+        AttachmentCache cache = new AttachmentCache(directory, 250);
+        put(cache, AttachmentCache.diffKey(1, 1), content(100, 1));
+
+        InputStream opened = cache.open(AttachmentCache.diffKey(1, 1));
+        File[] blobs = new File(directory, "blobs").listFiles();
+        assertThat(blobs.length, is(1));
+
+        put(cache, AttachmentCache.diffKey(1, 2), content(100, 2));
+        put(cache, AttachmentCache.diffKey(1, 3), content(100, 3));
+
+        assertThat(blobs[0].exists(), is(true));
+        assertThat(cache.getTotalBytes(), is(200L));
+        assertThat(get(cache, AttachmentCache.diffKey(1, 2)), nullValue());
+        assertThat(readFully(opened), is(content(100, 1)));
+
+        put(cache, AttachmentCache.diffKey(1, 4), content(100, 4));
+
+        assertThat(blobs[0].exists(), is(false));
+        assertThat(cache.getTotalBytes(), is(200L));
+        assertThat(get(cache, AttachmentCache.diffKey(1, 1)), nullValue());
+        assertThat(get(cache, AttachmentCache.diffKey(1, 3)), is(content(100, 3)));
+    }
+
+    @Test
+    public void loweringTheLimitEvicts() throws IOException {
+
+        AttachmentCache cache = new AttachmentCache(directory);
+        put(cache, AttachmentCache.diffKey(1, 1), content(100, 1));
+        put(cache, AttachmentCache.diffKey(1, 2), content(100, 2));
+
+        cache.setMaxBytes(150);
+
+        assertThat(cache.getTotalBytes(), is(100L));
+        assertThat(get(cache, AttachmentCache.diffKey(1, 1)), nullValue());
+    }
+
+    @Test
+    public void contentLargerThanTheLimitIsNotCached() throws IOException {
+
+        AttachmentCache cache = new AttachmentCache(directory, 50);
+        put(cache, AttachmentCache.diffKey(1, 1), content(100, 1));
+
+        assertThat(get(cache, AttachmentCache.diffKey(1, 1)), nullValue());
+    }
+
+    @Test
+    public void spooledContentIsStored() throws IOException {
+
+        AttachmentCache cache = new AttachmentCache(directory);
+        byte[] diff = content(1024 * 1024 + 7, 3);
+
+        assertThat(readFully(cache.spool(AttachmentCache.diffKey(1, 1), new ByteArrayInputStream(diff))), is(diff));
+        assertThat(get(cache, AttachmentCache.diffKey(1, 1)), is(diff));
+        assertThat(cache.getTotalBytes(), is((long) diff.length));
+    }
+
+    @Test
+    public void spooledContentLargerThanTheLimitIsDeletedWhenClosed() throws IOException {
+
+        AttachmentCache cache = new AttachmentCache(directory, 50);
+
+        InputStream spooled = cache.spool(AttachmentCache.diffKey(1, 1), new ByteArrayInputStream(content(100, 1)));
+        assertThat(new File(directory, "blobs").list().length, is(1));
+        assertThat(readFully(spooled), is(content(100, 1)));
+
+        assertThat(new File(directory, "blobs").list().length, is(0));
+        assertThat(cache.open(AttachmentCache.diffKey(1, 1)), nullValue());
+    }
+
+    @Test
+    public void corruptedContentIsNotOpened() throws IOException {
+
+        AttachmentCache cache = new AttachmentCache(directory);
+        put(cache, AttachmentCache.diffKey(1, 1), content(100, 1));
+
+        File blob = new File(directory, "blobs").listFiles()[0];
+        OutputStream out = new FileOutputStream(blob, true);
+        try {
+            out.write(1);
+        } finally {
+            out.close();
+        }
+
+        assertThat(cache.open(AttachmentCache.diffKey(1, 1)), nullValue());
+        assertThat(blob.exists(), is(false));
+    }
+
+    @Test
+    public void corruptedContentIsDiscarded() throws IOException {
+
+        AttachmentCache cache = new AttachmentCache(directory);
+        put(cache, AttachmentCache.diffKey(1, 1), content(100, 1));
+
+        File[] blobs = new File(directory, "blobs").listFiles();
+        assertThat(blobs.length, is(1));
+        OutputStream out = new FileOutputStream(blobs[0]);
+        try {
+            out.write(content(100, 2));
+        } finally {
+            out.close();
+        }
+
+        assertThat(cache.open(AttachmentCache.diffKey(1, 1)), nullValue());
+        assertThat(blobs[0].exists(), is(false));
+        assertThat(cache.getTotalBytes(), is(0L));
+    }
+}
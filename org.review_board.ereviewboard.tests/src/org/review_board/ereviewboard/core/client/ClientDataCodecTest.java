@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.TimeZone;
+
+import org.junit.Test;
+import org.review_board.ereviewboard.core.model.Repository;
+import org.review_board.ereviewboard.core.model.ReviewGroup;
+import org.review_board.ereviewboard.core.model.User;
+
+public class ClientDataCodecTest {
+
+    private static ReviewboardClientData newClientData() {
+
+        User admin = new User("admin");
+        admin.setId(1);
+        admin.setFirstName("Admin");
+        admin.setEmail("admin@example.com");
+
+        User doc = new User("doc");
+        doc.setId(2);
+        doc.setFirstName("Doc");
+        doc.setLastName("Dwarf");
+
+        ReviewGroup group = new ReviewGroup("reviewers");
+        group.setId(-3);
+        group.setDisplayName("Reviewers");
+        group.setMailingList("reviewers@example.com");
+
+        Repository repository = new Repository();
+        repository.setId(300);
+        repository.setName("ereviewboard");
+        repository.setTool("Git");
+        repository.setPath("git://example.com/ereviewboard.git");
+
+        ReviewboardClientData data = new ReviewboardClientData();
+        data.setUsers(Arrays.asList(admin, doc));
+        data.setGroups(Arrays.asList(group));
+        data.setRepositories(Arrays.asList(repository));
+        data.setTimeZone(TimeZone.getTimeZone("Europe/Bucharest"));
+        data.setPageSize("review-requests", 200);
+        data.getCommentCounts().putDiffComments(5, 8, 13);
+        data.getCommentCounts().putReplyScreenshotComments(5, 8, 9, 2);
+        data.setRefreshTime("GROUPS", 1300000600000L);
+        data.lastupdate = 1300000000000L;
+
+        return data;
+    }
+
+    private static byte[] write(ReviewboardClientData data) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ClientDataCodec.write(data, out);
+        return out.toByteArray();
+    }
+
+    private static void assertRoundTripped(ReviewboardClientData read) {
+
+        assertThat(read.getUsers().size(), is(2));
+        User doc = read.getUser("doc");
+        assertThat(doc.getId(), is(2));
+        assertThat(doc.getFirstName(), is("Doc"));
+        assertThat(doc.getLastName(), is("Dwarf"));
+        assertThat(doc.getEmail(), nullValue());
+        assertThat(read.getUser("admin").getEmail(), is("admin@example.com"));
+
+        assertThat(read.getGroups().size(), is(1));
+        ReviewGroup group = read.getGroup("reviewers");
+        assertThat(group.getId(), is(-3));
+        assertThat(group.getDisplayName(), is("Reviewers"));
+        assertThat(group.getMailingList(), is("reviewers@example.com"));
+
+        assertThat(read.getRepositories().size(), is(1));
+        Repository repository = read.getRepositories().get(0);
+        assertThat(repository.getId(), is(300));
+        assertThat(repository.getName(), is("ereviewboard"));
+        assertThat(repository.getTool(), is("Git"));
+        assertThat(repository.getPath(), is("git://example.com/ereviewboard.git"));
+
+        assertThat(read.getTimeZone().getID(), is("Europe/Bucharest"));
+        assertThat(read.getPageSize("review-requests"), is(200));
+        assertThat(read.getCommentCounts().getDiffComments(5, 8), is(13));
+        assertThat(read.getCommentCounts().getReplyScreenshotComments(5, 8, 9), is(2));
+        assertThat(read.getRefreshTime("GROUPS"), is(1300000600000L));
+        assertThat(read.getRefreshTime("USERS"), is(1300000000000L));
+        assertThat(read.lastupdate, is(1300000000000L));
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+
+        assertRoundTripped(ClientDataCodec.read(ByteBuffer.wrap(write(newClientData()))));
+    }
+
+    @Test
+    public void roundTripThroughFile() throws IOException {
+
+        File file = File.createTempFile("clientData", null);
+        try {
+            ClientDataCodec.write(newClientData(), file);
+
+            assertRoundTripped(ClientDataCodec.read(file));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void emptyData() throws IOException {
+
+        ReviewboardClientData read = ClientDataCodec.read(ByteBuffer.wrap(write(new ReviewboardClientData())));
+
+        assertThat(read.getUsers().size(), is(0));
+        assertThat(read.getGroups().size(), is(0));
+        assertThat(read.getRepositories().size(), is(0));
+        assertThat(read.getTimeZone(), nullValue());
+        assertThat(read.lastupdate, is(0L));
+    }
+
+    @Test
+    public void stringsAreWrittenOnce() throws IOException {
+
+        ReviewboardClientData data = new ReviewboardClientData();
+        User[] users = new User[50];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = new User("user" + i);
+            users[i].setUrl("http://reviews.example.com/users/");
+        }
+        data.setUsers(Arrays.asList(users));
+
+        byte[] written = write(data);
+
+        assertThat(new String(written, "UTF-8").split("reviews.example.com", -1).length, is(2));
+    }
+
+    @Test
+    public void unknownSectionsAreSkipped() throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+        buffer.putInt(ClientDataCodec.MAGIC);
+        buffer.put((byte) ClientDataCodec.VERSION);
+        buffer.put((byte) 0); // no strings
+        buffer.put((byte) 99).put((byte) 3).put(new byte[] { 1, 2, 3 });
+        buffer.put((byte) 0); // end
+        buffer.flip();
+
+        assertThat(ClientDataCodec.read(buffer).getUsers().size(), is(0));
+    }
+
+    @Test
+    public void badMagicIsRejected() {
+
+        assertUnreadable(ByteBuffer.wrap(new byte[] { (byte) 0xAC, (byte) 0xED, 0, 5, 1, 0, 0 }));
+    }
+
+    @Test
+    public void newerVersionIsRejected() {
+
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        buffer.putInt(ClientDataCodec.MAGIC);
+        buffer.put((byte) (ClientDataCodec.VERSION + 1));
+        buffer.put((byte) 0).put((byte) 0);
+        buffer.flip();
+
+        assertUnreadable(buffer);
+    }
+
+    @Test
+    public void truncatedDataIsRejected() throws IOException {
+
+        byte[] written = write(newClientData());
+
+        for (int length = 0; length < written.length; length += 7)
+            assertUnreadable(ByteBuffer.wrap(written, 0, length));
+    }
+
+    @Test
+    public void negativeStringReferenceIsRejected() {
+
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+        buffer.putInt(ClientDataCodec.MAGIC);
+        buffer.put((byte) ClientDataCodec.VERSION);
+        buffer.put((byte) 0); // no strings
+        buffer.put((byte) 1).put((byte) 7); // users
+        buffer.put((byte) 1).put((byte) 0); // one user, with id 0
+        buffer.put(new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F }); // username -1
+        buffer.put((byte) 0); // end
+        buffer.flip();
+
+        assertUnreadable(buffer);
+    }
+
+    @Test
+    public void fileCanBeReplacedAfterReading() throws IOException {
+
+        File file = File.createTempFile("clientData", null);
+        File replacement = File.createTempFile("clientData", null);
+        try {
+            ClientDataCodec.write(newClientData(), file);
+            ClientDataCodec.read(file);
+
+            ClientDataCodec.write(new ReviewboardClientData(), replacement);
+            assertThat(file.delete(), is(true));
+            assertThat(replacement.renameTo(file), is(true));
+            assertThat(ClientDataCodec.read(file).getUsers().size(), is(0));
+        } finally {
+            file.delete();
+            replacement.delete();
+        }
+    }
+
+    private static void assertUnreadable(ByteBuffer buffer) {
+
+        try {
+            ClientDataCodec.read(buffer);
+            fail("Read invalid client data");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+}
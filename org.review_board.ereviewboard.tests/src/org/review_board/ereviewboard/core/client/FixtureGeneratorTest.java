@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.review_board.ereviewboard.core.client.FixtureGenerator.Resource;
+import org.review_board.ereviewboard.core.exception.ReviewboardException;
+import org.review_board.ereviewboard.core.model.ReviewRequest;
+import org.review_board.ereviewboard.core.model.User;
+
+public class FixtureGeneratorTest {
+
+    private FixtureGenerator generator;
+    private RestfulReviewboardReader reader;
+
+    @Before
+    public void setUp() {
+
+        generator = new FixtureGenerator(1);
+        reader = new RestfulReviewboardReader();
+    }
+
+    @Test
+    public void pagesAreDeterministic() {
+
+        for (Resource resource : Resource.values())
+            assertThat(new FixtureGenerator(1).page(resource, 20), is(generator.page(resource, 20)));
+
+        assertThat(new FixtureGenerator(2).page(Resource.REVIEW_REQUESTS, 20), not(generator.page(
+                Resource.REVIEW_REQUESTS, 20)));
+    }
+
+    @Test
+    public void pagesAreConsistent() throws ReviewboardException {
+
+        List<ReviewRequest> all = reader.readReviewRequests(generator.page(Resource.REVIEW_REQUESTS, 0, 30, 30))
+                .getResults();
+        PagedResult<ReviewRequest> secondPage = reader.readReviewRequests(generator.page(
+                Resource.REVIEW_REQUESTS, 10, 10, 30));
+
+        assertThat(secondPage.getTotalResults(), is(30));
+        assertThat(secondPage.getResults().size(), is(10));
+        for (int i = 0; i < 10; i++) {
+            ReviewRequest expected = all.get(10 + i);
+            ReviewRequest actual = secondPage.getResults().get(i);
+            assertThat(actual.getId(), is(expected.getId()));
+            assertThat(actual.getSummary(), is(expected.getSummary()));
+            assertThat(actual.getLastUpdated(), is(expected.getLastUpdated()));
+        }
+
+        assertThat(reader.readReviewRequest(generator.reviewRequest(15)).getDescription(), is(all.get(15)
+                .getDescription()));
+    }
+
+    @Test
+    public void lastPageIsPartial() throws ReviewboardException {
+
+        PagedResult<User> users = reader.readUsers(generator.page(Resource.USERS, 20, 25, 30));
+
+        assertThat(users.getResults().size(), is(10));
+        assertThat(users.getResults().get(9).getUsername(), is("user30"));
+    }
+
+    @Test
+    public void allResourcesAreRead() throws ReviewboardException {
+
+        generator.setUnicode(true);
+
+        assertThat(reader.readUsers(generator.page(Resource.USERS, 50)).getResults().size(), is(50));
+        assertThat(reader.readUsers(new StringReader(generator.page(Resource.USERS, 50))).getResults().size(),
+                is(50));
+        assertThat(reader.readGroups(generator.page(Resource.GROUPS, 50)).getResults().size(), is(50));
+        assertThat(reader.readRepositories(generator.page(Resource.REPOSITORIES, 50)).getResults().size(), is(50));
+        assertThat(reader.readReviews(generator.page(Resource.REVIEWS, 50)).getResults().size(), is(50));
+        assertThat(reader.readReviews(new StringReader(generator.page(Resource.REVIEWS, 50))).getResults().size(),
+                is(50));
+        assertThat(reader.readReviewReplies(generator.page(Resource.REPLIES, 50)).getResults().size(), is(50));
+        assertThat(reader.readDiffs(generator.page(Resource.DIFFS, 50)).size(), is(50));
+        assertThat(reader.readScreenshots(generator.page(Resource.SCREENSHOTS, 50)).size(), is(50));
+        assertThat(reader.readDiffComments(generator.page(Resource.DIFF_COMMENTS, 50)).getResults().size(), is(50));
+        assertThat(reader.readScreenshotComments(generator.page(Resource.SCREENSHOT_COMMENTS, 50)).getResults()
+                .size(), is(50));
+        assertThat(reader.readCount(generator.count(50)), is(50));
+    }
+
+    @Test
+    public void unicodeIsEscaped() throws ReviewboardException, JSONException {
+
+        generator.setUnicode(true);
+        String page = generator.page(Resource.REVIEW_REQUESTS, 200);
+
+        for (int i = 0; i < page.length(); i++)
+            assertTrue("Unescaped character at " + i, page.charAt(i) >= 0x20 && page.charAt(i) < 0x7f);
+
+        assertStreamedAndTreeReadersAgree(page);
+        assertThat(new JSONObject(page).getJSONArray("review_requests").length(), is(200));
+    }
+
+    @Test
+    public void unescapedUnicode() throws ReviewboardException {
+
+        generator.setUnicode(true);
+        generator.setAsciiOnly(false);
+
+        assertStreamedAndTreeReadersAgree(generator.page(Resource.REVIEW_REQUESTS, 200));
+    }
+
+    @Test
+    public void hugeDescriptions() throws ReviewboardException {
+
+        generator.setUnicode(true);
+        generator.setDescriptionLength(1000000);
+
+        List<ReviewRequest> reviewRequests = assertStreamedAndTreeReadersAgree(generator.page(
+                Resource.REVIEW_REQUESTS, 3));
+
+        for (ReviewRequest reviewRequest : reviewRequests)
+            assertThat(reviewRequest.getDescription().length(), is(1000000));
+    }
+
+    @Test
+    public void manyTargetPeople() throws ReviewboardException {
+
+        generator.setTargetPeopleCount(5000);
+
+        List<ReviewRequest> reviewRequests = assertStreamedAndTreeReadersAgree(generator.page(
+                Resource.REVIEW_REQUESTS, 5));
+
+        for (ReviewRequest reviewRequest : reviewRequests)
+            assertThat(reviewRequest.getTargetPeople().size(), is(5000));
+    }
+
+    @Test
+    public void largePage() throws ReviewboardException {
+
+        List<ReviewRequest> reviewRequests = reader.readReviewRequests(
+                new StringReader(generator.page(Resource.REVIEW_REQUESTS, 10000))).getResults();
+
+        assertThat(reviewRequests.size(), is(10000));
+        for (int i = 1; i < reviewRequests.size(); i++)
+            assertTrue(reviewRequests.get(i).getLastUpdated().before(reviewRequests.get(i - 1).getLastUpdated()));
+    }
+
+    private List<ReviewRequest> assertStreamedAndTreeReadersAgree(String page) throws ReviewboardException {
+
+        List<ReviewRequest> tree = reader.readReviewRequests(page).getResults();
+        List<ReviewRequest> streamed = reader.readReviewRequests(new StringReader(page)).getResults();
+
+        assertThat(streamed.size(), is(tree.size()));
+        for (int i = 0; i < tree.size(); i++) {
+            assertThat(streamed.get(i).getSummary(), is(tree.get(i).getSummary()));
+            assertThat(streamed.get(i).getDescription(), is(tree.get(i).getDescription()));
+            assertThat(streamed.get(i).getTestingDone(), is(tree.get(i).getTestingDone()));
+            assertThat(streamed.get(i).getChangeNumber(), is(tree.get(i).getChangeNumber()));
+            assertThat(streamed.get(i).getTargetPeople(), is(tree.get(i).getTargetPeople()));
+            assertThat(streamed.get(i).getTargetGroups(), is(tree.get(i).getTargetGroups()));
+            assertThat(streamed.get(i).getRepository(), is(tree.get(i).getRepository()));
+        }
+
+        return tree;
+    }
+}
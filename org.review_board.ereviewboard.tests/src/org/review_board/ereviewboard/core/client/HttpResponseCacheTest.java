@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+import org.review_board.ereviewboard.core.client.HttpResponseCache.CachedResponse;
+
+public class HttpResponseCacheTest {
+
+    @Test
+    public void responseWithoutValidatorsIsNotCached() {
+
+        HttpResponseCache cache = new HttpResponseCache();
+
+        assertThat(cache.put("key", new CachedResponse("body", null, null)), is(false));
+        assertThat(cache.get("key"), is(nullValue()));
+    }
+
+    @Test
+    public void responseWithValidatorIsCached() {
+
+        HttpResponseCache cache = new HttpResponseCache();
+
+        cache.put("key", new CachedResponse("body", "\"etag\"", null));
+
+        assertThat(cache.get("key").getBody(), is("body"));
+        assertThat(cache.get("key").getETag(), is("\"etag\""));
+    }
+
+    @Test
+    public void responseWithoutValidatorsReplacesCachedResponse() {
+
+        HttpResponseCache cache = new HttpResponseCache();
+
+        cache.put("key", new CachedResponse("body", "\"etag\"", null));
+        cache.put("key", new CachedResponse("body", null, null));
+
+        assertThat(cache.get("key"), is(nullValue()));
+        assertThat(cache.getTotalChars(), is(0));
+    }
+
+    @Test
+    public void largeResponseIsNotCached() {
+
+        HttpResponseCache cache = new HttpResponseCache(10, 4);
+
+        assertThat(cache.put("key", new CachedResponse("12345", "\"etag\"", null)), is(false));
+    }
+
+    @Test
+    public void leastRecentlyUsedResponseIsEvicted() {
+
+        HttpResponseCache cache = new HttpResponseCache(8, 4);
+
+        cache.put("first", new CachedResponse("1234", "\"1\"", null));
+        cache.put("second", new CachedResponse("1234", "\"2\"", null));
+        cache.get("first");
+        cache.put("third", new CachedResponse("1234", "\"3\"", null));
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get("second"), is(nullValue()));
+        assertThat(cache.get("first").getBody(), is("1234"));
+        assertThat(cache.get("third").getBody(), is("1234"));
+        assertThat(cache.getTotalChars(), is(8));
+    }
+
+    @Test
+    public void saveAndLoad() throws IOException {
+
+        File file = File.createTempFile("responseCache", null);
+        try {
+            HttpResponseCache cache = new HttpResponseCache();
+            cache.put(HttpResponseCache.key("/api/info", "application/json"), new CachedResponse("{\"stat\": \"ok\", \"text\": \"\u0103\u00ee\"}", "\"etag\"", null));
+            cache.put(HttpResponseCache.key("/api/users", "application/json"), new CachedResponse("{}", null, "Sat, 29 Oct 1994 19:43:31 GMT"));
+            cache.save(file);
+
+            HttpResponseCache loaded = new HttpResponseCache();
+            loaded.load(file);
+
+            assertThat(loaded.size(), is(2));
+            CachedResponse info = loaded.get(HttpResponseCache.key("/api/info", "application/json"));
+            assertThat(info.getBody(), is("{\"stat\": \"ok\", \"text\": \"\u0103\u00ee\"}"));
+            assertThat(info.getETag(), is("\"etag\""));
+            assertThat(info.getLastModified(), is(nullValue()));
+            CachedResponse users = loaded.get(HttpResponseCache.key("/api/users", "application/json"));
+            assertThat(users.getETag(), is(nullValue()));
+            assertThat(users.getLastModified(), is("Sat, 29 Oct 1994 19:43:31 GMT"));
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+import org.review_board.ereviewboard.core.client.JsonStreamReader.Token;
+
+public class JsonStreamReaderTest {
+
+    @Test
+    public void readObject() throws IOException {
+
+        JsonStreamReader reader = new JsonStreamReader(new StringReader(
+                "{ \"name\" : \"value\", \"count\" : 5, \"public\" : true, \"parent\" : null }"));
+
+        reader.beginObject();
+        assertThat(reader.nextName(), is("name"));
+        assertThat(reader.nextString(), is("value"));
+        assertThat(reader.nextName(), is("count"));
+        assertThat(reader.nextInt(), is(5));
+        assertThat(reader.nextName(), is("public"));
+        assertThat(reader.nextBoolean(), is(true));
+        assertThat(reader.nextName(), is("parent"));
+        assertThat(reader.nextString(), is("null"));
+        assertThat(reader.hasNext(), is(false));
+        reader.endObject();
+
+        assertThat(reader.peek(), is(Token.END_DOCUMENT));
+    }
+
+    @Test
+    public void readEscapedString() throws IOException {
+
+        JsonStreamReader reader = new JsonStreamReader(new StringReader("[\"line\\none \\\"quoted\\\" \\u0103\\/\"]"));
+
+        reader.beginArray();
+        assertThat(reader.nextString(), is("line\none \"quoted\" \u0103/"));
+        reader.endArray();
+    }
+
+    @Test
+    public void readStringLargerThanBuffer() throws IOException {
+
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 20000; i++)
+            value.append(i % 10);
+
+        JsonStreamReader reader = new JsonStreamReader(new StringReader("[\"" + value + "\", 1]"));
+
+        reader.beginArray();
+        assertThat(reader.nextString(), is(value.toString()));
+        assertThat(reader.nextInt(), is(1));
+        reader.endArray();
+    }
+
+    @Test
+    public void skipNestedValues() throws IOException {
+
+        JsonStreamReader reader = new JsonStreamReader(new StringReader(
+                "{ \"links\" : { \"self\" : { \"href\" : \"/\", \"methods\" : [\"GET\", \"PUT\"] } }, \"id\" : 3 }"));
+
+        reader.beginObject();
+        assertThat(reader.nextName(), is("links"));
+        reader.skipValue();
+        assertThat(reader.nextName(), is("id"));
+        assertThat(reader.nextInt(), is(3));
+        reader.endObject();
+    }
+
+    @Test
+    public void readEmptyContainers() throws IOException {
+
+        JsonStreamReader reader = new JsonStreamReader(new StringReader("{ \"a\" : [], \"b\" : {} }"));
+
+        reader.beginObject();
+        reader.nextName();
+        reader.beginArray();
+        assertThat(reader.hasNext(), is(false));
+        reader.endArray();
+        reader.nextName();
+        reader.beginObject();
+        assertThat(reader.hasNext(), is(false));
+        reader.endObject();
+        reader.endObject();
+    }
+
+    @Test(expected = IOException.class)
+    public void unterminatedArrayFails() throws IOException {
+
+        JsonStreamReader reader = new JsonStreamReader(new StringReader("[1, 2"));
+
+        reader.beginArray();
+        while (reader.hasNext())
+            reader.nextInt();
+    }
+
+    @Test(expected = IOException.class)
+    public void missingColonFails() throws IOException {
+
+        JsonStreamReader reader = new JsonStreamReader(new StringReader("{ \"a\" 1 }"));
+
+        reader.beginObject();
+        reader.nextName();
+        reader.nextInt();
+    }
+}
@@ -0,0 +1,487 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.review_board.ereviewboard.core.model.Comment;
+import org.review_board.ereviewboard.core.model.Diff;
+import org.review_board.ereviewboard.core.model.DiffComment;
+import org.review_board.ereviewboard.core.model.Repository;
+import org.review_board.ereviewboard.core.model.Review;
+import org.review_board.ereviewboard.core.model.ReviewGroup;
+import org.review_board.ereviewboard.core.model.ReviewReply;
+import org.review_board.ereviewboard.core.model.ReviewRequest;
+import org.review_board.ereviewboard.core.model.ReviewRequestStatus;
+import org.review_board.ereviewboard.core.model.Screenshot;
+import org.review_board.ereviewboard.core.model.ScreenshotComment;
+import org.review_board.ereviewboard.core.model.User;
+
+/**
+ * The objects served by a {@link MockReviewboardServer}
+ *
+ * <p>
+ * The objects are generated from a seed, so that the same seed and the same sequence of calls always
+ * produce the same data set. Every change moves the data set's clock forward, which makes the changes
+ * visible to <tt>last-updated-from</tt> queries. All methods are synchronized, so that the data set can be
+ * changed while the server is running.
+ * </p>
+ */
+public class MockDataSet {
+
+    /**
+     * The password of every user
+     */
+    public static final String PASSWORD = "password";
+
+    private static final long START_TIME = 1293840000000L; // 2011-01-01 00:00:00 UTC
+    private static final long MINUTE = 60 * 1000L;
+
+    private static final String[] WORDS = { "fix", "add", "remove", "refactor", "update", "parser", "client",
+            "connector", "cache", "query", "review", "request", "diff", "comment", "repository", "timeout",
+            "handling", "support", "for", "the", "of", "in", "when", "null", "empty", "large", "page", "user" };
+
+    private static final String[] TOOLS = { "Subversion", "Git", "Mercurial", "Perforce" };
+
+    private final Random random;
+    private TimeZone timeZone = TimeZone.getDefault();
+    private long time = START_TIME;
+
+    private int maxReviewsPerRequest = 4;
+    private int maxRepliesPerReview = 2;
+    private int maxCommentsPerReview = 3;
+
+    private int nextReviewRequestId = 1;
+    private int nextReviewId = 1;
+    private int nextCommentId = 1;
+    private int nextDiffId = 1;
+    private int nextScreenshotId = 1;
+
+    private final List<User> users = new ArrayList<User>();
+    private final List<ReviewGroup> groups = new ArrayList<ReviewGroup>();
+    private final List<Repository> repositories = new ArrayList<Repository>();
+    private final List<ReviewRequest> reviewRequests = new ArrayList<ReviewRequest>();
+    private final Map<Integer, ReviewRequest> reviewRequestsById = new HashMap<Integer, ReviewRequest>();
+
+    private final Map<Integer, List<Review>> reviewsByRequest = new HashMap<Integer, List<Review>>();
+    private final Map<Integer, List<Diff>> diffsByRequest = new HashMap<Integer, List<Diff>>();
+    private final Map<Integer, List<Screenshot>> screenshotsByRequest = new HashMap<Integer, List<Screenshot>>();
+    private final Map<Integer, List<ReviewReply>> repliesByReview = new HashMap<Integer, List<ReviewReply>>();
+    /**
+     * Reviews and replies share the same ids, like they do on the server
+     */
+    private final Map<Integer, List<DiffComment>> diffCommentsByReview = new HashMap<Integer, List<DiffComment>>();
+    private final Map<Integer, List<ScreenshotComment>> screenshotCommentsByReply = new HashMap<Integer, List<ScreenshotComment>>();
+    private final Map<Integer, List<ScreenshotComment>> screenshotCommentsByScreenshot = new HashMap<Integer, List<ScreenshotComment>>();
+
+    /**
+     * Creates a data set with one user for every five review requests, one group and one repository for
+     * every twenty, and at least two of each
+     */
+    public static MockDataSet generate(long seed, int reviewRequestCount) {
+
+        MockDataSet dataSet = new MockDataSet(seed);
+        dataSet.addUsers(Math.max(2, reviewRequestCount / 5));
+        dataSet.addGroups(Math.max(2, reviewRequestCount / 20));
+        dataSet.addRepositories(Math.max(2, reviewRequestCount / 20));
+        dataSet.addReviewRequests(reviewRequestCount);
+
+        return dataSet;
+    }
+
+    public MockDataSet(long seed) {
+
+        random = new Random(seed);
+    }
+
+    public synchronized TimeZone getTimeZone() {
+
+        return timeZone;
+    }
+
+    /**
+     * Sets the time zone of the server, in which the dates are formatted. Defaults to the local time zone.
+     */
+    public synchronized void setTimeZone(TimeZone timeZone) {
+
+        this.timeZone = timeZone;
+    }
+
+    public synchronized void setMaxReviewsPerRequest(int maxReviewsPerRequest) {
+
+        this.maxReviewsPerRequest = maxReviewsPerRequest;
+    }
+
+    public synchronized void setMaxRepliesPerReview(int maxRepliesPerReview) {
+
+        this.maxRepliesPerReview = maxRepliesPerReview;
+    }
+
+    public synchronized void setMaxCommentsPerReview(int maxCommentsPerReview) {
+
+        this.maxCommentsPerReview = maxCommentsPerReview;
+    }
+
+    /**
+     * @return the time of the most recent change
+     */
+    public synchronized Date getTime() {
+
+        return new Date(time);
+    }
+
+    private Date tick() {
+
+        time += (1 + random.nextInt(10)) * MINUTE;
+
+        return new Date(time);
+    }
+
+    public synchronized void addUsers(int count) {
+
+        for (int i = 0; i < count; i++) {
+            int id = users.size() + 1;
+
+            User user = new User("user" + id);
+            user.setId(id);
+            user.setFirstName("First" + id);
+            user.setLastName("Last" + id);
+            user.setEmail("user" + id + "@example.com");
+            user.setUrl("/users/user" + id + "/");
+
+            users.add(user);
+        }
+    }
+
+    public synchronized void addGroups(int count) {
+
+        for (int i = 0; i < count; i++) {
+            int id = groups.size() + 1;
+
+            ReviewGroup group = new ReviewGroup("group" + id);
+            group.setId(id);
+            group.setDisplayName("Group " + id);
+            group.setMailingList("group" + id + "@example.com");
+            group.setUrl("/groups/group" + id + "/");
+
+            groups.add(group);
+        }
+    }
+
+    public synchronized void addRepositories(int count) {
+
+        for (int i = 0; i < count; i++) {
+            int id = repositories.size() + 1;
+
+            Repository repository = new Repository();
+            repository.setId(id);
+            repository.setName("repository" + id);
+            repository.setTool(TOOLS[id % TOOLS.length]);
+            repository.setPath("/var/lib/repositories/repository" + id);
+
+            repositories.add(repository);
+        }
+    }
+
+    public synchronized void addReviewRequests(int count) {
+
+        if (users.isEmpty())
+            throw new IllegalStateException("The review requests need at least one user");
+
+        for (int i = 0; i < count; i++)
+            addReviewRequest();
+    }
+
+    private void addReviewRequest() {
+
+        int id = nextReviewRequestId++;
+        Date timeAdded = tick();
+
+        ReviewRequest reviewRequest = new ReviewRequest();
+        reviewRequest.setId(id);
+        reviewRequest.setSubmitter(randomUser());
+        reviewRequest.setTimeAdded(timeAdded);
+        reviewRequest.setLastUpdated(timeAdded);
+        reviewRequest.setStatus(randomStatus());
+        reviewRequest.setPublic(random.nextInt(20) != 0);
+        reviewRequest.setSummary(sentence(3 + random.nextInt(6)));
+        reviewRequest.setDescription(paragraph(1 + random.nextInt(5)));
+        reviewRequest.setTestingDone(random.nextBoolean() ? paragraph(1) : "");
+        reviewRequest.setBranch(random.nextBoolean() ? "trunk" : "branch-" + random.nextInt(10));
+        reviewRequest.setChangeNumber(random.nextInt(4) == 0 ? Integer.valueOf(1000 + id) : null);
+        if (!repositories.isEmpty())
+            reviewRequest.setRepository(repositories.get(random.nextInt(repositories.size())).getName());
+
+        List<String> bugsClosed = new ArrayList<String>();
+        for (int j = random.nextInt(3); j > 0; j--)
+            bugsClosed.add(String.valueOf(100 + random.nextInt(900)));
+        reviewRequest.setBugsClosed(bugsClosed);
+
+        List<String> targetPeople = new ArrayList<String>();
+        for (int j = 1 + random.nextInt(3); j > 0; j--)
+            addIfMissing(targetPeople, randomUser());
+        reviewRequest.setTargetPeople(targetPeople);
+
+        List<String> targetGroups = new ArrayList<String>();
+        for (int j = groups.isEmpty() ? 0 : random.nextInt(3); j > 0; j--)
+            addIfMissing(targetGroups, groups.get(random.nextInt(groups.size())).getName());
+        reviewRequest.setTargetGroups(targetGroups);
+
+        reviewRequests.add(reviewRequest);
+        reviewRequestsById.put(id, reviewRequest);
+        reviewsByRequest.put(id, new ArrayList<Review>());
+
+        List<Diff> diffs = new ArrayList<Diff>();
+        for (int revision = 1, revisions = 1 + random.nextInt(3); revision <= revisions; revision++)
+            diffs.add(new Diff(nextDiffId++, revision == 1 ? timeAdded : tick(), revision));
+        diffsByRequest.put(id, diffs);
+
+        List<Screenshot> screenshots = new ArrayList<Screenshot>();
+        if (random.nextInt(3) == 0) {
+            int screenshotId = nextScreenshotId++;
+            screenshots.add(new Screenshot(screenshotId, sentence(2), "/media/uploaded/images/2011/01/01/screenshot"
+                    + screenshotId + ".png"));
+
+            List<ScreenshotComment> comments = new ArrayList<ScreenshotComment>();
+            for (int j = random.nextInt(3); j > 0; j--)
+                comments.add(newComment(new ScreenshotComment(), tick()));
+            screenshotCommentsByScreenshot.put(screenshotId, comments);
+        }
+        screenshotsByRequest.put(id, screenshots);
+
+        for (int j = random.nextInt(maxReviewsPerRequest + 1); j > 0; j--)
+            addReview(reviewRequest);
+    }
+
+    private void addReview(ReviewRequest reviewRequest) {
+
+        Review review = new Review();
+        review.setId(nextReviewId++);
+        review.setUser(randomUser());
+        review.setTimestamp(tick());
+        review.setShipIt(random.nextInt(3) == 0);
+        review.setPublicReview(true);
+        review.setBodyTop(paragraph(1 + random.nextInt(2)));
+        review.setBodyBottom(random.nextBoolean() ? sentence(5) : "");
+
+        reviewsByRequest.get(reviewRequest.getId()).add(review);
+
+        List<DiffComment> diffComments = new ArrayList<DiffComment>();
+        for (int j = random.nextInt(maxCommentsPerReview + 1); j > 0; j--)
+            diffComments.add(newComment(new DiffComment(), review.getTimestamp()));
+        diffCommentsByReview.put(review.getId(), diffComments);
+
+        List<ReviewReply> replies = new ArrayList<ReviewReply>();
+        for (int j = random.nextInt(maxRepliesPerReview + 1); j > 0; j--)
+            replies.add(newReply());
+        repliesByReview.put(review.getId(), replies);
+
+        reviewRequest.setLastUpdated(new Date(time));
+    }
+
+    private ReviewReply newReply() {
+
+        ReviewReply reply = new ReviewReply();
+        reply.setId(nextReviewId++);
+        reply.setUser(randomUser());
+        reply.setTimestamp(tick());
+        reply.setPublicReply(true);
+        reply.setBodyTop(sentence(4 + random.nextInt(8)));
+        reply.setBodyBottom("");
+
+        List<DiffComment> diffComments = new ArrayList<DiffComment>();
+        if (random.nextBoolean())
+            diffComments.add(newComment(new DiffComment(), reply.getTimestamp()));
+        diffCommentsByReview.put(reply.getId(), diffComments);
+
+        List<ScreenshotComment> screenshotComments = new ArrayList<ScreenshotComment>();
+        if (random.nextInt(4) == 0)
+            screenshotComments.add(newComment(new ScreenshotComment(), reply.getTimestamp()));
+        screenshotCommentsByReply.put(reply.getId(), screenshotComments);
+
+        return reply;
+    }
+
+    private <T extends Comment> T newComment(T comment, Date timestamp) {
+
+        comment.setId(nextCommentId++);
+        comment.setUsername(randomUser());
+        comment.setText(sentence(3 + random.nextInt(12)));
+        comment.setTimestamp(timestamp);
+
+        return comment;
+    }
+
+    /**
+     * Adds a review to an existing review request, which updates it
+     */
+    public synchronized void addReview(int reviewRequestId) {
+
+        addReview(getExisting(reviewRequestId));
+    }
+
+    /**
+     * Changes the status of an existing review request, which updates it
+     */
+    public synchronized void setStatus(int reviewRequestId, ReviewRequestStatus status) {
+
+        ReviewRequest reviewRequest = getExisting(reviewRequestId);
+        reviewRequest.setStatus(status);
+        reviewRequest.setLastUpdated(tick());
+    }
+
+    private ReviewRequest getExisting(int reviewRequestId) {
+
+        ReviewRequest reviewRequest = reviewRequestsById.get(reviewRequestId);
+        if (reviewRequest == null)
+            throw new IllegalArgumentException("No review request with id " + reviewRequestId);
+        return reviewRequest;
+    }
+
+    private String randomUser() {
+
+        return users.get(random.nextInt(users.size())).getUsername();
+    }
+
+    private ReviewRequestStatus randomStatus() {
+
+        int value = random.nextInt(10);
+        if (value < 7)
+            return ReviewRequestStatus.PENDING;
+        return value < 9 ? ReviewRequestStatus.SUBMITTED : ReviewRequestStatus.DISCARDED;
+    }
+
+    private String sentence(int words) {
+
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (i == 0)
+                sentence.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+            else
+                sentence.append(' ').append(word);
+        }
+        return sentence.append('.').toString();
+    }
+
+    private String paragraph(int sentences) {
+
+        StringBuilder paragraph = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0)
+                paragraph.append(' ');
+            paragraph.append(sentence(4 + random.nextInt(10)));
+        }
+        return paragraph.toString();
+    }
+
+    private static void addIfMissing(List<String> values, String value) {
+
+        if (!values.contains(value))
+            values.add(value);
+    }
+
+    public synchronized List<User> getUsers() {
+
+        return new ArrayList<User>(users);
+    }
+
+    public synchronized User getUser(String username) {
+
+        for (User user : users)
+            if (user.getUsername().equals(username))
+                return user;
+        return null;
+    }
+
+    public synchronized List<ReviewGroup> getGroups() {
+
+        return new ArrayList<ReviewGroup>(groups);
+    }
+
+    public synchronized List<Repository> getRepositories() {
+
+        return new ArrayList<Repository>(repositories);
+    }
+
+    public synchronized Repository getRepository(int repositoryId) {
+
+        for (Repository repository : repositories)
+            if (repository.getId() == repositoryId)
+                return repository;
+        return null;
+    }
+
+    /**
+     * @return the review requests, ordered by id
+     */
+    public synchronized List<ReviewRequest> getReviewRequests() {
+
+        return new ArrayList<ReviewRequest>(reviewRequests);
+    }
+
+    public synchronized ReviewRequest getReviewRequest(int reviewRequestId) {
+
+        return reviewRequestsById.get(reviewRequestId);
+    }
+
+    public synchronized List<Review> getReviews(int reviewRequestId) {
+
+        return copy(reviewsByRequest.get(reviewRequestId));
+    }
+
+    public synchronized List<ReviewReply> getReplies(int reviewId) {
+
+        return copy(repliesByReview.get(reviewId));
+    }
+
+    /**
+     * @param reviewId the id of a review or of a reply
+     */
+    public synchronized List<DiffComment> getDiffComments(int reviewId) {
+
+        return copy(diffCommentsByReview.get(reviewId));
+    }
+
+    public synchronized List<ScreenshotComment> getReplyScreenshotComments(int replyId) {
+
+        return copy(screenshotCommentsByReply.get(replyId));
+    }
+
+    public synchronized List<Diff> getDiffs(int reviewRequestId) {
+
+        return copy(diffsByRequest.get(reviewRequestId));
+    }
+
+    public synchronized List<Screenshot> getScreenshots(int reviewRequestId) {
+
+        return copy(screenshotsByRequest.get(reviewRequestId));
+    }
+
+    public synchronized List<ScreenshotComment> getScreenshotComments(int screenshotId) {
+
+        return copy(screenshotCommentsByScreenshot.get(screenshotId));
+    }
+
+    private static <T> List<T> copy(List<T> values) {
+
+        if (values == null)
+            return Collections.emptyList();
+        return new ArrayList<T>(values);
+    }
+}
@@ -0,0 +1,1333 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URLDecoder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.review_board.ereviewboard.core.model.Comment;
+import org.review_board.ereviewboard.core.model.Diff;
+import org.review_board.ereviewboard.core.model.DiffComment;
+import org.review_board.ereviewboard.core.model.Repository;
+import org.review_board.ereviewboard.core.model.Review;
+import org.review_board.ereviewboard.core.model.ReviewGroup;
+import org.review_board.ereviewboard.core.model.ReviewReply;
+import org.review_board.ereviewboard.core.model.ReviewRequest;
+import org.review_board.ereviewboard.core.model.ReviewRequestStatus;
+import org.review_board.ereviewboard.core.model.Screenshot;
+import org.review_board.ereviewboard.core.model.ScreenshotComment;
+import org.review_board.ereviewboard.core.model.User;
+import org.review_board.ereviewboard.core.util.DateCodec;
+
+/**
+ * A local stand-in for a Review Board server, which serves the web API endpoints used by the
+ * {@link RestfulReviewboardClient} from a {@link MockDataSet}
+ *
+ * <p>
+ * The server supports paging through <tt>start</tt> and <tt>max-results</tt>, <tt>counts-only</tt> requests, the
+ * review request filters including <tt>last-updated-from</tt>, <tt>only-fields</tt> and <tt>only-links</tt>, and
+ * session cookies handed out when logging in with basic authentication. Responses carry an <tt>ETag</tt>, are
+ * compressed with <tt>gzip</tt> or <tt>deflate</tt> when the client accepts it, and connections are kept alive.
+ * </p>
+ *
+ * <p>
+ * The latency of each response and the rate of failed responses can be configured. The server counts the
+ * requests it receives by endpoint, with the ids in the path replaced by placeholders, e.g.
+ * <tt>/api/review-requests/{id}/reviews/</tt>.
+ * </p>
+ */
+public class MockReviewboardServer {
+
+    public static final String SESSION_COOKIE = "rbsessionid";
+
+    private static final int DEFAULT_PAGE_SIZE = 25;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int IDLE_TIMEOUT_MILLIS = 30000;
+
+    private static final String JSON = "application/json";
+    private static final String UTF_8 = "UTF-8";
+
+    private static final byte[] SCREENSHOT = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 0, 0, 0, 0 };
+
+    private final MockDataSet dataSet;
+
+    private ServerSocket serverSocket;
+    private ExecutorService executor;
+    private String url;
+
+    private final Set<Socket> connections = Collections.synchronizedSet(new HashSet<Socket>());
+    private final Set<String> sessions = Collections.synchronizedSet(new HashSet<String>());
+    private final AtomicInteger sessionCounter = new AtomicInteger();
+
+    private final Map<String, AtomicInteger> requestCounts = new TreeMap<String, AtomicInteger>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final AtomicInteger loginCount = new AtomicInteger();
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    private volatile long latencyMillis;
+    private volatile double failureRate;
+    private volatile int failureStatusCode = 500;
+    private final AtomicInteger pendingFailures = new AtomicInteger();
+    private final Set<String> failingEndpoints = Collections.synchronizedSet(new HashSet<String>());
+    private final Random failureRandom;
+    private volatile String contentEncoding = "gzip";
+    private volatile String lastAcceptEncoding;
+
+    public MockReviewboardServer(MockDataSet dataSet) {
+
+        this(dataSet, 0);
+    }
+
+    /**
+     * @param seed the seed for choosing which responses fail, when a failure rate is set
+     */
+    public MockReviewboardServer(MockDataSet dataSet, long seed) {
+
+        this.dataSet = dataSet;
+        this.failureRandom = new Random(seed);
+    }
+
+    /**
+     * Starts listening on a free port of the loopback interface
+     */
+    public synchronized void start() throws IOException {
+
+        if (serverSocket != null)
+            throw new IllegalStateException("Already started");
+
+        serverSocket = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+        url = "http://127.0.0.1:" + serverSocket.getLocalPort();
+
+        executor = Executors.newCachedThreadPool(new ThreadFactory() {
+
+            private final AtomicInteger threadCount = new AtomicInteger();
+
+            public Thread newThread(Runnable runnable) {
+
+                Thread thread = new Thread(runnable, "MockReviewboardServer-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        final ServerSocket listeningSocket = serverSocket;
+        final ExecutorService connectionExecutor = executor;
+        executor.execute(new Runnable() {
+            public void run() {
+                accept(listeningSocket, connectionExecutor);
+            }
+        });
+    }
+
+    public synchronized void stop() {
+
+        if (serverSocket == null)
+            return;
+
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // nothing to do
+        }
+
+        synchronized (connections) {
+            for (Socket connection : connections)
+                closeQuietly(connection);
+            connections.clear();
+        }
+
+        executor.shutdownNow();
+
+        serverSocket = null;
+        executor = null;
+    }
+
+    /**
+     * @return the url of the server, without a trailing slash
+     */
+    public synchronized String getUrl() {
+
+        if (url == null)
+            throw new IllegalStateException("Not started");
+
+        return url;
+    }
+
+    public MockDataSet getDataSet() {
+
+        return dataSet;
+    }
+
+    /**
+     * Sets the time the server waits before sending each response
+     */
+    public void setLatencyMillis(long latencyMillis) {
+
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Sets the fraction of requests, between 0 and 1, which are answered with the failure status code
+     */
+    public void setFailureRate(double failureRate) {
+
+        this.failureRate = failureRate;
+    }
+
+    /**
+     * Sets the status code of the failed responses, 500 unless specified
+     */
+    public void setFailureStatusCode(int failureStatusCode) {
+
+        this.failureStatusCode = failureStatusCode;
+    }
+
+    /**
+     * Makes the next <tt>count</tt> requests fail, regardless of the failure rate
+     */
+    public void failNextRequests(int count) {
+
+        pendingFailures.set(count);
+    }
+
+    /**
+     * Makes all the requests to the <tt>endpoint</tt>, e.g. <tt>/api/groups/</tt>, fail until
+     * {@link #clearFailingEndpoints()} is called
+     */
+    public void failEndpoint(String endpoint) {
+
+        failingEndpoints.add(endpoint);
+    }
+
+    public void clearFailingEndpoints() {
+
+        failingEndpoints.clear();
+    }
+
+    public void setCompressionEnabled(boolean compressionEnabled) {
+
+        setContentEncoding(compressionEnabled ? "gzip" : null);
+    }
+
+    /**
+     * Sets the encoding of the responses, either <tt>gzip</tt> or <tt>deflate</tt>, used when the client
+     * accepts it; <code>null</code> disables compression
+     */
+    public void setContentEncoding(String contentEncoding) {
+
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * @return the <tt>Accept-Encoding</tt> header of the last request, or <code>null</code> if it had none
+     */
+    public String getLastAcceptEncoding() {
+
+        return lastAcceptEncoding;
+    }
+
+    /**
+     * Forgets all the sessions, so that the clients have to log in again
+     */
+    public void invalidateSessions() {
+
+        sessions.clear();
+    }
+
+    /**
+     * @return the number of requests, including failed and unauthorized ones
+     */
+    public int getRequestCount() {
+
+        int total = 0;
+        synchronized (requestCounts) {
+            for (AtomicInteger count : requestCounts.values())
+                total += count.get();
+        }
+        return total;
+    }
+
+    public int getRequestCount(String endpoint) {
+
+        synchronized (requestCounts) {
+            AtomicInteger count = requestCounts.get(endpoint);
+            return count == null ? 0 : count.get();
+        }
+    }
+
+    /**
+     * @return the number of requests by endpoint, sorted by endpoint
+     */
+    public Map<String, Integer> getRequestCounts() {
+
+        Map<String, Integer> counts = new TreeMap<String, Integer>();
+        synchronized (requestCounts) {
+            for (Map.Entry<String, AtomicInteger> entry : requestCounts.entrySet())
+                counts.put(entry.getKey(), entry.getValue().get());
+        }
+        return counts;
+    }
+
+    public int getConnectionCount() {
+
+        return connectionCount.get();
+    }
+
+    public int getLoginCount() {
+
+        return loginCount.get();
+    }
+
+    public long getBytesSent() {
+
+        return bytesSent.get();
+    }
+
+    public void resetStatistics() {
+
+        synchronized (requestCounts) {
+            requestCounts.clear();
+        }
+        connectionCount.set(0);
+        loginCount.set(0);
+        bytesSent.set(0);
+    }
+
+    private void accept(ServerSocket listeningSocket, ExecutorService connectionExecutor) {
+
+        while (!listeningSocket.isClosed()) {
+            try {
+                final Socket connection = listeningSocket.accept();
+                connections.add(connection);
+                connectionCount.incrementAndGet();
+
+                connectionExecutor.execute(new Runnable() {
+                    public void run() {
+                        serve(connection);
+                    }
+                });
+            } catch (IOException e) {
+                // the server socket was closed
+            } catch (RejectedExecutionException e) {
+                // the server was stopped
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket connection) {
+
+        try {
+            connection.setSoTimeout(IDLE_TIMEOUT_MILLIS);
+            connection.setTcpNoDelay(true);
+
+            InputStream in = new BufferedInputStream(connection.getInputStream());
+            OutputStream out = new BufferedOutputStream(connection.getOutputStream());
+
+            HttpRequest request;
+            while ((request = HttpRequest.read(in)) != null) {
+
+                HttpResponse response = handle(request);
+                bytesSent.addAndGet(response.write(out, request.isKeepAlive()));
+                out.flush();
+
+                if (!request.isKeepAlive())
+                    break;
+            }
+        } catch (SocketException e) {
+            // the connection was closed by the client or by stopping the server
+        } catch (IOException e) {
+            // idle connection timed out or malformed request
+        } finally {
+            connections.remove(connection);
+            closeQuietly(connection);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // nothing to do
+        }
+    }
+
+    private HttpResponse handle(HttpRequest request) throws IOException {
+
+        List<String> segments = request.getSegments();
+        String endpoint = endpointOf(segments);
+
+        count(endpoint);
+        lastAcceptEncoding = request.getHeader("accept-encoding");
+
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SocketException("Server stopped");
+            }
+        }
+
+        try {
+            if (shouldFail() || failingEndpoints.contains(endpoint))
+                return error(failureStatusCode, 0, "Injected failure");
+
+            HttpResponse response = authenticate(request, segments);
+            if (response == null)
+                response = conditional(request, compress(request, route(request, segments)));
+
+            return response.withHeader("Set-Cookie", request.getSetCookie());
+        } catch (JSONException e) {
+            return error(500, 0, e.getMessage());
+        }
+    }
+
+    private void count(String endpoint) {
+
+        synchronized (requestCounts) {
+            AtomicInteger count = requestCounts.get(endpoint);
+            if (count == null) {
+                count = new AtomicInteger();
+                requestCounts.put(endpoint, count);
+            }
+            count.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the path with the ids and user names replaced by placeholders
+     */
+    static String endpointOf(String path) {
+
+        return endpointOf(segmentsOf(path));
+    }
+
+    private static List<String> segmentsOf(String path) {
+
+        List<String> segments = new ArrayList<String>();
+        for (String segment : path.split("/"))
+            if (segment.length() > 0)
+                segments.add(HttpRequest.decode(segment));
+        return segments;
+    }
+
+    private static String endpointOf(List<String> segments) {
+
+        if (!segments.isEmpty() && segments.get(0).equals("media"))
+            return "/media/{file}/";
+
+        StringBuilder endpoint = new StringBuilder("/");
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if (i > 0 && segments.get(i - 1).equals("users") && segments.get(0).equals("api"))
+                endpoint.append("{username}");
+            else if (isNumber(segment))
+                endpoint.append("{id}");
+            else
+                endpoint.append(segment);
+            endpoint.append('/');
+        }
+        return endpoint.toString();
+    }
+
+    private static boolean isNumber(String value) {
+
+        if (value.length() == 0)
+            return false;
+        for (int i = 0; i < value.length(); i++)
+            if (!Character.isDigit(value.charAt(i)))
+                return false;
+        return true;
+    }
+
+    private boolean shouldFail() {
+
+        while (true) {
+            int pending = pendingFailures.get();
+            if (pending <= 0)
+                break;
+            if (pendingFailures.compareAndSet(pending, pending - 1))
+                return true;
+        }
+
+        if (failureRate <= 0)
+            return false;
+
+        synchronized (failureRandom) {
+            return failureRandom.nextDouble() < failureRate;
+        }
+    }
+
+    /**
+     * @return the response to send if the request is not authenticated, or <code>null</code>
+     */
+    private HttpResponse authenticate(HttpRequest request, List<String> segments) throws JSONException,
+            UnsupportedEncodingException {
+
+        // the api root is public, screenshots are served by the web server
+        if (segments.size() <= 1)
+            return null;
+
+        String session = request.getCookie(SESSION_COOKIE);
+        if (session != null && sessions.contains(session))
+            return null;
+
+        String authorization = request.getHeader("authorization");
+        if (authorization != null && authorization.startsWith("Basic ")) {
+            String credentials = new String(decodeBase64(authorization.substring("Basic ".length()).trim()), UTF_8);
+            int separator = credentials.indexOf(':');
+            if (separator != -1 && dataSet.getUser(credentials.substring(0, separator)) != null
+                    && credentials.substring(separator + 1).equals(MockDataSet.PASSWORD)) {
+
+                session = Integer.toHexString(sessionCounter.incrementAndGet()) + "-"
+                        + Long.toHexString(System.nanoTime());
+                sessions.add(session);
+                loginCount.incrementAndGet();
+                request.setSetCookie(SESSION_COOKIE + "=" + session + "; Path=/");
+
+                return null;
+            }
+        }
+
+        HttpResponse response = error(401, 103, "You are not logged in");
+        response.addHeader("WWW-Authenticate", "Basic realm=\"Web API\"");
+        return response;
+    }
+
+    private static byte[] decodeBase64(String value) {
+
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        int buffer = 0;
+        int bits = 0;
+        for (int i = 0; i < value.length(); i++) {
+            int digit = alphabet.indexOf(value.charAt(i));
+            if (digit == -1)
+                continue;
+            buffer = (buffer << 6) | digit;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                decoded.write((buffer >> bits) & 0xff);
+            }
+        }
+        return decoded.toByteArray();
+    }
+
+    private HttpResponse route(HttpRequest request, List<String> segments) throws JSONException,
+            UnsupportedEncodingException {
+
+        if (segments.isEmpty())
+            return notFound();
+
+        if (segments.get(0).equals("media"))
+            return new HttpResponse(200, "image/png", SCREENSHOT);
+
+        if (!segments.get(0).equals("api"))
+            return notFound();
+
+        int size = segments.size();
+        String resource = size > 1 ? segments.get(1) : "";
+
+        if (size == 1)
+            return ok(request, new JSONObject().put("links", new JSONObject()));
+
+        if (resource.equals("info") && size == 2)
+            return ok(request, new JSONObject().put("info", serverInfo()));
+
+        if (resource.equals("users")) {
+            if (size == 2)
+                return list(request, "users", dataSet.getUsers());
+            User user = dataSet.getUser(segments.get(2));
+            if (user == null || size > 3)
+                return notFound();
+            return ok(request, new JSONObject().put("user", toJson(user)));
+        }
+
+        if (resource.equals("groups") && size == 2)
+            return list(request, "groups", dataSet.getGroups());
+
+        if (resource.equals("repositories") && size == 2)
+            return list(request, "repositories", dataSet.getRepositories());
+
+        if (resource.equals("review-requests")) {
+            if (size == 2)
+                return list(request, "review_requests", filter(request, dataSet.getReviewRequests()));
+
+            return routeReviewRequest(request, segments);
+        }
+
+        return notFound();
+    }
+
+    private HttpResponse routeReviewRequest(HttpRequest request, List<String> segments) throws JSONException,
+            UnsupportedEncodingException {
+
+        int size = segments.size();
+
+        ReviewRequest reviewRequest = isNumber(segments.get(2)) ? dataSet.getReviewRequest(Integer
+                .parseInt(segments.get(2))) : null;
+        if (reviewRequest == null)
+            return notFound();
+
+        int reviewRequestId = reviewRequest.getId();
+
+        if (size == 3) {
+            if (request.getMethod().equals("PUT") && request.getParameter("status") != null) {
+                dataSet.setStatus(reviewRequestId, ReviewRequestStatus.parseStatus(request.getParameter("status")));
+                reviewRequest = dataSet.getReviewRequest(reviewRequestId);
+            }
+            return ok(request, new JSONObject().put("review_request", toJson(reviewRequest, request)));
+        }
+
+        String child = segments.get(3);
+
+        if (child.equals("diffs")) {
+            if (size == 4)
+                return list(request, "diffs", dataSet.getDiffs(reviewRequestId));
+            if (size == 5 && isNumber(segments.get(4)))
+                for (Diff diff : dataSet.getDiffs(reviewRequestId))
+                    if (diff.getRevision() == Integer.parseInt(segments.get(4)))
+                        return new HttpResponse(200, "text/x-patch", rawDiff(reviewRequestId, diff).getBytes(UTF_8));
+            return notFound();
+        }
+
+        if (child.equals("screenshots")) {
+            if (size == 4)
+                return list(request, "screenshots", dataSet.getScreenshots(reviewRequestId));
+            if (size == 6 && segments.get(5).equals("screenshot-comments"))
+                for (Screenshot screenshot : dataSet.getScreenshots(reviewRequestId))
+                    if (String.valueOf(screenshot.getId()).equals(segments.get(4)))
+                        return list(request, "screenshot_comments", dataSet.getScreenshotComments(screenshot.getId()));
+            return notFound();
+        }
+
+        if (child.equals("reviews")) {
+            List<Review> reviews = dataSet.getReviews(reviewRequestId);
+            if (size == 4)
+                return list(request, "reviews", reviews);
+
+            Review review = null;
+            for (Review candidate : reviews)
+                if (String.valueOf(candidate.getId()).equals(segments.get(4)))
+                    review = candidate;
+            if (review == null || size == 5)
+                return review == null ? notFound() : ok(request, new JSONObject().put("review", toJson(review)));
+
+            return routeReview(request, segments, review);
+        }
+
+        return notFound();
+    }
+
+    private HttpResponse routeReview(HttpRequest request, List<String> segments, Review review)
+            throws JSONException {
+
+        int size = segments.size();
+        String child = segments.get(5);
+
+        if (size == 6 && child.equals("diff-comments"))
+            return list(request, "diff_comments", dataSet.getDiffComments(review.getId()));
+
+        if (size == 6 && child.equals("screenshot-comments"))
+            return list(request, "screenshot_comments", dataSet.getReplyScreenshotComments(review.getId()));
+
+        if (!child.equals("replies"))
+            return notFound();
+
+        List<ReviewReply> replies = dataSet.getReplies(review.getId());
+        if (size == 6)
+            return list(request, "replies", replies);
+
+        ReviewReply reply = null;
+        for (ReviewReply candidate : replies)
+            if (String.valueOf(candidate.getId()).equals(segments.get(6)))
+                reply = candidate;
+        if (reply == null || size != 8)
+            return notFound();
+
+        if (segments.get(7).equals("diff-comments"))
+            return list(request, "diff_comments", dataSet.getDiffComments(reply.getId()));
+        if (segments.get(7).equals("screenshot-comments"))
+            return list(request, "screenshot_comments", dataSet.getReplyScreenshotComments(reply.getId()));
+
+        return notFound();
+    }
+
+    private List<ReviewRequest> filter(HttpRequest request, List<ReviewRequest> reviewRequests)
+            throws JSONException {
+
+        String status = valueOf(request.getParameter("status"), "pending");
+        Set<String> toUsers = values(request.getParameter("to-users"));
+        toUsers.addAll(values(request.getParameter("to-users-directly")));
+        Set<String> toGroups = values(request.getParameter("to-groups"));
+        String fromUser = request.getParameter("from-user");
+        String repository = request.getParameter("repository");
+        String changeNumber = request.getParameter("changenum");
+        Date lastUpdatedFrom = date(request.getParameter("last-updated-from"));
+        Date lastUpdatedTo = date(request.getParameter("last-updated-to"));
+
+        Repository filteredRepository = repository == null || !isNumber(repository) ? null : dataSet
+                .getRepository(Integer.parseInt(repository));
+
+        List<ReviewRequest> matches = new ArrayList<ReviewRequest>();
+        for (ReviewRequest reviewRequest : reviewRequests) {
+
+            if (!status.equals("all") && !reviewRequest.getStatus().asSubmittableValue().equals(status))
+                continue;
+            if (!toUsers.isEmpty() && !containsAny(reviewRequest.getTargetPeople(), toUsers))
+                continue;
+            if (!toGroups.isEmpty() && !containsAny(reviewRequest.getTargetGroups(), toGroups))
+                continue;
+            if (fromUser != null && !fromUser.equals(reviewRequest.getSubmitter()))
+                continue;
+            if (repository != null
+                    && (filteredRepository == null || !filteredRepository.getName().equals(reviewRequest.getRepository())))
+                continue;
+            if (changeNumber != null && !changeNumber.equals(String.valueOf(reviewRequest.getChangeNumber())))
+                continue;
+            if (lastUpdatedFrom != null && reviewRequest.getLastUpdated().before(lastUpdatedFrom))
+                continue;
+            if (lastUpdatedTo != null && !reviewRequest.getLastUpdated().before(lastUpdatedTo))
+                continue;
+
+            matches.add(reviewRequest);
+        }
+
+        // most recently updated first, like the server does
+        Collections.sort(matches, new Comparator<ReviewRequest>() {
+            public int compare(ReviewRequest first, ReviewRequest second) {
+                int result = second.getLastUpdated().compareTo(first.getLastUpdated());
+                return result != 0 ? result : second.getId() - first.getId();
+            }
+        });
+
+        return matches;
+    }
+
+    private static String valueOf(String value, String defaultValue) {
+
+        return value == null || value.length() == 0 ? defaultValue : value;
+    }
+
+    private static Set<String> values(String value) {
+
+        Set<String> values = new HashSet<String>();
+        if (value != null)
+            for (String item : value.split(","))
+                if (item.trim().length() > 0)
+                    values.add(item.trim());
+        return values;
+    }
+
+    private static boolean containsAny(Collection<String> values, Set<String> candidates) {
+
+        for (String value : values)
+            if (candidates.contains(value))
+                return true;
+        return false;
+    }
+
+    private Date date(String value) throws JSONException {
+
+        if (value == null || value.length() == 0)
+            return null;
+
+        try {
+            return DateCodec.parse(value, dataSet.getTimeZone());
+        } catch (ParseException e) {
+            throw new JSONException("Invalid date " + value);
+        }
+    }
+
+    private HttpResponse list(HttpRequest request, String name, List<?> items) throws JSONException {
+
+        if ("1".equals(request.getParameter("counts-only")))
+            return ok(request, new JSONObject().put("count", items.size()));
+
+        int start = intParameter(request, "start", 0);
+        int maxResults = Math.min(MAX_PAGE_SIZE, intParameter(request, "max-results", DEFAULT_PAGE_SIZE));
+
+        JSONArray page = new JSONArray();
+        for (int i = start; i < Math.min(items.size(), start + maxResults); i++)
+            page.put(toJson(items.get(i), request));
+
+        return ok(request, new JSONObject().put(name, page).put("total_results", items.size()));
+    }
+
+    private static int intParameter(HttpRequest request, String name, int defaultValue) {
+
+        String value = request.getParameter(name);
+        return value != null && isNumber(value) ? Integer.parseInt(value) : defaultValue;
+    }
+
+    private HttpResponse ok(HttpRequest request, JSONObject object) throws JSONException {
+
+        return json(200, object.put("stat", "ok"));
+    }
+
+    private HttpResponse notFound() {
+
+        return error(404, 100, "Object does not exist");
+    }
+
+    private HttpResponse error(int statusCode, int errorCode, String message) {
+
+        try {
+            JSONObject error = new JSONObject().put("code", errorCode).put("msg", message);
+
+            return json(statusCode, new JSONObject().put("stat", "fail").put("err", error));
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static HttpResponse json(int statusCode, JSONObject object) {
+
+        try {
+            return new HttpResponse(statusCode, JSON, object.toString().getBytes(UTF_8));
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpResponse compress(HttpRequest request, HttpResponse response) throws IOException {
+
+        String acceptEncoding = request.getHeader("accept-encoding");
+
+        String encoding = contentEncoding;
+        if (encoding == null || acceptEncoding == null || acceptEncoding.indexOf(encoding) == -1)
+            return response;
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        OutputStream out = encoding.equals("deflate") ? new DeflaterOutputStream(compressed)
+                : new GZIPOutputStream(compressed);
+        out.write(response.getBody());
+        out.close();
+
+        HttpResponse compressedResponse = new HttpResponse(response.getStatusCode(), response.getContentType(),
+                compressed.toByteArray());
+        compressedResponse.getHeaders().putAll(response.getHeaders());
+        compressedResponse.addHeader("Content-Encoding", encoding);
+
+        return compressedResponse;
+    }
+
+    private HttpResponse conditional(HttpRequest request, HttpResponse response) {
+
+        if (response.getStatusCode() != 200 || !request.getMethod().equals("GET"))
+            return response;
+
+        String etag = "\"" + digest(response.getBody()) + "\"";
+        if (etag.equals(request.getHeader("if-none-match")))
+            return new HttpResponse(304, null, new byte[0]).withHeader("ETag", etag);
+
+        return response.withHeader("ETag", etag);
+    }
+
+    private static String digest(byte[] content) {
+
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(content);
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest)
+                hex.append(Integer.toHexString((b & 0xff) | 0x100).substring(1));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JSONObject serverInfo() throws JSONException {
+
+        JSONObject product = new JSONObject().put("name", "Review Board").put("version", "1.5.5")
+                .put("package_version", "1.5.5").put("is_release", true);
+        JSONObject site = new JSONObject().put("url", url + "/").put("time_zone", dataSet.getTimeZone().getID());
+
+        return new JSONObject().put("product", product).put("site", site);
+    }
+
+    private String format(Date date) {
+
+        return DateCodec.format(date, dataSet.getTimeZone());
+    }
+
+    private JSONObject link(String path, String title) throws JSONException {
+
+        JSONObject link = new JSONObject().put("href", url + path).put("method", "GET");
+        if (title != null)
+            link.put("title", title);
+        return link;
+    }
+
+    private JSONObject userLink(String username) throws JSONException {
+
+        return link("/api/users/" + username + "/", username);
+    }
+
+    private JSONObject toJson(Object item, HttpRequest request) throws JSONException {
+
+        if (item instanceof ReviewRequest)
+            return toJson((ReviewRequest) item, request);
+        if (item instanceof User)
+            return toJson((User) item);
+        if (item instanceof ReviewGroup)
+            return toJson((ReviewGroup) item);
+        if (item instanceof Repository)
+            return toJson((Repository) item);
+        if (item instanceof Review)
+            return toJson((Review) item);
+        if (item instanceof ReviewReply)
+            return toJson((ReviewReply) item);
+        if (item instanceof Comment)
+            return toJson((Comment) item);
+        if (item instanceof Diff)
+            return toJson((Diff) item);
+        if (item instanceof Screenshot)
+            return toJson((Screenshot) item);
+
+        throw new IllegalArgumentException("Unsupported item " + item);
+    }
+
+    private JSONObject toJson(User user) throws JSONException {
+
+        return new JSONObject().put("id", user.getId()).put("username", user.getUsername())
+                .put("first_name", user.getFirstName()).put("last_name", user.getLastName())
+                .put("email", user.getEmail()).put("fullname", user.getFullName()).put("url", user.getUrl())
+                .put("links", new JSONObject().put("self", link("/api/users/" + user.getUsername() + "/", null)));
+    }
+
+    private JSONObject toJson(ReviewGroup group) throws JSONException {
+
+        return new JSONObject().put("id", group.getId()).put("name", group.getName())
+                .put("display_name", group.getDisplayName()).put("mailing_list", group.getMailingList())
+                .put("url", group.getUrl()).put("links",
+                        new JSONObject().put("self", link("/api/groups/" + group.getName() + "/", null)));
+    }
+
+    private JSONObject toJson(Repository repository) throws JSONException {
+
+        return new JSONObject().put("id", repository.getId()).put("name", repository.getName())
+                .put("tool", repository.getTool()).put("path", repository.getPath()).put("links",
+                        new JSONObject().put("self", link("/api/repositories/" + repository.getId() + "/", null)));
+    }
+
+    private JSONObject toJson(ReviewRequest reviewRequest, HttpRequest request) throws JSONException {
+
+        String path = "/api/review-requests/" + reviewRequest.getId() + "/";
+
+        JSONObject links = new JSONObject();
+        links.put("self", link(path, null));
+        links.put("submitter", userLink(reviewRequest.getSubmitter()));
+        links.put("reviews", link(path + "reviews/", null));
+        links.put("diffs", link(path + "diffs/", null));
+        links.put("screenshots", link(path + "screenshots/", null));
+        if (reviewRequest.getRepository() != null)
+            links.put("repository", link("/api/repositories/", reviewRequest.getRepository()));
+
+        JSONArray targetPeople = new JSONArray();
+        for (String username : reviewRequest.getTargetPeople())
+            targetPeople.put(userLink(username));
+
+        JSONArray targetGroups = new JSONArray();
+        for (String group : reviewRequest.getTargetGroups())
+            targetGroups.put(link("/api/groups/" + group + "/", group));
+
+        JSONObject json = new JSONObject();
+        json.put("id", reviewRequest.getId());
+        json.put("status", reviewRequest.getStatus().asSubmittableValue());
+        json.put("public", reviewRequest.isPublic());
+        json.put("summary", reviewRequest.getSummary());
+        json.put("description", reviewRequest.getDescription());
+        json.put("testing_done", reviewRequest.getTestingDone());
+        json.put("branch", reviewRequest.getBranch());
+        json.put("changenum", reviewRequest.getChangeNumber() == null ? JSONObject.NULL : reviewRequest
+                .getChangeNumber());
+        json.put("bugs_closed", new JSONArray(reviewRequest.getBugsClosed()));
+        json.put("target_people", targetPeople);
+        json.put("target_groups", targetGroups);
+        json.put("time_added", format(reviewRequest.getTimeAdded()));
+        json.put("last_updated", format(reviewRequest.getLastUpdated()));
+        json.put("links", links);
+
+        return select(json, request);
+    }
+
+    /**
+     * Applies the <tt>only-fields</tt> and <tt>only-links</tt> parameters
+     */
+    private static JSONObject select(JSONObject json, HttpRequest request) throws JSONException {
+
+        String onlyFields = request.getParameter("only-fields");
+        String onlyLinks = request.getParameter("only-links");
+
+        if (onlyLinks != null) {
+            Set<String> names = values(onlyLinks);
+            JSONObject links = json.getJSONObject("links");
+            for (String name : JSONObject.getNames(links))
+                if (!names.contains(name))
+                    links.remove(name);
+        }
+
+        if (onlyFields != null) {
+            Set<String> names = values(onlyFields);
+            names.add("links");
+            for (String name : JSONObject.getNames(json))
+                if (!names.contains(name))
+                    json.remove(name);
+        }
+
+        return json;
+    }
+
+    private JSONObject toJson(Review review) throws JSONException {
+
+        return new JSONObject().put("id", review.getId()).put("body_top", review.getBodyTop())
+                .put("body_bottom", review.getBodyBottom()).put("public", review.isPublicReview())
+                .put("ship_it", review.getShipIt()).put("timestamp", format(review.getTimestamp()))
+                .put("links", new JSONObject().put("user", userLink(review.getUser())));
+    }
+
+    private JSONObject toJson(ReviewReply reply) throws JSONException {
+
+        return new JSONObject().put("id", reply.getId()).put("body_top", reply.getBodyTop())
+                .put("body_bottom", reply.getBodyBottom()).put("public", reply.isPublicReply())
+                .put("timestamp", format(reply.getTimestamp()))
+                .put("links", new JSONObject().put("user", userLink(reply.getUser())));
+    }
+
+    private JSONObject toJson(Comment comment) throws JSONException {
+
+        JSONObject json = new JSONObject().put("id", comment.getId()).put("text", comment.getText())
+                .put("timestamp", format(comment.getTimestamp()))
+                .put("links", new JSONObject().put("user", userLink(comment.getUsername())));
+        if (comment instanceof DiffComment)
+            json.put("first_line", 1).put("num_lines", 1);
+        else if (comment instanceof ScreenshotComment)
+            json.put("x", 0).put("y", 0).put("w", 10).put("h", 10);
+        return json;
+    }
+
+    private JSONObject toJson(Diff diff) throws JSONException {
+
+        return new JSONObject().put("id", diff.getId()).put("revision", diff.getRevision())
+                .put("timestamp", format(diff.getTimestamp()));
+    }
+
+    private JSONObject toJson(Screenshot screenshot) throws JSONException {
+
+        return new JSONObject().put("id", screenshot.getId()).put("caption", screenshot.getCaption())
+                .put("url", screenshot.getUrl());
+    }
+
+    private static String rawDiff(int reviewRequestId, Diff diff) {
+
+        StringBuilder patch = new StringBuilder();
+        for (int file = 1; file <= 3; file++) {
+            String name = "src/review" + reviewRequestId + "/File" + file + ".java";
+            patch.append("Index: ").append(name).append('\n');
+            patch.append("--- ").append(name).append("\t(revision ").append(diff.getRevision()).append(")\n");
+            patch.append("+++ ").append(name).append("\t(working copy)\n");
+            patch.append("@@ -1,1 +1,1 @@\n");
+            patch.append("-old line ").append(file).append('\n');
+            patch.append("+new line ").append(file).append(" of revision ").append(diff.getRevision()).append('\n');
+        }
+        return patch.toString();
+    }
+
+    private static final class HttpRequest {
+
+        private final String method;
+        private final String path;
+        private final Map<String, String> headers;
+        private final Map<String, String> parameters;
+        private String setCookie;
+
+        /**
+         * @return the next request on the connection, or <code>null</code> if the client closed it
+         */
+        static HttpRequest read(InputStream in) throws IOException {
+
+            String requestLine = readLine(in);
+            if (requestLine == null)
+                return null;
+
+            String[] parts = requestLine.split(" ");
+            if (parts.length < 2)
+                throw new IOException("Malformed request line " + requestLine);
+
+            Map<String, String> headers = new HashMap<String, String>();
+            String line;
+            while ((line = readLine(in)) != null && line.length() > 0) {
+                int separator = line.indexOf(':');
+                if (separator != -1)
+                    headers.put(line.substring(0, separator).trim().toLowerCase(), line.substring(separator + 1)
+                            .trim());
+            }
+
+            byte[] body = new byte[0];
+            String contentLength = headers.get("content-length");
+            if (contentLength != null) {
+                body = new byte[Integer.parseInt(contentLength)];
+                int read = 0;
+                while (read < body.length) {
+                    int count = in.read(body, read, body.length - read);
+                    if (count == -1)
+                        throw new IOException("Unexpected end of request body");
+                    read += count;
+                }
+            }
+
+            String target = parts[1];
+            int queryStart = target.indexOf('?');
+            String path = queryStart == -1 ? target : target.substring(0, queryStart);
+
+            Map<String, String> parameters = new HashMap<String, String>();
+            if (queryStart != -1)
+                parseParameters(target.substring(queryStart + 1), parameters);
+            if (body.length > 0)
+                parseParameters(new String(body, UTF_8), parameters);
+
+            return new HttpRequest(parts[0], path, headers, parameters);
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+
+            StringBuilder line = new StringBuilder();
+            int read;
+            while ((read = in.read()) != -1) {
+                if (read == '\n')
+                    return line.toString();
+                if (read != '\r')
+                    line.append((char) read);
+            }
+            return line.length() == 0 ? null : line.toString();
+        }
+
+        /**
+         * Parses leniently, since some of the urls built by the client are not well-formed
+         */
+        private static void parseParameters(String query, Map<String, String> parameters) {
+
+            for (String pair : query.split("&")) {
+                int separator = pair.indexOf('=');
+                if (separator <= 0)
+                    continue;
+                String name = decode(pair.substring(0, separator));
+                if (!parameters.containsKey(name))
+                    parameters.put(name, decode(pair.substring(separator + 1)));
+            }
+        }
+
+        private static String decode(String value) {
+
+            try {
+                return URLDecoder.decode(value, UTF_8);
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            } catch (IllegalArgumentException e) {
+                return value;
+            }
+        }
+
+        private HttpRequest(String method, String path, Map<String, String> headers, Map<String, String> parameters) {
+
+            this.method = method;
+            this.path = path;
+            this.headers = headers;
+            this.parameters = parameters;
+        }
+
+        public String getMethod() {
+
+            return method;
+        }
+
+        /**
+         * @return the decoded non-empty segments of the path
+         */
+        public List<String> getSegments() {
+
+            return segmentsOf(path);
+        }
+
+        /**
+         * @param name the lower-case name of the header
+         */
+        public String getHeader(String name) {
+
+            return headers.get(name);
+        }
+
+        public String getParameter(String name) {
+
+            return parameters.get(name);
+        }
+
+        public String getCookie(String name) {
+
+            String cookies = headers.get("cookie");
+            if (cookies == null)
+                return null;
+
+            for (String cookie : cookies.split(";")) {
+                int separator = cookie.indexOf('=');
+                if (separator != -1 && cookie.substring(0, separator).trim().equals(name))
+                    return cookie.substring(separator + 1).trim();
+            }
+            return null;
+        }
+
+        public boolean isKeepAlive() {
+
+            return !"close".equalsIgnoreCase(headers.get("connection"));
+        }
+
+        public String getSetCookie() {
+
+            return setCookie;
+        }
+
+        public void setSetCookie(String setCookie) {
+
+            this.setCookie = setCookie;
+        }
+    }
+
+    private static final class HttpResponse {
+
+        private final int statusCode;
+        private final String contentType;
+        private final byte[] body;
+        private final Map<String, String> headers = new TreeMap<String, String>();
+
+        HttpResponse(int statusCode, String contentType, byte[] body) {
+
+            this.statusCode = statusCode;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public int getStatusCode() {
+
+            return statusCode;
+        }
+
+        public String getContentType() {
+
+            return contentType;
+        }
+
+        public byte[] getBody() {
+
+            return body;
+        }
+
+        public Map<String, String> getHeaders() {
+
+            return headers;
+        }
+
+        public void addHeader(String name, String value) {
+
+            headers.put(name, value);
+        }
+
+        public HttpResponse withHeader(String name, String value) {
+
+            if (value != null)
+                headers.put(name, value);
+            return this;
+        }
+
+        /**
+         * @return the number of bytes written
+         */
+        public int write(OutputStream out, boolean keepAlive) throws IOException {
+
+            StringBuilder head = new StringBuilder();
+            head.append("HTTP/1.1 ").append(statusCode).append(' ').append(reasonPhrase()).append("\r\n");
+            if (contentType != null)
+                head.append("Content-Type: ").append(contentType)
+                        .append(contentType.equals(JSON) ? "; charset=utf-8" : "").append("\r\n");
+            head.append("Content-Length: ").append(body.length).append("\r\n");
+            for (Map.Entry<String, String> header : headers.entrySet())
+                head.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n");
+            head.append("Connection: ").append(keepAlive ? "keep-alive" : "close").append("\r\n");
+            head.append("\r\n");
+
+            byte[] headBytes = head.toString().getBytes("ISO-8859-1");
+            out.write(headBytes);
+            out.write(body);
+
+            return headBytes.length + body.length;
+        }
+
+        private String reasonPhrase() {
+
+            switch (statusCode) {
+                case 200:
+                    return "OK";
+                case 304:
+                    return "Not Modified";
+                case 401:
+                    return "Unauthorized";
+                case 404:
+                    return "Not Found";
+                case 500:
+                    return "Internal Server Error";
+                case 503:
+                    return "Service Unavailable";
+                default:
+                    return "Status " + statusCode;
+            }
+        }
+    }
+}
@@ -0,0 +1,337 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.commons.net.WebLocation;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.review_board.ereviewboard.core.ReviewboardCorePlugin;
+import org.review_board.ereviewboard.core.exception.ReviewboardException;
+import org.review_board.ereviewboard.core.model.Review;
+import org.review_board.ereviewboard.core.model.ReviewRequest;
+import org.review_board.ereviewboard.core.model.ReviewRequestStatus;
+import org.review_board.ereviewboard.core.model.Screenshot;
+import org.review_board.ereviewboard.core.util.IntHashSet;
+
+public class MockReviewboardServerTest {
+
+    private MockDataSet dataSet;
+    private MockReviewboardServer server;
+    private RestfulReviewboardClient client;
+
+    @Before
+    public void setUp() throws IOException {
+
+        dataSet = MockDataSet.generate(42, 120);
+        server = new MockReviewboardServer(dataSet);
+        server.start();
+
+        client = new RestfulReviewboardClient(new WebLocation(server.getUrl(), "user1", MockDataSet.PASSWORD),
+                new ReviewboardClientData(), new TaskRepository(ReviewboardCorePlugin.REPOSITORY_KIND,
+                        server.getUrl()));
+    }
+
+    @After
+    public void tearDown() {
+
+        client.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void dataSetIsDeterministic() {
+
+        List<ReviewRequest> first = MockDataSet.generate(7, 20).getReviewRequests();
+        List<ReviewRequest> second = MockDataSet.generate(7, 20).getReviewRequests();
+
+        for (int i = 0; i < first.size(); i++) {
+            assertThat(second.get(i).getSummary(), is(first.get(i).getSummary()));
+            assertThat(second.get(i).getLastUpdated(), is(first.get(i).getLastUpdated()));
+            assertThat(second.get(i).getTargetPeople(), is(first.get(i).getTargetPeople()));
+        }
+    }
+
+    @Test
+    public void endpointsReplaceIdsAndUsernames() {
+
+        assertThat(MockReviewboardServer.endpointOf("/api/review-requests/12/reviews/3/replies"),
+                is("/api/review-requests/{id}/reviews/{id}/replies/"));
+        assertThat(MockReviewboardServer.endpointOf("/api/users/admin/"), is("/api/users/{username}/"));
+    }
+
+    @Test
+    public void sessionIsReused() throws ReviewboardException {
+
+        client.getReviewRequest(1, new NullProgressMonitor());
+        client.getReviewRequest(2, new NullProgressMonitor());
+        client.getReviews(3, new NullProgressMonitor());
+
+        assertThat(server.getLoginCount(), is(1));
+        assertThat(server.getRequestCount("/api/info/"), is(1));
+        assertThat(server.getRequestCount(), is(4));
+    }
+
+    @Test
+    public void invalidCredentialsAreRejected() {
+
+        RestfulReviewboardClient unauthorized = new RestfulReviewboardClient(new WebLocation(server.getUrl(),
+                "user1", "wrong"), new ReviewboardClientData(), new TaskRepository(
+                ReviewboardCorePlugin.REPOSITORY_KIND, server.getUrl()));
+        try {
+            unauthorized.getReviewRequest(1, new NullProgressMonitor());
+            fail("Logged in with invalid credentials");
+        } catch (ReviewboardException e) {
+            assertThat(server.getLoginCount(), is(0));
+        } finally {
+            unauthorized.shutdown();
+        }
+    }
+
+    @Test
+    public void reviewRequestsArePaged() throws ReviewboardException {
+
+        List<ReviewRequest> reviewRequests = client.getReviewRequests("?status=all", 1000,
+                new NullProgressMonitor());
+
+        Set<Integer> ids = new HashSet<Integer>();
+        for (ReviewRequest reviewRequest : reviewRequests)
+            ids.add(reviewRequest.getId());
+
+        assertThat(ids.size(), is(120));
+        assertTrue(server.getRequestCount("/api/review-requests/") > 1);
+    }
+
+    @Test
+    public void reviewRequestsAreFiltered() throws ReviewboardException {
+
+        int pending = 0;
+        for (ReviewRequest reviewRequest : dataSet.getReviewRequests())
+            if (reviewRequest.getStatus() == ReviewRequestStatus.PENDING && reviewRequest.getSubmitter().equals("user2"))
+                pending++;
+
+        List<ReviewRequest> reviewRequests = client.getReviewRequests("?status=pending&from-user=user2", 1000,
+                new NullProgressMonitor());
+
+        assertThat(reviewRequests.size(), is(pending));
+        for (ReviewRequest reviewRequest : reviewRequests)
+            assertThat(reviewRequest.getSubmitter(), is("user2"));
+    }
+
+    @Test
+    public void reviewRequestsChangedSince() throws ReviewboardException {
+
+        dataSet.addReview(3);
+        dataSet.setStatus(7, ReviewRequestStatus.DISCARDED);
+        IntHashSet ids = client.getReviewsIdsChangedSince(dataSet.getReviewRequest(3).getLastUpdated(),
+                new NullProgressMonitor());
+
+        assertThat(ids.size(), is(2));
+        assertTrue(ids.contains(3));
+        assertTrue(ids.contains(7));
+    }
+
+    @Test
+    public void reviewsAndComments() throws ReviewboardException {
+
+        for (int reviewRequestId = 1; reviewRequestId <= 10; reviewRequestId++) {
+
+            List<Review> reviews = client.getReviews(reviewRequestId, new NullProgressMonitor());
+            assertThat(reviews.size(), is(dataSet.getReviews(reviewRequestId).size()));
+
+            for (Review review : reviews) {
+                assertThat(client.countDiffComments(reviewRequestId, review.getId(), new NullProgressMonitor()),
+                        is(dataSet.getDiffComments(review.getId()).size()));
+                assertThat(client.readDiffComments(reviewRequestId, review.getId(), new NullProgressMonitor())
+                        .size(), is(dataSet.getDiffComments(review.getId()).size()));
+                assertThat(client.getReviewReplies(reviewRequestId, review.getId(), new NullProgressMonitor())
+                        .size(), is(dataSet.getReplies(review.getId()).size()));
+            }
+
+            assertThat(client.loadDiffs(reviewRequestId, new NullProgressMonitor()).size(), is(dataSet.getDiffs(
+                    reviewRequestId).size()));
+        }
+    }
+
+    @Test
+    public void unmodifiedResponsesAreNotSentAgain() throws ReviewboardException {
+
+        client.getReviewRequest(1, new NullProgressMonitor());
+        long bytesSent = server.getBytesSent();
+
+        ReviewRequest reviewRequest = client.getReviewRequest(1, new NullProgressMonitor());
+
+        assertThat(reviewRequest.getSummary(), is(dataSet.getReviewRequest(1).getSummary()));
+        assertTrue(server.getBytesSent() - bytesSent < bytesSent / 2);
+    }
+
+    @Test
+    public void clientStatisticsMatchTheServer() throws ReviewboardException {
+
+        client.getReviewRequest(1, new NullProgressMonitor());
+        client.getReviewRequest(1, new NullProgressMonitor());
+        client.getReviews(1, new NullProgressMonitor());
+        try {
+            client.getReviewRequest(1000, new NullProgressMonitor());
+        } catch (ReviewboardException e) {
+            // expected
+        }
+        for (int reviewRequestId = 1; reviewRequestId <= 10; reviewRequestId++)
+            for (Screenshot screenshot : dataSet.getScreenshots(reviewRequestId))
+                client.getScreenshot(screenshot.getUrl(), new NullProgressMonitor());
+
+        RequestStatistics statistics = client.getStatistics();
+        for (String endpoint : server.getRequestCounts().keySet())
+            assertThat(endpoint, statistics.getEndpoint(endpoint).getRequests(),
+                    is((long) server.getRequestCount(endpoint)));
+
+        assertTrue(statistics.getEndpoint("/media/{file}/").getRequests() > 0);
+
+        EndpointStatistics reviewRequest = statistics.getEndpoint("/api/review-requests/{id}/");
+        assertThat(reviewRequest.getStatusCodes().get(200), is(1));
+        assertThat(reviewRequest.getStatusCodes().get(304), is(1));
+        assertThat(reviewRequest.getStatusCodes().get(404), is(1));
+        assertThat(reviewRequest.getRetries(), is(0L));
+        assertTrue(reviewRequest.getTransferStatistics().getWireBytes() > 0);
+
+        long wireBytes = 0;
+        for (EndpointStatistics endpoint : statistics.getEndpoints().values())
+            wireBytes += endpoint.getTransferStatistics().getWireBytes();
+        assertThat(statistics.getTransferStatistics().getWireBytes(), is(wireBytes));
+    }
+
+    @Test
+    public void missingReviewRequest() {
+
+        try {
+            client.getReviewRequest(1000, new NullProgressMonitor());
+            fail("Found a missing review request");
+        } catch (ReviewboardException e) {
+            assertThat(server.getRequestCount("/api/review-requests/{id}/"), is(1));
+        }
+    }
+
+    @Test
+    public void injectedFailures() throws ReviewboardException {
+
+        client.getReviewRequest(1, new NullProgressMonitor());
+        server.failNextRequests(1);
+
+        try {
+            client.getReviewRequest(2, new NullProgressMonitor());
+            fail("The injected failure was not reported");
+        } catch (ReviewboardException e) {
+            // expected
+        }
+
+        assertThat(client.getReviewRequest(2, new NullProgressMonitor()).getId(), is(2));
+    }
+
+    @Test
+    public void failedRefreshKeepsThePreviousData() throws ReviewboardException {
+
+        client.updateRepositoryData(true, new NullProgressMonitor());
+
+        ReviewboardClientData.Snapshot previous = client.getClientData().getSnapshot();
+        assertThat(previous.getGroups().size(), is(dataSet.getGroups().size()));
+
+        dataSet.addGroups(3);
+        dataSet.addRepositories(2);
+        server.failEndpoint("/api/groups/");
+
+        client.updateRepositoryData(true, new NullProgressMonitor());
+
+        ReviewboardClientData.Snapshot refreshed = client.getClientData().getSnapshot();
+        assertThat(refreshed.getGroups(), is(previous.getGroups()));
+        assertThat(refreshed.getRepositories().size(), is(dataSet.getRepositories().size()));
+        assertThat(refreshed.getTimeZone(), is(previous.getTimeZone()));
+
+        server.clearFailingEndpoints();
+        client.updateRepositoryData(true, new NullProgressMonitor());
+
+        assertThat(client.getClientData().getGroups().size(), is(dataSet.getGroups().size()));
+    }
+
+    @Test
+    public void errorResponsesAreNotCachedAsAttachments() throws IOException, ReviewboardException {
+
+        String url = null;
+        for (int reviewRequestId = 1; url == null; reviewRequestId++)
+            for (Screenshot screenshot : dataSet.getScreenshots(reviewRequestId))
+                url = screenshot.getUrl();
+
+        File attachmentCacheDirectory = File.createTempFile("attachmentCache", null);
+        attachmentCacheDirectory.delete();
+
+        RestfulReviewboardClient cachingClient = new RestfulReviewboardClient(new WebLocation(server.getUrl(),
+                "user1", MockDataSet.PASSWORD), new ReviewboardClientData(), new TaskRepository(
+                ReviewboardCorePlugin.REPOSITORY_KIND, server.getUrl()), null, attachmentCacheDirectory);
+        try {
+            byte[] expected = client.getScreenshot(url, new NullProgressMonitor());
+            // log in before injecting the failures
+            cachingClient.getReviewRequest(1, new NullProgressMonitor());
+
+            for (int statusCode : new int[] { 401, 500 }) {
+                server.setFailureStatusCode(statusCode);
+                server.failNextRequests(1);
+                try {
+                    cachingClient.getScreenshot(url, new NullProgressMonitor());
+                    fail("The " + statusCode + " response was returned as the screenshot");
+                } catch (ReviewboardException e) {
+                    // expected
+                }
+            }
+
+            assertThat(cachingClient.getScreenshot(url, new NullProgressMonitor()), is(expected));
+
+            // the content is now served from the cache
+            server.setFailureRate(1);
+            assertThat(cachingClient.getScreenshot(url, new NullProgressMonitor()), is(expected));
+        } finally {
+            cachingClient.shutdown();
+            delete(attachmentCacheDirectory);
+        }
+    }
+
+    private static void delete(File file) {
+
+        File[] children = file.listFiles();
+        if (children != null)
+            for (File child : children)
+                delete(child);
+        file.delete();
+    }
+
+    @Test
+    public void latency() throws ReviewboardException {
+
+        client.getReviewRequest(1, new NullProgressMonitor());
+        server.setLatencyMillis(100);
+
+        long start = System.currentTimeMillis();
+        client.getReviewRequest(2, new NullProgressMonitor());
+
+        assertTrue(System.currentTimeMillis() - start >= 100);
+    }
+}
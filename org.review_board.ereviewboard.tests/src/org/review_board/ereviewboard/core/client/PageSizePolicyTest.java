@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PageSizePolicyTest {
+
+    private ReviewboardClientData clientData;
+    private PageSizePolicy policy;
+
+    @Before
+    public void setUp() {
+
+        clientData = new ReviewboardClientData();
+        policy = new PageSizePolicy(clientData);
+    }
+
+    private PageStatistics statistics(int pages, int pageSize, long millis, long responseSize) {
+
+        PageStatistics statistics = new PageStatistics();
+        for (int i = 0; i < pages; i++)
+            statistics.record(pageSize, pageSize, millis, responseSize);
+        return statistics;
+    }
+
+    @Test
+    public void defaultPageSize() {
+
+        assertThat(policy.getPageSize("users"), is(PageSizePolicy.DEFAULT_PAGE_SIZE));
+    }
+
+    @Test
+    public void growsWhenPagesAreFast() {
+
+        policy.update("users", 50, statistics(4, 50, 100, 10000));
+
+        assertThat(policy.getPageSize("users"), is(100));
+        assertThat(clientData.getPageSize("users"), is(100));
+    }
+
+    @Test
+    public void growthIsCappedAtServerMaximum() {
+
+        policy.update("users", 150, statistics(4, 150, 100, 10000));
+
+        assertThat(policy.getPageSize("users"), is(PageSizePolicy.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    public void singlePageDoesNotGrow() {
+
+        policy.update("users", 50, statistics(1, 50, 100, 10000));
+
+        assertThat(policy.getPageSize("users"), is(50));
+    }
+
+    @Test
+    public void shrinksWhenPagesAreSlow() {
+
+        policy.update("review_requests", 200, statistics(3, 200, 5000, 10000));
+
+        assertThat(policy.getPageSize("review_requests"), is(100));
+    }
+
+    @Test
+    public void shrinksWhenPagesAreLarge() {
+
+        policy.update("review_requests", 50, statistics(3, 50, 100, PageSizePolicy.MAX_PAGE_CHARS + 1));
+
+        assertThat(policy.getPageSize("review_requests"), is(PageSizePolicy.MIN_PAGE_SIZE));
+    }
+
+    @Test
+    public void resourcesAreIndependent() {
+
+        policy.update("users", 50, statistics(4, 50, 100, 10000));
+
+        assertThat(policy.getPageSize("reviews"), is(PageSizePolicy.DEFAULT_PAGE_SIZE));
+    }
+}
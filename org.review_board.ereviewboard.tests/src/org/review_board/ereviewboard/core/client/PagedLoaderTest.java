@@ -12,14 +12,24 @@ package org.review_board.ereviewboard.core.client;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
+import org.review_board.ereviewboard.core.client.FixtureGenerator.Resource;
 import org.review_board.ereviewboard.core.exception.ReviewboardException;
+import org.review_board.ereviewboard.core.model.ReviewRequest;
 
 /**
  * 
@@ -52,6 +62,73 @@ public class PagedLoaderTest {
         
     }
 
+    /**
+     * Returns the offsets as results, completing the later pages first
+     */
+    private static class OffsetPagedLoader extends PagedLoader<String> {
+
+        private final int stubbedMaxResults;
+        private final int failingStart;
+        public final List<Integer> requestedMaxResults = Collections.synchronizedList(new ArrayList<Integer>());
+
+        public OffsetPagedLoader(int increment, IProgressMonitor monitor, int stubbedMaxResults, int failingStart) {
+            super(increment, monitor, "Dummy");
+            this.stubbedMaxResults = stubbedMaxResults;
+            this.failingStart = failingStart;
+        }
+
+        @Override
+        protected PagedResult<String> doLoadInternal(int start, int maxResults, IProgressMonitor monitor) throws ReviewboardException {
+
+            requestedMaxResults.add(maxResults);
+
+            if ( start == failingStart )
+                throw new ReviewboardException("Failed loading from " + start);
+
+            try {
+                Thread.sleep((stubbedMaxResults - start) / 5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            List<String> result = new ArrayList<String>();
+            for ( int i = 0 ; i < maxResults; i++ )
+                result.add(String.valueOf(start + i));
+
+            return PagedResult.create(result, stubbedMaxResults);
+        }
+    }
+
+    private static class CountingProgressMonitor extends NullProgressMonitor {
+
+        public int totalWork;
+        public int worked;
+
+        @Override
+        public void beginTask(String name, int totalWork) {
+            this.totalWork = totalWork;
+        }
+
+        @Override
+        public void worked(int work) {
+            worked += work;
+        }
+    }
+
+    private RequestScheduler scheduler;
+
+    @Before
+    public void setUp() {
+
+        scheduler = new RequestScheduler("test");
+    }
+
+    @After
+    public void tearDown() {
+
+        scheduler.shutdown();
+    }
+
     @Test(expected = IllegalStateException.class)
     public void reuseIsRejected() throws ReviewboardException {
         
@@ -137,4 +214,158 @@ public class PagedLoaderTest {
         assertThat(loader.callCount, is(1));
         assertThat(results.size(), is(40));
     }
+
+    @Test
+    public void loadConcurrentlyKeepsPageOrder() throws ReviewboardException {
+
+        CountingProgressMonitor monitor = new CountingProgressMonitor();
+        OffsetPagedLoader loader = new OffsetPagedLoader(10, monitor, 200, -1);
+        loader.setExecutor(scheduler);
+
+        List<String> results = loader.doLoad();
+
+        assertThat(results.size(), is(200));
+        for ( int i = 0 ; i < results.size(); i++ )
+            assertThat(results.get(i), is(String.valueOf(i)));
+
+        assertThat(loader.requestedMaxResults.size(), is(20));
+        assertThat(monitor.totalWork, is(200));
+        assertThat(monitor.worked, is(200));
+    }
+
+    @Test
+    public void loadConcurrentlyWithLimit() throws ReviewboardException {
+
+        OffsetPagedLoader loader = new OffsetPagedLoader(10, new NullProgressMonitor(), 200, -1);
+        loader.setExecutor(scheduler);
+        loader.setLimit(45);
+
+        List<String> results = loader.doLoad();
+
+        assertThat(results.size(), is(45));
+        assertThat(results.get(44), is("44"));
+        assertThat(loader.requestedMaxResults.size(), is(5));
+        assertThat(loader.requestedMaxResults.contains(5), is(true));
+    }
+
+    @Test
+    public void loadConcurrentlyFailsPartway() {
+
+        OffsetPagedLoader loader = new OffsetPagedLoader(10, new NullProgressMonitor(), 200, 100);
+        loader.setExecutor(scheduler);
+
+        try {
+            loader.doLoad();
+            fail("Expected a ReviewboardException");
+        } catch (ReviewboardException e) {
+            assertThat(e.getMessage(), is("Failed loading from 100"));
+        }
+    }
+
+    @Test
+    public void loadFromWorkerThreadRunsInline() throws Exception {
+
+        final List<List<String>> results = new ArrayList<List<String>>();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        // a single thread would deadlock if nested pages were queued instead of run inline
+        final RequestScheduler singleThreadScheduler = new RequestScheduler("single", 1);
+        try {
+            singleThreadScheduler.execute(new Runnable() {
+                public void run() {
+                    try {
+                        OffsetPagedLoader loader = new OffsetPagedLoader(10, new NullProgressMonitor(), 50, -1);
+                        loader.setExecutor(singleThreadScheduler);
+                        results.add(loader.doLoad());
+                    } catch (ReviewboardException e) {
+                        // leave the results empty
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+
+            assertThat(done.await(10, TimeUnit.SECONDS), is(true));
+            assertThat(results.size(), is(1));
+            assertThat(results.get(0).size(), is(50));
+        } finally {
+            singleThreadScheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void consumerReceivesPagesInOrder() throws ReviewboardException {
+
+        final List<Integer> pageStarts = new ArrayList<Integer>();
+
+        OffsetPagedLoader loader = new OffsetPagedLoader(10, new NullProgressMonitor(), 95, -1);
+        loader.setExecutor(scheduler);
+        loader.doLoad(new PageConsumer<String>() {
+            public boolean accept(List<String> page) {
+                pageStarts.add(Integer.valueOf(page.get(0)));
+                return true;
+            }
+        });
+
+        assertThat(pageStarts, is(Arrays.asList(0, 10, 20, 30, 40, 50, 60, 70, 80, 90)));
+    }
+
+    @Test
+    public void consumerStopsLoading() throws ReviewboardException {
+
+        final List<String> results = new ArrayList<String>();
+
+        StubPagedLoader loader = new StubPagedLoader(5, new NullProgressMonitor(), "Dummy", 50);
+        loader.doLoad(new PageConsumer<String>() {
+            public boolean accept(List<String> page) {
+                results.addAll(page);
+                return results.size() < 10;
+            }
+        });
+
+        assertThat(loader.callCount, is(2));
+        assertThat(results.size(), is(10));
+    }
+
+    @Test
+    public void loadGeneratedReviewRequests() throws ReviewboardException {
+
+        final FixtureGenerator generator = new FixtureGenerator(1);
+        final RestfulReviewboardReader reader = new RestfulReviewboardReader();
+
+        PagedLoader<ReviewRequest> loader = new PagedLoader<ReviewRequest>(200, new NullProgressMonitor(), "Dummy") {
+            @Override
+            protected PagedResult<ReviewRequest> doLoadInternal(int start, int maxResults, IProgressMonitor monitor)
+                    throws ReviewboardException {
+                return reader.readReviewRequests(new StringReader(generator.page(Resource.REVIEW_REQUESTS, start,
+                        maxResults, 10000)));
+            }
+        };
+        loader.setExecutor(scheduler);
+
+        List<ReviewRequest> results = loader.doLoad();
+
+        assertThat(results.size(), is(10000));
+        for ( int i = 0 ; i < results.size(); i++ )
+            assertThat(results.get(i).getId(), is(i + 1));
+    }
+
+    @Test
+    public void consumerReceivesLimitedResults() throws ReviewboardException {
+
+        final List<String> results = new ArrayList<String>();
+
+        OffsetPagedLoader loader = new OffsetPagedLoader(10, new NullProgressMonitor(), 200, -1);
+        loader.setExecutor(scheduler);
+        loader.setLimit(25);
+        loader.doLoad(new PageConsumer<String>() {
+            public boolean accept(List<String> page) {
+                results.addAll(page);
+                return true;
+            }
+        });
+
+        assertThat(results.size(), is(25));
+        assertThat(results.get(24), is("24"));
+    }
 }
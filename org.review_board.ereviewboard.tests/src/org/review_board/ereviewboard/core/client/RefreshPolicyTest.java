@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.EnumSet;
+
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.review_board.ereviewboard.core.ReviewboardConstants;
+import org.review_board.ereviewboard.core.ReviewboardCorePlugin;
+import org.review_board.ereviewboard.core.client.RefreshPolicy.Resource;
+
+public class RefreshPolicyTest {
+
+    private static final long MINUTE = 60 * 1000;
+    private static final long NOW = 1000 * 24 * 60 * MINUTE;
+
+    private RefreshPolicy policy;
+    private ReviewboardClientData clientData;
+    private TaskRepository repository;
+
+    @Before
+    public void setUp() {
+
+        policy = new RefreshPolicy();
+        clientData = new ReviewboardClientData();
+        repository = new TaskRepository(ReviewboardCorePlugin.REPOSITORY_KIND, "http://reviews.example.com");
+    }
+
+    @Test
+    public void defaultTtls() {
+
+        assertThat(policy.getTtlMillis(Resource.USERS), is(24 * 60 * MINUTE));
+        assertThat(policy.getTtlMillis(Resource.GROUPS), is(60 * MINUTE));
+        assertThat(policy.getTtlMillis(Resource.REPOSITORIES), is(60 * MINUTE));
+        assertThat(policy.getTtlMillis(Resource.SERVER_INFO), is(24 * 60 * MINUTE));
+    }
+
+    @Test
+    public void ttlsAreReadFromRepositoryProperties() {
+
+        repository.setProperty(ReviewboardConstants.PROPERTY_GROUPS_TTL, "15");
+        repository.setProperty(ReviewboardConstants.PROPERTY_REPOSITORIES_TTL, "invalid");
+        policy.refreshRepositorySettings(repository);
+
+        assertThat(policy.getTtlMillis(Resource.GROUPS), is(15 * MINUTE));
+        assertThat(policy.getTtlMillis(Resource.REPOSITORIES), is(60 * MINUTE));
+    }
+
+    @Test
+    public void resourcesExpireIndependently() {
+
+        clientData.lastupdate = NOW - 2 * 60 * MINUTE;
+        clientData.setRefreshTime(Resource.REPOSITORIES.name(), NOW - 30 * MINUTE);
+
+        assertThat(policy.getExpiredResources(clientData, NOW), is(EnumSet.of(Resource.GROUPS)));
+    }
+
+    @Test
+    public void allResourcesExpireEventually() {
+
+        clientData.lastupdate = NOW - 24 * 60 * MINUTE;
+
+        assertThat(policy.getExpiredResources(clientData, NOW), is(EnumSet.allOf(Resource.class)));
+    }
+
+    @Test
+    public void zeroTtlDisablesRefresh() {
+
+        repository.setProperty(ReviewboardConstants.PROPERTY_GROUPS_TTL, "0");
+        policy.refreshRepositorySettings(repository);
+        clientData.lastupdate = NOW - 2 * 60 * MINUTE;
+
+        assertThat(policy.getExpiredResources(clientData, NOW), is(EnumSet.of(Resource.REPOSITORIES)));
+    }
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+
+import org.eclipse.core.runtime.IStatus;
+import org.junit.Test;
+
+public class RequestStatisticsTest {
+
+    @Test
+    public void endpointsReplaceIdsAndUsernames() {
+
+        assertThat(RequestStatistics.endpointOf("/api/review-requests/12/reviews/3/replies"),
+                is("/api/review-requests/{id}/reviews/{id}/replies/"));
+        assertThat(RequestStatistics.endpointOf("/api/users/admin/"), is("/api/users/{username}/"));
+        assertThat(RequestStatistics.endpointOf("/api/users/"), is("/api/users/"));
+        assertThat(RequestStatistics.endpointOf("/api/review-requests/5/diffs/2/"),
+                is("/api/review-requests/{id}/diffs/{id}/"));
+        assertThat(RequestStatistics.endpointOf("/api/groups/developers/"), is("/api/groups/{groupname}/"));
+    }
+
+    @Test
+    public void endpointsReplaceFilesAndHashes() {
+
+        assertThat(RequestStatistics.endpointOf("/media/uploaded/images/2011/01/01/screenshot_1.png"),
+                is("/media/{file}/"));
+        assertThat(RequestStatistics.endpointOf("/reviews/media/uploaded/files/2011/patch.diff"),
+                is("/reviews/media/{file}/"));
+        assertThat(RequestStatistics.endpointOf("/api/review-requests/5/file-attachments/3/build.log"),
+                is("/api/review-requests/{id}/file-attachments/{id}/{file}/"));
+        assertThat(RequestStatistics.endpointOf("/api/repositories/2/commits/4f7a2c9e1b/"),
+                is("/api/repositories/{id}/commits/{id}/"));
+        assertThat(RequestStatistics.endpointOf("/api/review-requests/5/screenshot_comments/"),
+                is("/api/review-requests/{id}/screenshot_comments/"));
+    }
+
+    @Test
+    public void endpointsAreShared() {
+
+        RequestStatistics statistics = new RequestStatistics("http://reviews.example.com");
+
+        statistics.getEndpoint("/api/info/").recordRequest(200, 5);
+        statistics.getEndpoint("/api/info/").recordRequest(304, 7);
+        statistics.getEndpoint("/api/info/").recordRequest(304, 3);
+        statistics.getEndpoint("/api/info/").recordRetry();
+
+        EndpointStatistics endpoint = statistics.getEndpoints().get("/api/info/");
+        assertThat(endpoint.getRequests(), is(3L));
+        assertThat(endpoint.getRetries(), is(1L));
+        assertThat(endpoint.getStatusCodes().get(200), is(1));
+        assertThat(endpoint.getStatusCodes().get(304), is(2));
+        assertThat(endpoint.getLatency().getTotalMillis(), is(15L));
+    }
+
+    @Test
+    public void histogramBuckets() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long millis : new long[] { 0, 10, 11, 90, 100, 101, 40000 })
+            histogram.record(millis);
+
+        long[] expected = new long[LatencyHistogram.BUCKET_BOUNDS.length + 1];
+        expected[0] = 2;
+        expected[1] = 1;
+        expected[3] = 2;
+        expected[4] = 1;
+        expected[expected.length - 1] = 1;
+
+        assertThat(Arrays.toString(histogram.getBucketCounts()), is(Arrays.toString(expected)));
+        assertThat(histogram.getCount(), is(7L));
+        assertThat(histogram.getMaxMillis(), is(40000L));
+        assertThat(histogram.getPercentileMillis(50), is(100L));
+        assertThat(histogram.getPercentileMillis(100), is(40000L));
+    }
+
+    @Test
+    public void emptyHistogram() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getAverageMillis(), is(0L));
+        assertThat(histogram.getPercentileMillis(99), is(0L));
+    }
+
+    @Test
+    public void phasesAreRecorded() {
+
+        RequestStatistics statistics = new RequestStatistics("http://reviews.example.com");
+
+        statistics.recordPhase(RequestStatistics.PHASE_GET_TASK_DATA, "review request 1", 120);
+        statistics.recordPhase(RequestStatistics.PHASE_GET_TASK_DATA, "review request 2", 80);
+        statistics.recordPhase(RequestStatistics.PHASE_PERFORM_QUERY, null, 300);
+
+        assertThat(statistics.getPhases().size(), is(2));
+        assertThat(statistics.getPhases().get(RequestStatistics.PHASE_GET_TASK_DATA).getAverageMillis(), is(100L));
+    }
+
+    @Test
+    public void logSeverity() {
+
+        assertThat(RequestStatistics.parseLogSeverity("info"), is(IStatus.INFO));
+        assertThat(RequestStatistics.parseLogSeverity(" Warning "), is(IStatus.WARNING));
+        assertThat(RequestStatistics.parseLogSeverity("ERROR"), is(IStatus.ERROR));
+        assertThat(RequestStatistics.parseLogSeverity(null), is(RequestStatistics.NOT_LOGGED));
+        assertThat(RequestStatistics.parseLogSeverity("verbose"), is(RequestStatistics.NOT_LOGGED));
+    }
+}
@@ -42,11 +42,13 @@ import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.util.Collections;
 import java.util.List;
 import java.util.TimeZone;
@@ -63,9 +65,11 @@ import org.review_board.ereviewboard.core.model.ReviewGroup;
 import org.review_board.ereviewboard.core.model.ReviewReply;
 import org.review_board.ereviewboard.core.model.ReviewRequest;
 import org.review_board.ereviewboard.core.model.ReviewRequestStatus;
+import org.review_board.ereviewboard.core.model.Screenshot;
 import org.review_board.ereviewboard.core.model.ScreenshotComment;
 import org.review_board.ereviewboard.core.model.ServerInfo;
 import org.review_board.ereviewboard.core.model.User;
+import org.review_board.ereviewboard.core.util.IntHashSet;
 
 /**
  * @author Markus Knittig
@@ -151,6 +155,19 @@ public class RestfulReviewboardReaderTest {
         assertThat("users[0].url", user.getUrl(), is("/users/admin/"));
     }
     
+    @Test
+    public void readUser() throws Exception {
+
+        // http://www.reviewboard.org/docs/manual/dev/webapi/2.0/resources/user/
+        User user = reader.readUser(new StringReader(readJsonTestResource("user.json")));
+
+        assertThat("user.email", user.getEmail(), is("doc@example.com"));
+        assertThat("user.fullName", user.getFullName(), is("Doc Dwarf"));
+        assertThat("user.id", user.getId(), is(2));
+        assertThat("user.userName", user.getUsername(), is("doc"));
+        assertThat("user.url", user.getUrl(), is("/users/doc/"));
+    }
+    
     @Test
     public void readGroups() throws Exception {
 
@@ -341,9 +358,150 @@ public class RestfulReviewboardReaderTest {
         assertThat("screenshotComments[0].timestamp", firstComment.getTimestamp(), is(ReviewboardAttributeMapper.parseDateValue("2010-08-28 02:24:31")));
     }
     
+    @Test
+    public void readScreenshots() throws ReviewboardException, IOException {
+
+        List<Screenshot> screenshots = reader.readScreenshots(readJsonTestResource("screenshots.json"));
+
+        assertThat("screenshots.size", screenshots.size(), is(2));
+
+        Screenshot firstScreenshot = screenshots.get(0);
+
+        assertThat("screenshots[0].id", firstScreenshot.getId(), is(1));
+        assertThat("screenshots[0].caption", firstScreenshot.getCaption(), is("Error dialog"));
+        assertThat("screenshots[0].url", firstScreenshot.getUrl(), is("/media/uploaded/images/2010/08/28/error.png"));
+        assertThat("screenshots[1].caption", screenshots.get(1).getCaption(), is(""));
+    }
+
     @Test
     public void readCount() throws ReviewboardException, IOException {
 
         assertThat("count", reader.readCount(readJsonTestResource("count.json")), is(6));
     }
+
+    @Test
+    public void readUsersStreamed() throws Exception {
+
+        List<User> expected = reader.readUsers(readJsonTestResource("users.json")).getResults();
+        PagedResult<User> pagedResult = reader.readUsers(new StringReader(readJsonTestResource("users.json")));
+
+        assertThat("total_result", pagedResult.getTotalResults(), is(4));
+        assertThat("users.size", pagedResult.getResults().size(), is(expected.size()));
+
+        for (int i = 0; i < expected.size(); i++) {
+            User expectedUser = expected.get(i);
+            User user = pagedResult.getResults().get(i);
+
+            assertThat("users[" + i + "].id", user.getId(), is(expectedUser.getId()));
+            assertThat("users[" + i + "].url", user.getUrl(), is(expectedUser.getUrl()));
+            assertThat("users[" + i + "].username", user.getUsername(), is(expectedUser.getUsername()));
+            assertThat("users[" + i + "].email", user.getEmail(), is(expectedUser.getEmail()));
+            assertThat("users[" + i + "].firstName", user.getFirstName(), is(expectedUser.getFirstName()));
+            assertThat("users[" + i + "].lastName", user.getLastName(), is(expectedUser.getLastName()));
+        }
+    }
+
+    @Test
+    public void readReviewRequestsStreamed() throws Exception {
+
+        List<ReviewRequest> expected = reader.readReviewRequests(readJsonTestResource("review_requests.json")).getResults();
+        PagedResult<ReviewRequest> pagedResult = reader.readReviewRequests(new StringReader(
+                readJsonTestResource("review_requests.json")));
+
+        assertThat("totalResults", pagedResult.getTotalResults(), is(5));
+        assertThat("reviewRequests.size", pagedResult.getResults().size(), is(expected.size()));
+
+        for (int i = 0; i < expected.size(); i++)
+            assertSameReviewRequest(pagedResult.getResults().get(i), expected.get(i));
+    }
+
+    @Test
+    public void readReviewRequestIds() throws Exception {
+
+        IntHashSet ids = new IntHashSet();
+        int totalResults = reader.readReviewRequestIds(new StringReader(readJsonTestResource("review_requests.json")), ids);
+
+        assertThat("totalResults", totalResults, is(5));
+        assertThat("ids.size", ids.size(), is(5));
+
+        for (int id : new int[] { 8, 4, 6, 2, 3 })
+            assertThat("ids.contains(" + id + ")", ids.contains(id), is(true));
+    }
+
+    private void assertSameReviewRequest(ReviewRequest actual, ReviewRequest expected) {
+
+        String prefix = "reviewRequests[" + expected.getId() + "].";
+
+        assertThat(prefix + "id", actual.getId(), is(expected.getId()));
+        assertThat(prefix + "submitter", actual.getSubmitter(), is(expected.getSubmitter()));
+        assertThat(prefix + "summary", actual.getSummary(), is(expected.getSummary()));
+        assertThat(prefix + "description", actual.getDescription(), is(expected.getDescription()));
+        assertThat(prefix + "testingDone", actual.getTestingDone(), is(expected.getTestingDone()));
+        assertThat(prefix + "public", actual.isPublic(), is(expected.isPublic()));
+        assertThat(prefix + "status", actual.getStatus(), is(expected.getStatus()));
+        assertThat(prefix + "changeNumber", actual.getChangeNumber(), is(expected.getChangeNumber()));
+        assertThat(prefix + "lastUpdated", actual.getLastUpdated(), is(expected.getLastUpdated()));
+        assertThat(prefix + "timeAdded", actual.getTimeAdded(), is(expected.getTimeAdded()));
+        assertThat(prefix + "branch", actual.getBranch(), is(expected.getBranch()));
+        assertThat(prefix + "bugsClosed", actual.getBugsClosed(), is(expected.getBugsClosed()));
+        assertThat(prefix + "targetPeople", actual.getTargetPeople(), is(expected.getTargetPeople()));
+        assertThat(prefix + "targetGroups", actual.getTargetGroups(), is(expected.getTargetGroups()));
+        assertThat(prefix + "repository", actual.getRepository(), is(expected.getRepository()));
+    }
+
+    @Test
+    public void readReviewRequestStreamed() throws Exception {
+
+        ReviewRequest expected = reader.readReviewRequest(readJsonTestResource("review_request.json"));
+        ReviewRequest reviewRequest = reader.readReviewRequest(new StringReader(readJsonTestResource("review_request.json")));
+
+        assertSameReviewRequest(reviewRequest, expected);
+    }
+
+    @Test
+    public void readReviewsStreamed() throws Exception {
+
+        PagedResult<Review> reviewsResult = reader.readReviews(new StringReader(readJsonTestResource("reviews.json")));
+        assertThat(reviewsResult.getTotalResults(), is(1));
+
+        List<Review> reviews = reviewsResult.getResults();
+        assertThat("reviews.size", reviews.size(), is(1));
+
+        Review firstReview = reviews.get(0);
+        assertThat("reviews[0].id", firstReview.getId(), is(8));
+        assertThat("reviews[0].bodyBottom", firstReview.getBodyBottom(), is(""));
+        assertThat("reviews[0].bodyTop", firstReview.getBodyTop(), is(""));
+        assertThat("reviews[0].user", firstReview.getUser(), is("admin"));
+        assertThat("reviews[0].public", firstReview.isPublicReview(), is(true));
+        assertThat("reviews[0].shipIt", firstReview.getShipIt(), is(false));
+        assertThat("reviews[0].timestamp", firstReview.getTimestamp(), is(ReviewboardAttributeMapper.parseDateValue("2010-08-28 02:25:31")));
+    }
+
+    @Test
+    public void readStreamedFailure() throws IOException {
+
+        try {
+            reader.readUsers(new StringReader("{\"err\": {\"code\": 100, \"msg\": \"Object does not exist\"}, \"stat\": \"fail\"}"));
+            fail("Expected a ReviewboardException");
+        } catch (ReviewboardException e) {
+            assertThat(e.getMessage(), is("Object does not exist"));
+        }
+    }
+
+    @Test
+    public void readStreamedInvalidResponse() throws IOException {
+
+        try {
+            reader.readUsers(new StringReader("<html><body>Internal server error</body></html>"));
+            fail("Expected a ReviewboardException");
+        } catch (ReviewboardException e) {
+            assertThat(e.getMessage().startsWith("The server has responded with an invalid JSon object"), is(true));
+        }
+    }
+
+    @Test(expected = ReviewboardException.class)
+    public void readStreamedEmptyResponse() throws ReviewboardException {
+
+        reader.readReviews(new StringReader(""));
+    }
 }
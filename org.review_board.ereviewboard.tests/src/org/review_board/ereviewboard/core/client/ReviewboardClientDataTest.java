@@ -37,8 +37,13 @@
  *******************************************************************************/
 package org.review_board.ereviewboard.core.client;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Arrays;
 
+import org.review_board.ereviewboard.core.model.Repository;
 import org.review_board.ereviewboard.core.model.ReviewGroup;
 import org.review_board.ereviewboard.core.model.User;
 
@@ -70,12 +75,93 @@ public class ReviewboardClientDataTest extends TestCase {
 
     public void testGetGroup() {
         ReviewGroup test = new ReviewGroup("Test");
-        reviewboardClientData.getGroups().add(test);
+        reviewboardClientData.setGroups(Arrays.asList(test));
         assertEquals(test, reviewboardClientData.getGroup("Test"));
     }
 
+    public void testGroupsCanNotBeModified() {
+        try {
+            reviewboardClientData.getGroups().add(new ReviewGroup("Test"));
+            fail("Modified the groups");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    public void testGetById() {
+        User joe = new User("Joe");
+        joe.setId(5);
+        reviewboardClientData.setUsers(Arrays.asList(joe));
+
+        ReviewGroup group = new ReviewGroup("Test");
+        group.setId(7);
+        reviewboardClientData.setGroups(Arrays.asList(group));
+
+        Repository repository = new Repository();
+        repository.setId(9);
+        repository.setName("ereviewboard");
+        reviewboardClientData.setRepositories(Arrays.asList(repository));
+
+        assertEquals(joe, reviewboardClientData.getUser(5));
+        assertEquals(group, reviewboardClientData.getGroup(7));
+        assertSame(repository, reviewboardClientData.getRepository(9));
+        assertSame(repository, reviewboardClientData.getRepository("ereviewboard"));
+        assertNull(reviewboardClientData.getRepository(10));
+    }
+
+    public void testAddUserReplacesUserWithSameName() {
+        reviewboardClientData.setUsers(Arrays.asList(new User("Joe"), new User("Jane")));
+        User joe = new User("Joe");
+        joe.setFirstName("Joe");
+        reviewboardClientData.addUser(joe);
+
+        assertEquals(2, reviewboardClientData.getUsers().size());
+        assertEquals("Joe", reviewboardClientData.getUser("Joe").getFirstName());
+    }
+
+    public void testAddUsersKeepsExistingUsers() {
+        reviewboardClientData.setUsers(Arrays.asList(new User("Joe"), new User("Jane")));
+        User jane = new User("Jane");
+        jane.setFirstName("Jane");
+        reviewboardClientData.addUsers(Arrays.asList(jane, new User("Doc")));
+
+        assertEquals(3, reviewboardClientData.getUsers().size());
+        assertEquals("Jane", reviewboardClientData.getUser("Jane").getFirstName());
+        assertEquals("Doc", reviewboardClientData.getUser("Doc").getUsername());
+    }
+
     public void testGetNotExistingGroup() {
         assertEquals(null, reviewboardClientData.getGroup("Test"));
     }
 
+
+    public void testSerializationKeepsPageSizesAndCommentCounts() throws Exception {
+        reviewboardClientData.setPageSize("users", 100);
+        reviewboardClientData.getCommentCounts().putDiffComments(1, 2, 3);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(reviewboardClientData);
+        out.close();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        ReviewboardClientData read = (ReviewboardClientData) in.readObject();
+
+        assertEquals(Integer.valueOf(100), read.getPageSize("users"));
+        assertEquals(Integer.valueOf(3), read.getCommentCounts().getDiffComments(1, 2));
+    }
+
+    public void testSerializationKeepsGroups() throws Exception {
+        reviewboardClientData.setGroups(Arrays.asList(new ReviewGroup("Test")));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(reviewboardClientData);
+        out.close();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        ReviewboardClientData read = (ReviewboardClientData) in.readObject();
+
+        assertEquals("Test", read.getGroup("Test").getName());
+    }
 }
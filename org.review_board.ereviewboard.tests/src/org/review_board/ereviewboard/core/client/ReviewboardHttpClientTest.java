@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.commons.net.WebLocation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.review_board.ereviewboard.core.exception.ReviewboardException;
+
+public class ReviewboardHttpClientTest {
+
+    private static final String REVIEW_REQUEST_URL = "/api/review-requests/1/";
+
+    private MockReviewboardServer server;
+    private ReviewboardHttpClient httpClient;
+
+    @Before
+    public void setUp() throws IOException {
+
+        server = new MockReviewboardServer(MockDataSet.generate(5, 10));
+        server.start();
+
+        httpClient = newHttpClient();
+    }
+
+    private ReviewboardHttpClient newHttpClient() {
+
+        return new ReviewboardHttpClient(new WebLocation(server.getUrl(), "user1", MockDataSet.PASSWORD), "UTF-8",
+                false);
+    }
+
+    @After
+    public void tearDown() {
+
+        httpClient.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void compressedResponsesAreAccepted() throws ReviewboardException {
+
+        httpClient.executeGet(REVIEW_REQUEST_URL, new NullProgressMonitor());
+
+        String acceptEncoding = server.getLastAcceptEncoding();
+        assertTrue(acceptEncoding, acceptEncoding.indexOf("gzip") != -1);
+        assertTrue(acceptEncoding, acceptEncoding.indexOf("deflate") != -1);
+    }
+
+    @Test
+    public void gzipResponseIsDecoded() throws ReviewboardException {
+
+        assertDecoded("gzip");
+    }
+
+    @Test
+    public void deflateResponseIsDecoded() throws ReviewboardException {
+
+        assertDecoded("deflate");
+    }
+
+    private void assertDecoded(String contentEncoding) throws ReviewboardException {
+
+        server.setContentEncoding(null);
+        String expected = executeGetWithNewClient();
+
+        server.setContentEncoding(contentEncoding);
+        String decoded = httpClient.executeGet(REVIEW_REQUEST_URL, new NullProgressMonitor());
+
+        assertThat(decoded, is(expected));
+
+        TransferStatistics transferStatistics = httpClient.getTransferStatistics();
+        assertThat(transferStatistics.getCompressedResponses(), is(transferStatistics.getResponses()));
+        assertTrue(transferStatistics.getWireBytes() < transferStatistics.getContentBytes());
+    }
+
+    private String executeGetWithNewClient() throws ReviewboardException {
+
+        ReviewboardHttpClient uncompressed = newHttpClient();
+        try {
+            return uncompressed.executeGet(REVIEW_REQUEST_URL, new NullProgressMonitor());
+        } finally {
+            uncompressed.shutdown();
+        }
+    }
+}
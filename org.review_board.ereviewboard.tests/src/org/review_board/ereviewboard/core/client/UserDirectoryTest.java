@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.review_board.ereviewboard.core.exception.ReviewboardException;
+import org.review_board.ereviewboard.core.model.User;
+
+public class UserDirectoryTest {
+
+    private RequestScheduler scheduler;
+    private ReviewboardClientData clientData;
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+
+        scheduler = new RequestScheduler("test");
+        clientData = new ReviewboardClientData();
+    }
+
+    @After
+    public void tearDown() {
+
+        scheduler.shutdown();
+    }
+
+    /**
+     * Creates a directory which knows all users except <tt>unknown</tt>, waiting for the
+     * <tt>latch</tt> before each lookup
+     */
+    private UserDirectory newDirectory(long ttlMillis, final CountDownLatch latch) {
+
+        return newDirectory(scheduler, ttlMillis, Math.min(ttlMillis, UserDirectory.DEFAULT_FAILURE_TTL_MILLIS), latch);
+    }
+
+    private UserDirectory newDirectory(RequestScheduler scheduler, long ttlMillis, long failureTtlMillis,
+            final CountDownLatch latch) {
+
+        return new UserDirectory(clientData, scheduler, ttlMillis, failureTtlMillis) {
+            @Override
+            protected User loadUser(String username) throws ReviewboardException {
+
+                lookups.incrementAndGet();
+
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    throw new ReviewboardException("Interrupted", e);
+                }
+
+                if ("unknown".equals(username))
+                    throw new ReviewboardException("No resource found at location /api/users/unknown/");
+
+                User user = new User(username);
+                user.setFirstName(username.toUpperCase());
+                return user;
+            }
+        };
+    }
+
+    private UserDirectory newDirectory(long ttlMillis) {
+
+        return newDirectory(ttlMillis, new CountDownLatch(0));
+    }
+
+    @Test
+    public void userIsLookedUpOnce() {
+
+        UserDirectory directory = newDirectory(UserDirectory.DEFAULT_TTL_MILLIS);
+
+        assertThat(directory.getUser("joe").getFirstName(), is("JOE"));
+        assertThat(directory.getUser("joe").getFirstName(), is("JOE"));
+        assertThat(lookups.get(), is(1));
+        assertThat(clientData.getUser("joe").getFirstName(), is("JOE"));
+    }
+
+    @Test
+    public void expiredUserIsLookedUpAgain() {
+
+        UserDirectory directory = newDirectory(-1);
+
+        directory.getUser("joe");
+        directory.getUser("joe");
+
+        assertThat(lookups.get(), is(2));
+    }
+
+    @Test
+    public void failedLookupIsRemembered() {
+
+        UserDirectory directory = newDirectory(UserDirectory.DEFAULT_TTL_MILLIS);
+
+        assertThat(directory.getUser("unknown"), is(nullValue()));
+        assertThat(directory.getUser("unknown"), is(nullValue()));
+        assertThat(lookups.get(), is(1));
+    }
+
+    @Test
+    public void failedLookupExpiresBeforeUsers() {
+
+        UserDirectory directory = newDirectory(scheduler, UserDirectory.DEFAULT_TTL_MILLIS, -1,
+                new CountDownLatch(0));
+
+        directory.getUser("unknown");
+        directory.getUser("unknown");
+        directory.getUser("joe");
+        directory.getUser("joe");
+
+        assertThat(lookups.get(), is(3));
+    }
+
+    @Test
+    public void failedLookupFallsBackToClientData() {
+
+        User unknown = new User("unknown");
+        clientData.setUsers(Arrays.asList(unknown));
+
+        assertThat(newDirectory(UserDirectory.DEFAULT_TTL_MILLIS).getUser("unknown"), is(unknown));
+    }
+
+    @Test
+    public void enumeratedUsersAreNotLookedUp() {
+
+        User joe = new User("joe");
+        clientData.setUsers(Arrays.asList(joe));
+
+        UserDirectory directory = newDirectory(UserDirectory.DEFAULT_TTL_MILLIS);
+        directory.setUsersEnumerated(true);
+
+        assertThat(directory.getUser("joe"), is(joe));
+        assertThat(lookups.get(), is(0));
+    }
+
+    @Test
+    public void concurrentLookupsAreCoalesced() throws InterruptedException {
+
+        CountDownLatch latch = new CountDownLatch(1);
+        final UserDirectory directory = newDirectory(UserDirectory.DEFAULT_TTL_MILLIS, latch);
+        final User[] users = new User[2];
+
+        Thread[] threads = new Thread[users.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    users[index] = directory.getUser("joe");
+                }
+            };
+            threads[i].start();
+        }
+
+        // give both threads the chance to start their lookup before it completes
+        Thread.sleep(100);
+        latch.countDown();
+
+        for (Thread thread : threads)
+            thread.join();
+
+        assertThat(lookups.get(), is(1));
+        assertThat(users[1], is(users[0]));
+    }
+
+    @Test
+    public void queuedLookupIsRunByWaitingWorker() throws InterruptedException {
+
+        // the lookup queued by a caller outside the scheduler must not wait for the busy worker
+        final RequestScheduler singleThreadScheduler = new RequestScheduler("single", 1);
+        try {
+            final UserDirectory directory = newDirectory(singleThreadScheduler, UserDirectory.DEFAULT_TTL_MILLIS,
+                    UserDirectory.DEFAULT_FAILURE_TTL_MILLIS, new CountDownLatch(0));
+            final CountDownLatch workerStarted = new CountDownLatch(1);
+            final CountDownLatch lookupQueued = new CountDownLatch(1);
+            final CountDownLatch workerDone = new CountDownLatch(1);
+
+            singleThreadScheduler.execute(new Runnable() {
+                public void run() {
+                    workerStarted.countDown();
+                    try {
+                        lookupQueued.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    directory.getUser("joe");
+                    workerDone.countDown();
+                }
+            });
+            workerStarted.await();
+
+            Thread caller = new Thread() {
+                @Override
+                public void run() {
+                    directory.getUser("joe");
+                }
+            };
+            caller.start();
+            Thread.sleep(100);
+            lookupQueued.countDown();
+
+            assertThat(workerDone.await(10, TimeUnit.SECONDS), is(true));
+            caller.join();
+            assertThat(lookups.get(), is(1));
+        } finally {
+            singleThreadScheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void resolveLooksUpEachUsernameOnce() {
+
+        UserDirectory directory = newDirectory(UserDirectory.DEFAULT_TTL_MILLIS);
+
+        directory.resolve(Arrays.asList("joe", "jane", "joe", null));
+        directory.getUser("jane");
+
+        assertThat(lookups.get(), is(2));
+        assertThat(clientData.getUsers().size(), is(2));
+    }
+
+    @Test
+    public void resolvedUsersAreAddedInOneStep() {
+
+        final AtomicInteger updates = new AtomicInteger();
+        clientData = new ReviewboardClientData() {
+            @Override
+            public synchronized void addUsers(Collection<User> users) {
+
+                updates.incrementAndGet();
+                super.addUsers(users);
+            }
+        };
+        clientData.setUsers(Arrays.asList(new User("admin")));
+
+        newDirectory(UserDirectory.DEFAULT_TTL_MILLIS).resolve(Arrays.asList("joe", "jane", "doc"));
+
+        assertThat(updates.get(), is(1));
+        assertThat(clientData.getUsers().size(), is(4));
+        assertThat(clientData.getUser("jane").getFirstName(), is("JANE"));
+    }
+}
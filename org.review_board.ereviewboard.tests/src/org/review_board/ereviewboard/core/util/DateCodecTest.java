@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+public class DateCodecTest {
+
+    private static final long MINUTE = 60 * 1000;
+
+    private static final String[] TIME_ZONES = { "UTC", "Europe/Bucharest", "America/Los_Angeles",
+            "Australia/Lord_Howe", "Asia/Kolkata" };
+
+    private static DateFormat newDateFormat(String pattern, TimeZone timeZone) {
+
+        DateFormat format = new SimpleDateFormat(pattern);
+        format.setTimeZone(timeZone);
+        return format;
+    }
+
+    @Test
+    public void formatMatchesSimpleDateFormat() {
+
+        for (String id : TIME_ZONES) {
+            TimeZone timeZone = TimeZone.getTimeZone(id);
+            DateFormat format = newDateFormat("yyyy-MM-dd HH:mm:ss", timeZone);
+            DateFormat isoFormat = newDateFormat("yyyy-MM-dd'T'HH:mm:ss", timeZone);
+
+            // every 17 minutes for three years, covering all transitions and leap days
+            for (long millis = 1230000000000L; millis < 1330000000000L; millis += 17 * MINUTE + 1001) {
+                Date date = new Date(millis);
+                assertThat(id, DateCodec.format(date, timeZone), is(format.format(date)));
+                assertThat(id, DateCodec.formatIso(date, timeZone), is(isoFormat.format(date)));
+            }
+        }
+    }
+
+    @Test
+    public void parseMatchesSimpleDateFormat() throws ParseException {
+
+        for (String id : TIME_ZONES) {
+            TimeZone timeZone = TimeZone.getTimeZone(id);
+            DateFormat utc = newDateFormat("yyyy-MM-dd HH:mm:ss", TimeZone.getTimeZone("UTC"));
+            DateFormat format = newDateFormat("yyyy-MM-dd HH:mm:ss", timeZone);
+
+            // local times, including those skipped or repeated by daylight saving transitions
+            for (long millis = 1230000000000L; millis < 1330000000000L; millis += 13 * MINUTE + 1000) {
+                String value = utc.format(new Date(millis));
+                assertThat(id + " " + value, DateCodec.parse(value, timeZone), is(format.parse(value)));
+            }
+        }
+    }
+
+    @Test
+    public void parseIso() throws ParseException {
+
+        TimeZone timeZone = TimeZone.getTimeZone("Europe/Bucharest");
+
+        assertThat(DateCodec.parse("2010-08-28T02:26:18", timeZone), is(DateCodec.parse("2010-08-28 02:26:18",
+                timeZone)));
+        assertThat(DateCodec.formatIso(DateCodec.parse("2010-08-28 02:26:18", timeZone), timeZone),
+                is("2010-08-28T02:26:18"));
+    }
+
+    @Test
+    public void trailingTextIsIgnored() throws ParseException {
+
+        TimeZone timeZone = TimeZone.getTimeZone("UTC");
+
+        assertThat(DateCodec.parse("2010-08-28 02:26:18.123456", timeZone), is(new Date(1282962378000L)));
+    }
+
+    @Test
+    public void cachedValuesHonourTheTimeZone() throws ParseException {
+
+        Date utc = DateCodec.parse("2010-08-28 02:26:18", TimeZone.getTimeZone("UTC"));
+        Date bucharest = DateCodec.parse("2010-08-28 02:26:18", TimeZone.getTimeZone("Europe/Bucharest"));
+
+        assertThat(utc.getTime() - bucharest.getTime(), is(3 * 60 * MINUTE));
+    }
+
+    @Test
+    public void valuesOutsideTheLayoutAreParsedLikeSimpleDateFormat() throws ParseException {
+
+        TimeZone timeZone = TimeZone.getTimeZone("America/Los_Angeles");
+        DateFormat format = newDateFormat("yyyy-MM-dd HH:mm:ss", timeZone);
+
+        for (String value : new String[] { "2010-8-28 2:26:18", "1850-01-01 00:00:00", "2010-02-30 10:00:00" })
+            assertThat(value, DateCodec.parse(value, timeZone), is(format.parse(value)));
+
+        Date ancient = new Date(-5000000000000L);
+        assertThat(DateCodec.format(ancient, timeZone), is(format.format(ancient)));
+    }
+
+    @Test
+    public void invalidValuesAreRejected() {
+
+        for (String value : new String[] { "", "1300000000000", "not a date at all", "2010/08/28 02:26:18" }) {
+            try {
+                DateCodec.parse(value);
+                fail("Parsed " + value);
+            } catch (ParseException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void shift() throws ParseException {
+
+        TimeZone london = TimeZone.getTimeZone("Europe/London");
+        TimeZone losAngeles = TimeZone.getTimeZone("America/Los_Angeles");
+
+        Date parsed = DateCodec.parse("2010-08-28 02:26:18", london);
+
+        assertThat(DateCodec.shift(parsed, losAngeles, london), is(DateCodec.parse("2010-08-28 10:26:18", london)));
+        assertThat(DateCodec.shift(parsed, london, london), is(parsed));
+        assertThat(DateCodec.shift(parsed, null, london), is(parsed));
+        assertThat(DateCodec.shift(null, losAngeles, london), nullValue());
+    }
+}
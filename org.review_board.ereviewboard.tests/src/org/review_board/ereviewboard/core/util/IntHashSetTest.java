@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 eReviewBoard contributors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     eReviewBoard contributors - initial API and implementation
+ *******************************************************************************/
+package org.review_board.ereviewboard.core.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class IntHashSetTest {
+
+    @Test
+    public void addAndContains() {
+
+        IntHashSet set = new IntHashSet();
+
+        assertThat(set.isEmpty(), is(true));
+        assertThat(set.add(5), is(true));
+        assertThat(set.add(5), is(false));
+        assertThat(set.contains(5), is(true));
+        assertThat(set.contains(6), is(false));
+        assertThat(set.size(), is(1));
+    }
+
+    @Test
+    public void zeroIsAValue() {
+
+        IntHashSet set = new IntHashSet();
+
+        assertThat(set.contains(0), is(false));
+        assertThat(set.add(0), is(true));
+        assertThat(set.add(0), is(false));
+        assertThat(set.contains(0), is(true));
+        assertThat(set.size(), is(1));
+    }
+
+    @Test
+    public void matchesHashSetAcrossResizes() {
+
+        Random random = new Random(0);
+        IntHashSet set = new IntHashSet();
+        Set<Integer> expected = new HashSet<Integer>();
+
+        for (int i = 0; i < 10000; i++) {
+            int value = random.nextInt(20000) - 1000;
+            assertThat(set.add(value), is(expected.add(Integer.valueOf(value))));
+        }
+
+        assertThat(set.size(), is(expected.size()));
+
+        for (int value = -1000; value < 19000; value++)
+            assertThat(set.contains(value), is(expected.contains(Integer.valueOf(value))));
+    }
+
+    @Test
+    public void toArray() {
+
+        IntHashSet set = new IntHashSet();
+        for (int value : new int[] { 3, 0, 100, -7 })
+            set.add(value);
+
+        int[] array = set.toArray();
+        Arrays.sort(array);
+
+        assertThat(Arrays.toString(array), is("[-7, 0, 3, 100]"));
+    }
+}
@@ -68,7 +68,7 @@ import org.eclipse.swt.widgets.Text;
 import org.review_board.ereviewboard.core.ReviewboardCorePlugin;
 import org.review_board.ereviewboard.core.ReviewboardRepositoryConnector;
 import org.review_board.ereviewboard.core.client.ReviewboardClient;
-import org.review_board.ereviewboard.core.client.ReviewboardClientData;
+import org.review_board.ereviewboard.core.client.ReviewboardClientData.Snapshot;
 import org.review_board.ereviewboard.core.model.AllReviewRequestQuery;
 import org.review_board.ereviewboard.core.model.FromUserReviewRequestQuery;
 import org.review_board.ereviewboard.core.model.GroupReviewRequestQuery;
@@ -124,8 +124,6 @@ public class ReviewboardQueryPage extends AbstractRepositoryQueryPage {
 
     private Text changeNumText;
 
-    private Map<Integer, String> repositories;
-
     private List<Repository> repositoryList;
     
     private Text maxResultsText;
@@ -159,7 +157,8 @@ public class ReviewboardQueryPage extends AbstractRepositoryQueryPage {
         if (force || !client.hasRepositoryData())
             ReviewboardUiUtil.refreshRepositoryData(client, force, getRunnableContext());
 
-        ReviewboardClientData clientData = client.getClientData();
+        // a refresh may complete in the meantime, so take all the data from the same snapshot
+        Snapshot clientData = client.getClientData().getSnapshot();
 
         groupCombo.setInput(ReviewboardUtil.toStringList(clientData.getGroups()));
         repositoryCombo.setInput(ReviewboardUtil.toStringList(clientData.getRepositories()));
@@ -169,10 +168,7 @@ public class ReviewboardQueryPage extends AbstractRepositoryQueryPage {
         fromUserAutoCompleteField.setProposals(fromUsers.toArray(new String[fromUsers.size()]));
         toUserComboAutoCompleteField.setProposals(toUsers.toArray(new String[toUsers.size()]));
         
-        repositories = new HashMap<Integer, String>();
         repositoryList = clientData.getRepositories();
-        for ( Repository repository : clientData.getRepositories() )
-            repositories.put(repository.getId(), repository.getName());
     }
     
     private IRunnableContext getRunnableContext() {
@@ -214,7 +210,9 @@ public class ReviewboardQueryPage extends AbstractRepositoryQueryPage {
             } else if ( reviewRequestQuery instanceof RepositoryReviewRequestQuery ) {
                 RepositoryReviewRequestQuery specificQuery = (RepositoryReviewRequestQuery) reviewRequestQuery;
                 changeNumText.setText(String.valueOf(specificQuery.getChangeNum()));
-                ReviewboardUiUtil.selectComboItemByValue(repositoryCombo, repositories.get(specificQuery.getRepositoryId()));
+                Repository repository = client.getClientData().getRepository(specificQuery.getRepositoryId());
+                if ( repository != null )
+                    ReviewboardUiUtil.selectComboItemByValue(repositoryCombo, repository.getName());
                 selection = Selection.REPOSITORY;
             }
         }
@@ -51,6 +51,7 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Listener;
+import org.review_board.ereviewboard.core.ReviewboardConstants;
 import org.review_board.ereviewboard.core.ReviewboardCorePlugin;
 import org.review_board.ereviewboard.core.ReviewboardRepositoryConnector;
 import org.review_board.ereviewboard.core.ReviewboardRepositoryMapper;
@@ -75,6 +76,8 @@ public class ReviewboardRepositorySettingsPage extends AbstractRepositorySetting
     private String username = "";
     private String password = "";
 
+    private Button enumerateUsersCheckbox;
+
     public ReviewboardRepositorySettingsPage(TaskRepository taskRepository) {
         super(TITLE, DESCRIPTION, taskRepository);
 
@@ -111,6 +114,12 @@ public class ReviewboardRepositorySettingsPage extends AbstractRepositorySetting
                         String.valueOf(selfSignedSSLCheckbox.getSelection()));
             }
         });
+        
+        enumerateUsersCheckbox = new Button(parent, SWT.CHECK);
+        enumerateUsersCheckbox.setText("Download the complete user list (slow on large servers)");
+        // there is no repository yet when adding a new one
+        if ( taskRepository != null )
+            enumerateUsersCheckbox.setSelection(Boolean.valueOf(taskRepository.getProperty(ReviewboardConstants.PROPERTY_ENUMERATE_USERS)).booleanValue());
     }
 
     @Override
@@ -165,6 +174,9 @@ public class ReviewboardRepositorySettingsPage extends AbstractRepositorySetting
         
         super.applyTo(repository);
         
+        repository.setProperty(ReviewboardConstants.PROPERTY_ENUMERATE_USERS,
+                String.valueOf(enumerateUsersCheckbox.getSelection()));
+        
         new ReviewboardRepositoryMapper(repository).setCategoryIfNotSet();
         
     }